@@ -0,0 +1,71 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the options used for baselines:
+ * the allocation profiler (<em>-prof gc</em>) is always added,
+ * and, unless the command line says otherwise,
+ * the results are written in JSON format
+ * to {@link #DEFAULT_RESULT_FILE}.
+ * Any other JMH command line option may be given;
+ * for example, to run only the RLE benchmarks
+ * and write the results as CSV:
+ * <pre>
+ *     java -jar target/benchmarks.jar RLEBenchmark -rf csv -rff rle.csv</pre>
+ * <p>
+ * This is the main class of target/benchmarks.jar.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class BenchmarkMain
+{
+    /** The file to which results are written by default */
+    public static final String  DEFAULT_RESULT_FILE = "jmh-result.json";
+    
+    /**
+     * Runs the benchmarks selected by the command line.
+     * 
+     * @param args  JMH command line options
+     * 
+     * @throws CommandLineOptionException
+     *         if the command line is not valid
+     * @throws RunnerException if the benchmarks cannot be run
+     * @throws IOException if the help text cannot be written
+     */
+    public static void main( String[] args )
+        throws CommandLineOptionException, RunnerException, IOException
+    {
+        CommandLineOptions      cmdOptions  = new CommandLineOptions( args );
+        ChainedOptionsBuilder   builder     =
+            new OptionsBuilder().parent( cmdOptions );
+        boolean                 gcProfiler  =
+            cmdOptions.getProfilers()
+            .stream()
+            .map( p -> p.getKlass() )
+            .anyMatch( k -> k.equals( "gc" ) || k.equals( GCProfiler.class.getName() ) );
+        if ( !gcProfiler )
+            builder.addProfiler( GCProfiler.class );
+        if ( !cmdOptions.getResultFormat().hasValue() )
+            builder.resultFormat( ResultFormatType.JSON );
+        if ( !cmdOptions.getResult().hasValue() )
+            builder.result( DEFAULT_RESULT_FILE );
+        
+        if ( cmdOptions.shouldHelp() )
+            cmdOptions.showHelp();
+        else if ( cmdOptions.shouldList() )
+            new Runner( cmdOptions ).list();
+        else
+            new Runner( builder.build() ).run();
+    }
+}
@@ -0,0 +1,240 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.Cell;
+import com.gmail.johnstraub1954.game_of_life.main.CellSet;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.RLEDescriptor;
+import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+import com.gmail.johnstraub1954.game_of_life.main.TiledPropagator;
+
+/**
+ * The fixed patterns used by the benchmarks.
+ * Every fixture is deterministic,
+ * so results from different runs can be compared.
+ * <p>
+ * A fixture is calculated the first time it is needed,
+ * and cached;
+ * clients get a fresh copy of the cached grid map
+ * from {@link #newGridMap()}.
+ * </p>
+ * <p>
+ * GUN_TRAIL is sized like a Gosper breeder
+ * some way into its run:
+ * a diagonal trail of 24 Gosper guns,
+ * like the trail of guns a breeder leaves behind it,
+ * after 1000 generations,
+ * when their glider streams fill a live rectangle
+ * of about 1200 x 1200 cells
+ * containing about 5000 live cells.
+ * </p>
+ * <p>
+ * The random soups are square, with sides of
+ * 1K, 4K and 16K cells,
+ * and each cell alive with probability 1/2.
+ * SOUP_16K has about 134 million live cells,
+ * and needs a heap of several gigabytes;
+ * for that reason no benchmark uses it by default.
+ * Select it explicitly, for example:
+ * </p>
+ * <pre>
+ *     java -jar target/benchmarks.jar GridMapBenchmark \
+ *         -p fixture=SOUP_16K -jvmArgsAppend -Xmx8g</pre>
+ * 
+ * @author Jack Straub
+ */
+public enum Fixture
+{
+    /** Gosper glider gun, as discovered */
+    GOSPER_GUN( Seeds.GOSPER_GUN, 0, 1 ),
+    /** Diagonal trail of 24 Gosper guns, after 1000 generations */
+    GUN_TRAIL( Seeds.GOSPER_GUN, 1000, 24 ),
+    /** R-pentomino, after 1000 generations */
+    R_PENTOMINO( "x = 0, y = 0, rule = B3/S23\nb2o$2ob$bo!\n", 1000, 1 ),
+    /** Random soup, 1024 x 1024 cells */
+    SOUP_1K( 1 << 10 ),
+    /** Random soup, 4096 x 4096 cells */
+    SOUP_4K( 1 << 12 ),
+    /** Random soup, 16384 x 16384 cells */
+    SOUP_16K( 1 << 14 );
+    
+    /** The birth states of Conway's rule */
+    public static final List<Integer>   CONWAY_BIRTH    =
+        Collections.unmodifiableList( Arrays.asList( 3 ) );
+    /** The survival states of Conway's rule */
+    public static final List<Integer>   CONWAY_SURVIVAL =
+        Collections.unmodifiableList( Arrays.asList( 2, 3 ) );
+    /** Conway's rule, B3/S23 */
+    public static final Rule            CONWAY          =
+        Rule.of( CONWAY_BIRTH, CONWAY_SURVIVAL );
+    
+    /** Initial pattern, in RLE format; null for a soup */
+    private final String    seed;
+    /** Number of generations to run the initial pattern */
+    private final int       generations;
+    /** Number of copies of the initial pattern */
+    private final int       copies;
+    /** Width and height of a soup; 0 if not a soup */
+    private final int       side;
+    
+    /** The pattern; null until first needed */
+    private GridMap         gridMap     = null;
+    
+    /**
+     * Constructor.
+     * Creates a fixture from a given number of copies
+     * of a given pattern, run for a given number of generations.
+     * Each copy is offset from the one before it
+     * by {@link Seeds#SPACING} cells to the right
+     * and the same number of cells up.
+     * 
+     * @param seed          the given pattern, in RLE format
+     * @param generations   the given number of generations
+     * @param copies        the given number of copies
+     */
+    private Fixture( String seed, int generations, int copies )
+    {
+        this.seed = seed;
+        this.generations = generations;
+        this.copies = copies;
+        side = 0;
+    }
+    
+    /**
+     * Constructor.
+     * Creates a random soup with a given width and height.
+     * 
+     * @param side  the given width and height
+     */
+    private Fixture( int side )
+    {
+        seed = null;
+        generations = 0;
+        copies = 0;
+        this.side = side;
+    }
+    
+    /**
+     * Gets a copy of the pattern for this fixture.
+     * 
+     * @return  a copy of the pattern for this fixture
+     */
+    public GridMap newGridMap()
+    {
+        GridMap copy    = new GridMap( getGridMap() );
+        return copy;
+    }
+    
+    /**
+     * Gets the pattern for this fixture in RLE format:
+     * the header line followed by the encoded grid,
+     * one line of text per element.
+     * 
+     * @return  the pattern for this fixture in RLE format
+     */
+    public List<String> getRLE()
+    {
+        RLEDescriptor   descrip = new RLEDescriptor();
+        descrip.setGridMap( getGridMap() );
+        List<String>    lines   = descrip.getEncodedGrid();
+        lines.add( 0, descrip.getHeaderLine() );
+        return lines;
+    }
+    
+    /**
+     * Gets the cached pattern for this fixture,
+     * calculating it if necessary.
+     * 
+     * @return  the cached pattern for this fixture
+     */
+    private synchronized GridMap getGridMap()
+    {
+        if ( gridMap == null )
+            gridMap = seed != null ? newPattern() : newSoup();
+        return gridMap;
+    }
+    
+    /**
+     * Decodes the initial pattern,
+     * makes the configured number of copies of it,
+     * and runs them for the configured number of generations.
+     * 
+     * @return  the resulting pattern
+     */
+    private GridMap newPattern()
+    {
+        byte[]      bytes   = seed.getBytes( StandardCharsets.US_ASCII );
+        GridMap     pattern = new GridMap();
+        new RLEInput( new ByteArrayInputStream( bytes ), pattern );
+        GridMap     map     = pattern;
+        if ( copies > 1 )
+        {
+            map = new GridMap();
+            for ( int inx = 0 ; inx < copies ; ++inx )
+            {
+                int             offset  = inx * Seeds.SPACING;
+                Iterator<Cell>  iter    = pattern.liveIiterator();
+                while ( iter.hasNext() )
+                {
+                    Point   point   = iter.next().getPoint();
+                    map.put( point.x + offset, point.y - offset, true );
+                }
+            }
+        }
+        TiledPropagator tiled   = new TiledPropagator();
+        for ( int gen = 0 ; gen < generations ; ++gen )
+            tiled.nextGeneration( map, CONWAY );
+        return map;
+    }
+    
+    /**
+     * Creates a random soup.
+     * The seed of the random number generator is the side of the soup.
+     * 
+     * @return  the random soup
+     */
+    private GridMap newSoup()
+    {
+        Random  randy   = new Random( side );
+        GridMap map     = new GridMap();
+        long[]  live    = new long[side];
+        for ( int row = 0 ; row < side ; ++row )
+        {
+            int count   = 0;
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    live[count++] = CellSet.pack( col, row );
+            map.putAll( live, count, true );
+        }
+        return map;
+    }
+    
+    /**
+     * The initial patterns shared by more than one fixture.
+     * 
+     * @author Jack Straub
+     */
+    private static class Seeds
+    {
+        /** Gosper glider gun */
+        public static final String  GOSPER_GUN  =
+            "x = 0, y = 0, rule = B3/S23\n"
+            + "24bo$22bobo$12b2o6b2o12b2o$11bo3bo4b2o12b2o$2o8bo5bo3b2o$"
+            + "2o8bo3bob2o4bobo$10bo5bo7bo$11bo3bo$12b2o!\n";
+        /**
+         * Distance between copies of a pattern;
+         * far enough apart that the gliders from one gun
+         * pass clear of the next
+         */
+        public static final int     SPACING     = 40;
+    }
+}
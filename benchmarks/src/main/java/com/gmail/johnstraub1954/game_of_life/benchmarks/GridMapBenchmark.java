@@ -0,0 +1,160 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.awt.Rectangle;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gmail.johnstraub1954.game_of_life.main.Cell;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+
+/**
+ * Measures the basic operations of GridMap on the standard fixtures:
+ * get, put, getLiveRectangle and iterator(Rectangle).
+ * <p>
+ * get and put operate on {@link #PROBES} cells
+ * chosen at random from the live rectangle;
+ * the results are reported per cell.
+ * Each cell is put twice, first with its opposite state
+ * and then with its original state,
+ * so the map is unchanged at the end of every invocation.
+ * iterator(Rectangle) traverses a 256 x 256 viewport
+ * in the upper-left corner of the live rectangle,
+ * the size of a typical window.
+ * </p>
+ * <p>
+ * Usage: java -jar target/benchmarks.jar GridMapBenchmark
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Fixture
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class GridMapBenchmark
+{
+    /** Number of cells read or written by get and put */
+    public static final int     PROBES      = 4096;
+    /** Width and height of the viewport traversed by iterator */
+    public static final int     VIEWPORT    = 256;
+    
+    /** The pattern under test */
+    @Param( { "GOSPER_GUN", "R_PENTOMINO", "SOUP_1K", "SOUP_4K" } )
+    public Fixture  fixture;
+    
+    private GridMap     gridMap;
+    /** The x-coordinates of the cells read or written */
+    private int[]       probeX;
+    /** The y-coordinates of the cells read or written */
+    private int[]       probeY;
+    /** The region traversed by iterator */
+    private Rectangle   viewport;
+    
+    /**
+     * Creates the pattern, and chooses the cells to probe.
+     */
+    @Setup( Level.Trial )
+    public void setupTrial()
+    {
+        gridMap = fixture.newGridMap();
+        Rectangle   rect    = gridMap.getLiveRectangle();
+        Random      randy   = new Random( 1 );
+        probeX = new int[PROBES];
+        probeY = new int[PROBES];
+        for ( int inx = 0 ; inx < PROBES ; ++inx )
+        {
+            probeX[inx] = rect.x + randy.nextInt( rect.width );
+            probeY[inx] = rect.y + randy.nextInt( rect.height );
+        }
+        viewport = new Rectangle(
+            rect.x,
+            rect.y,
+            Math.min( rect.width, VIEWPORT ),
+            Math.min( rect.height, VIEWPORT )
+        );
+    }
+    
+    /**
+     * Reads the state of every probe.
+     * 
+     * @return  the number of live probes,
+     *          so that the work is not optimized away
+     */
+    @Benchmark
+    @OperationsPerInvocation( PROBES )
+    public int get()
+    {
+        int live    = 0;
+        for ( int inx = 0 ; inx < PROBES ; ++inx )
+            if ( gridMap.get( probeX[inx], probeY[inx] ).isAlive() )
+                ++live;
+        return live;
+    }
+    
+    /**
+     * Inverts the state of every probe, then restores it.
+     * 
+     * @return  the final population,
+     *          so that the work is not optimized away
+     */
+    @Benchmark
+    @OperationsPerInvocation( PROBES * 2 )
+    public int put()
+    {
+        for ( int inx = 0 ; inx < PROBES ; ++inx )
+        {
+            int     xco     = probeX[inx];
+            int     yco     = probeY[inx];
+            boolean alive   = gridMap.isAlive( xco, yco );
+            gridMap.put( xco, yco, !alive );
+            gridMap.put( xco, yco, alive );
+        }
+        return gridMap.getPopulation();
+    }
+    
+    /**
+     * Gets the rectangle that encloses all live cells.
+     * 
+     * @return  the rectangle that encloses all live cells
+     */
+    @Benchmark
+    public Rectangle getLiveRectangle()
+    {
+        return gridMap.getLiveRectangle();
+    }
+    
+    /**
+     * Traverses every cell in the viewport.
+     * 
+     * @return  the number of live cells in the viewport
+     */
+    @Benchmark
+    public int iterator()
+    {
+        int             live    = 0;
+        Iterator<Cell>  iter    = gridMap.iterator( viewport );
+        while ( iter.hasNext() )
+            if ( iter.next().isAlive() )
+                ++live;
+        return live;
+    }
+}
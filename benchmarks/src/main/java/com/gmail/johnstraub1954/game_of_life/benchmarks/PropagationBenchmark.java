@@ -0,0 +1,142 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gmail.johnstraub1954.game_of_life.main.DensePropagator;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+import com.gmail.johnstraub1954.game_of_life.main.TiledPropagator;
+import com.gmail.johnstraub1954.game_of_life.main.Utils;
+
+/**
+ * Compares the dense SWAR engine (DensePropagator)
+ * with Utils.conwayPropagate and TiledPropagator
+ * on the standard fixtures.
+ * <p>
+ * Each benchmark invocation calculates {@link #GENERATIONS} generations,
+ * starting from a fresh copy of the fixture,
+ * so that every invocation measures a pattern
+ * of about the same density.
+ * In addition to invocations per nanosecond,
+ * JMH reports the secondary result <em>cellUpdates</em>:
+ * the number of cells in the live rectangle,
+ * summed over all generations,
+ * per nanosecond.
+ * </p>
+ * <p>
+ * Usage: java -jar target/benchmarks.jar PropagationBenchmark
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Fixture
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class PropagationBenchmark
+{
+    /** Number of generations calculated by each invocation */
+    public static final int         GENERATIONS = 10;
+    
+    private static final Parameters params      = Parameters.INSTANCE;
+    
+    /** The engine under test */
+    @Param( { "conway", "tiled", "dense" } )
+    public String   engine;
+    
+    /** The pattern under test */
+    @Param( { "GOSPER_GUN", "GUN_TRAIL", "R_PENTOMINO", "SOUP_1K" } )
+    public Fixture  fixture;
+    
+    private final DensePropagator   dense   = new DensePropagator();
+    private final TiledPropagator   tiled   = new TiledPropagator();
+    /** The copy of the fixture being propagated */
+    private GridMap                 gridMap;
+    
+    /**
+     * Number of cell updates performed by a benchmark iteration,
+     * reported by JMH as a rate.
+     * 
+     * @author Jack Straub
+     */
+    @AuxCounters( AuxCounters.Type.OPERATIONS )
+    @State( Scope.Thread )
+    public static class Counters
+    {
+        /** Cells in the live rectangle, summed over all generations */
+        public long cellUpdates;
+        
+        /**
+         * Resets the count at the start of each iteration.
+         */
+        @Setup( Level.Iteration )
+        public void reset()
+        {
+            cellUpdates = 0;
+        }
+    }
+    
+    /**
+     * Configures the rule.
+     */
+    @Setup( Level.Trial )
+    public void setupTrial()
+    {
+        params.setBirthStates( Fixture.CONWAY_BIRTH );
+        params.setSurvivalStates( Fixture.CONWAY_SURVIVAL );
+    }
+    
+    /**
+     * Gives each invocation a fresh copy of the fixture.
+     */
+    @Setup( Level.Invocation )
+    public void setupInvocation()
+    {
+        gridMap = fixture.newGridMap();
+        params.setGridMap( gridMap );
+    }
+    
+    /**
+     * Calculates GENERATIONS generations with the engine under test.
+     * 
+     * @param counters  accumulates the number of cell updates
+     * 
+     * @return  the final population,
+     *          so that the work is not optimized away
+     */
+    @Benchmark
+    public int generations( Counters counters )
+    {
+        for ( int gen = 0 ; gen < GENERATIONS ; ++gen )
+        {
+            Rectangle   rect    = gridMap.getLiveRectangle();
+            counters.cellUpdates += (long)rect.width * rect.height;
+            if ( engine.equals( "dense" ) )
+                dense.nextGeneration( gridMap, Fixture.CONWAY );
+            else if ( engine.equals( "tiled" ) )
+                tiled.nextGeneration( gridMap, Fixture.CONWAY );
+            else
+                Utils.INSTANCE.conwayPropagate( null );
+        }
+        return gridMap.getPopulation();
+    }
+}
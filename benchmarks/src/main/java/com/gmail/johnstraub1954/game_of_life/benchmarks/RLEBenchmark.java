@@ -0,0 +1,160 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.RLEDescriptor;
+import com.gmail.johnstraub1954.game_of_life.main.RLEGridDecoder;
+import com.gmail.johnstraub1954.game_of_life.main.RLEGridEncoder;
+import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+import com.gmail.johnstraub1954.game_of_life.main.RLERunDecoder;
+
+/**
+ * Measures the RLE codec on the standard fixtures:
+ * decoding the encoded grid cell by cell with RLEGridDecoder,
+ * decoding it run by run with RLERunDecoder,
+ * parsing a complete file with RLEInput
+ * (including building the grid map),
+ * encoding a grid map cell by cell with RLEGridEncoder,
+ * and encoding it run by run with RLEDescriptor.getEncodedGrid.
+ * <p>
+ * Usage: java -jar target/benchmarks.jar RLEBenchmark
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Fixture
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class RLEBenchmark
+{
+    /** The pattern under test */
+    @Param( { "GOSPER_GUN", "R_PENTOMINO", "SOUP_1K" } )
+    public Fixture  fixture;
+    
+    /** The encoded grid, without the header line */
+    private String      encodedGrid;
+    /** The complete RLE file */
+    private byte[]      file;
+    /** The pattern to encode */
+    private GridMap     gridMap;
+    
+    /**
+     * Creates the pattern, and its encoding.
+     */
+    @Setup( Level.Trial )
+    public void setupTrial()
+    {
+        List<String>    lines   = fixture.getRLE();
+        String          endl    = System.lineSeparator();
+        String          header  = lines.remove( 0 );
+        encodedGrid = String.join( endl, lines ) + endl;
+        file =
+            (header + endl + encodedGrid).getBytes( StandardCharsets.US_ASCII );
+        gridMap = fixture.newGridMap();
+    }
+    
+    /**
+     * Decodes the encoded grid, and expands it cell by cell.
+     * 
+     * @return  the number of live cells,
+     *          so that the work is not optimized away
+     */
+    @Benchmark
+    public int decode()
+    {
+        BufferedReader      reader  =
+            new BufferedReader( new StringReader( encodedGrid ) );
+        RLEGridDecoder      decoder = new RLEGridDecoder( reader );
+        Iterator<Character> iter    = decoder.iterator();
+        int                 live    = 0;
+        while ( iter.hasNext() )
+            if ( iter.next() == 'o' )
+                ++live;
+        return live;
+    }
+    
+    /**
+     * Decodes the encoded grid run by run,
+     * as it is read from a stream.
+     * 
+     * @return  the number of live cells,
+     *          so that the work is not optimized away
+     */
+    @Benchmark
+    public long decodeRuns()
+    {
+        RLERunDecoder   decoder =
+            new RLERunDecoder( new StringReader( encodedGrid ) );
+        long            live    = decoder.decode( 0, 0, (x, y, len) -> {} );
+        return live;
+    }
+    
+    /**
+     * Parses the complete RLE file,
+     * decoding the encoded grid directly into the grid map.
+     * 
+     * @return  the resulting grid map
+     */
+    @Benchmark
+    public GridMap parse()
+    {
+        GridMap     map     = new GridMap( false );
+        new RLEInput( new ByteArrayInputStream( file ), map );
+        return map;
+    }
+    
+    /**
+     * Encodes the grid map cell by cell.
+     * 
+     * @return  the encoded grid
+     */
+    @Benchmark
+    public List<String> encodeCells()
+    {
+        RLEDescriptor   descrip = new RLEDescriptor();
+        descrip.setGridMap( gridMap );
+        RLEGridEncoder  encoder = new RLEGridEncoder( descrip );
+        encoder.encode();
+        List<String>    lines   = encoder.getLines();
+        return lines;
+    }
+    
+    /**
+     * Encodes the grid map run by run.
+     * 
+     * @return  the encoded grid
+     */
+    @Benchmark
+    public List<String> encode()
+    {
+        RLEDescriptor   descrip = new RLEDescriptor();
+        descrip.setGridMap( gridMap );
+        List<String>    lines   = descrip.getEncodedGrid();
+        return lines;
+    }
+}
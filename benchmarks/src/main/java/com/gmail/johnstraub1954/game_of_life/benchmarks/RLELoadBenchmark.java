@@ -0,0 +1,146 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gmail.johnstraub1954.game_of_life.main.CellSet;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+
+/**
+ * Measures loading a complete RLE file into a grid map,
+ * in megabytes of RLE text per second:
+ * <em>cells</em> expands the encoded grid cell by cell
+ * with RLEGridDecoder, as files were loaded originally;
+ * <em>runs</em> decodes it run by run with RLEInput
+ * on the number of threads given by the <em>threads</em> parameter
+ * (1 selects the streaming RLERunDecoder,
+ * more than 1 the RLEParallelDecoder).
+ * The throughput in megabytes per second
+ * is reported as the secondary result <em>megabytes</em>.
+ * <p>
+ * Usage: java -jar target/benchmarks.jar RLELoadBenchmark
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Fixture
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class RLELoadBenchmark
+{
+    /** The pattern under test */
+    @Param( { "SOUP_1K", "SOUP_4K" } )
+    public Fixture  fixture;
+    
+    /** The number of threads used by the runs benchmark */
+    @Param( { "1", "2", "4" } )
+    public int      threads;
+    
+    /** The complete RLE file */
+    private byte[]  file;
+    
+    /**
+     * Counts the megabytes of RLE text loaded.
+     * 
+     * @author Jack Straub
+     */
+    @State( Scope.Thread )
+    @AuxCounters( AuxCounters.Type.OPERATIONS )
+    public static class Counters
+    {
+        /** Megabytes of RLE text loaded */
+        public double   megabytes;
+    }
+    
+    /**
+     * Creates the RLE file.
+     */
+    @Setup( Level.Trial )
+    public void setupTrial()
+    {
+        String  endl    = System.lineSeparator();
+        String  text    = String.join( endl, fixture.getRLE() ) + endl;
+        file = text.getBytes( StandardCharsets.US_ASCII );
+    }
+    
+    /**
+     * Loads the RLE file, expanding the encoded grid cell by cell.
+     * 
+     * @param counters  counts the megabytes loaded
+     * 
+     * @return  the resulting grid map
+     */
+    @Benchmark
+    public GridMap cells( Counters counters )
+    {
+        RLEInput            input   =
+            new RLEInput( new ByteArrayInputStream( file ) );
+        Iterator<Character> iter    = input.getGridDecoder().iterator();
+        long[]              live    = new long[64];
+        int                 count   = 0;
+        int                 currX   = input.getUpperLeft().x;
+        int                 currY   = input.getUpperLeft().y;
+        while ( iter.hasNext() )
+        {
+            char    nextChar    = iter.next();
+            if ( nextChar == '$' )
+            {
+                ++currY;
+                currX = input.getUpperLeft().x;
+            }
+            else
+            {
+                if ( nextChar == 'o' )
+                {
+                    if ( count == live.length )
+                        live = Arrays.copyOf( live, count * 2 );
+                    live[count++] = CellSet.pack( currX, currY );
+                }
+                ++currX;
+            }
+        }
+        GridMap map     = new GridMap( false );
+        map.putAll( live, count, true );
+        counters.megabytes += file.length / 1e6;
+        return map;
+    }
+    
+    /**
+     * Loads the RLE file on the configured number of threads.
+     * 
+     * @param counters  counts the megabytes loaded
+     * 
+     * @return  the resulting grid map
+     */
+    @Benchmark
+    public GridMap runs( Counters counters )
+    {
+        GridMap map     = new GridMap( false );
+        new RLEInput( new ByteArrayInputStream( file ), map, threads );
+        counters.megabytes += file.length / 1e6;
+        return map;
+    }
+}
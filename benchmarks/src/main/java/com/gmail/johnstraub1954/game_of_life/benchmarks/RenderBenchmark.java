@@ -0,0 +1,113 @@
+package com.gmail.johnstraub1954.game_of_life.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gmail.johnstraub1954.game_of_life.components.Grid;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+
+/**
+ * Measures painting the grid off-screen:
+ * Grid.paintComponent draws a standard fixture
+ * into a BufferedImage the size of a typical window.
+ * <p>
+ * With <em>raster</em> false the grid is drawn cell by cell
+ * with Graphics2D;
+ * with <em>raster</em> true it is rendered into a back buffer
+ * which is then drawn as an image.
+ * The grid map does not change between invocations,
+ * so in raster mode the back buffer is reused,
+ * as it is when a window is repainted without a new generation.
+ * </p>
+ * <p>
+ * The benchmark runs in a headless JVM,
+ * so it needs no display.
+ * Usage: java -jar target/benchmarks.jar RenderBenchmark
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Fixture
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+@State( Scope.Thread )
+public class RenderBenchmark
+{
+    /** Width of the image, in pixels */
+    public static final int     WIDTH       = 800;
+    /** Height of the image, in pixels */
+    public static final int     HEIGHT      = 600;
+    /** Width and height of a cell, in pixels */
+    public static final int     CELL_SIZE   = 4;
+    
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    /** The pattern under test */
+    @Param( { "GOSPER_GUN", "R_PENTOMINO", "SOUP_1K" } )
+    public Fixture  fixture;
+    
+    /** True to render via the back buffer */
+    @Param( { "false", "true" } )
+    public boolean  raster;
+    
+    private Grid            grid;
+    private BufferedImage   image;
+    
+    /**
+     * Configures the grid, and creates the image.
+     */
+    @Setup( Level.Trial )
+    public void setupTrial()
+    {
+        GridMap map     = fixture.newGridMap();
+        params.setGridMap( map );
+        params.setGridCellSize( CELL_SIZE );
+        params.setGridRaster( raster );
+        params.setGridKeepCentered( false );
+        params.setGridCellOrigin( new Point( map.getUpperLeftCorner() ) );
+        
+        grid = new Grid();
+        grid.setSize( WIDTH, HEIGHT );
+        image = new BufferedImage( WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB );
+    }
+    
+    /**
+     * Paints the grid into the image.
+     * 
+     * @return  the image, so that the work is not optimized away
+     */
+    @Benchmark
+    public BufferedImage paint()
+    {
+        Graphics2D  gtx = image.createGraphics();
+        try
+        {
+            grid.paintComponent( gtx );
+        }
+        finally
+        {
+            gtx.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,633 @@
+package com.gmail.johnstraub1954.game_of_life.components;
+
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.ACTION_CENTER_GRID_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_FPS_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_COLOR_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_ORIGIN_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_SIZE_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_COLOR_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_KEEP_CENTERED_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_COLOR_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_SHOW_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_WIDTH_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MAP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ZOOM_OUT_PN;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import com.gmail.johnstraub1954.game_of_life.main.Cell;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+
+/**
+ * Displays the grid using active rendering.
+ * Used in place of {@link Grid} when the <em>gridActive</em>
+ * property is set.
+ * <p>
+ * Instead of waiting for Swing to repaint it,
+ * this component is drawn by a dedicated render thread,
+ * at the frame rate given by the <em>gridActiveFrameRate</em> property.
+ * The thread draws into the back buffer of a BufferStrategy,
+ * then shows the back buffer.
+ * Accelerated back buffers are requested
+ * (on most platforms these are VolatileImages in video memory);
+ * if they are not available an unaccelerated strategy is used.
+ * Because the render thread decides when a frame is drawn,
+ * the time taken by each frame, and the number of frames that
+ * could not be drawn on time, can be measured;
+ * see {@link #getFrameCount()} and the methods that follow it.
+ * </p>
+ * <p>
+ * A frame is drawn only if something has changed since
+ * the previous frame: a new generation, a change to a property
+ * that affects the appearance of the grid, a change to the size
+ * of the component, or a request from the system to repaint it.
+ * The grid is rendered by a {@link RasterRenderer},
+ * exactly as it is by Grid when raster rendering is on,
+ * and respects the same properties
+ * (colors, cell size, grid lines and zoom).
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see com.gmail.johnstraub1954.game_of_life.main.GOLConstants#GRID_ACTIVE_PN
+ */
+public class ActiveGrid extends Canvas implements PropertyChangeListener
+{
+    /** Generated serial version ID. */
+    private static final long serialVersionUID = 2956612391873454127L;
+    
+    /** Number of nanoseconds in one second */
+    private static final long   nanosPerSecond  = 1_000_000_000L;
+    /** Name of the render thread */
+    private static final String threadName      = "Game of Life Renderer";
+    /**
+     * How long to wait for the render thread to stop
+     * when this component is removed, in milliseconds
+     */
+    private static final long   stopWait        = 1000;
+    
+    private final   Parameters  params              = Parameters.INSTANCE;
+    
+    // Properties are changed on the event dispatch thread
+    // and read on the render thread.
+    private volatile GridMap    gridMap             = params.getGridMap();
+    private volatile Color      gridColor           = params.getGridColor();
+    private volatile boolean    gridLineShow        = params.isGridLineShow();
+    private volatile int        gridLineWidth       = params.getGridLineWidth();
+    private volatile Color      gridLineColor       = params.getGridLineColor();
+    private volatile int        gridCellSize        =
+        Math.max( params.getGridCellSize(), 1 );
+    private volatile Color      gridCellColor       = params.getGridCellColor();
+    private volatile int        gridZoomOut         = params.getGridZoomOut();
+    private volatile boolean    gridKeepCentered    = params.isGridKeepCentered();
+    private volatile Point      gridCellULC         = params.getGridCellOrigin();
+    /** Duration of a frame at the active rendering frame rate */
+    private volatile long       framePeriod         =
+        nanosPerSecond / params.getGridActiveFrameRate();
+    
+    /** Renders the grid into an image; used only on the render thread */
+    private final RasterRenderer    renderer    = new RasterRenderer();
+    /**
+     * Set when something other than the grid map has changed
+     * that requires a new frame to be drawn
+     */
+    private final AtomicBoolean     redraw      = new AtomicBoolean( true );
+    /** The render thread; null if not running */
+    private Thread                  renderThread    = null;
+    /** Cleared to tell the render thread to stop */
+    private volatile boolean        running         = false;
+    
+    // Frame statistics. Written only by the render thread.
+    /** Number of frames drawn */
+    private volatile long   frameCount      = 0;
+    /** Number of frame periods skipped because a frame was late */
+    private volatile long   droppedCount    = 0;
+    /** Number of times the contents of the back buffer were lost */
+    private volatile long   lostCount       = 0;
+    /** Time taken by the most recent frame, in nanoseconds */
+    private volatile long   lastFrameNanos  = 0;
+    /** Total time taken by all frames, in nanoseconds */
+    private volatile long   totalFrameNanos = 0;
+    /** Longest time taken by any frame, in nanoseconds */
+    private volatile long   maxFrameNanos   = 0;
+    /** Time the first frame was drawn, per System.nanoTime() */
+    private volatile long   firstFrameTime  = 0;
+    /** Time the most recent frame was drawn, per System.nanoTime() */
+    private volatile long   lastFrameTime   = 0;
+    
+    /** The snapshot drawn in the most recent frame */
+    private GridSnapshot    lastSnapshot    = null;
+    /** The width of the most recent frame */
+    private int             lastWidth       = 0;
+    /** The height of the most recent frame */
+    private int             lastHeight      = 0;
+    
+    /**
+     * Default constructor.
+     */
+    public ActiveGrid()
+    {
+        params.addPropertyChangeListener( this );
+        params.addNotificationListener(
+            ACTION_CENTER_GRID_PN, e -> centerGrid( gridMap.getSnapshot() ) );
+        addMouseListener( new MouseMonitor() );
+    }
+    
+    @Override
+    public void propertyChange( PropertyChangeEvent evt )
+    {
+        String  propName    = evt.getPropertyName();
+        Object  newValue    = evt.getNewValue();
+        switch ( propName )
+        {
+        case GRID_COLOR_PN:
+            gridColor = (Color)newValue;
+            break;
+        case GRID_LINE_SHOW_PN:
+            gridLineShow = (Boolean)newValue;
+            break;
+        case GRID_LINE_WIDTH_PN:
+            gridLineWidth = (Integer)newValue;
+            break;
+        case GRID_LINE_COLOR_PN:
+            gridLineColor = (Color)newValue;
+            break;
+        case GRID_CELL_SIZE_PN:
+            // a cell must be at least one pixel wide
+            gridCellSize = Math.max( (Integer)newValue, 1 );
+            break;
+        case GRID_CELL_COLOR_PN:
+            gridCellColor = (Color)newValue;
+            break;
+        case GRID_CELL_ORIGIN_PN:
+            gridCellULC = (Point)newValue;
+            break;
+        case GRID_KEEP_CENTERED_PN:
+            gridKeepCentered = (boolean)newValue;
+            break;
+        case GRID_MAP_PN:
+            gridMap = (GridMap)newValue;
+            break;
+        case GRID_ZOOM_OUT_PN:
+            gridZoomOut = (Integer)newValue;
+            break;
+        case GRID_ACTIVE_FPS_PN:
+            framePeriod = nanosPerSecond / Math.max( (Integer)newValue, 1 );
+            break;
+        default:
+            break;
+        }
+        redraw.set( true );
+    }
+    
+    /**
+     * Creates the buffer strategy and starts the render thread
+     * when this component becomes displayable.
+     */
+    @Override
+    public void addNotify()
+    {
+        super.addNotify();
+        createStrategy();
+        startRendering();
+    }
+    
+    /**
+     * Stops the render thread before this component's peer,
+     * and with it the buffer strategy, is destroyed.
+     */
+    @Override
+    public void removeNotify()
+    {
+        stopRendering();
+        super.removeNotify();
+    }
+    
+    /**
+     * Invoked by AWT when this component must be repainted,
+     * for example when it is uncovered.
+     * The component is not painted here;
+     * instead, the render thread is asked to draw a new frame.
+     * 
+     * @param graphics  not used
+     */
+    @Override
+    public void paint( Graphics graphics )
+    {
+        redraw.set( true );
+    }
+    
+    /**
+     * Invoked by AWT in response to a call to repaint.
+     * Does not clear the component.
+     * 
+     * @param graphics  not used
+     */
+    @Override
+    public void update( Graphics graphics )
+    {
+        paint( graphics );
+    }
+    
+    /**
+     * Gets the number of frames drawn since the render thread started.
+     * 
+     * @return  the number of frames drawn
+     */
+    public long getFrameCount()
+    {
+        return frameCount;
+    }
+    
+    /**
+     * Gets the number of frames that could not be drawn on time
+     * because the previous frame took longer than a frame period.
+     * 
+     * @return  the number of dropped frames
+     */
+    public long getDroppedFrameCount()
+    {
+        return droppedCount;
+    }
+    
+    /**
+     * Gets the number of times the contents of the back buffer were lost,
+     * and had to be redrawn,
+     * (for example, because the display mode changed).
+     * 
+     * @return  the number of times the contents of the back buffer
+     *          were lost
+     */
+    public long getContentsLostCount()
+    {
+        return lostCount;
+    }
+    
+    /**
+     * Gets the time taken to render and show the most recent frame.
+     * 
+     * @return  the time taken by the most recent frame, in nanoseconds
+     */
+    public long getLastFrameNanos()
+    {
+        return lastFrameNanos;
+    }
+    
+    /**
+     * Gets the mean time taken to render and show a frame.
+     * 
+     * @return  the mean time taken by a frame, in nanoseconds;
+     *          0 if no frames have been drawn
+     */
+    public long getMeanFrameNanos()
+    {
+        long    count   = frameCount;
+        long    mean    = count == 0 ? 0 : totalFrameNanos / count;
+        return mean;
+    }
+    
+    /**
+     * Gets the longest time taken to render and show a frame.
+     * 
+     * @return  the longest time taken by a frame, in nanoseconds
+     */
+    public long getMaxFrameNanos()
+    {
+        return maxFrameNanos;
+    }
+    
+    /**
+     * Gets the rate at which frames have been drawn,
+     * between the first frame and the most recent.
+     * Frames are drawn only when something has changed,
+     * so this is less than the frame rate property
+     * when the grid is idle.
+     * 
+     * @return  the achieved frame rate, in frames per second;
+     *          0 if fewer than two frames have been drawn
+     */
+    public double getAchievedFrameRate()
+    {
+        long    count   = frameCount;
+        long    elapsed = lastFrameTime - firstFrameTime;
+        double  rate    =
+            count < 2 || elapsed <= 0 ?
+                0 : (count - 1) * (double)nanosPerSecond / elapsed;
+        return rate;
+    }
+    
+    /**
+     * Creates a two-buffer strategy for this component,
+     * requesting accelerated buffers.
+     * If accelerated buffers are not available
+     * the default strategy is used instead.
+     */
+    private void createStrategy()
+    {
+        BufferCapabilities  caps    =
+            new BufferCapabilities(
+                new ImageCapabilities( true ),
+                new ImageCapabilities( true ),
+                BufferCapabilities.FlipContents.UNDEFINED
+            );
+        try
+        {
+            createBufferStrategy( 2, caps );
+        }
+        catch ( AWTException exc )
+        {
+            createBufferStrategy( 2 );
+        }
+    }
+    
+    /**
+     * Starts the render thread, if it is not already running.
+     */
+    private synchronized void startRendering()
+    {
+        if ( renderThread == null )
+        {
+            running = true;
+            redraw.set( true );
+            renderThread = new Thread( () -> renderLoop(), threadName );
+            renderThread.setDaemon( true );
+            renderThread.start();
+        }
+    }
+    
+    /**
+     * Stops the render thread, if it is running,
+     * and waits briefly for it to finish.
+     */
+    private synchronized void stopRendering()
+    {
+        if ( renderThread != null )
+        {
+            running = false;
+            LockSupport.unpark( renderThread );
+            try
+            {
+                renderThread.join( stopWait );
+            }
+            catch ( InterruptedException exc )
+            {
+                Thread.currentThread().interrupt();
+            }
+            renderThread = null;
+        }
+    }
+    
+    /**
+     * The body of the render thread.
+     * Once per frame period, draws a frame if one is needed.
+     * The grid map's snapshot is obtained once per frame period,
+     * and the same snapshot is used to decide whether a frame is needed,
+     * to center the grid and to draw the frame.
+     */
+    private void renderLoop()
+    {
+        long    deadline    = System.nanoTime();
+        while ( running )
+        {
+            long            period      = framePeriod;
+            long            start       = System.nanoTime();
+            GridSnapshot    snapshot    = gridMap.getSnapshot();
+            if ( isFrameNeeded( snapshot ) )
+            {
+                drawFrame( snapshot );
+                recordFrame( start, System.nanoTime() );
+            }
+            long    now     = System.nanoTime();
+            deadline = getNextDeadline( deadline, period, now );
+            long    wait    = deadline - now;
+            if ( wait > 0 )
+                LockSupport.parkNanos( this, wait );
+        }
+    }
+    
+    /**
+     * Calculates the time at which the next frame period begins,
+     * given the time at which the current period began.
+     * If drawing a frame took longer than a frame period,
+     * the periods that have passed are counted as dropped frames,
+     * and the schedule resumes from the most recent period boundary,
+     * rather than trying to catch up.
+     * 
+     * @param deadline  the time at which the current period began,
+     *                  per System.nanoTime()
+     * @param period    the duration of a frame period, in nanoseconds
+     * @param now       the current time, per System.nanoTime()
+     * 
+     * @return  the time at which the next frame period begins
+     */
+    long getNextDeadline( long deadline, long period, long now )
+    {
+        long    next    = deadline + period;
+        if ( now - next > period )
+        {
+            long    missed  = (now - next) / period;
+            droppedCount += missed;
+            next += missed * period;
+        }
+        return next;
+    }
+    
+    /**
+     * Returns true if a frame must be drawn:
+     * something has changed since the previous frame.
+     * Clears the request for a new frame, if any.
+     * 
+     * @param snapshot  the current snapshot of the grid map
+     * 
+     * @return  true if a frame must be drawn
+     */
+    boolean isFrameNeeded( GridSnapshot snapshot )
+    {
+        boolean needed  =
+            redraw.getAndSet( false )
+            || getWidth() != lastWidth
+            || getHeight() != lastHeight
+            || snapshot != lastSnapshot;
+        return needed;
+    }
+    
+    /**
+     * Renders a frame into the back buffer and shows it.
+     * If the contents of the back buffer are lost or restored
+     * while the frame is being drawn, the frame is drawn again.
+     * 
+     * @param snapshot  the snapshot of the grid map to draw
+     */
+    private void drawFrame( GridSnapshot snapshot )
+    {
+        BufferStrategy  strategy    = getBufferStrategy();
+        int             width       = getWidth();
+        int             height      = getHeight();
+        if ( strategy != null && width > 0 && height > 0 )
+        {
+            BufferedImage   image   = renderFrame( width, height, snapshot );
+            do
+            {
+                do
+                {
+                    Graphics    graphics    = strategy.getDrawGraphics();
+                    try
+                    {
+                        graphics.drawImage( image, 0, 0, null );
+                    }
+                    finally
+                    {
+                        graphics.dispose();
+                    }
+                } while ( strategy.contentsRestored() );
+                strategy.show();
+                if ( strategy.contentsLost() )
+                    ++lostCount;
+            } while ( strategy.contentsLost() && running );
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+    
+    /**
+     * Brings the renderer's image up to date with the grid map
+     * and the properties of the grid.
+     * 
+     * @param width     the width of the image
+     * @param height    the height of the image
+     * @param snapshot  the snapshot of the grid map to draw
+     * 
+     * @return  the renderer's image
+     */
+    BufferedImage renderFrame( int width, int height, GridSnapshot snapshot )
+    {
+        int             zoom        = gridZoomOut;
+        if ( gridKeepCentered )
+            centerGrid( snapshot );
+        
+        renderer.setStyle(
+            gridColor,
+            gridLineShow,
+            gridLineWidth,
+            gridLineColor,
+            gridCellSize,
+            gridCellColor
+        );
+        Point           ulcCell     = gridCellULC;
+        BufferedImage   image       = null;
+        if ( zoom > 1 )
+        {
+            int     shift   = Integer.numberOfTrailingZeros( zoom );
+            Point   ulc     = new Point( ulcCell.x >> shift, ulcCell.y >> shift );
+            image = renderer.renderDensity( width, height, snapshot, ulc, shift );
+        }
+        else
+            image = renderer.render( width, height, snapshot, ulcCell );
+        lastSnapshot = snapshot;
+        lastWidth = width;
+        lastHeight = height;
+        return image;
+    }
+    
+    /**
+     * Updates the frame statistics after a frame has been drawn.
+     * 
+     * @param start the time the frame was started,
+     *              per System.nanoTime()
+     * @param end   the time the frame was finished,
+     *              per System.nanoTime()
+     */
+    void recordFrame( long start, long end )
+    {
+        long    elapsed = end - start;
+        if ( frameCount == 0 )
+            firstFrameTime = end;
+        lastFrameTime = end;
+        lastFrameNanos = elapsed;
+        totalFrameNanos += elapsed;
+        maxFrameNanos = Math.max( maxFrameNanos, elapsed );
+        ++frameCount;
+    }
+    
+    /**
+     * Chooses the cell in the upper-left corner of the grid
+     * so that the live cells are centered.
+     * A new frame is requested only if the cell changes,
+     * so that keeping an idle grid centered
+     * doesn't redraw it every frame.
+     * 
+     * @param snapshot  the snapshot of the grid map to center
+     */
+    void centerGrid( GridSnapshot snapshot )
+    {
+        Rectangle   rect    = snapshot.getLiveRectangle();
+        int         width   = getWidth() / gridCellSize;
+        int         height  = getHeight() / gridCellSize;
+        if ( gridZoomOut > 1 )
+        {
+            width = getWidth() * gridZoomOut;
+            height = getHeight() * gridZoomOut;
+        }
+        int         physX   = width / 2 - rect.width / 2;
+        int         physY   = height / 2 - rect.height / 2;
+        int         ulcX    = rect.x - physX;
+        int         ulcY    = rect.y - physY;
+        Point       ulc     = new Point( ulcX, ulcY );
+        if ( !ulc.equals( gridCellULC ) )
+        {
+            gridCellULC = ulc;
+            redraw.set( true );
+        }
+    }
+    
+    /**
+     * Gets the cell in the upper-left corner of the grid.
+     * 
+     * @return  the cell in the upper-left corner of the grid
+     */
+    Point getGridCellOrigin()
+    {
+        return gridCellULC;
+    }
+    
+    private class MouseMonitor extends MouseAdapter
+    {
+        /**
+         * Processes mouse clicks.
+         * Maps a pixel location to a cell in the grid
+         * and calls Parameters.selectGridCell().
+         * Clicks are ignored when the grid is zoomed out,
+         * since a pixel then represents a block of cells.
+         * 
+         * @param   evt     event associated with a mouse click
+         */
+        @Override
+        public void mouseClicked( MouseEvent evt )
+        {
+            if ( gridZoomOut > 1 )
+                return;
+            Point   ulc     = gridCellULC;
+            int     xco     = evt.getX() / gridCellSize + ulc.x;
+            int     yco     = evt.getY() / gridCellSize + ulc.y;
+            boolean alive   = gridMap.getSnapshot().isAlive( xco, yco );
+            params.selectGridCell( new Cell( xco, yco, alive ) );
+        }
+    }
+}
@@ -12,6 +12,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSpinner;
 import javax.swing.JToggleButton;
+import javax.swing.SpinnerListModel;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.border.Border;
 import javax.swing.event.ChangeEvent;
@@ -19,6 +20,7 @@ import javax.swing.event.ChangeEvent;
 import com.gmail.johnstraub1954.game_of_life.main.CheckpointStack;
 import com.gmail.johnstraub1954.game_of_life.main.GOLConstants;
 import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
 
 public class ControlsPanel extends JPanel
@@ -28,14 +30,15 @@ public class ControlsPanel extends JPanel
 
     /** Parameters singleton */
     private static final Parameters params          = Parameters.INSTANCE;
-    /** minimum cell size */
-    private static final int        cellSizeMin     = 0;
+    /** minimum cell size; a cell must be at least one pixel wide */
+    private static final int        cellSizeMin     = 1;
     /** maximum cell size (arbitrarily chosen) */
     private static final int        cellSizeMax     = 128;
     /** size of a step when manipulating cell-size spinner */
     private static final int        cellSizeStep    = 1;
     /** initial value for cell size */
-    private int cellSize    = params.getGridCellSize();
+    private int cellSize    = 
+        Math.max( params.getGridCellSize(), cellSizeMin );
 
     /** Identifies the cell-size field */
     private final JLabel                cellSizeLabel   = 
@@ -49,6 +52,16 @@ public class ControlsPanel extends JPanel
     private final JSpinner              cellSizeSpinner =
         new JSpinner( cellSizeModel );
     
+    /** Identifies the zoom-out field */
+    private final JLabel                zoomOutLabel    = 
+        new JLabel( "Cells/Pixel" );
+    /** spinner model for setting zoom-out factor: 1, 2, 4 ... 1024 */
+    private final SpinnerListModel      zoomOutModel    =
+        new SpinnerListModel( getZoomOutFactors() );
+    /** spinner for setting zoom-out factor */
+    private final JSpinner              zoomOutSpinner  =
+        new JSpinner( zoomOutModel );
+    
     /** toggle for "grid-on" property */
     private final JCheckBox showGridCheckBox            = 
         new JCheckBox( "Show Grid" ); 
@@ -61,6 +74,8 @@ public class ControlsPanel extends JPanel
     
     /** Layout adjustment: cell-size components are added to a sub-panel */
     private final JPanel    cellSizePanel               = new JPanel();
+    /** Layout adjustment: zoom-out components are added to a sub-panel */
+    private final JPanel    zoomOutPanel                = new JPanel();
     /** Layout adjustment: check boxes are added to a sub-panel */
     private final JPanel    checkBoxPanel               = new JPanel();
     
@@ -87,6 +102,22 @@ public class ControlsPanel extends JPanel
         cellSizePanel.add( cellSizeSpinner );
         add( cellSizePanel );
         
+        zoomOutModel.setValue( params.getGridZoomOut() );
+        zoomOutLabel.setAlignmentX( Component.CENTER_ALIGNMENT );
+        zoomOutLabel.setHorizontalAlignment( JLabel.CENTER );
+        zoomOutSpinner.setAlignmentX( Component.CENTER_ALIGNMENT );
+        zoomOutSpinner.setMaximumSize( 
+            zoomOutSpinner.getPreferredSize() );
+        zoomOutSpinner.addChangeListener( e -> tweakZoomOut( e ) );
+        zoomOutSpinner.setName( GOLConstants.CTRL_ZOOM_OUT_COMP_CN );
+        
+        zoomOutPanel.setLayout(
+            new BoxLayout( zoomOutPanel, BoxLayout.X_AXIS ) );
+        zoomOutPanel.setAlignmentX( Component.CENTER_ALIGNMENT );
+        zoomOutPanel.add( zoomOutLabel );
+        zoomOutPanel.add( zoomOutSpinner );
+        add( zoomOutPanel );
+        
         checkBoxPanel.setLayout( 
             new BoxLayout( checkBoxPanel, BoxLayout.Y_AXIS ));
         checkBoxPanel.setAlignmentX( Component.CENTER_ALIGNMENT );
@@ -133,6 +164,43 @@ public class ControlsPanel extends JPanel
         }
     }
     
+    /**
+     * Monitors state changes for the zoom-out property.
+     * Triggers property change event for GOLConstants.GRID_ZOOM_OUT_PN.
+     * Triggers a notification event for GOLConstants.ACTION_RESET_PN.
+     * 
+     * @param evt   event that encapsulates changes
+     *              to the zoom-out property
+     */
+    private void tweakZoomOut( ChangeEvent evt )
+    {
+        Object  source  = evt.getSource();
+        if ( !(source instanceof JSpinner) )
+            return;
+        Object  value   = ((JSpinner)source).getValue();
+        if ( value instanceof Number )
+        {
+            int zoom    = ((Number)value).intValue();
+            params.setGridZoomOut( zoom );
+            params.reset();
+        }
+    }
+    
+    /**
+     * Gets the permissible zoom-out factors:
+     * the powers of 2 from 1 through the largest block size
+     * supported by GridSnapshot.forEachDensity.
+     * 
+     * @return  the permissible zoom-out factors
+     */
+    private static Integer[] getZoomOutFactors()
+    {
+        Integer[]   factors = new Integer[GridSnapshot.MAX_DENSITY_SHIFT + 1];
+        for ( int inx = 0 ; inx < factors.length ; ++inx )
+            factors[inx] = 1 << inx;
+        return factors;
+    }
+    
     /**
      * Monitors changes to the state of the show-grid property.
      * Triggers property change event for GOLConstants.GRID_LINE_SHOW_PN.
@@ -4,8 +4,6 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.beans.PropertyChangeEvent;
 import java.text.DecimalFormat;
-import java.util.TimerTask;
-import java.util.function.Consumer;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -15,14 +13,19 @@ import javax.swing.JPanel;
 import javax.swing.JSlider;
 import javax.swing.JTextField;
 import javax.swing.JToggleButton;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 
 import com.gmail.johnstraub1954.game_of_life.main.CheckpointStack;
 import com.gmail.johnstraub1954.game_of_life.main.GOLConstants;
 import com.gmail.johnstraub1954.game_of_life.main.GOLTimer;
+import com.gmail.johnstraub1954.game_of_life.main.GOLTimerTask;
+import com.gmail.johnstraub1954.game_of_life.main.GenerationEngine;
 import com.gmail.johnstraub1954.game_of_life.main.GridMap;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
 import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+import com.gmail.johnstraub1954.game_of_life.main.TurboRunner;
 
 /**
  * Encapsulates the components used to control generation propagation:
@@ -33,9 +36,17 @@ import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
  * </li>
  * <li>Slider to adjust "generations per second" propagation</li>
  * <li>Toggle button to enable/disable auto-propagation (animation)</li>
+ * <li>
+ * Toggle button to enable/disable turbo mode,
+ * in which generations are calculated as fast as possible
+ * on a separate thread,
+ * and the grid is refreshed at a fixed frame rate
+ * </li>
  * </ol>
  * 
  * Also in charge of managing timer tasks when animation is enabled.
+ * In turbo mode the feedback area displays
+ * the measured generations per second and frames per second.
  * <br>
  * 
  * <img
@@ -53,8 +64,15 @@ public class GeneratorPanel extends JPanel
 
     private static final float          sliderUnits     = 1000;
     private static final int            millisPerSecond = 1000;
+    private static final double         nanosPerSecond  = 1e9;
     private static final DecimalFormat gpsFormatter     = 
         new DecimalFormat( "#0.00" );
+    private static final DecimalFormat turboFormatter   = 
+        new DecimalFormat( "#,##0" );
+    /** Interval between updates of the turbo-mode rates, in nanoseconds */
+    private static final long           rateNanos       = 500_000_000L;
+    /** Interval between updates of the achieved animation pace */
+    private static final long           paceNanos       = 1_000_000_000L;
     
     private final Parameters    params          = Parameters.INSTANCE;
     private final GOLTimer      golTimer        = GOLTimer.INSTANCE;
@@ -66,8 +84,29 @@ public class GeneratorPanel extends JPanel
     private final JSlider       slider          = getSlider();
     private final JToggleButton animateToggle   =
         new JToggleButton( "Animate", false );
+    private final JToggleButton turboToggle     =
+        new JToggleButton( "Turbo", false );
+    
+    /** The timer task that drives animation; null if none */
+    private GOLTimerTask    task                = null;
+    /** 
+     * Time at which the achieved animation pace was last updated;
+     * accessed only by the timer thread
+     */
+    private long            paceStartNanos      = 0;
     
-    private TimerTask       task                = null;
+    /** Runs the generation engine in turbo mode; null if not running */
+    private TurboRunner     turboRunner         = null;
+    /** Refreshes the grid in turbo mode */
+    private Timer           frameTimer          = null;
+    /** Frames displayed since turbo mode started */
+    private long            frameCount          = 0;
+    /** Time at which the turbo-mode rates were last updated */
+    private long            rateStartNanos      = 0;
+    /** Generation count when the turbo-mode rates were last updated */
+    private long            rateStartGens       = 0;
+    /** Frame count when the turbo-mode rates were last updated */
+    private long            rateStartFrames     = 0;
     
     /**
      * Constructor.
@@ -120,15 +159,66 @@ public class GeneratorPanel extends JPanel
         animateToggle.setAlignmentX( Component.CENTER_ALIGNMENT );
         animateToggle.addChangeListener( e -> tweakAutoRegenOn( e ));
         add( animateToggle );
+        
+        add( new Box.Filler( minFiller, prefFiller, prefFiller ) );
+        
+        turboToggle.setAlignmentX( Component.CENTER_ALIGNMENT );
+        turboToggle.setName( GOLConstants.GEN_TURBO_TOGGLE_CN );
+        turboToggle.addActionListener( e -> tweakTurbo() );
+        add( turboToggle );
+        
+        // the turbo thread must not outlive the grid map or engine
+        // it was started with
+        params.addPropertyChangeListener( 
+            GOLConstants.GRID_MAP_PN,
+            e -> stopTurbo()
+        );
+        params.addPropertyChangeListener( 
+            GOLConstants.GENERATION_ENGINE_PN,
+            e -> stopTurbo()
+        );
     }
     
     /**
-     * Execute the registered propagation procedure.
+     * Advance the grid by one generation
+     * using the installed generation engine.
      */
     private void propagate()
     {
-        Consumer<Object>    proc    = params.getPropagateProc();
-        proc.accept( null );
+        propagate( 1 );
+    }
+    
+    /**
+     * Advance the grid by a given number of generations
+     * using the installed generation engine.
+     * 
+     * @param count the given number of generations
+     */
+    private void propagate( int count )
+    {
+        GenerationEngine    engine  = params.getGenerationEngine();
+        engine.step( count );
+    }
+    
+    /**
+     * Advance the grid on behalf of the timer task
+     * that drives animation.
+     * About once a second the achieved pace is displayed
+     * in the feedback area.
+     * 
+     * @param ticks the number of timer ticks represented
+     *              by this execution; this is the number
+     *              of generations to calculate
+     */
+    private void animate( int ticks )
+    {
+        propagate( ticks );
+        long    now     = System.nanoTime();
+        if ( now - paceStartNanos >= paceNanos )
+        {
+            paceStartNanos = now;
+            SwingUtilities.invokeLater( () -> showPace() );
+        }
     }
     
     /**
@@ -157,13 +247,17 @@ public class GeneratorPanel extends JPanel
             task = null;
         }
         
-        if ( params.isAutoRegenerationOn() )
+        if ( params.isAutoRegenerationOn() && turboRunner == null )
         {
             float   genPerSec   = params.getAutoRegenerationPace();
             long    interval    = 
-                (int)( 1 / genPerSec * millisPerSecond );
-            task = golTimer
-                .addTask( interval, () -> propagate() );
+                Math.max( (long)( 1 / genPerSec * nanosPerSecond ), 1 );
+            task = golTimer.addTask( 
+                interval,
+                params.getTimerOverloadPolicy(),
+                params.getTimerCatchUpLimit(),
+                ticks -> animate( ticks )
+            );
         }
     }
     
@@ -194,14 +288,133 @@ public class GeneratorPanel extends JPanel
         float   maxPace     = params.getAutoRegenerationPaceMax();
         float   percent     = slider.getValue() / sliderUnits;
         float   genPerSec   = percent * maxPace;
-        String  text        = 
-            gpsFormatter.format( genPerSec ) + " Gen / second";
-        sliderFeedback.setText( text );
         params.setAutoRegenerationPace( genPerSec );
         tweakTask();
+        if ( turboRunner == null )
+            showPace();
         params.reset();
     }
     
+    /**
+     * Starts or stops turbo mode, 
+     * according to the state of the Turbo toggle.
+     */
+    private void tweakTurbo()
+    {
+        if ( turboToggle.isSelected() )
+            startTurbo();
+        else
+            stopTurbo();
+    }
+    
+    /**
+     * Starts turbo mode.
+     * The timer task that drives animation, if any, is cancelled,
+     * the generation engine is started on a separate thread,
+     * and a Swing timer is started to refresh the grid
+     * at the turbo frame rate.
+     * 
+     * @see Parameters#getTurboFrameRate()
+     */
+    private void startTurbo()
+    {
+        if ( turboRunner == null )
+        {
+            int fps     = params.getTurboFrameRate();
+            turboRunner = new TurboRunner( params.getGenerationEngine(), fps );
+            tweakTask();
+            nextGenButton.setEnabled( false );
+            
+            frameCount = 0;
+            rateStartNanos = System.nanoTime();
+            rateStartGens = 0;
+            rateStartFrames = 0;
+            frameTimer = new Timer( millisPerSecond / fps, e -> nextFrame() );
+            frameTimer.setCoalesce( true );
+            turboRunner.start();
+            frameTimer.start();
+        }
+    }
+    
+    /**
+     * Stops turbo mode, and displays the latest generation.
+     * Animation resumes if it is enabled.
+     */
+    private void stopTurbo()
+    {
+        if ( turboRunner != null )
+        {
+            frameTimer.stop();
+            frameTimer = null;
+            turboRunner.stop();
+            turboRunner = null;
+            nextGenButton.setEnabled( true );
+            turboToggle.setSelected( false );
+            showPace();
+            tweakTask();
+            params.reset();
+        }
+    }
+    
+    /**
+     * Refreshes the grid in turbo mode,
+     * displaying the most recently completed generation.
+     * Twice a second the measured generations per second
+     * and frames per second are displayed in the feedback area.
+     * If the engine has stopped because of an error
+     * turbo mode is terminated.
+     */
+    private void nextFrame()
+    {
+        if ( !turboRunner.isRunning() )
+            stopTurbo();
+        else
+        {
+            params.reset();
+            ++frameCount;
+            
+            long    now     = System.nanoTime();
+            long    elapsed = now - rateStartNanos;
+            if ( elapsed >= rateNanos )
+            {
+                long    gens    = turboRunner.getGenerationCount();
+                double  seconds = elapsed / 1e9;
+                double  gps     = (gens - rateStartGens) / seconds;
+                double  fps     = (frameCount - rateStartFrames) / seconds;
+                String  text    = 
+                    turboFormatter.format( gps ) + " Gen / second, "
+                    + turboFormatter.format( fps ) + " Frames / second";
+                sliderFeedback.setText( text );
+                rateStartNanos = now;
+                rateStartGens = gens;
+                rateStartFrames = frameCount;
+            }
+        }
+    }
+    
+    /**
+     * Displays the animation pace selected by the slider
+     * in the feedback area.
+     * If animation is running and the timer task has fallen behind,
+     * because the generation engine cannot keep up with the selected pace,
+     * the achieved pace and the number of late generations
+     * are also displayed.
+     */
+    private void showPace()
+    {
+        float   genPerSec   = params.getAutoRegenerationPace();
+        String  text        = 
+            gpsFormatter.format( genPerSec ) + " Gen / second";
+        if ( task != null && turboRunner == null )
+        {
+            long    late    = task.getOverrunCount();
+            if ( late > 0 )
+                text += " (" + gpsFormatter.format( task.getAchievedRate() )
+                    + " achieved, " + late + " late)";
+        }
+        sliderFeedback.setText( text );
+    }
+    
     private void tweakRewind(  PropertyChangeEvent evt )
     {
         Object      newValue        = evt.getNewValue();
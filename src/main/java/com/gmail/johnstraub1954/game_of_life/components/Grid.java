@@ -11,6 +11,8 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_SHOW_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_LINE_WIDTH_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MAP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_RASTER_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ZOOM_OUT_PN;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
@@ -24,16 +26,20 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import com.gmail.johnstraub1954.game_of_life.main.Cell;
 import com.gmail.johnstraub1954.game_of_life.main.Direction;
 import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.IntBinaryConsumer;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
 
 /**
@@ -57,8 +63,15 @@ public class Grid extends JPanel implements PropertyChangeListener
     private boolean         gridLineShow        = params.isGridLineShow();
     private int             gridLineWidth       = params.getGridLineWidth();
     private Color           gridLineColor       = params.getGridLineColor();
-    private int             gridCellSize        = params.getGridCellSize();
+    private int             gridCellSize        =
+        Math.max( params.getGridCellSize(), 1 );
     private Color           gridCellColor       = params.getGridCellColor();
+    private boolean         gridRaster          = params.isGridRaster();
+    /**
+     * Cells along each side of the block drawn as one pixel;
+     * if greater than 1, the cell size is ignored
+     */
+    private int             gridZoomOut         = params.getGridZoomOut();
     
     private boolean         gridKeepCentered    = params.isGridKeepCentered();
     private Point           gridCellTop         = params.getGridCellOrigin();
@@ -73,13 +86,18 @@ public class Grid extends JPanel implements PropertyChangeListener
      */
     private Graphics2D  gtx                 = null;
     
+    /** Renders the grid when raster rendering is on */
+    private final RasterRenderer    renderer        = new RasterRenderer();
+    /** True if a refresh has been scheduled but has not yet run */
+    private final AtomicBoolean     refreshPending  = new AtomicBoolean();
+    
     /**
      * Default constructor.
      */
     public Grid()
     {
         params.addPropertyChangeListener( this );
-        params.addNotificationListener( ACTION_RESET_PN, e -> repaint() );
+        params.addNotificationListener( ACTION_RESET_PN, e -> scheduleRefresh() );
         params.addNotificationListener(
             ACTION_CENTER_GRID_PN, e -> centerGrid() );
         this.addMouseListener( new MouseMonitor() );
@@ -105,7 +123,8 @@ public class Grid extends JPanel implements PropertyChangeListener
             gridLineColor = (Color)newValue;
             break;
         case GRID_CELL_SIZE_PN:
-            gridCellSize = (Integer)newValue;
+            // a cell must be at least one pixel wide
+            gridCellSize = Math.max( (Integer)newValue, 1 );
             break;
         case GRID_CELL_COLOR_PN:
             gridCellColor = (Color)newValue;
@@ -120,6 +139,14 @@ public class Grid extends JPanel implements PropertyChangeListener
         case GRID_MAP_PN:
             gridMap = (GridMap)newValue;
             break;
+        case GRID_RASTER_PN:
+            gridRaster = (Boolean)newValue;
+            repaint();
+            break;
+        case GRID_ZOOM_OUT_PN:
+            gridZoomOut = (Integer)newValue;
+            repaint();
+            break;
         default:
             break;
         }
@@ -129,6 +156,139 @@ public class Grid extends JPanel implements PropertyChangeListener
     public void paintComponent( Graphics graphics )
     {
         super.paintComponent( graphics );
+        if ( isRaster() )
+            paintRaster( graphics );
+        else
+            paintVector( graphics );
+    }
+    
+    /**
+     * Schedules a refresh of the grid on the event dispatch thread.
+     * May be invoked on any thread.
+     * If a refresh is already scheduled
+     * no further refresh is scheduled,
+     * so the grid is refreshed at most once per event
+     * no matter how often the grid map changes.
+     */
+    private void scheduleRefresh()
+    {
+        if ( refreshPending.compareAndSet( false, true ) )
+            SwingUtilities.invokeLater( () -> refresh() );
+    }
+    
+    /**
+     * Refreshes the grid after the grid map has changed.
+     * When raster rendering is on,
+     * the cells that have changed are rendered into the back buffer,
+     * and only the region of the grid that covers them is repainted.
+     */
+    private void refresh()
+    {
+        refreshPending.set( false );
+        if ( !isRaster() )
+            repaint();
+        else
+        {
+            renderFrame();
+            Rectangle   damage  = renderer.getDamage();
+            if ( !damage.isEmpty() )
+                repaint( damage );
+        }
+    }
+    
+    /**
+     * Returns true if the grid is to be painted from the back buffer:
+     * raster rendering is on, or the grid is zoomed out
+     * (a zoomed-out grid can only be rendered into the back buffer),
+     * and the grid is not empty.
+     * 
+     * @return  true if the grid is to be painted from the back buffer
+     */
+    private boolean isRaster()
+    {
+        boolean result  =
+            (gridRaster || gridZoomOut > 1)
+            && getWidth() > 0
+            && getHeight() > 0;
+        return result;
+    }
+    
+    /**
+     * Brings the back buffer up to date with the grid map
+     * and the properties of the grid.
+     * When the grid is zoomed out
+     * each pixel of the back buffer represents a block of cells,
+     * shaded according to the number of live cells in the block.
+     * 
+     * @return  the back buffer
+     * 
+     * @see RasterRenderer
+     */
+    private BufferedImage renderFrame()
+    {
+        if ( gridKeepCentered )
+            centerGrid();
+        
+        renderer.setStyle(
+            gridColor,
+            gridLineShow,
+            gridLineWidth,
+            gridLineColor,
+            gridCellSize,
+            gridCellColor
+        );
+        // Paint from a snapshot; the map itself may be
+        // in the middle of calculating the next generation.
+        BufferedImage   image   = null;
+        if ( gridZoomOut > 1 )
+        {
+            int     shift   = Integer.numberOfTrailingZeros( gridZoomOut );
+            Point   ulc     =
+                new Point( gridCellULC.x >> shift, gridCellULC.y >> shift );
+            image = renderer.renderDensity(
+                getWidth(),
+                getHeight(),
+                gridMap.getSnapshot(),
+                ulc,
+                shift
+            );
+        }
+        else
+            image = renderer.render(
+                getWidth(),
+                getHeight(),
+                gridMap.getSnapshot(),
+                gridCellULC
+            );
+        return image;
+    }
+    
+    /**
+     * Paints the grid by drawing the back buffer.
+     * If bringing the back buffer up to date
+     * modified a region outside the region being painted,
+     * that region is repainted as well.
+     * 
+     * @param graphics  the graphics context in which to paint
+     */
+    private void paintRaster( Graphics graphics )
+    {
+        BufferedImage   image   = renderFrame();
+        Rectangle       damage  = renderer.getDamage();
+        Rectangle       clip    = graphics.getClipBounds();
+        graphics.drawImage( image, 0, 0, null );
+        if ( clip != null && !damage.isEmpty() && !clip.contains( damage ) )
+            repaint( damage );
+    }
+    
+    /**
+     * Paints the grid by drawing each grid line,
+     * and filling each live cell, with the given graphics context.
+     * 
+     * @param graphics  the graphics context in which to paint
+     */
+    private void paintVector( Graphics graphics )
+    {
         gtx = (Graphics2D)graphics.create();
         gtx.setRenderingHint( 
             RenderingHints.KEY_ANTIALIASING, 
@@ -154,11 +314,11 @@ public class Grid extends JPanel implements PropertyChangeListener
                 gtx.draw( iter.next() );
         }
         
+        // Paint from a snapshot; the map itself may be
+        // in the middle of calculating the next generation.
         gtx.setColor( gridCellColor );
-        LiveCellIterator    cellIter    = 
-            new LiveCellIterator( gridCellULC );
-        while ( cellIter.hasNext() )
-            gtx.fill( cellIter.next() );
+        LiveCellPainter painter = new LiveCellPainter( gridCellULC );
+        gridMap.getSnapshot().forEachLive( painter.getVisibleCells(), painter );
         
         gtx.dispose();
         gtx = null;
@@ -166,9 +326,14 @@ public class Grid extends JPanel implements PropertyChangeListener
     
     private void centerGrid()
     {
-        Rectangle   rect    = gridMap.getLiveRectangle();
+        Rectangle   rect    = gridMap.getSnapshot().getLiveRectangle();
         int         width   = getWidth() / gridCellSize;
         int         height  = getHeight() / gridCellSize;
+        if ( gridZoomOut > 1 )
+        {
+            width = getWidth() * gridZoomOut;
+            height = getHeight() * gridZoomOut;
+        }
         int         physX   = width / 2 - rect.width / 2;
         int         physY   = height / 2 - rect.height / 2;
         int         ulcX    = rect.x - physX;
@@ -253,12 +418,21 @@ public class Grid extends JPanel implements PropertyChangeListener
         
     }
     
-    private class LiveCellIterator implements Iterator<Rectangle>
+    /**
+     * Fills the grid square of each live cell it is given.
+     * Used with GridMap.forEachLive, so no objects are created
+     * per cell.
+     * 
+     * @author Jack Straub
+     */
+    private class LiveCellPainter implements IntBinaryConsumer
     {
-        private final   Iterator<Cell>  cellIterator;
+        /** Grid coordinates of the cell at the upper-left corner */
         private final   Point           startCell;
+        /** Rectangle enclosing the grid coordinates of all visible cells */
+        private final   Rectangle       visibleCells;
         
-        public LiveCellIterator( Point ulcCell )
+        public LiveCellPainter( Point ulcCell )
         {
             startCell = ulcCell;
             
@@ -269,34 +443,28 @@ public class Grid extends JPanel implements PropertyChangeListener
             int     xco             = ulcCell.x;
             int     yco             = ulcCell.y;
             
-            // Rectangle enclosing all visible cells.
-            Rectangle rect    = 
+            visibleCells =
                 new Rectangle( xco, yco, widthCells, heightCells );
-            cellIterator = gridMap.iterator( rect );
         }
-
-        @Override
-        public boolean hasNext()
+        
+        /**
+         * Gets the rectangle enclosing the grid coordinates
+         * of all visible cells.
+         * 
+         * @return  the rectangle enclosing the grid coordinates
+         *          of all visible cells
+         */
+        public Rectangle getVisibleCells()
         {
-            return cellIterator.hasNext();
+            return visibleCells;
         }
 
         @Override
-        public Rectangle next() throws NoSuchElementException
+        public void accept( int cellX, int cellY )
         {
-            if ( !cellIterator.hasNext() )
-            {
-                String  message = "Iterator exhausted";
-                throw new NoSuchElementException( message );
-            }
-            
-            Cell        next    = cellIterator.next();
-            Point       point   = next.getPoint();
-            int         xco     = (point.x - startCell.x) * gridCellSize;
-            int         yco     = (point.y - startCell.y) * gridCellSize;
-            Rectangle   rect    = 
-                new Rectangle( xco, yco, gridCellSize, gridCellSize );
-            return rect;
+            int         xco     = (cellX - startCell.x) * gridCellSize;
+            int         yco     = (cellY - startCell.y) * gridCellSize;
+            gtx.fillRect( xco, yco, gridCellSize, gridCellSize );
         }        
     }
     
@@ -313,18 +481,22 @@ public class Grid extends JPanel implements PropertyChangeListener
          * and calls Parameters.setGridCellClicked(),
          * which generates a property change event for 
          * GOLConstants.GRID_CELL_CLICKED_PN.
+         * Clicks are ignored when the grid is zoomed out,
+         * since a pixel then represents a block of cells.
          * 
          * @param   evt     event associated with a mouse click
          */
         @Override
         public void mouseClicked( MouseEvent evt )
         {
+            if ( gridZoomOut > 1 )
+                return;
             int     xco     = 
                 evt.getX() / gridCellSize + gridCellULC.x;
             int     yco     = 
                 evt.getY() / gridCellSize + gridCellULC.y;
-            Cell    cell    = gridMap.get( xco, yco );
-            params.selectGridCell( cell );
+            boolean alive   = gridMap.getSnapshot().isAlive( xco, yco );
+            params.selectGridCell( new Cell( xco, yco, alive ) );
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.gmail.johnstraub1954.game_of_life.components;
 
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics;
 
@@ -18,6 +19,8 @@ import com.gmail.johnstraub1954.game_of_life.main.Parameters;
  * This relieves the actual grid of taking into account
  * things like margins and boundaries when calculating locations
  * inside the grid.
+ * The actual grid is a {@link Grid},
+ * or an {@link ActiveGrid} if active rendering is on.
  * 
  * @author Jack Straub
  *
@@ -28,8 +31,8 @@ public class GridOuterPanel extends JPanel
     private static final long serialVersionUID = -2104864620566857282L;
     /** The Parameters singleton. */
     private final Parameters    params  = Parameters.INSTANCE;
-    /** The panel that holds the actual grid */
-    private final Grid          gridPanel   = new Grid();
+    /** The component that holds the actual grid */
+    private final Component     gridPanel;
     
     /** 
      * Size of margin to place around the grid.
@@ -44,9 +47,16 @@ public class GridOuterPanel extends JPanel
     {
         setName( GOLConstants.GRID_OUTER_PANEL_CN );
 
-        // the outer panel is going to be responsible for laying out the
-        // grid panel, so get rid of the grid panel's layout manager.
-        gridPanel.setLayout( null );
+        if ( params.isGridActive() )
+            gridPanel = new ActiveGrid();
+        else
+        {
+            // the outer panel is going to be responsible for laying out the
+            // grid panel, so get rid of the grid panel's layout manager.
+            Grid    grid    = new Grid();
+            grid.setLayout( null );
+            gridPanel = grid;
+        }
         gridPanel.setName( GOLConstants.GRID_PANEL_CN );
         add( gridPanel );
         
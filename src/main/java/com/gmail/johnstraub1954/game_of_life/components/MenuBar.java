@@ -2,9 +2,11 @@ package com.gmail.johnstraub1954.game_of_life.components;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.Writer;
 
 import javax.swing.JFileChooser;
 import javax.swing.JMenu;
@@ -13,6 +15,7 @@ import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
 
+import com.gmail.johnstraub1954.game_of_life.main.GOLException;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
 import com.gmail.johnstraub1954.game_of_life.main.RLEDescriptor;
 
@@ -98,13 +101,11 @@ public class MenuBar extends JMenuBar
     private void save( File fileName )
     {
         RLEDescriptor   descrip = new RLEDescriptor( params );
-        try ( PrintStream pStream = new PrintStream( fileName ); )
+        try ( Writer writer = new BufferedWriter( new FileWriter( fileName ) ); )
         {
-            descrip.getComments().forEach( pStream::println );
-            pStream.println( descrip.getHeaderLine() );
-            descrip.getEncodedGrid().forEach( pStream::println );
+            descrip.write( writer );
         }
-        catch ( IOException exc )
+        catch ( IOException | GOLException exc )
         {
             exc.printStackTrace();
             String  message =
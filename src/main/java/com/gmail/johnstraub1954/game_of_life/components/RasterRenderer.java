@@ -0,0 +1,573 @@
+package com.gmail.johnstraub1954.game_of_life.components;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import com.gmail.johnstraub1954.game_of_life.main.DensityConsumer;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
+import com.gmail.johnstraub1954.game_of_life.main.IntBinaryConsumer;
+
+/**
+ * Renders the grid into the pixel array of an image,
+ * which the Grid component then draws with a single call.
+ * <p>
+ * The grid background and grid lines
+ * are drawn once, into an overlay image,
+ * which is cached until the size of the grid
+ * or one of the properties that affect it
+ * (cell size, colors, grid line width and visibility) changes.
+ * To render a frame the overlay's pixels are copied
+ * into the frame image with a single array copy,
+ * then the visible live cells are written
+ * directly into the frame image's pixel array;
+ * no objects are created, and no Graphics calls are made, per cell.
+ * The result is the same as that of drawing
+ * the grid lines, then filling each live cell, with a Graphics object.
+ * </p>
+ * <p>
+ * The frame image is kept from one frame to the next, as a back buffer.
+ * If the next frame differs from the previous one only
+ * in the cells that changed state between the two snapshots
+ * (see {@link GridSnapshot#forEachChange(GridSnapshot, IntBinaryConsumer)})
+ * only the squares of those cells are rewritten:
+ * a cell that came alive is filled,
+ * and a cell that died is restored from the overlay.
+ * The region of the frame that was rewritten
+ * is available from {@link #getDamage()},
+ * so that only that region need be copied to the screen.
+ * The cost of such a frame is proportional to the number of changed cells,
+ * rather than to the number of visible cells.
+ * </p>
+ * <p>
+ * When the grid is zoomed out, so that each pixel represents
+ * a square block of cells,
+ * {@link #renderDensity(int, int, GridSnapshot, Point, int)}
+ * shades each pixel according to the number of live cells in its block,
+ * as reported by
+ * {@link GridSnapshot#forEachDensity(Rectangle, int, DensityConsumer)};
+ * the cost of such a frame is proportional to the number of pixels,
+ * no matter how many cells are alive.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see com.gmail.johnstraub1954.game_of_life.main.GOLConstants#GRID_RASTER_PN
+ */
+class RasterRenderer
+{
+    /** Background color of the grid */
+    private Color           gridColor       = null;
+    /** Grid lines on/off */
+    private boolean         gridLineShow    = false;
+    /** Grid line width; pixels */
+    private int             gridLineWidth   = 0;
+    /** Grid line color */
+    private Color           gridLineColor   = null;
+    /** Grid cell size (width/height); pixels */
+    private int             gridCellSize    = 0;
+    /** Color of live cells, as an RGB value */
+    private int             cellRGB         = 0;
+    
+    /** Grid background and grid lines; null if invalid */
+    private BufferedImage   overlay         = null;
+    /** The pixels of the overlay */
+    private int[]           overlayPixels   = null;
+    /** The image into which frames are rendered */
+    private BufferedImage   frame           = null;
+    /** The pixels of the frame image */
+    private int[]           framePixels     = null;
+    /** True if the frame image holds a complete rendering */
+    private boolean         frameValid      = false;
+    /** The snapshot rendered in the frame image */
+    private GridSnapshot    frameSnapshot   = null;
+    /** Grid coordinates of the cell in the upper-left corner of the frame */
+    private final Point     frameULC        = new Point();
+    /** Grid coordinates of the cells visible in the frame */
+    private final Rectangle frameCells      = new Rectangle();
+    /** The region of the frame rewritten by the most recent render */
+    private final Rectangle damage          = new Rectangle();
+    /**
+     * Colors used to shade a pixel in a zoomed-out frame.
+     * Element 0 is the background color;
+     * element <em>n</em> is the color of a pixel
+     * whose block holds 2<sup><em>n</em>-1</sup>
+     * through 2<sup><em>n</em></sup>-1 live cells.
+     */
+    private final int[]     densityPalette  =
+        new int[2 * GridSnapshot.MAX_DENSITY_SHIFT + 2];
+    
+    /**
+     * Sets the properties that determine the appearance of the grid.
+     * The cached overlay is discarded
+     * if any of the properties that affect it has changed.
+     * 
+     * @param gridColor     background color of the grid
+     * @param gridLineShow  true if grid lines are to be drawn
+     * @param gridLineWidth width of grid lines, in pixels
+     * @param gridLineColor color of grid lines
+     * @param gridCellSize  width and height of a cell, in pixels
+     * @param gridCellColor color of live cells
+     */
+    public void setStyle(
+        Color   gridColor,
+        boolean gridLineShow,
+        int     gridLineWidth,
+        Color   gridLineColor,
+        int     gridCellSize,
+        Color   gridCellColor
+    )
+    {
+        if (
+            !gridColor.equals( this.gridColor )
+            || gridLineShow != this.gridLineShow
+            || gridLineWidth != this.gridLineWidth
+            || !gridLineColor.equals( this.gridLineColor )
+            || gridCellSize != this.gridCellSize
+        )
+            invalidate();
+        
+        this.gridColor = gridColor;
+        this.gridLineShow = gridLineShow;
+        this.gridLineWidth = gridLineWidth;
+        this.gridLineColor = gridLineColor;
+        this.gridCellSize = gridCellSize;
+        if ( gridCellColor.getRGB() != cellRGB )
+        {
+            cellRGB = gridCellColor.getRGB();
+            frameValid = false;
+        }
+    }
+    
+    /**
+     * Discards the cached overlay;
+     * it will be redrawn by the next call to render.
+     */
+    public void invalidate()
+    {
+        overlay = null;
+        overlayPixels = null;
+        frameValid = false;
+    }
+    
+    /**
+     * Renders the grid into an image of a given size.
+     * The returned image is reused by subsequent calls,
+     * so it must be drawn before this method is invoked again.
+     * If possible only the cells that have changed state
+     * since the previous call are rendered;
+     * the region of the image that was modified
+     * is available from {@link #getDamage()}.
+     * 
+     * @param width     the width of the image
+     * @param height    the height of the image
+     * @param snapshot  the live cells to render
+     * @param ulcCell   grid coordinates of the cell
+     *                  in the upper-left corner of the image
+     * 
+     * @return  the rendered image
+     * 
+     * @throws IllegalArgumentException
+     *         if width or height is less than 1
+     */
+    public BufferedImage render(
+        int             width,
+        int             height,
+        GridSnapshot    snapshot,
+        Point           ulcCell
+    ) throws IllegalArgumentException
+    {
+        if ( width < 1 || height < 1 )
+        {
+            String  message = "Invalid size: " + width + "x" + height;
+            throw new IllegalArgumentException( message );
+        }
+        
+        if (
+            frame == null
+            || frame.getWidth() != width
+            || frame.getHeight() != height
+        )
+        {
+            frame = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+            framePixels = getPixels( frame );
+            invalidate();
+        }
+        if ( overlay == null )
+            drawOverlay( width, height );
+        if ( !ulcCell.equals( frameULC ) )
+            frameValid = false;
+        
+        damage.setBounds( 0, 0, 0, 0 );
+        boolean incremental =
+            frameValid
+            && snapshot.forEachChange( frameSnapshot, new ChangeWriter( snapshot ) );
+        if ( !incremental )
+        {
+            System.arraycopy( overlayPixels, 0, framePixels, 0, framePixels.length );
+            frameULC.setLocation( ulcCell );
+            frameCells.setBounds(
+                ulcCell.x,
+                ulcCell.y,
+                width / gridCellSize,
+                height / gridCellSize
+            );
+            snapshot.forEachLive( frameCells, new CellWriter() );
+            damage.setBounds( 0, 0, width, height );
+            frameValid = true;
+        }
+        frameSnapshot = snapshot;
+        
+        return frame;
+    }
+    
+    /**
+     * Renders the grid, zoomed out, into an image of a given size.
+     * Each pixel of the image represents a square block of cells,
+     * and is shaded according to the number of live cells in the block:
+     * the background color if there are none,
+     * and a blend of the background color and the live cell color,
+     * on a logarithmic scale, if there are any;
+     * a pixel whose block is full is drawn in the live cell color.
+     * Grid lines are not drawn.
+     * The returned image is the same image returned by render,
+     * so it must be drawn before either method is invoked again.
+     * The entire image is rendered.
+     * 
+     * @param width     the width of the image
+     * @param height    the height of the image
+     * @param snapshot  the live cells to render
+     * @param ulcBlock  coordinates of the block
+     *                  in the upper-left corner of the image
+     * @param shift     the base-2 logarithm of the number of cells
+     *                  along each side of a block,
+     *                  1 through {@link GridSnapshot#MAX_DENSITY_SHIFT}
+     * 
+     * @return  the rendered image
+     * 
+     * @throws IllegalArgumentException
+     *         if width or height is less than 1,
+     *         or shift is out of range
+     */
+    public BufferedImage renderDensity(
+        int             width,
+        int             height,
+        GridSnapshot    snapshot,
+        Point           ulcBlock,
+        int             shift
+    ) throws IllegalArgumentException
+    {
+        if ( width < 1 || height < 1 )
+        {
+            String  message = "Invalid size: " + width + "x" + height;
+            throw new IllegalArgumentException( message );
+        }
+        
+        if (
+            frame == null
+            || frame.getWidth() != width
+            || frame.getHeight() != height
+        )
+        {
+            frame = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+            framePixels = getPixels( frame );
+            invalidate();
+        }
+        
+        Rectangle   cells   =
+            new Rectangle(
+                ulcBlock.x << shift,
+                ulcBlock.y << shift,
+                width << shift,
+                height << shift
+            );
+        makePalette( shift );
+        Arrays.fill( framePixels, densityPalette[0] );
+        snapshot.forEachDensity( cells, shift, new DensityWriter( ulcBlock ) );
+        
+        // the next call to render must redraw the entire frame
+        frameValid = false;
+        frameSnapshot = null;
+        damage.setBounds( 0, 0, width, height );
+        
+        return frame;
+    }
+    
+    /**
+     * Gets the region of the image
+     * that was modified by the most recent call to render.
+     * The region is empty if the image was not modified.
+     * 
+     * @return  the region of the image
+     *          that was modified by the most recent call to render
+     */
+    public Rectangle getDamage()
+    {
+        Rectangle   result  = new Rectangle( damage );
+        return result;
+    }
+    
+    /**
+     * Gets the cached overlay.
+     * 
+     * @return  the cached overlay, or null if it is invalid
+     */
+    BufferedImage getOverlay()
+    {
+        return overlay;
+    }
+    
+    /**
+     * Draws the grid background and grid lines into the overlay.
+     * The grid lines are drawn exactly as they are when
+     * the grid is rendered with a Graphics object.
+     * 
+     * @param width     the width of the overlay
+     * @param height    the height of the overlay
+     */
+    private void drawOverlay( int width, int height )
+    {
+        overlay = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+        overlayPixels = getPixels( overlay );
+        
+        Graphics2D  gtx     = overlay.createGraphics();
+        gtx.setRenderingHint(
+            RenderingHints.KEY_ANTIALIASING,
+            RenderingHints.VALUE_ANTIALIAS_ON
+        );
+        gtx.setColor( gridColor );
+        gtx.fillRect( 0, 0, width, height );
+        if ( gridLineShow )
+        {
+            Line2D.Float    line    = new Line2D.Float();
+            gtx.setStroke( new BasicStroke( gridLineWidth ) );
+            gtx.setColor( gridLineColor );
+            for ( int xco = 0 ; xco <= width ; xco += gridCellSize )
+            {
+                line.setLine( xco, 0, xco, height );
+                gtx.draw( line );
+            }
+            for ( int yco = 0 ; yco <= height ; yco += gridCellSize )
+            {
+                line.setLine( 0, yco, width, yco );
+                gtx.draw( line );
+            }
+        }
+        gtx.dispose();
+    }
+    
+    /**
+     * Fills the density palette for blocks of a given size.
+     * A block of 2<sup>shift</sup> x 2<sup>shift</sup> cells
+     * holds at most 2<sup>2*shift</sup> live cells,
+     * so 2*shift + 1 shades, plus the background, are needed;
+     * shade <em>n</em> is the background color
+     * blended with the live cell color in the proportion
+     * <em>n</em> / (2*shift + 1).
+     * 
+     * @param shift the base-2 logarithm of the given size
+     */
+    private void makePalette( int shift )
+    {
+        int     bgRGB   = gridColor.getRGB();
+        int     levels  = 2 * shift + 1;
+        for ( int inx = 0 ; inx <= levels ; ++inx )
+        {
+            int     rgb     = 0xFF000000;
+            for ( int bit = 0 ; bit < 24 ; bit += 8 )
+            {
+                int     from    = (bgRGB >> bit) & 0xFF;
+                int     to      = (cellRGB >> bit) & 0xFF;
+                int     value   = from + (to - from) * inx / levels;
+                rgb |= value << bit;
+            }
+            densityPalette[inx] = rgb;
+        }
+    }
+    
+    /**
+     * Gets the array that backs the pixels of a given image.
+     * The image must be of type TYPE_INT_RGB.
+     * 
+     * @param image the given image
+     * 
+     * @return  the array that backs the pixels of the given image
+     */
+    private static int[] getPixels( BufferedImage image )
+    {
+        DataBufferInt   buffer  =
+            (DataBufferInt)image.getRaster().getDataBuffer();
+        return buffer.getData();
+    }
+    
+    /**
+     * Gets the offset in the frame's pixel array
+     * of the upper-left pixel of a given cell.
+     * The cell must be visible.
+     * 
+     * @param cellX the x-coordinate of the given cell
+     * @param cellY the y-coordinate of the given cell
+     * 
+     * @return  the offset of the upper-left pixel of the given cell
+     */
+    private int getOffset( int cellX, int cellY )
+    {
+        int     xco     = (cellX - frameULC.x) * gridCellSize;
+        int     yco     = (cellY - frameULC.y) * gridCellSize;
+        int     offset  = yco * frame.getWidth() + xco;
+        return offset;
+    }
+    
+    /**
+     * Fills the square of a given cell, in the frame's pixel array,
+     * with the live cell color.
+     * The cell must be visible.
+     * 
+     * @param cellX the x-coordinate of the given cell
+     * @param cellY the y-coordinate of the given cell
+     */
+    private void fillCell( int cellX, int cellY )
+    {
+        int     size        = gridCellSize;
+        int     scanWidth   = frame.getWidth();
+        int     offset      = getOffset( cellX, cellY );
+        if ( size == 1 )
+            framePixels[offset] = cellRGB;
+        else
+        {
+            for ( int row = 0 ; row < size ; ++row )
+            {
+                Arrays.fill( framePixels, offset, offset + size, cellRGB );
+                offset += scanWidth;
+            }
+        }
+    }
+    
+    /**
+     * Restores the square of a given cell, in the frame's pixel array,
+     * from the overlay.
+     * The cell must be visible.
+     * 
+     * @param cellX the x-coordinate of the given cell
+     * @param cellY the y-coordinate of the given cell
+     */
+    private void clearCell( int cellX, int cellY )
+    {
+        int     size        = gridCellSize;
+        int     scanWidth   = frame.getWidth();
+        int     offset      = getOffset( cellX, cellY );
+        for ( int row = 0 ; row < size ; ++row )
+        {
+            System.arraycopy( overlayPixels, offset, framePixels, offset, size );
+            offset += scanWidth;
+        }
+    }
+    
+    /**
+     * Writes the square of each live cell it is given
+     * into the frame image's pixel array.
+     * Used with GridSnapshot.forEachLive.
+     * 
+     * @author Jack Straub
+     */
+    private class CellWriter implements IntBinaryConsumer
+    {
+        @Override
+        public void accept( int cellX, int cellY )
+        {
+            fillCell( cellX, cellY );
+        }
+    }
+    
+    /**
+     * Shades the pixel of each block it is given
+     * according to the number of live cells in the block.
+     * Used with GridSnapshot.forEachDensity.
+     * 
+     * @author Jack Straub
+     */
+    private class DensityWriter implements DensityConsumer
+    {
+        /** x-coordinate of the block in the upper-left corner of the frame */
+        private final int   originX;
+        /** y-coordinate of the block in the upper-left corner of the frame */
+        private final int   originY;
+        /** Width of the frame */
+        private final int   scanWidth;
+        
+        /**
+         * Constructor.
+         * 
+         * @param ulcBlock  the block in the upper-left corner of the frame
+         */
+        public DensityWriter( Point ulcBlock )
+        {
+            originX = ulcBlock.x;
+            originY = ulcBlock.y;
+            scanWidth = frame.getWidth();
+        }
+        
+        @Override
+        public void accept( int blockX, int blockY, int count )
+        {
+            // 1 + floor(log2(count)), for count > 0
+            int     shade   = Integer.SIZE - Integer.numberOfLeadingZeros( count );
+            int     offset  = (blockY - originY) * scanWidth + blockX - originX;
+            framePixels[offset] = densityPalette[shade];
+        }
+    }
+    
+    /**
+     * Rewrites the square of each visible cell it is given
+     * according to the state of the cell in a given snapshot,
+     * and adds the square to the damaged region.
+     * Used with GridSnapshot.forEachChange.
+     * 
+     * @author Jack Straub
+     */
+    private class ChangeWriter implements IntBinaryConsumer
+    {
+        /** The snapshot being rendered */
+        private final GridSnapshot  snapshot;
+        
+        /**
+         * Constructor.
+         * 
+         * @param snapshot  the snapshot being rendered
+         */
+        public ChangeWriter( GridSnapshot snapshot )
+        {
+            this.snapshot = snapshot;
+        }
+        
+        @Override
+        public void accept( int cellX, int cellY )
+        {
+            if ( frameCells.contains( cellX, cellY ) )
+            {
+                if ( snapshot.isAlive( cellX, cellY ) )
+                    fillCell( cellX, cellY );
+                else
+                    clearCell( cellX, cellY );
+                
+                int     size    = gridCellSize;
+                int     xco     = (cellX - frameULC.x) * size;
+                int     yco     = (cellY - frameULC.y) * size;
+                if ( damage.isEmpty() )
+                    damage.setBounds( xco, yco, size, size );
+                else
+                {
+                    damage.add( xco, yco );
+                    damage.add( xco + size, yco + size );
+                }
+            }
+        }
+    }
+}
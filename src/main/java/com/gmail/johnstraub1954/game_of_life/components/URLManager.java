@@ -1,7 +1,6 @@
 package com.gmail.johnstraub1954.game_of_life.components;
 
 import java.awt.Component;
-import java.awt.Point;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
@@ -16,7 +15,6 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,12 +22,10 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.text.JTextComponent;
 
-import com.gmail.johnstraub1954.game_of_life.main.Cell;
 import com.gmail.johnstraub1954.game_of_life.main.CheckpointStack;
 import com.gmail.johnstraub1954.game_of_life.main.GOLException;
 import com.gmail.johnstraub1954.game_of_life.main.GridMap;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
-import com.gmail.johnstraub1954.game_of_life.main.RLEGridDecoder;
 import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
 
 /**
@@ -156,8 +152,9 @@ public class URLManager extends DropTargetAdapter
         boolean status  = false;
         try
         {
-            RLEInput    input   = new RLEInput( url );
-            open( input );
+            GridMap     map     = new GridMap();
+            RLEInput    input   = new RLEInput( url, map );
+            open( input, map );
             status = true;
         }
         catch ( GOLException exc )
@@ -183,8 +180,9 @@ public class URLManager extends DropTargetAdapter
         boolean status  = false;
         try
         {
-            RLEInput    input   = new RLEInput( file );
-            open( input );
+            GridMap     map     = new GridMap();
+            RLEInput    input   = new RLEInput( file, map );
+            open( input, map );
             status = true;
         }
         catch ( GOLException exc )
@@ -203,6 +201,18 @@ public class URLManager extends DropTargetAdapter
      * @param input the RLE input to parse
      */
     public static void open( RLEInput input )
+    {
+        open( input, input.decodeGridMap() );
+    }
+    
+    /**
+     * Instantiate the game encapsulated by given RLE input,
+     * using a grid map already decoded from the input.
+     * 
+     * @param input the given RLE input
+     * @param map   the grid map decoded from the input
+     */
+    private static void open( RLEInput input, GridMap map )
     {
         CheckpointStack cpStack     = CheckpointStack.INSTANCE;
 
@@ -210,7 +220,6 @@ public class URLManager extends DropTargetAdapter
         params.setSurvivalStates( input.getSurvivalRules() );
         params.setBirthStates( input.getBirthRules() );
         
-        GridMap map = getGridMap( input );
         params.setGridMap( map );
         params.setGridLatestData( input );
         
@@ -219,40 +228,6 @@ public class URLManager extends DropTargetAdapter
         params.reset();
     }
     
-    /**
-     * Parse a grid map from a given RLE input source.
-     * 
-     * @param input the given RLE input source
-     * 
-     * @return  the resultant grid map
-     */
-    private static GridMap getGridMap( RLEInput input )
-    {
-        Point               origin  = input.getUpperLeft();
-        RLEGridDecoder      decoder = input.getGridDecoder();
-        Iterator<Character> iter    = decoder.iterator();
-        GridMap             gridMap = new GridMap();
-        int currX   = origin.x;
-        int currY   = origin.y;
-        while ( iter.hasNext() )
-        {
-            char    nextChar    = iter.next();
-            if ( nextChar == '$' )
-            {
-                ++currY;
-                currX = origin.x;
-            }
-            else
-            {
-                boolean state   = nextChar == 'o';
-                Cell    cell    = new Cell( currX++, currY, state );
-                gridMap.put( cell );
-            }
-        }
-        
-        return gridMap;
-    }
-    
     /**
      * Catches link/file location 
      * dropped into the encapsulated text component
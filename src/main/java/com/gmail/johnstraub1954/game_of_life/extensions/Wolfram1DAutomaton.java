@@ -1,16 +1,25 @@
 package com.gmail.johnstraub1954.game_of_life.extensions;
 
 import java.awt.Point;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import com.gmail.johnstraub1954.game_of_life.components.GridFrame;
+import com.gmail.johnstraub1954.game_of_life.main.GenerationEngine;
 import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
 import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
 
 /**
  * Breeds new generations of 1-D automata based on the Wolfram algorithm.
+ * Each generation is drawn on the row beneath its predecessor.
+ * The automaton installs itself as the application's
+ * generation engine.
  * 
  * @author Jack Straub
  *          
@@ -19,11 +28,15 @@ import com.gmail.johnstraub1954.game_of_life.main.Parameters;
  *      </a>
  *
  */
-public class Wolfram1DAutomaton
+public class Wolfram1DAutomaton implements GenerationEngine
 {
     /** Workspace parameters */
     private static final Parameters params          = Parameters.INSTANCE;
     
+    /** The capabilities of this engine */
+    private static final Set<Capability>    capabilities    =
+        Collections.unmodifiableSet( EnumSet.of( Capability.SNAPSHOT ) );
+    
     /** Map containing successive generations. */
     private final GridMap           gridMap         = params.getGridMap();
     
@@ -59,8 +72,8 @@ public class Wolfram1DAutomaton
         params.centerGrid();
         params.setGridKeepCentered( true );
         
-        // register the propagation proc
-        params.setPropagateProc( o -> generateNext( o ) );
+        // install this automaton as the generation engine
+        params.setGenerationEngine( this );
         
         // Get the base rule
         rule = getRule();
@@ -76,6 +89,68 @@ public class Wolfram1DAutomaton
         params.reset();
     }
     
+    @Override
+    public String getName()
+    {
+        return "wolfram";
+    }
+    
+    @Override
+    public Set<Capability> getCapabilities()
+    {
+        return capabilities;
+    }
+    
+    /**
+     * Returns true for every rule;
+     * the life-like rule is not used by this automaton.
+     * 
+     * @param rule  the given rule; not used
+     * 
+     * @return  true
+     */
+    @Override
+    public boolean supportsRule( Rule rule )
+    {
+        return true;
+    }
+    
+    @Override
+    public void advance( int count )
+        throws IllegalArgumentException
+    {
+        if ( count < 1 )
+        {
+            String  message = "Invalid generation count: " + count;
+            throw new IllegalArgumentException( message );
+        }
+        
+        // calculate all the rows as a single batch, so that the renderer
+        // never sees a snapshot with only some of them
+        gridMap.applyBatch( map -> {
+            for ( int gen = 0 ; gen < count ; ++gen )
+                generateNext();
+        });
+    }
+    
+    @Override
+    public int population()
+    {
+        return gridMap.getPopulation();
+    }
+    
+    @Override
+    public GridSnapshot snapshot()
+    {
+        return gridMap.getSnapshot();
+    }
+    
+    @Override
+    public void close()
+    {
+        // no resources to release
+    }
+    
     /**
      * Calculate the next generation.
      * 
@@ -88,10 +163,8 @@ public class Wolfram1DAutomaton
      * row 3        x x x x x x x
      * row 4      x x x x x x x x x
      * row 5    x x x x x x x x x x x</pre>
-     * 
-     * @param   obj control object (not used)
      */
-    private void generateNext( Object obj )
+    private void generateNext()
     {
         // first cell of first triplet of row 0 is -2...
         // first cell of first triplet of row 1 is -3...
@@ -106,8 +179,6 @@ public class Wolfram1DAutomaton
         for ( int xco = firstTrip ; xco <= lastTrip ; ++xco )
             calculateChild( xco, lastRow );
         ++lastRow;
-        
-        params.reset();
     }
     
     private void calculateChild( int xco, int yco )
@@ -0,0 +1,253 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+
+/**
+ * Propagation engine that advances the grid two cells at a time
+ * in each dimension,
+ * using a lookup table that maps a 4x4 square of cells
+ * to the next generation of the 2x2 square at its center
+ * (see {@link BlockRule}).
+ * <p>
+ * The region examined is the live rectangle of the grid map
+ * plus a margin of one cell, rounded out to even coordinates.
+ * The cells in and around the region are first copied
+ * into bit-packed rows;
+ * each 2x2 square of the region is then calculated
+ * with a single table lookup.
+ * Only cells that change state are written to the grid map,
+ * as a single batch.
+ * </p>
+ * <p>
+ * The lookup table is compiled from the rule currently configured
+ * in the Parameters singleton,
+ * and is recompiled whenever the birth or survival states change.
+ * Rules that contain B0 (birth with no neighbors)
+ * are not supported by this engine;
+ * {@link PropagatorEngine} delegates them to
+ * {@link ConwayPropagator#nextGeneration(GridMap, Rule)}.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GenerationEngine
+ */
+public class BlockPropagator implements PropertyChangeListener
+{
+    /**
+     * The table compiled from the rule currently configured
+     * in the Parameters singleton;
+     * null until the engine is first used
+     */
+    private volatile BlockRule  blockRule       = null;
+    
+    /** Packed coordinates of the cells that come alive */
+    private long[]              births          = new long[64];
+    /** Number of valid elements in births */
+    private int                 birthCount      = 0;
+    /** Packed coordinates of the cells that die */
+    private long[]              deaths          = new long[64];
+    /** Number of valid elements in deaths */
+    private int                 deathCount      = 0;
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given compiled rule.
+     * Only cells that change state are written to the grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param table     the given compiled rule; may not contain B0
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0
+     */
+    public void nextGeneration( GridMap gridMap, BlockRule table )
+        throws IllegalArgumentException
+    {
+        if ( table.getRule().isBirthOnZero() )
+        {
+            String  message = "Rule not supported: " + table.getRule();
+            throw new IllegalArgumentException( message );
+        }
+        
+        birthCount = 0;
+        deathCount = 0;
+        Rectangle   rect    = gridMap.getLiveRectangle();
+        if ( rect.width > 0 )
+        {
+            // First and last cells of the region, which must
+            // include every cell within one cell of a live cell;
+            // the region starts on even coordinates.
+            int         firstX      = (rect.x - 1) & ~1;
+            int         firstY      = (rect.y - 1) & ~1;
+            int         lastX       = rect.x + rect.width;
+            int         lastY       = rect.y + rect.height;
+            int         blocksWide  = (lastX - firstX) / 2 + 1;
+            int         blocksHigh  = (lastY - firstY) / 2 + 1;
+            
+            // Bit-packed rows; each 2x2 square also needs
+            // the cells surrounding it, so there is an extra
+            // row and column on every side.
+            int         originX     = firstX - 1;
+            int         originY     = firstY - 1;
+            int         width       = 2 * blocksWide + 2;
+            int         height      = 2 * blocksHigh + 2;
+            int         words       = (width + Long.SIZE - 1) / Long.SIZE + 1;
+            long[][]    rows        = new long[height][words];
+            Rectangle   view        =
+                new Rectangle( originX, originY, width, height );
+            gridMap.forEachLive( view, (xco, yco) -> {
+                int bit = xco - originX;
+                rows[yco - originY][bit >> 6] |= 1L << bit;
+            });
+            
+            for ( int blockY = 0 ; blockY < blocksHigh ; ++blockY )
+            {
+                long[]  row0    = rows[2 * blockY];
+                long[]  row1    = rows[2 * blockY + 1];
+                long[]  row2    = rows[2 * blockY + 2];
+                long[]  row3    = rows[2 * blockY + 3];
+                int     yco     = firstY + 2 * blockY;
+                for ( int blockX = 0 ; blockX < blocksWide ; ++blockX )
+                {
+                    int bit     = 2 * blockX;
+                    int block   =
+                        getNibble( row0, bit )
+                        | getNibble( row1, bit ) << 4
+                        | getNibble( row2, bit ) << 8
+                        | getNibble( row3, bit ) << 12;
+                    if ( block != 0 )
+                    {
+                        int changes =
+                            table.next( block ) ^ BlockRule.getCenter( block );
+                        if ( changes != 0 )
+                            record( block, changes, firstX + bit, yco );
+                    }
+                }
+            }
+        }
+        
+        gridMap.applyBatch( map -> {
+            map.putAll( births, birthCount, true );
+            map.putAll( deaths, deathCount, false );
+        });
+    }
+    
+    /**
+     * Gets the compiled form of the rule currently configured
+     * in the Parameters singleton.
+     * The first time this method is invoked
+     * the rule is compiled, and the engine arranges
+     * for it to be recompiled whenever
+     * the birth or survival states change.
+     * (This is not done in the constructor,
+     * which may be invoked while the Parameters singleton
+     * is being initialized.)
+     * 
+     * @return  the compiled form of the current rule
+     */
+    public synchronized BlockRule getBlockRule()
+    {
+        if ( blockRule == null )
+        {
+            Parameters  params  = Parameters.INSTANCE;
+            blockRule = new BlockRule( Rule.fromParameters() );
+            params.addPropertyChangeListener(
+                GOLConstants.CTRL_BIRTH_STATES_PN, this
+            );
+            params.addPropertyChangeListener(
+                GOLConstants.CTRL_SURVIVAL_STATES_PN, this
+            );
+        }
+        return blockRule;
+    }
+    
+    /**
+     * Gets the compiled form of a given rule.
+     * The most recently compiled rule is cached,
+     * so the rule is compiled only when it changes.
+     * Does not refer to the Parameters singleton.
+     * 
+     * @param rule  the given rule; may not contain B0
+     * 
+     * @return  the compiled form of the given rule
+     */
+    public synchronized BlockRule getBlockRule( Rule rule )
+    {
+        BlockRule   table   = blockRule;
+        if ( table == null || !table.getRule().equals( rule ) )
+        {
+            table = new BlockRule( rule );
+            blockRule = table;
+        }
+        return table;
+    }
+    
+    /**
+     * Recompiles the rule when the birth or survival states change.
+     * 
+     * @param evt   object describing the property change
+     */
+    @Override
+    public void propertyChange( PropertyChangeEvent evt )
+    {
+        blockRule = new BlockRule( Rule.fromParameters() );
+    }
+    
+    /**
+     * Records the cells of a 2x2 square that change state.
+     * 
+     * @param block     the 4x4 square surrounding the 2x2 square
+     * @param changes   the cells of the 2x2 square that change state,
+     *                  encoded as described in BlockRule
+     * @param xco       the x-coordinate of the northwest cell
+     *                  of the 2x2 square
+     * @param yco       the y-coordinate of the northwest cell
+     *                  of the 2x2 square
+     */
+    private void record( int block, int changes, int xco, int yco )
+    {
+        int center  = BlockRule.getCenter( block );
+        for ( int inx = 0 ; inx < 4 ; ++inx )
+        {
+            int mask    = 1 << inx;
+            if ( (changes & mask) != 0 )
+            {
+                long    packed  = CellSet.pack( xco + (inx & 1), yco + (inx >> 1) );
+                if ( (center & mask) != 0 )
+                {
+                    if ( deathCount == deaths.length )
+                        deaths = Arrays.copyOf( deaths, deathCount * 2 );
+                    deaths[deathCount++] = packed;
+                }
+                else
+                {
+                    if ( birthCount == births.length )
+                        births = Arrays.copyOf( births, birthCount * 2 );
+                    births[birthCount++] = packed;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gets four consecutive bits of a bit-packed row.
+     * 
+     * @param row   the given row
+     * @param bit   the position of the first bit
+     * 
+     * @return  the four bits, in the low-order bits of the result
+     */
+    private static int getNibble( long[] row, int bit )
+    {
+        int     inx     = bit >> 6;
+        int     offset  = bit & 63;
+        long    bits    = row[inx] >>> offset;
+        if ( offset > 60 )
+            bits |= row[inx + 1] << (64 - offset);
+        int     result  = (int)bits & 0xF;
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * A rule compiled into a lookup table
+ * that maps a 4x4 square of cells
+ * to the next generation of the 2x2 square at its center.
+ * <p>
+ * A 4x4 square is encoded as a 16-bit index;
+ * bit (y * 4 + x) of the index corresponds to the cell at (x, y),
+ * where (0, 0) is the northwest corner of the square.
+ * The 2x2 result is encoded in 4 bits:
+ * bit 0 is the northwest center cell (1, 1),
+ * bit 1 the northeast center cell (2, 1),
+ * bit 2 the southwest center cell (1, 2)
+ * and bit 3 the southeast center cell (2, 2).
+ * One lookup therefore calculates four cells.
+ * </p>
+ * <p>
+ * Objects of this class are immutable.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see BlockPropagator
+ */
+public final class BlockRule
+{
+    /** Number of entries in the lookup table (one per 4x4 square) */
+    public static final int     TABLE_SIZE      = 1 << 16;
+    
+    /**
+     * For each of the four center cells of a 4x4 square,
+     * a mask identifying the cell's eight neighbors.
+     * The order of the masks is northwest, northeast,
+     * southwest, southeast.
+     */
+    private static final int[]  centerNeighbors =
+        { 0x0757, 0x0EAE, 0x7570, 0xEAE0 };
+    /** Bit positions of the four center cells of a 4x4 square */
+    private static final int[]  centerBits      = { 5, 6, 9, 10 };
+    
+    /** The rule from which the table was compiled */
+    private final Rule      rule;
+    /** The lookup table; one 4-bit result per 4x4 square */
+    private final byte[]    table;
+    
+    /**
+     * Constructor.
+     * Compiles a given rule into a lookup table.
+     * 
+     * @param rule  the given rule
+     */
+    public BlockRule( Rule rule )
+    {
+        this.rule = rule;
+        table = new byte[TABLE_SIZE];
+        for ( int block = 0 ; block < TABLE_SIZE ; ++block )
+        {
+            int next    = 0;
+            for ( int inx = 0 ; inx < centerBits.length ; ++inx )
+            {
+                int     count   = Integer.bitCount( block & centerNeighbors[inx] );
+                boolean isAlive = (block & (1 << centerBits[inx])) != 0;
+                if ( rule.nextState( isAlive, count ) )
+                    next |= 1 << inx;
+            }
+            table[block] = (byte)next;
+        }
+    }
+    
+    /**
+     * Gets the rule from which the table was compiled.
+     * 
+     * @return  the rule from which the table was compiled
+     */
+    public Rule getRule()
+    {
+        return rule;
+    }
+    
+    /**
+     * Calculates the next generation of the 2x2 square
+     * at the center of a given 4x4 square.
+     * 
+     * @param block the given 4x4 square, encoded in 16 bits
+     * 
+     * @return  the next generation of the center 2x2 square,
+     *          encoded in 4 bits
+     */
+    public int next( int block )
+    {
+        int result  = table[block];
+        return result;
+    }
+    
+    /**
+     * Gets the current generation of the 2x2 square
+     * at the center of a given 4x4 square,
+     * encoded in the same way as the result of {@link #next(int)}.
+     * 
+     * @param block the given 4x4 square, encoded in 16 bits
+     * 
+     * @return  the center 2x2 square, encoded in 4 bits
+     */
+    public static int getCenter( int block )
+    {
+        int result  =
+            ((block >> 5) & 3)          // bits 5, 6 -> 0, 1
+            | ((block >> 7) & 0xC);     // bits 9, 10 -> 2, 3
+        return result;
+    }
+}
@@ -20,12 +20,15 @@ import java.util.Objects;
 public class Cell
 {
     /** 
-     * Grid coordinates of this cell. 
-     * This object is not modifiable by the user.
+     * Grid x-coordinate of this cell. 
+     * The coordinates are stored as primitives
+     * so that creating a Cell creates only one object.
      * 
      * @see #getPoint
      */
-    private final Point point;
+    private final int   xco;
+    /** Grid y-coordinate of this cell */
+    private final int   yco;
     
     /** true if cell is alive */
     private boolean isAlive;
@@ -84,7 +87,7 @@ public class Cell
      */
     public Cell( Cell cell )
     {
-        this( cell.point.x, cell.point.y, cell.isAlive );
+        this( cell.xco, cell.yco, cell.isAlive );
     }
     
     /**
@@ -96,7 +99,8 @@ public class Cell
      */
     public Cell( int xco, int yco, boolean alive )
     {
-        point = new Point( xco, yco );
+        this.xco = xco;
+        this.yco = yco;
         setAlive( alive );
     }
     
@@ -109,8 +113,9 @@ public class Cell
      */
     public Cell getNeighbor( Direction dir, GridMap map )
     {
-        Point   point   = getRelativePoint( dir );
-        Cell    cell    = map.get( point );
+        int     xco     = this.xco + dir.getHorizontal();
+        int     yco     = this.yco + dir.getVertical();
+        Cell    cell    = map.get( xco, yco );
         return cell;
     }
     
@@ -155,7 +160,7 @@ public class Cell
      */
     public int getXco()
     {
-        return point.x;
+        return xco;
     }
     
     /**
@@ -164,7 +169,7 @@ public class Cell
      */
     public int getYco()
     {
-        return point.y;
+        return yco;
     }
     
     /**
@@ -177,7 +182,7 @@ public class Cell
      */
     public Point getPoint()
     {
-        Point   point   = new Point( this.point );
+        Point   point   = new Point( xco, yco );
         return point;
     }
     
@@ -189,7 +194,7 @@ public class Cell
     @Override
     public String toString()
     {
-        StringBuilder   bldr    = new StringBuilder( point.toString() );
+        StringBuilder   bldr    = new StringBuilder( getPoint().toString() );
         bldr.append( ",isAlive=" ).append( isAlive );
         return bldr.toString();
     }
@@ -211,7 +216,8 @@ public class Cell
         if ( obj != null && obj instanceof Cell )
         {
             Cell    that    = (Cell)obj;
-            result  = this.point.equals( that.point )
+            result  = this.xco == that.xco
+                && this.yco == that.yco
                 && this.isAlive == that.isAlive;
         }
         return result;
@@ -228,7 +234,7 @@ public class Cell
     @Override
     public int hashCode()
     {
-        int hash    = Objects.hash( point, isAlive );
+        int hash    = Objects.hash( xco, yco, isAlive );
         return hash;
     }
 }
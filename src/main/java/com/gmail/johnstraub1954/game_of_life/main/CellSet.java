@@ -0,0 +1,407 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+
+/**
+ * Set of grid coordinates,
+ * specialized for storing the live cells of a GridMap.
+ * <p>
+ * Each coordinate pair (x,y) is packed into a single long
+ * (x in the high-order 32 bits, y in the low-order 32 bits).
+ * The packed keys are stored in a {@link LongHashTable};
+ * the key Long.MIN_VALUE, which the table reserves
+ * for empty slots, is the packed value of the coordinates
+ * (Integer.MIN_VALUE, 0), and its presence is recorded separately.
+ * No objects are created per cell,
+ * and none of the query, update or traversal methods
+ * allocate memory (other than when the array is resized).
+ * </p>
+ * <p>
+ * The array is traversed by <em>slot</em>:
+ * given a slot number, {@link #nextSlot(int)} returns
+ * the next slot that contains a key,
+ * and {@link #getX(int)} and {@link #getY(int)}
+ * return the coordinates stored in the slot.
+ * Slot numbers are invalidated
+ * when the set is modified.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap
+ */
+public class CellSet extends LongHashTable
+{
+    /** True if the set contains the cell whose key is FREE_KEY */
+    private boolean     hasFreeKey;
+    
+    /**
+     * Default constructor.
+     */
+    public CellSet()
+    {
+        super();
+    }
+    
+    /**
+     * Constructor.
+     * Creates a set with room for a given number of cells,
+     * so that adding that many cells
+     * never enlarges the set.
+     * 
+     * @param expected  the given number of cells
+     */
+    public CellSet( int expected )
+    {
+        super( expected );
+    }
+    
+    /**
+     * Constructor.
+     * Creates a set that is a copy of a given set.
+     * 
+     * @param copyFrom  the given set
+     */
+    public CellSet( CellSet copyFrom )
+    {
+        super( copyFrom );
+        hasFreeKey = copyFrom.hasFreeKey;
+    }
+    
+    /**
+     * Packs a pair of coordinates into a long.
+     * 
+     * @param xco   the x-coordinate
+     * @param yco   the y-coordinate
+     * 
+     * @return  the packed coordinates
+     */
+    public static long pack( int xco, int yco )
+    {
+        long    key = ((long)xco << 32) | (yco & 0xFFFFFFFFL);
+        return key;
+    }
+    
+    /**
+     * Extracts the x-coordinate from a packed pair of coordinates.
+     * 
+     * @param key   the packed pair of coordinates
+     * 
+     * @return  the x-coordinate
+     */
+    public static int unpackX( long key )
+    {
+        return (int)(key >> 32);
+    }
+    
+    /**
+     * Extracts the y-coordinate from a packed pair of coordinates.
+     * 
+     * @param key   the packed pair of coordinates
+     * 
+     * @return  the y-coordinate
+     */
+    public static int unpackY( long key )
+    {
+        return (int)key;
+    }
+    
+    /**
+     * Returns true if this set contains given coordinates.
+     * 
+     * @param xco   the given x-coordinate
+     * @param yco   the given y-coordinate
+     * 
+     * @return  true if this set contains the given coordinates
+     */
+    public boolean contains( int xco, int yco )
+    {
+        boolean result  = containsKey( pack( xco, yco ) );
+        return result;
+    }
+    
+    /**
+     * Adds given coordinates to this set.
+     * 
+     * @param xco   the given x-coordinate
+     * @param yco   the given y-coordinate
+     * 
+     * @return  true if the coordinates were not already in the set
+     */
+    public boolean add( int xco, int yco )
+    {
+        long    key     = pack( xco, yco );
+        boolean result  = false;
+        if ( key == FREE_KEY )
+        {
+            result = !hasFreeKey;
+            hasFreeKey = true;
+        }
+        else
+        {
+            int used    = super.size();
+            addKey( key );
+            result = super.size() > used;
+        }
+        return result;
+    }
+    
+    /**
+     * Removes given coordinates from this set.
+     * 
+     * @param xco   the given x-coordinate
+     * @param yco   the given y-coordinate
+     * 
+     * @return  true if the coordinates were in the set
+     */
+    public boolean remove( int xco, int yco )
+    {
+        long    key     = pack( xco, yco );
+        boolean result  = false;
+        if ( key == FREE_KEY )
+        {
+            result = hasFreeKey;
+            hasFreeKey = false;
+        }
+        else
+        {
+            int slot    = findSlot( key );
+            if ( slot >= 0 )
+            {
+                removeSlot( slot );
+                result = true;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Adds or removes given coordinates.
+     * 
+     * @param xco       the given x-coordinate
+     * @param yco       the given y-coordinate
+     * @param include   true to add the coordinates,
+     *                  false to remove them
+     * 
+     * @return  true if the coordinates were in the set
+     *          before the operation
+     */
+    public boolean set( int xco, int yco, boolean include )
+    {
+        boolean result  =
+            include ? !add( xco, yco ) : remove( xco, yco );
+        return result;
+    }
+    
+    /**
+     * Returns the number of coordinate pairs in this set.
+     * 
+     * @return  the number of coordinate pairs in this set
+     */
+    @Override
+    public int size()
+    {
+        int size    = super.size() + (hasFreeKey ? 1 : 0);
+        return size;
+    }
+    
+    /**
+     * Returns true if this set is empty.
+     * 
+     * @return  true if this set is empty
+     */
+    public boolean isEmpty()
+    {
+        boolean result  = size() == 0;
+        return result;
+    }
+    
+    /**
+     * Removes all coordinates from this set.
+     * The capacity of the set is retained,
+     * so a set that is repeatedly cleared and refilled
+     * to a similar size does not allocate memory.
+     */
+    @Override
+    public void clear()
+    {
+        super.clear();
+        hasFreeKey = false;
+    }
+    
+    /**
+     * Returns the number of slots in this set.
+     * Valid slot numbers are 0 through getSlotCount() - 1.
+     * 
+     * @return  the number of slots in this set
+     */
+    public int getSlotCount()
+    {
+        // The free-key cell, if present, occupies a virtual slot
+        // following the last slot of the table.
+        return getCapacity() + 1;
+    }
+    
+    /**
+     * Finds the first slot, at or after a given slot,
+     * that contains a pair of coordinates.
+     * To traverse all coordinates in the set:
+     * <pre>
+     *     for ( int slot = set.nextSlot( 0 ) ;
+     *           slot &gt;= 0 ;
+     *           slot = set.nextSlot( slot + 1 ) )
+     *         visit( set.getX( slot ), set.getY( slot ) );
+     * </pre>
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the first occupied slot at or after the given slot,
+     *          or -1 if none
+     */
+    @Override
+    public int nextSlot( int slot )
+    {
+        int capacity    = getCapacity();
+        int next        = slot < capacity ? super.nextSlot( slot ) : -1;
+        if ( next < 0 && hasFreeKey && slot <= capacity )
+            next = capacity;
+        return next;
+    }
+    
+    /**
+     * Gets the key stored in a given slot.
+     * The slot must be occupied.
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the key stored in the given slot
+     */
+    @Override
+    public long getKey( int slot )
+    {
+        long    key = slot == getCapacity() ? FREE_KEY : super.getKey( slot );
+        return key;
+    }
+    
+    /**
+     * Gets the x-coordinate stored in a given slot.
+     * The slot must be occupied.
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the x-coordinate stored in the given slot
+     */
+    public int getX( int slot )
+    {
+        int xco = unpackX( getKey( slot ) );
+        return xco;
+    }
+    
+    /**
+     * Gets the y-coordinate stored in a given slot.
+     * The slot must be occupied.
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the y-coordinate stored in the given slot
+     */
+    public int getY( int slot )
+    {
+        int yco = unpackY( getKey( slot ) );
+        return yco;
+    }
+    
+    /**
+     * Calculates the smallest rectangle
+     * that encloses all coordinates in this set.
+     * If the set is empty, the rectangle is set to (0, 0, 0, 0).
+     * 
+     * @param rect  rectangle to receive the result
+     * 
+     * @return  the given rectangle
+     */
+    public Rectangle getBounds( Rectangle rect )
+    {
+        int     minX    = Integer.MAX_VALUE;
+        int     maxX    = Integer.MIN_VALUE;
+        int     minY    = Integer.MAX_VALUE;
+        int     maxY    = Integer.MIN_VALUE;
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+        {
+            long    key     = getKey( slot );
+            int     xco     = unpackX( key );
+            int     yco     = unpackY( key );
+            if ( xco < minX )
+                minX = xco;
+            if ( xco > maxX )
+                maxX = xco;
+            if ( yco < minY )
+                minY = yco;
+            if ( yco > maxY )
+                maxY = yco;
+        }
+        
+        if ( isEmpty() )
+            rect.setBounds( 0, 0, 0, 0 );
+        else
+            rect.setBounds( minX, minY, maxX - minX + 1, maxY - minY + 1 );
+        return rect;
+    }
+    
+    /**
+     * Computes a hashcode for this set.
+     * Required because equals is overridden.
+     * The hashcode is independent of the order
+     * in which coordinates were added.
+     * 
+     * @return  a hashcode for this set
+     */
+    @Override
+    public int hashCode()
+    {
+        long    hash    = 0;
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+            hash += mix( getKey( slot ) );
+        return (int)(hash ^ (hash >>> 32));
+    }
+    
+    /**
+     * Determines if this set is equal to a given object.
+     * The result is true if the given object is a CellSet
+     * containing exactly the same coordinates as this set.
+     * 
+     * @param   obj the given object
+     * 
+     * @return true if this set is equal to the given object
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        boolean result  = false;
+        if ( this == obj )
+            result = true;
+        else if ( obj instanceof CellSet )
+        {
+            CellSet that    = (CellSet)obj;
+            result = this.size() == that.size();
+            for ( int slot = nextSlot( 0 ) ;
+                  result && slot >= 0 ;
+                  slot = nextSlot( slot + 1 ) )
+                result = that.containsKey( getKey( slot ) );
+        }
+        return result;
+    }
+    
+    /**
+     * Returns true if this set contains a given key.
+     * 
+     * @param key   the given key
+     * 
+     * @return  true if this set contains the given key
+     */
+    private boolean containsKey( long key )
+    {
+        boolean result  = key == FREE_KEY ? hasFreeKey : findSlot( key ) >= 0;
+        return result;
+    }
+}
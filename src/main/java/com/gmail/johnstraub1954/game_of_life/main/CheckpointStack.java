@@ -6,6 +6,12 @@ import java.util.Stack;
 /**
  * This class encapsulates a stack for managing checkpoints.
  * A checkpoint is considered to be the state of the active grid map.
+ * Checkpoints are stored as immutable snapshots of the grid map
+ * (see {@link GridMap#getSnapshot()}),
+ * so pushing a checkpoint doesn't copy the map
+ * unless it has been modified since its last snapshot was published;
+ * a new grid map is created from the snapshot
+ * when a checkpoint is retrieved.
  * Implemented as a singleton.
  * All operations are thread-safe.
  * 
@@ -16,7 +22,7 @@ public enum CheckpointStack
     INSTANCE;
 
     /** The checkpoint stack */
-    private Stack<GridMap>  stack   = new Stack<>();
+    private Stack<GridSnapshot> stack   = new Stack<>();
     
     /**
      * Traditional push operation. 
@@ -29,15 +35,14 @@ public enum CheckpointStack
      */
     public GridMap push( GridMap gridMap )
     {
-        GridMap newMap  = new GridMap( gridMap );
-        stack.push( newMap );
+        stack.push( gridMap.getSnapshot() );
         return gridMap;
     }
     
     /**
      * Traditional pop operation.
      * Removes the most recently pushed grid map from the stack
-     * and returns it.
+     * and returns a copy of it.
      * This operation is thread-safe.
      * 
      * @return  the most recently pushed grid map
@@ -46,13 +51,13 @@ public enum CheckpointStack
      */
     public GridMap pop() throws EmptyStackException
     {
-        GridMap gridMap = stack.pop();
+        GridMap gridMap = stack.pop().toGridMap();
         return gridMap;
     }
     
     /**
      * Traditional peek operation.
-     * Returns the most recently pushed grid map 
+     * Returns a copy of the most recently pushed grid map 
      * without removing it from the stack.
      * This operation is thread-safe.
      * 
@@ -62,7 +67,7 @@ public enum CheckpointStack
      */
     public GridMap peek() throws EmptyStackException
     {
-        GridMap gridMap = stack.peek();
+        GridMap gridMap = stack.peek().toGridMap();
         return gridMap;
     }
     
@@ -107,14 +112,14 @@ public enum CheckpointStack
     /**
      * Resets the stack to its initial state
      * (which contains a single item on the stack).
-     * Returns the single item on the stack.
+     * Returns a copy of the single item on the stack.
      * The stack is left containing a single item.
      * If the stack is empty,
      * a new, empty, GridMap is created,
      * pushed onto the stack,
      * and returned to the caller.
      * 
-     * @return the first item on the stack,
+     * @return a copy of the first item on the stack,
      *         or a new GridMap if the stack is empty
      */
     public GridMap rewind()
@@ -122,14 +127,15 @@ public enum CheckpointStack
         GridMap result  = null;
         if ( !isEmpty() )
         {
-            result = stack.get( 0 );
+            GridSnapshot    first   = stack.get( 0 );
             stack.clear();
-            stack.push( result );
+            stack.push( first );
+            result = first.toGridMap();
         }
         else
         {
             result = new GridMap();
-            stack.push( result );
+            stack.push( result.getSnapshot() );
         }
         return result;
     }
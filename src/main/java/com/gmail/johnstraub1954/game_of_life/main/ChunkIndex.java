@@ -0,0 +1,687 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Spatial index of the live cells in a GridMap.
+ * The grid is divided into 32x32 <em>chunks;</em>
+ * the chunk with coordinates (<em>cx</em>,<em>cy</em>)
+ * encloses the cells with
+ * x-coordinates <em>cx * 32</em> through <em>cx * 32 + 31</em>
+ * and y-coordinates <em>cy * 32</em> through <em>cy * 32 + 31</em>.
+ * Each chunk that contains at least one live cell
+ * is stored as a bitmap of 32 ints, one per row;
+ * bit <em>b</em> of row <em>r</em> represents column <em>b</em>.
+ * <p>
+ * A query restricted to a rectangle examines only the chunks
+ * that overlap the rectangle,
+ * so its cost is proportional to the number of overlapped chunks
+ * plus the number of live cells in the rectangle,
+ * rather than to the number of live cells in the grid.
+ * If the rectangle overlaps more chunks than are stored
+ * (for example, when the rectangle is very large
+ * and the grid is sparse)
+ * every stored chunk is examined instead.
+ * </p>
+ * <p>
+ * Chunks are stored in a {@link LongHashTable},
+ * keyed by packed chunk coordinates
+ * (see {@link CellSet#pack(int, int)});
+ * empty chunks are removed.
+ * </p>
+ * <p>
+ * {@link #share()} creates a read-only copy of an index
+ * that shares the index's chunk bitmaps,
+ * so its cost is proportional to the number of chunks,
+ * not to the number of live cells.
+ * A shared bitmap is never modified;
+ * the first change to a chunk after the index is shared
+ * is made to a private copy of the chunk's bitmap.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#forEachLive(Rectangle, IntBinaryConsumer)
+ */
+class ChunkIndex extends LongHashTable
+{
+    /** Number of cells along each side of a chunk */
+    public static final int     CHUNK_SIZE      = Integer.SIZE;
+    
+    /** Converts a grid coordinate to a chunk coordinate (cx = x >> 5) */
+    private static final int    chunkShift      = 5;
+    /** Converts a grid coordinate to a chunk offset (col = x &amp; 31) */
+    private static final int    chunkMask       = CHUNK_SIZE - 1;
+    
+    /** Chunk bitmaps, parallel to the keys */
+    private int[][]     chunks;
+    /** Number of live cells in each chunk, parallel to the keys */
+    private int[]       counts;
+    /**
+     * True if the bitmap of a chunk is shared
+     * with a copy made by {@link #share()}, parallel to the keys
+     */
+    private boolean[]   shared;
+    /** Number of live cells in the index */
+    private int         population;
+    /**
+     * Bitmaps of chunks that have been removed, available for reuse;
+     * all their bits are clear.
+     * Reusing them means that a pattern that moves across the grid,
+     * such as a glider, doesn't allocate a bitmap
+     * every time it enters a new chunk.
+     */
+    private int[][]     chunkPool   = new int[16][];
+    /** Number of bitmaps in chunkPool */
+    private int         poolCount   = 0;
+    
+    /**
+     * Default constructor.
+     */
+    public ChunkIndex()
+    {
+        chunks = new int[getCapacity()][];
+        counts = new int[getCapacity()];
+        shared = new boolean[getCapacity()];
+    }
+    
+    /**
+     * Constructor.
+     * Creates an index that is a copy of a given index.
+     * 
+     * @param copyFrom  the given index
+     */
+    public ChunkIndex( ChunkIndex copyFrom )
+    {
+        super( copyFrom );
+        chunks = new int[getCapacity()][];
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+            chunks[slot] = copyFrom.chunks[slot].clone();
+        counts = copyFrom.counts.clone();
+        shared = new boolean[getCapacity()];
+        population = copyFrom.population;
+    }
+    
+    /**
+     * Creates a read-only copy of this index
+     * that shares this index's chunk bitmaps.
+     * Only the table of chunks is copied;
+     * from now on, the first change to any chunk of this index
+     * is made to a private copy of its bitmap,
+     * so the copy never changes.
+     * The copy must not be modified.
+     * 
+     * @return  a read-only copy of this index
+     */
+    public ChunkIndex share()
+    {
+        ChunkIndex  copy    = new ChunkIndex( this, true );
+        Arrays.fill( shared, true );
+        return copy;
+    }
+    
+    /**
+     * Constructor.
+     * Creates a copy of a given index
+     * that shares the given index's chunk bitmaps.
+     * 
+     * @param copyFrom  the given index
+     * @param isShared  distinguishes this constructor
+     *                  from the copy constructor; must be true
+     */
+    private ChunkIndex( ChunkIndex copyFrom, boolean isShared )
+    {
+        super( copyFrom );
+        chunks = copyFrom.chunks.clone();
+        counts = copyFrom.counts.clone();
+        shared = new boolean[getCapacity()];
+        Arrays.fill( shared, isShared );
+        population = copyFrom.population;
+    }
+    
+    /**
+     * Records that the cell at a given location is alive.
+     * The cell must not already be recorded as alive.
+     * 
+     * @param xco   the x-coordinate of the given location
+     * @param yco   the y-coordinate of the given location
+     */
+    public void add( int xco, int yco )
+    {
+        long    key     = CellSet.pack( xco >> chunkShift, yco >> chunkShift );
+        int     slot    = addKey( key );
+        if ( chunks[slot] == null )
+            chunks[slot] =
+                poolCount > 0 ? chunkPool[--poolCount] : new int[CHUNK_SIZE];
+        getWritable( slot )[yco & chunkMask] |= 1 << (xco & chunkMask);
+        ++counts[slot];
+        ++population;
+    }
+    
+    /**
+     * Records that the cell at a given location is dead.
+     * The cell must currently be recorded as alive.
+     * 
+     * @param xco   the x-coordinate of the given location
+     * @param yco   the y-coordinate of the given location
+     */
+    public void remove( int xco, int yco )
+    {
+        long    key     = CellSet.pack( xco >> chunkShift, yco >> chunkShift );
+        int     slot    = findSlot( key );
+        if ( slot >= 0 )
+        {
+            --population;
+            if ( --counts[slot] > 0 )
+                getWritable( slot )[yco & chunkMask] &= ~(1 << (xco & chunkMask));
+            else
+            {
+                // A shared bitmap still belongs to a copy of this index,
+                // so it can't be cleared and reused.
+                if ( !shared[slot] )
+                {
+                    chunks[slot][yco & chunkMask] = 0;
+                    if ( poolCount == chunkPool.length )
+                        chunkPool = Arrays.copyOf( chunkPool, poolCount * 2 );
+                    chunkPool[poolCount++] = chunks[slot];
+                }
+                removeSlot( slot );
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of chunks that contain at least one live cell.
+     * 
+     * @return  the number of chunks that contain at least one live cell
+     */
+    public int getChunkCount()
+    {
+        return size();
+    }
+    
+    /**
+     * Gets the number of live cells in the index.
+     * 
+     * @return  the number of live cells in the index
+     */
+    public int getPopulation()
+    {
+        return population;
+    }
+    
+    /**
+     * Returns true if the cell at a given location
+     * is recorded as alive.
+     * 
+     * @param xco   the x-coordinate of the given location
+     * @param yco   the y-coordinate of the given location
+     * 
+     * @return  true if the cell at the given location
+     *          is recorded as alive
+     */
+    public boolean contains( int xco, int yco )
+    {
+        int     slot    = findSlot( CellSet.pack( xco >> chunkShift, yco >> chunkShift ) );
+        boolean result  =
+            slot >= 0 && (chunks[slot][yco & chunkMask] & (1 << (xco & chunkMask))) != 0;
+        return result;
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates of every live cell.
+     * Cells are visited in no particular order.
+     * The operation must not modify this index.
+     * 
+     * @param action    the given operation
+     */
+    public void forEach( IntBinaryConsumer action )
+    {
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+            scanChunk(
+                    slot,
+                    Integer.MIN_VALUE,
+                    Integer.MIN_VALUE,
+                    Integer.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    action
+                );
+    }
+    
+    /**
+     * Invokes a given operation on every chunk
+     * that contains at least one live cell.
+     * The operation is passed the chunk coordinates of the chunk
+     * and the number of live cells in it.
+     * Chunks are visited in no particular order.
+     * The operation must not modify this index.
+     * 
+     * @param action    the given operation
+     */
+    public void forEachChunk( DensityConsumer action )
+    {
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+            action.accept(
+                CellSet.unpackX( getKey( slot ) ),
+                CellSet.unpackY( getKey( slot ) ),
+                counts[slot]
+            );
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates of every live cell
+     * within a given rectangle.
+     * Cells are visited in no particular order.
+     * The operation must not modify this index.
+     * 
+     * @param rect      the given rectangle
+     * @param action    the given operation
+     */
+    public void forEach( Rectangle rect, IntBinaryConsumer action )
+    {
+        scan( rect, action );
+    }
+    
+    /**
+     * Counts the live cells within a given rectangle.
+     * 
+     * @param rect  the given rectangle
+     * 
+     * @return  the number of live cells within the given rectangle
+     */
+    public int count( Rectangle rect )
+    {
+        int count   = scan( rect, null );
+        return count;
+    }
+    
+    /**
+     * Invokes a given operation on every square block of cells,
+     * of a given size,
+     * that overlaps a given rectangle
+     * and contains at least one live cell.
+     * The operation is passed the coordinates of the block
+     * and the number of live cells in it;
+     * block (<em>bx</em>,<em>by</em>) encloses the cells
+     * with x-coordinates <em>bx</em> &lt;&lt; <em>shift</em>
+     * through ((<em>bx</em> + 1) &lt;&lt; <em>shift</em>) - 1,
+     * and similarly for y.
+     * Blocks are visited in no particular order.
+     * The operation must not modify this index.
+     * 
+     * @param rect      the given rectangle
+     * @param shift     the base-2 logarithm of the given size,
+     *                  1 through 5
+     *                  (the block size may not exceed the chunk size)
+     * @param action    the given operation
+     */
+    public void forEachDensity( Rectangle rect, int shift, DensityConsumer action )
+    {
+        if ( rect.width > 0 && rect.height > 0 )
+        {
+            int     lastX   = (int)Math.min( Integer.MAX_VALUE, (long)rect.x + rect.width - 1 );
+            int     lastY   = (int)Math.min( Integer.MAX_VALUE, (long)rect.y + rect.height - 1 );
+            int     firstBX = rect.x >> shift;
+            int     firstBY = rect.y >> shift;
+            int     lastBX  = lastX >> shift;
+            int     lastBY  = lastY >> shift;
+            int     firstCX = rect.x >> chunkShift;
+            int     firstCY = rect.y >> chunkShift;
+            int     lastCX  = lastX >> chunkShift;
+            int     lastCY  = lastY >> chunkShift;
+            long    overlap =
+                ((long)lastCX - firstCX + 1) * ((long)lastCY - firstCY + 1);
+            if ( overlap <= size() )
+            {
+                for ( int chunkY = firstCY ; chunkY <= lastCY ; ++chunkY )
+                    for ( int chunkX = firstCX ; chunkX <= lastCX ; ++chunkX )
+                    {
+                        int slot    = findSlot( CellSet.pack( chunkX, chunkY ) );
+                        if ( slot >= 0 )
+                            densityChunk(
+                                slot, shift, firstBX, firstBY, lastBX, lastBY, action
+                            );
+                    }
+            }
+            else
+            {
+                for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+                {
+                    long    key     = getKey( slot );
+                    int     chunkX  = CellSet.unpackX( key );
+                    int     chunkY  = CellSet.unpackY( key );
+                    if (
+                        chunkX >= firstCX && chunkX <= lastCX
+                        && chunkY >= firstCY && chunkY <= lastCY
+                    )
+                        densityChunk(
+                            slot, shift, firstBX, firstBY, lastBX, lastBY, action
+                        );
+                }
+            }
+        }
+    }
+    
+    /**
+     * Invokes a given operation on every horizontal run
+     * of live cells.
+     * Runs are visited in order of increasing y-coordinate,
+     * and runs in the same row
+     * in order of increasing x-coordinate.
+     * Live cells that are adjacent across the boundary
+     * between two chunks are reported as a single run.
+     * The chunks are sorted before they are visited,
+     * so the cost is proportional to the number of runs
+     * plus <em>n</em> log <em>n</em>,
+     * where <em>n</em> is the number of chunks;
+     * apart from two arrays of <em>n</em> elements
+     * nothing is allocated.
+     * The operation must not modify this index.
+     * 
+     * @param action    the given operation
+     */
+    public void forEachRun( RLERunConsumer action )
+    {
+        // Sort on the chunk y-coordinate, then the chunk x-coordinate;
+        // chunk coordinates never exceed 27 bits, so adding
+        // the x-coordinate can't disturb the order of the y-coordinates.
+        long[]  order   = new long[size()];
+        int     count   = 0;
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+        {
+            long    key     = getKey( slot );
+            order[count++] =
+                ((long)CellSet.unpackY( key ) << 32) + CellSet.unpackX( key );
+        }
+        Arrays.sort( order, 0, count );
+        
+        int[]   slots   = new int[count];
+        for ( int inx = 0 ; inx < count ; ++inx )
+        {
+            int chunkX  = (int)order[inx];
+            int chunkY  = (int)((order[inx] - chunkX) >> 32);
+            slots[inx] = findSlot( CellSet.pack( chunkX, chunkY ) );
+        }
+        
+        int first   = 0;
+        while ( first < count )
+        {
+            int chunkY  = CellSet.unpackY( getKey( slots[first] ) );
+            int end     = first + 1;
+            while ( end < count && CellSet.unpackY( getKey( slots[end] ) ) == chunkY )
+                ++end;
+            for ( int row = 0 ; row < CHUNK_SIZE ; ++row )
+                runRow( slots, first, end, row, action );
+            first = end;
+        }
+    }
+    
+    /**
+     * Visits the runs of live cells in one row
+     * of a sequence of chunks
+     * that share a chunk y-coordinate,
+     * and are sorted by chunk x-coordinate.
+     * 
+     * @param slots     slots of the sorted chunks
+     * @param first     index in slots of the first chunk in the sequence
+     * @param end       index in slots of the end of the sequence
+     *                  (non-inclusive)
+     * @param row       the row within the chunks to visit
+     * @param action    operation to invoke on each run
+     */
+    private void runRow(
+        int[]           slots,
+        int             first,
+        int             end,
+        int             row,
+        RLERunConsumer  action
+    )
+    {
+        int     yco     = (CellSet.unpackY( getKey( slots[first] ) ) << chunkShift) + row;
+        int     runX    = 0;
+        int     runLen  = 0;
+        for ( int inx = first ; inx < end ; ++inx )
+        {
+            int slot    = slots[inx];
+            int originX = CellSet.unpackX( getKey( slot ) ) << chunkShift;
+            int bits    = chunks[slot][row];
+            while ( bits != 0 )
+            {
+                int col = Integer.numberOfTrailingZeros( bits );
+                int len = Integer.numberOfTrailingZeros( ~(bits >>> col) );
+                int xco = originX + col;
+                if ( runLen > 0 && runX + runLen == xco )
+                    runLen += len;
+                else
+                {
+                    if ( runLen > 0 )
+                        action.accept( runX, yco, runLen );
+                    runX = xco;
+                    runLen = len;
+                }
+                bits = col + len < CHUNK_SIZE ? bits & (-1 << (col + len)) : 0;
+            }
+        }
+        if ( runLen > 0 )
+            action.accept( runX, yco, runLen );
+    }
+    
+    /**
+     * Visits the blocks of a given size
+     * in the chunk in a given slot
+     * that fall within given bounds,
+     * and that contain at least one live cell.
+     * The number of live cells in a block is obtained
+     * by counting the bits in the rows of the chunk's bitmap,
+     * or, if the block is the entire chunk, from the chunk's count.
+     * 
+     * @param slot      the given slot
+     * @param shift     the base-2 logarithm of the given size
+     * @param firstBX   the first block x-coordinate within the bounds
+     * @param firstBY   the first block y-coordinate within the bounds
+     * @param lastBX    the last block x-coordinate within the bounds
+     * @param lastBY    the last block y-coordinate within the bounds
+     * @param action    operation to invoke on each block
+     */
+    private void densityChunk(
+        int             slot,
+        int             shift,
+        int             firstBX,
+        int             firstBY,
+        int             lastBX,
+        int             lastBY,
+        DensityConsumer action
+    )
+    {
+        int     chunkX  = CellSet.unpackX( getKey( slot ) );
+        int     chunkY  = CellSet.unpackY( getKey( slot ) );
+        if ( shift == chunkShift )
+            action.accept( chunkX, chunkY, counts[slot] );
+        else
+        {
+            int[]   chunk   = chunks[slot];
+            int     side    = 1 << shift;
+            int     perSide = CHUNK_SIZE >> shift;
+            int     originX = chunkX << (chunkShift - shift);
+            int     originY = chunkY << (chunkShift - shift);
+            int     firstC  = Math.max( firstBX, originX ) - originX;
+            int     lastC   = Math.min( lastBX, originX + perSide - 1 ) - originX;
+            int     firstR  = Math.max( firstBY, originY ) - originY;
+            int     lastR   = Math.min( lastBY, originY + perSide - 1 ) - originY;
+            int     colMask = (int)((1L << side) - 1);
+            for ( int blockR = firstR ; blockR <= lastR ; ++blockR )
+            {
+                int startRow    = blockR << shift;
+                for ( int blockC = firstC ; blockC <= lastC ; ++blockC )
+                {
+                    int bits    = colMask << (blockC << shift);
+                    int count   = 0;
+                    for ( int row = startRow ; row < startRow + side ; ++row )
+                        count += Integer.bitCount( chunk[row] & bits );
+                    if ( count > 0 )
+                        action.accept( originX + blockC, originY + blockR, count );
+                }
+            }
+        }
+    }
+    
+    /**
+     * Visits, or counts, the live cells within a given rectangle.
+     * 
+     * @param rect      the given rectangle
+     * @param action    operation to invoke on each live cell;
+     *                  null to count the cells without visiting them
+     * 
+     * @return  the number of live cells within the given rectangle
+     */
+    private int scan( Rectangle rect, IntBinaryConsumer action )
+    {
+        int count   = 0;
+        if ( rect.width > 0 && rect.height > 0 )
+        {
+            int     firstX  = rect.x;
+            int     firstY  = rect.y;
+            int     lastX   = (int)Math.min( Integer.MAX_VALUE, (long)rect.x + rect.width - 1 );
+            int     lastY   = (int)Math.min( Integer.MAX_VALUE, (long)rect.y + rect.height - 1 );
+            int     firstCX = firstX >> chunkShift;
+            int     firstCY = firstY >> chunkShift;
+            int     lastCX  = lastX >> chunkShift;
+            int     lastCY  = lastY >> chunkShift;
+            long    overlap =
+                ((long)lastCX - firstCX + 1) * ((long)lastCY - firstCY + 1);
+            if ( overlap <= size() )
+            {
+                for ( int chunkY = firstCY ; chunkY <= lastCY ; ++chunkY )
+                    for ( int chunkX = firstCX ; chunkX <= lastCX ; ++chunkX )
+                    {
+                        int slot    = findSlot( CellSet.pack( chunkX, chunkY ) );
+                        if ( slot >= 0 )
+                            count +=
+                                scanChunk( slot, firstX, firstY, lastX, lastY, action );
+                    }
+            }
+            else
+            {
+                for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+                {
+                    long    key     = getKey( slot );
+                    int     chunkX  = CellSet.unpackX( key );
+                    int     chunkY  = CellSet.unpackY( key );
+                    if (
+                        chunkX >= firstCX && chunkX <= lastCX
+                        && chunkY >= firstCY && chunkY <= lastCY
+                    )
+                        count +=
+                            scanChunk( slot, firstX, firstY, lastX, lastY, action );
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Visits, or counts, the live cells
+     * in the chunk in a given slot
+     * that fall within given bounds.
+     * 
+     * @param slot      the given slot
+     * @param firstX    the first x-coordinate within the bounds
+     * @param firstY    the first y-coordinate within the bounds
+     * @param lastX     the last x-coordinate within the bounds
+     * @param lastY     the last y-coordinate within the bounds
+     * @param action    operation to invoke on each live cell;
+     *                  null to count the cells without visiting them
+     * 
+     * @return  the number of live cells in the chunk
+     *          that fall within the given bounds
+     */
+    private int scanChunk(
+        int                 slot,
+        int                 firstX,
+        int                 firstY,
+        int                 lastX,
+        int                 lastY,
+        IntBinaryConsumer   action
+    )
+    {
+        int[]   chunk   = chunks[slot];
+        int     originX = CellSet.unpackX( getKey( slot ) ) << chunkShift;
+        int     originY = CellSet.unpackY( getKey( slot ) ) << chunkShift;
+        int     firstC  = Math.max( firstX, originX ) - originX;
+        int     lastC   = Math.min( lastX, originX + chunkMask ) - originX;
+        int     firstR  = Math.max( firstY, originY ) - originY;
+        int     lastR   = Math.min( lastY, originY + chunkMask ) - originY;
+        int     colMask = (int)((1L << (lastC + 1)) - (1L << firstC));
+        int     count   = 0;
+        for ( int row = firstR ; row <= lastR ; ++row )
+        {
+            int bits    = chunk[row] & colMask;
+            count += Integer.bitCount( bits );
+            while ( action != null && bits != 0 )
+            {
+                int col = Integer.numberOfTrailingZeros( bits );
+                action.accept( originX + col, originY + row );
+                bits &= bits - 1;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the bitmap of the chunk in a given slot,
+     * for modification;
+     * if the bitmap is shared with a copy of this index
+     * it is first replaced by a private copy.
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the bitmap of the chunk in the given slot
+     */
+    private int[] getWritable( int slot )
+    {
+        if ( shared[slot] )
+        {
+            chunks[slot] = chunks[slot].clone();
+            shared[slot] = false;
+        }
+        return chunks[slot];
+    }
+    
+    @Override
+    protected void moveValue( int from, int to )
+    {
+        chunks[to] = chunks[from];
+        counts[to] = counts[from];
+        shared[to] = shared[from];
+    }
+    
+    @Override
+    protected void clearValue( int slot )
+    {
+        chunks[slot] = null;
+        counts[slot] = 0;
+        shared[slot] = false;
+    }
+    
+    @Override
+    protected void relocateValues( int capacity, int[] moves )
+    {
+        int[][]     oldChunks   = chunks;
+        int[]       oldCounts   = counts;
+        boolean[]   oldShared   = shared;
+        chunks = new int[capacity][];
+        counts = new int[capacity];
+        shared = new boolean[capacity];
+        for ( int inx = 0 ; inx < moves.length ; ++inx )
+        {
+            int slot    = moves[inx];
+            if ( slot >= 0 )
+            {
+                chunks[slot] = oldChunks[inx];
+                counts[slot] = oldCounts[inx];
+                shared[slot] = oldShared[inx];
+            }
+        }
+    }
+}
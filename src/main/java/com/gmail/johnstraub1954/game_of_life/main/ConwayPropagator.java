@@ -0,0 +1,272 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Calculates generations of a grid map
+ * using Conway's original algorithm (or minor variations,
+ * such as Highlife):
+ * each cell to be evaluated is looked up in the grid map,
+ * together with its eight neighbors.
+ * Any rule, including rules that contain B0,
+ * is supported.
+ * <p>
+ * An instance retains its working storage between generations,
+ * so a propagator may be used by only one thread at a time.
+ * Each engine that calculates generations this way,
+ * including the fallback of {@link PropagatorEngine}
+ * for rules the engine does not support,
+ * creates its own propagator,
+ * so that engines running on different threads
+ * never share working storage.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Utils#conwayPropagate(Object)
+ * @see Utils#incrementalPropagate(Object)
+ */
+public class ConwayPropagator
+{
+    /**
+     * Number of cells evaluated
+     * during the most recent generation.
+     */
+    private long            visitedCount    = 0;
+    
+    /**
+     * Cells that changed state during the most recent
+     * incremental generation;
+     * valid only if activeMap, activeModCount and activeRule
+     * match the current grid map and rule.
+     * 
+     * @see #incrementalGeneration(GridMap, Rule)
+     */
+    private final CellSet   changedCells    = new CellSet();
+    /**
+     * Cells to be evaluated during an incremental generation;
+     * retained between generations to avoid reallocating it.
+     */
+    private final CellSet   candidates      = new CellSet();
+    /**
+     * Packed coordinates (see {@link CellSet#pack(int, int)})
+     * of the cells that come alive in the generation
+     * under calculation;
+     * the first birthCount elements are valid.
+     * The array is enlarged as necessary, and retained between
+     * generations.
+     */
+    private long[]          births          = new long[64];
+    /** Number of valid elements in births */
+    private int             birthCount      = 0;
+    /**
+     * Packed coordinates of the cells that die
+     * in the generation under calculation;
+     * the first deathCount elements are valid.
+     * The array is enlarged as necessary, and retained between
+     * generations.
+     */
+    private long[]          deaths          = new long[64];
+    /** Number of valid elements in deaths */
+    private int             deathCount      = 0;
+    /** The grid map processed by the most recent incremental generation */
+    private GridMap         activeMap       = null;
+    /**
+     * The modification count of activeMap at the end of
+     * the most recent incremental generation
+     */
+    private long            activeModCount  = -1;
+    /** The rule used by the most recent incremental generation */
+    private Rule            activeRule      = null;
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule.
+     * Every cell in the live rectangle of the grid map,
+     * plus a margin of two cells on every side,
+     * is evaluated.
+     * The changes are applied to the grid map as a single batch.
+     * 
+     * @param map   the given grid map
+     * @param rule  the given rule
+     */
+    public void nextGeneration( GridMap map, Rule rule )
+    {
+        fullScan( map, rule );
+        applyChanges( map );
+        activeMap = null;
+    }
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule,
+     * visiting only cells that changed state
+     * in the previous generation, and their neighbors.
+     * Cells that did not change,
+     * and that have no neighbors that changed,
+     * cannot change in the next generation,
+     * so still lifes and empty space cost nothing.
+     * <p>
+     * The first generation after the grid map or rule changes,
+     * or after the grid map is modified by some other client,
+     * visits every cell, as nextGeneration does.
+     * Rules that contain B0 always visit every cell.
+     * </p>
+     * <p>
+     * The changes are applied to the grid map as a single batch.
+     * </p>
+     * 
+     * @param map   the given grid map
+     * @param rule  the given rule
+     * 
+     * @see #getVisitedCount()
+     */
+    public void incrementalGeneration( GridMap map, Rule rule )
+    {
+        boolean     fullScan    =
+            map != activeMap
+            || map.getModificationCount() != activeModCount
+            || !rule.equals( activeRule )
+            || rule.isBirthOnZero();
+        
+        if ( fullScan )
+            fullScan( map, rule );
+        else
+        {
+            candidates.clear();
+            for ( int slot = changedCells.nextSlot( 0 ) ;
+                  slot >= 0 ;
+                  slot = changedCells.nextSlot( slot + 1 ) )
+            {
+                int changedX    = changedCells.getX( slot );
+                int changedY    = changedCells.getY( slot );
+                for ( int xco = changedX - 1 ; xco <= changedX + 1 ; ++xco )
+                    for ( int yco = changedY - 1 ; yco <= changedY + 1 ; ++yco )
+                        candidates.add( xco, yco );
+            }
+            
+            birthCount = 0;
+            deathCount = 0;
+            visitedCount = 0;
+            for ( int slot = candidates.nextSlot( 0 ) ;
+                  slot >= 0 ;
+                  slot = candidates.nextSlot( slot + 1 ) )
+                evaluate(
+                    map,
+                    candidates.getX( slot ),
+                    candidates.getY( slot ),
+                    rule
+                );
+        }
+        
+        changedCells.clear();
+        for ( int inx = 0 ; inx < birthCount ; ++inx )
+            changedCells.add(
+                CellSet.unpackX( births[inx] ),
+                CellSet.unpackY( births[inx] )
+            );
+        for ( int inx = 0 ; inx < deathCount ; ++inx )
+            changedCells.add(
+                CellSet.unpackX( deaths[inx] ),
+                CellSet.unpackY( deaths[inx] )
+            );
+        applyChanges( map );
+        activeMap = map;
+        activeModCount = map.getModificationCount();
+        activeRule = rule;
+    }
+    
+    /**
+     * Gets the number of cells evaluated
+     * during the most recent generation
+     * calculated by this propagator.
+     * 
+     * @return  the number of cells evaluated
+     *          during the most recent generation
+     */
+    public long getVisitedCount()
+    {
+        return visitedCount;
+    }
+    
+    /**
+     * Evaluates every cell in the live rectangle of a given grid map,
+     * plus a margin of two cells on every side.
+     * Cells that will change state are recorded in
+     * the births and deaths arrays; the grid map is not modified.
+     * 
+     * @param map   the given grid map
+     * @param rule  the rule to apply
+     */
+    private void fullScan( GridMap map, Rule rule )
+    {
+        final int   margin      = 2;
+        Rectangle   rect        = map.getLiveRectangle();
+        int         firstCol    = rect.x - margin;
+        int         firstRow    = rect.y - margin;
+        int         lastCol     = firstCol + rect.width + 2 * margin;
+        int         lastRow     = firstRow + rect.height + 2 * margin;
+        
+        birthCount = 0;
+        deathCount = 0;
+        visitedCount = 0;
+        for ( int yco = firstRow ; yco <= lastRow ; ++yco )
+            for ( int xco = firstCol ; xco <= lastCol ; ++xco )
+                evaluate( map, xco, yco, rule );
+    }
+    
+    /**
+     * Calculates the next state of the cell at a given location
+     * of a given grid map.
+     * If the cell will change state
+     * its location is added to the births or deaths array;
+     * the grid map is not modified.
+     * 
+     * @param map   the given grid map
+     * @param xco   the x-coordinate of the given location
+     * @param yco   the y-coordinate of the given location
+     * @param rule  the rule to apply
+     */
+    private void evaluate( GridMap map, int xco, int yco, Rule rule )
+    {
+        boolean isAlive = map.isAlive( xco, yco );
+        int     count   = map.getLiveNeighborCount( xco, yco );
+        if ( rule.nextState( isAlive, count ) != isAlive )
+        {
+            long    packed  = CellSet.pack( xco, yco );
+            if ( isAlive )
+            {
+                if ( deathCount == deaths.length )
+                    deaths = Arrays.copyOf( deaths, deathCount * 2 );
+                deaths[deathCount++] = packed;
+            }
+            else
+            {
+                if ( birthCount == births.length )
+                    births = Arrays.copyOf( births, birthCount * 2 );
+                births[birthCount++] = packed;
+            }
+        }
+        ++visitedCount;
+    }
+    
+    /**
+     * Applies the births and deaths recorded
+     * in the births and deaths arrays to a given grid map
+     * as a single batch,
+     * so that listeners are notified once per generation
+     * rather than once per cell.
+     * 
+     * @param map   the given grid map
+     * 
+     * @see GridMap#applyBatch(java.util.function.Consumer)
+     */
+    private void applyChanges( GridMap map )
+    {
+        map.applyBatch( batch -> {
+            batch.putAll( births, birthCount, true );
+            batch.putAll( deaths, deathCount, false );
+        });
+    }
+}
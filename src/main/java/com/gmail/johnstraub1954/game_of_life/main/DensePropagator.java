@@ -0,0 +1,351 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Propagation engine that stores the region around the live cells
+ * as a single dense array of bit-packed rows,
+ * and calculates each new generation 64 cells at a time
+ * with the bit-sliced adders of {@link SwarKernel}
+ * (or, on hosts that support it, several words at a time
+ * with an accelerated {@link RowKernel}).
+ * <p>
+ * The array is laid out row by row;
+ * each row is a fixed number of words,
+ * and bit <em>b</em> of word <em>w</em> of row <em>r</em>
+ * represents the cell at
+ * (<em>originX + w * 64 + b</em>, <em>originY + r</em>).
+ * The array extends a margin beyond the live cells on every side,
+ * so that a growing pattern does not require the array
+ * to be reallocated on every generation.
+ * Two arrays are kept, one for the current generation
+ * and one for the next;
+ * they are swapped at the end of each generation.
+ * Only the words within one cell of the live rectangle
+ * are calculated,
+ * and only cells that change state are written to the grid map.
+ * </p>
+ * <p>
+ * A dense array is only worthwhile if the live cells
+ * occupy a reasonable fraction of their rectangle.
+ * When fewer than one cell in {@link #SPARSE_RATIO} is alive,
+ * or the rectangle is larger than {@link #MAX_DENSE_AREA} cells,
+ * the generation is delegated to a {@link TiledPropagator},
+ * which stores only the 64x64 tiles that contain live cells.
+ * The engine switches back to the dense array
+ * when the pattern becomes dense again.
+ * </p>
+ * <p>
+ * Every generation is recorded in {@link GenerationMetrics},
+ * together with the name of the kernel that calculated it.
+ * </p>
+ * <p>
+ * Like TiledPropagator, the engine detects modifications made
+ * to the grid map by other clients,
+ * and reloads its array from the map.
+ * Rules that contain B0 (birth with no neighbors)
+ * are not supported by this engine;
+ * {@link PropagatorEngine} delegates them to
+ * {@link ConwayPropagator#nextGeneration(GridMap, Rule)}.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#getModificationCount()
+ * @see GenerationEngine
+ */
+public class DensePropagator
+{
+    /**
+     * Patterns with fewer than one live cell
+     * for every SPARSE_RATIO cells of their live rectangle
+     * are propagated by the sparse engine.
+     */
+    public static final int     SPARSE_RATIO    = 64;
+    /**
+     * Patterns whose live rectangle contains more than
+     * MAX_DENSE_AREA cells are propagated by the sparse engine.
+     */
+    public static final long    MAX_DENSE_AREA  = 1L << 28;
+    
+    /** Number of cells in a word */
+    private static final int    wordSize        = Long.SIZE;
+    /** Converts a bit offset to a word offset */
+    private static final int    wordShift       = 6;
+    /** Minimum number of empty rows above and below the live cells */
+    private static final int    margin          = 32;
+    
+    /** Name recorded in the metrics for sparse generations */
+    private static final String sparseName      = "tiled";
+    
+    /** Engine used when the pattern is sparse */
+    private final TiledPropagator   sparse      = new TiledPropagator();
+    /** Kernel used when the pattern is dense */
+    private final RowKernel         kernel;
+    
+    /** The current generation */
+    private long[]              curr            = new long[0];
+    /** Receives the next generation */
+    private long[]              next            = new long[0];
+    /** Number of words in each row */
+    private int                 rowWords        = 0;
+    /** Number of rows */
+    private int                 rowCount        = 0;
+    /** The x-coordinate of bit 0 of word 0 of each row */
+    private int                 originX         = 0;
+    /** The y-coordinate of row 0 */
+    private int                 originY         = 0;
+    /**
+     * The words of next that may contain live cells
+     * left over from a previous generation:
+     * x and width are in words, y and height in rows
+     */
+    private final Rectangle     nextDirty       = new Rectangle();
+    
+    /** The map that the array was most recently synchronized with */
+    private GridMap             syncedMap       = null;
+    /**
+     * The modification count of the synchronized map
+     * at the time of the most recent synchronization
+     */
+    private long                syncedModCount  = -1;
+    /** True if the most recent generation used the dense array */
+    private boolean             lastDense       = false;
+    
+    /**
+     * Default constructor.
+     * Uses the scalar kernel.
+     */
+    public DensePropagator()
+    {
+        this( SwarKernel.INSTANCE );
+    }
+    
+    /**
+     * Constructor.
+     * Uses a given kernel.
+     * 
+     * @param kernel    the given kernel
+     * 
+     * @see GOLProperties#getRowKernel()
+     */
+    public DensePropagator( RowKernel kernel )
+    {
+        this.kernel = kernel;
+    }
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule.
+     * Only cells that change state are written to the grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rule      the given rule; may not contain B0
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0
+     */
+    public void nextGeneration( GridMap gridMap, Rule rule )
+        throws IllegalArgumentException
+    {
+        if ( rule.isBirthOnZero() )
+        {
+            String  message = "Rule not supported: " + rule;
+            throw new IllegalArgumentException( message );
+        }
+        
+        long        start   = System.nanoTime();
+        Rectangle   rect    = gridMap.getLiveRectangle();
+        long        area    = (long)rect.width * rect.height;
+        boolean     isDense =
+            area <= MAX_DENSE_AREA
+            && (long)gridMap.getPopulation() * SPARSE_RATIO >= area;
+        if ( !isDense )
+            sparse.nextGeneration( gridMap, rule );
+        else if ( rect.width > 0 )
+        {
+            if (
+                !lastDense
+                || gridMap != syncedMap
+                || gridMap.getModificationCount() != syncedModCount
+                || !fits( rect )
+            )
+                load( gridMap, rect );
+            nextDense( gridMap, rect, rule );
+        }
+        lastDense = isDense;
+        GenerationMetrics.INSTANCE.record(
+            isDense ? kernel.getName() : sparseName,
+            System.nanoTime() - start
+        );
+    }
+    
+    /**
+     * Returns true if the most recent generation
+     * was calculated using the dense array,
+     * false if it was delegated to the sparse engine.
+     * 
+     * @return  true if the most recent generation
+     *          was calculated using the dense array
+     */
+    public boolean isDense()
+    {
+        return lastDense;
+    }
+    
+    /**
+     * Gets the kernel used when the pattern is dense.
+     * 
+     * @return  the kernel used when the pattern is dense
+     */
+    public RowKernel getKernel()
+    {
+        return kernel;
+    }
+    
+    /**
+     * Determines whether the next generation of the cells
+     * in a given rectangle can be calculated within the array.
+     * Every word to be calculated must have a word to its west
+     * and east, and a row above and below it,
+     * all within the array.
+     * 
+     * @param rect  the given rectangle
+     * 
+     * @return  true if the next generation of the given rectangle
+     *          can be calculated within the array
+     */
+    private boolean fits( Rectangle rect )
+    {
+        boolean result  =
+            rect.x - 1 - originX >= wordSize
+            && rect.x + rect.width - originX < (rowWords - 1) * wordSize
+            && rect.y - 2 >= originY
+            && rect.y + rect.height + 2 <= originY + rowCount;
+        return result;
+    }
+    
+    /**
+     * Allocates the arrays for a given live rectangle,
+     * and loads the current generation from a given grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rect      the given live rectangle
+     */
+    private void load( GridMap gridMap, Rectangle rect )
+    {
+        // One empty word at either end of each row,
+        // plus at least 64 columns of room to grow
+        // to the west and east.
+        originX = rect.x - 2 * wordSize;
+        originY = rect.y - margin;
+        rowWords = (rect.width + 4 * wordSize - 1) / wordSize + 1;
+        rowCount = rect.height + 2 * margin;
+        
+        int size    = rowWords * rowCount;
+        if ( curr.length < size )
+        {
+            curr = new long[size];
+            next = new long[size];
+        }
+        else
+        {
+            Arrays.fill( curr, 0, size, 0 );
+            Arrays.fill( next, 0, size, 0 );
+        }
+        nextDirty.setBounds( 0, 0, 0, 0 );
+        
+        gridMap.forEachLive( (xco, yco) -> {
+            int bit = xco - originX;
+            curr[(yco - originY) * rowWords + (bit >> wordShift)] |= 1L << bit;
+        });
+        syncedMap = gridMap;
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Calculates the next generation using the dense array,
+     * and writes the cells that change state to a given grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rect      the live rectangle of the given grid map
+     * @param rule      the rule to apply
+     */
+    private void nextDense( GridMap gridMap, Rectangle rect, Rule rule )
+    {
+        int birthMask   = rule.getBirthMask();
+        int survMask    = rule.getSurvivalMask();
+        
+        // The words to calculate: every word containing a cell
+        // within one cell of the live rectangle.
+        int firstWord   = (rect.x - 1 - originX) >> wordShift;
+        int lastWord    = (rect.x + rect.width - originX) >> wordShift;
+        int firstRow    = rect.y - 1 - originY;
+        int lastRow     = rect.y + rect.height - originY;
+        
+        // Clear whatever the previous use of next left behind.
+        for ( int row = nextDirty.y ; row < nextDirty.y + nextDirty.height ; ++row )
+        {
+            int start   = row * rowWords + nextDirty.x;
+            Arrays.fill( next, start, start + nextDirty.width, 0 );
+        }
+        
+        kernel.nextRows(
+            curr, next, rowWords,
+            firstRow, lastRow, firstWord, lastWord,
+            birthMask, survMask
+        );
+        for ( int row = firstRow ; row <= lastRow ; ++row )
+        {
+            int base    = row * rowWords;
+            int yco     = originY + row;
+            for ( int word = firstWord ; word <= lastWord ; ++word )
+            {
+                long    nextC   = next[base + word];
+                long    changed = curr[base + word] ^ nextC;
+                if ( changed != 0 )
+                    writeChanges(
+                        gridMap, changed, nextC, originX + word * wordSize, yco
+                    );
+            }
+        }
+        
+        // Every live cell of curr lies within the rectangle
+        // just calculated, so that is all that needs to be cleared
+        // when curr becomes next.
+        nextDirty.setBounds(
+            firstWord, firstRow, lastWord - firstWord + 1, lastRow - firstRow + 1
+        );
+        long[]  temp    = curr;
+        curr = next;
+        next = temp;
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Writes the cells of a word that change state
+     * to a given grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param changed   the cells of the word that change state
+     * @param nextC     the next generation of the word
+     * @param xco       the x-coordinate of bit 0 of the word
+     * @param yco       the y-coordinate of the word
+     */
+    private static void writeChanges(
+        GridMap gridMap,
+        long    changed,
+        long    nextC,
+        int     xco,
+        int     yco
+    )
+    {
+        while ( changed != 0 )
+        {
+            int     bit     = Long.numberOfTrailingZeros( changed );
+            boolean isAlive = (nextC & (1L << bit)) != 0;
+            gridMap.set( xco + bit, yco, isAlive );
+            changed &= changed - 1;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Operation that accepts the coordinates of a square block of cells
+ * and the number of live cells in the block,
+ * and returns no result.
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridSnapshot#forEachDensity(java.awt.Rectangle, int, DensityConsumer)
+ */
+@FunctionalInterface
+public interface DensityConsumer
+{
+    /**
+     * Performs this operation on the given arguments.
+     * 
+     * @param blockX    the x-coordinate of the block
+     * @param blockY    the y-coordinate of the block
+     * @param count     the number of live cells in the block
+     */
+    void accept( int blockX, int blockY, int count );
+}
@@ -0,0 +1,305 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+
+/**
+ * Counts the live cells in square blocks of a grid,
+ * at several block sizes.
+ * Level <em>s</em> of the pyramid divides the grid into blocks
+ * of 2<sup><em>s</em></sup> x 2<sup><em>s</em></sup> cells;
+ * the block with coordinates (<em>bx</em>,<em>by</em>)
+ * encloses the cells with x-coordinates
+ * <em>bx</em> &lt;&lt; <em>s</em> through
+ * ((<em>bx</em> + 1) &lt;&lt; <em>s</em>) - 1,
+ * and similarly for y.
+ * Only blocks that contain at least one live cell are stored.
+ * Levels {@link #MIN_SHIFT} through {@link #MAX_SHIFT} are stored here;
+ * finer levels are derived from the chunk bitmaps of a ChunkIndex
+ * (see {@link ChunkIndex#forEachDensity(Rectangle, int, DensityConsumer)}).
+ * <p>
+ * The pyramid is maintained incrementally.
+ * Each change to a cell is recorded as a pending change
+ * to the count of its block at the finest level;
+ * {@link #flush()} applies the pending changes to every level.
+ * A GridMap creates its pyramid only once one of its snapshots
+ * has been asked for the density of blocks of
+ * 2<sup>{@link #MIN_SHIFT}</sup> cells or more,
+ * and from then on flushes it each time it publishes a snapshot,
+ * so the cost of maintaining the coarser levels is proportional to
+ * the number of blocks that changed in a generation,
+ * not to the number of cells that changed.
+ * A change that is undone before the flush
+ * (such as the cells of a blinker) costs nothing at the coarser levels.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridSnapshot#forEachDensity(Rectangle, int, DensityConsumer)
+ */
+class DensityPyramid
+{
+    /** The finest level stored; blocks of 64x64 cells */
+    public static final int     MIN_SHIFT   = 6;
+    /** The coarsest level stored; blocks of 1024x1024 cells */
+    public static final int     MAX_SHIFT   = 10;
+    
+    /** The stored levels; element <em>n</em> is level MIN_SHIFT + n */
+    private final BlockCounts[] levels;
+    /** Changes to the counts of the finest level, not yet applied */
+    private final BlockCounts   pending;
+    
+    /**
+     * Default constructor.
+     */
+    public DensityPyramid()
+    {
+        levels = new BlockCounts[MAX_SHIFT - MIN_SHIFT + 1];
+        for ( int inx = 0 ; inx < levels.length ; ++inx )
+            levels[inx] = new BlockCounts();
+        pending = new BlockCounts();
+    }
+    
+    /**
+     * Constructor.
+     * Creates a pyramid that counts the live cells
+     * recorded in a given chunk index.
+     * A chunk lies entirely within one block of the finest level,
+     * so the cost is proportional to the number of chunks,
+     * not to the number of live cells.
+     * 
+     * @param index the given chunk index
+     */
+    public DensityPyramid( ChunkIndex index )
+    {
+        this();
+        int shift   = MIN_SHIFT - Integer.numberOfTrailingZeros( ChunkIndex.CHUNK_SIZE );
+        index.forEachChunk( (chunkX, chunkY, count) ->
+            pending.add( CellSet.pack( chunkX >> shift, chunkY >> shift ), count )
+        );
+        flush();
+    }
+    
+    /**
+     * Constructor.
+     * Creates a pyramid that is a copy of a given pyramid,
+     * including its pending changes.
+     * 
+     * @param copyFrom  the given pyramid
+     */
+    public DensityPyramid( DensityPyramid copyFrom )
+    {
+        levels = new BlockCounts[copyFrom.levels.length];
+        for ( int inx = 0 ; inx < levels.length ; ++inx )
+            levels[inx] = new BlockCounts( copyFrom.levels[inx] );
+        pending = new BlockCounts( copyFrom.pending );
+    }
+    
+    /**
+     * Records a change in the state of the cell at a given location.
+     * The change is not visible until the next flush.
+     * 
+     * @param xco       the x-coordinate of the given location
+     * @param yco       the y-coordinate of the given location
+     * @param isAlive   the new state of the cell
+     */
+    public void record( int xco, int yco, boolean isAlive )
+    {
+        long    key     = CellSet.pack( xco >> MIN_SHIFT, yco >> MIN_SHIFT );
+        pending.add( key, isAlive ? 1 : -1 );
+    }
+    
+    /**
+     * Applies all pending changes to every level.
+     */
+    public void flush()
+    {
+        pending.forEach( (key, delta) -> {
+            int     blockX  = CellSet.unpackX( key );
+            int     blockY  = CellSet.unpackY( key );
+            for ( int inx = 0 ; inx < levels.length ; ++inx )
+                levels[inx].add( CellSet.pack( blockX >> inx, blockY >> inx ), delta );
+        });
+        pending.clear();
+    }
+    
+    /**
+     * Invokes a given operation on every block, at a given level,
+     * that overlaps a given rectangle
+     * and contains at least one live cell.
+     * Pending changes are not visible.
+     * 
+     * @param rect      the given rectangle, in grid coordinates
+     * @param shift     the given level,
+     *                  MIN_SHIFT through MAX_SHIFT
+     * @param action    the given operation
+     */
+    public void forEach( Rectangle rect, int shift, DensityConsumer action )
+    {
+        if ( rect.width > 0 && rect.height > 0 )
+        {
+            BlockCounts level   = levels[shift - MIN_SHIFT];
+            int     lastX   = (int)Math.min( Integer.MAX_VALUE, (long)rect.x + rect.width - 1 );
+            int     lastY   = (int)Math.min( Integer.MAX_VALUE, (long)rect.y + rect.height - 1 );
+            int     firstBX = rect.x >> shift;
+            int     firstBY = rect.y >> shift;
+            int     lastBX  = lastX >> shift;
+            int     lastBY  = lastY >> shift;
+            long    overlap =
+                ((long)lastBX - firstBX + 1) * ((long)lastBY - firstBY + 1);
+            if ( overlap <= level.size() )
+            {
+                for ( int blockY = firstBY ; blockY <= lastBY ; ++blockY )
+                    for ( int blockX = firstBX ; blockX <= lastBX ; ++blockX )
+                    {
+                        int count   = level.get( CellSet.pack( blockX, blockY ) );
+                        if ( count > 0 )
+                            action.accept( blockX, blockY, count );
+                    }
+            }
+            else
+            {
+                level.forEach( (key, count) -> {
+                    int blockX  = CellSet.unpackX( key );
+                    int blockY  = CellSet.unpackY( key );
+                    if (
+                        blockX >= firstBX && blockX <= lastBX
+                        && blockY >= firstBY && blockY <= lastBY
+                    )
+                        action.accept( blockX, blockY, count );
+                });
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of live cells in a given block at a given level.
+     * Pending changes are not visible.
+     * 
+     * @param blockX    the x-coordinate of the given block
+     * @param blockY    the y-coordinate of the given block
+     * @param shift     the given level, MIN_SHIFT through MAX_SHIFT
+     * 
+     * @return  the number of live cells in the given block
+     */
+    public int getCount( int blockX, int blockY, int shift )
+    {
+        BlockCounts level   = levels[shift - MIN_SHIFT];
+        int         count   = level.get( CellSet.pack( blockX, blockY ) );
+        return count;
+    }
+    
+    /**
+     * Operation that accepts a packed key and a count.
+     * 
+     * @author Jack Straub
+     */
+    @FunctionalInterface
+    private interface KeyCountConsumer
+    {
+        /**
+         * Performs this operation on the given arguments.
+         * 
+         * @param key   the packed key
+         * @param count the count
+         */
+        void accept( long key, int count );
+    }
+    
+    /**
+     * Maps packed block coordinates to non-zero counts.
+     * A block whose count becomes zero is removed.
+     * 
+     * @author Jack Straub
+     */
+    private static class BlockCounts extends LongHashTable
+    {
+        /** Count of each block, parallel to the keys */
+        private int[]   counts;
+        
+        /**
+         * Default constructor.
+         */
+        public BlockCounts()
+        {
+            counts = new int[getCapacity()];
+        }
+        
+        /**
+         * Constructor.
+         * Creates a table that is a copy of a given table.
+         * 
+         * @param copyFrom  the given table
+         */
+        public BlockCounts( BlockCounts copyFrom )
+        {
+            super( copyFrom );
+            counts = copyFrom.counts.clone();
+        }
+        
+        /**
+         * Gets the count of the block with a given key.
+         * 
+         * @param key   the given key
+         * 
+         * @return  the count of the block with the given key;
+         *          0 if none
+         */
+        public int get( long key )
+        {
+            int slot    = findSlot( key );
+            int count   = slot >= 0 ? counts[slot] : 0;
+            return count;
+        }
+        
+        /**
+         * Adds a given value to the count of the block with a given key.
+         * 
+         * @param key   the given key
+         * @param delta the given value
+         */
+        public void add( long key, int delta )
+        {
+            if ( delta != 0 )
+            {
+                int slot    = addKey( key );
+                if ( (counts[slot] += delta) == 0 )
+                    removeSlot( slot );
+            }
+        }
+        
+        /**
+         * Invokes a given operation on the key and count
+         * of every block in this table.
+         * The operation must not modify this table.
+         * 
+         * @param action    the given operation
+         */
+        public void forEach( KeyCountConsumer action )
+        {
+            for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+                action.accept( getKey( slot ), counts[slot] );
+        }
+        
+        @Override
+        protected void moveValue( int from, int to )
+        {
+            counts[to] = counts[from];
+        }
+        
+        @Override
+        protected void clearValue( int slot )
+        {
+            counts[slot] = 0;
+        }
+        
+        @Override
+        protected void relocateValues( int capacity, int[] moves )
+        {
+            int[]   oldCounts   = counts;
+            counts = new int[capacity];
+            for ( int inx = 0 ; inx < moves.length ; ++inx )
+                if ( moves[inx] >= 0 )
+                    counts[moves[inx]] = oldCounts[inx];
+        }
+    }
+}
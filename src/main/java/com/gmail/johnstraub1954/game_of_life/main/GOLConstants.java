@@ -145,6 +145,51 @@ public class GOLConstants
     public static final String  GRID_CELL_COLOR_DV   = "0";
     
     /** 
+     * Raster rendering property name.
+     * A Boolean value that indicates whether the grid is to be drawn
+     * by writing pixels directly into an image,
+     * which is much faster than drawing each cell with a Graphics object
+     * when many cells are visible.
+     */
+    public static final String  GRID_RASTER_PN      = "gridRaster";
+    /** Raster rendering default value. */
+    public static final String  GRID_RASTER_DV      = "true";
+    
+    /**
+     * Zoom-out property name.
+     * The number of cells along each side of the square block of cells
+     * represented by a single pixel;
+     * a power of 2, 1 through 1024.
+     * If greater than 1, the grid is drawn by shading each pixel
+     * according to the number of live cells in its block,
+     * and the cell size is ignored.
+     */
+    public static final String  GRID_ZOOM_OUT_PN    = "gridZoomOut";
+    /** Zoom-out default value. */
+    public static final String  GRID_ZOOM_OUT_DV    = "1";
+    
+    /** 
+     * Active rendering property name.
+     * A Boolean value that indicates whether the grid is to be drawn
+     * by a dedicated render thread,
+     * into the accelerated back buffers of a Canvas,
+     * at a steady frame rate,
+     * instead of being repainted by Swing on demand.
+     * Takes effect when the grid is created.
+     */
+    public static final String  GRID_ACTIVE_PN      = "gridActive";
+    /** Active rendering default value. */
+    public static final String  GRID_ACTIVE_DV      = "false";
+    /** 
+     * Active rendering frame rate property name.
+     * The number of frames per second the render thread attempts
+     * to draw when active rendering is on.
+     */
+    public static final String  GRID_ACTIVE_FPS_PN  = "gridActiveFrameRate";
+    /** Active rendering frame rate default value. */
+    public static final String  GRID_ACTIVE_FPS_DV  = "60";
+    
+    /**
      * The x- and y- coordinates of the cell to appear in the upper-left
      * corner of the physical grid.
      */
@@ -181,10 +226,85 @@ public class GOLConstants
     //
     ////////////////////////////////////////
     
-    /** Propagation procedure property name. */
+    /** Propagation procedure name: the cell-by-cell Conway engine. */
+    public static final String  PROP_PROC_CONWAY    = "conway";
+    /** Propagation procedure name: the bit-packed, tiled engine. */
+    public static final String  PROP_PROC_TILED     = "tiled";
+    /** Propagation procedure name: the Hashlife engine. */
+    public static final String  PROP_PROC_HASHLIFE  = "hashlife";
+    /**
+     * Propagation procedure name: the cell-by-cell Conway engine,
+     * visiting only cells near the previous generation's changes.
+     */
+    public static final String  PROP_PROC_INCREMENTAL   = "incremental";
+    /**
+     * Propagation procedure name: the cell-by-cell Conway engine,
+     * calculating horizontal bands of the grid in parallel.
+     */
+    public static final String  PROP_PROC_PARALLEL  = "parallel";
+    /**
+     * Propagation procedure name: the engine that calculates
+     * 2x2 squares of cells with a single table lookup.
+     */
+    public static final String  PROP_PROC_BLOCK     = "block";
+    /**
+     * Propagation procedure name: the engine that calculates
+     * 64 cells at a time in a dense array of bit-packed rows,
+     * falling back to the tiled engine for sparse patterns.
+     */
+    public static final String  PROP_PROC_DENSE     = "dense";
+    /**
+     * Propagation procedure property name.
+     * May be <em>conway</em>, <em>incremental</em>,
+     * <em>parallel</em>, <em>block</em>, <em>dense</em>,
+     * <em>tiled</em> or <em>hashlife</em>.
+     * 
+     * @see #PROP_PROC_CONWAY
+     * @see #PROP_PROC_INCREMENTAL
+     * @see #PROP_PROC_PARALLEL
+     * @see #PROP_PROC_BLOCK
+     * @see #PROP_PROC_DENSE
+     * @see #PROP_PROC_TILED
+     * @see #PROP_PROC_HASHLIFE
+     */
     public static final String  PROP_PROC_PN        = "spawn";
-    /** Propagation procedure default value (none). */
-    public static final String  PROP_PROC_DV        = "";
+    /** Propagation procedure default value (the tiled engine). */
+    public static final String  PROP_PROC_DV        = PROP_PROC_TILED;
+    /**
+     * The GenerationEngine used in this game.
+     * It is configured with the PROP_PROC_PN property,
+     * and has no default value of its own.
+     * 
+     * @see Parameters#setGenerationEngine(GenerationEngine)
+     */
+    public static final String  GENERATION_ENGINE_PN    = "generationEngine";
+    /**
+     * Number of threads used by the parallel propagation procedure.
+     * A value of 0 or less selects the number of available processors.
+     * 
+     * @see #PROP_PROC_PARALLEL
+     */
+    public static final String  PARALLELISM_PN      = "parallelism";
+    /** Parallelism default value (the number of available processors). */
+    public static final String  PARALLELISM_DV      = "0";
+    /**
+     * Row kernel name: the first accelerated kernel
+     * supported by the host, or the scalar kernel if none.
+     */
+    public static final String  KERNEL_AUTO         = "auto";
+    /** Row kernel name: the scalar kernel. */
+    public static final String  KERNEL_SCALAR       = "scalar";
+    /**
+     * Row kernel used by the dense propagation procedure.
+     * May be <em>auto</em> or <em>scalar</em>.
+     * 
+     * @see #KERNEL_AUTO
+     * @see #KERNEL_SCALAR
+     * @see #PROP_PROC_DENSE
+     */
+    public static final String  KERNEL_PN           = "kernel";
+    /** Row kernel default value. */
+    public static final String  KERNEL_DV           = KERNEL_AUTO;
     
     ////////////////////////////////////////
     //
@@ -214,6 +334,41 @@ public class GOLConstants
     public static final String  AUTO_REGEN_MAX_PN   = "autoRegeneratonMaxPace";
     /** Maximum regeneration pace default value*/
     public static final String  AUTO_REGEN_MAX_DV   = "25";
+    /**
+     * Frame rate at which the grid is refreshed in turbo mode,
+     * in frames per second.
+     * In turbo mode generations are calculated as fast as possible,
+     * independent of the regeneration pace.
+     * 
+     * @see TurboRunner
+     */
+    public static final String  TURBO_FPS_PN        = "turboFrameRate";
+    /** Turbo frame rate default value */
+    public static final String  TURBO_FPS_DV        = "60";
+    /**
+     * Determines what happens when the animation timer falls behind,
+     * because the generation engine cannot keep up
+     * with the regeneration pace:
+     * <em>skip</em>, <em>coalesce</em> or <em>catch_up</em>
+     * (case-insensitive).
+     * 
+     * @see GOLTimer.OverloadPolicy
+     */
+    public static final String  TIMER_OVERLOAD_PN   = "timerOverloadPolicy";
+    /** Timer overload policy default value */
+    public static final String  TIMER_OVERLOAD_DV   = "coalesce";
+    /**
+     * The maximum number of late generations calculated back to back
+     * when the timer overload policy is <em>catch_up</em>,
+     * or calculated at once
+     * when the timer overload policy is <em>coalesce</em>.
+     * 
+     * @see GOLTimer.OverloadPolicy#CATCH_UP
+     * @see GOLTimer.OverloadPolicy#COALESCE
+     */
+    public static final String  TIMER_CATCH_UP_PN   = "timerCatchUpLimit";
+    /** Timer catch-up limit default value */
+    public static final String  TIMER_CATCH_UP_DV   = "4";
 
     ////////////////////////////////////////
     //
@@ -286,6 +441,12 @@ public class GOLConstants
     public static final String  ACTION_FILE_SAVED_PN    = "fileSaved";
     /** Property associated with spawning a new generation. */
     public static final String  ACTION_PROPAGATE_PN     = "propagate";
+    /**
+     * Property associated with applying a batch of changes
+     * to a grid map.
+     * The source of the event is a GridChangeSummary.
+     */
+    public static final String  ACTION_GRID_BATCH_PN    = "gridBatch";
 
     ////////////////////////////////////////
     //
@@ -486,6 +647,9 @@ public class GOLConstants
     /** The name of the "animate" control */
     public static final String  GEN_ANIMATE_TOGGLE_CN   =
         MAIN_FRAME_CN + ".genPerSecComponent";
+    /** The name of the "turbo" control */
+    public static final String  GEN_TURBO_TOGGLE_CN     =
+        MAIN_FRAME_CN + ".turboToggle";
 
     ////////////////////////////////
     // controls panel
@@ -493,6 +657,9 @@ public class GOLConstants
     /** The name of the cell size component */
     public static final String  CTRL_CELL_SIZE_COMP_CN  =
         MAIN_FRAME_CN + ".cellSizeSpinner";
+    /** The name of the zoom-out component */
+    public static final String  CTRL_ZOOM_OUT_COMP_CN   =
+        MAIN_FRAME_CN + ".zoomOutSpinner";
     /** The name of the show-grid component */
     public static final String  CTRL_SHOW_GRID_COMP_CN  =
         MAIN_FRAME_CN + ".showGridCheckBox";
@@ -16,6 +16,10 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_GRID_
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_GRID_URL_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_SURVIVAL_STATES_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_SURVIVAL_STATES_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_FPS_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_FPS_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_COLOR_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_COLOR_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_ORIGIN_DV;
@@ -42,8 +46,12 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGI
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_RIGHT_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_TOP_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_TOP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_RASTER_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_RASTER_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_WIDTH_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_WIDTH_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ZOOM_OUT_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ZOOM_OUT_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_EMAIL_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_EMAIL_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_NAME_DV;
@@ -54,6 +62,20 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_PATTE
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_PATTERN_FILE_NAME_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_PATTERN_NAME_DV;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_PATTERN_NAME_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.KERNEL_AUTO;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.KERNEL_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.KERNEL_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.KERNEL_SCALAR;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PARALLELISM_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PARALLELISM_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_CATCH_UP_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_CATCH_UP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_OVERLOAD_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_OVERLOAD_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TURBO_FPS_DV;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TURBO_FPS_PN;
 
 import java.awt.Color;
 import java.awt.Point;
@@ -63,7 +85,6 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
-import java.util.function.Consumer;
 
 /**
  * @author Jack Straub
@@ -234,6 +255,75 @@ public class GOLProperties extends Properties
         return color;
     }
     
+    /**
+     * Obtains the value of the GRID RASTER property.
+     * 
+     * @return the value of the GRID RASTER property
+     * 
+     * @see GOLConstants#GRID_RASTER_PN
+     */
+    public boolean getGridRaster()
+    {
+        boolean raster  = getBoolean( GRID_RASTER_PN, GRID_RASTER_DV );
+        return raster;
+    }
+    
+    /**
+     * Obtains the value of the GRID ZOOM OUT property.
+     * 
+     * @return the value of the GRID ZOOM OUT property
+     * 
+     * @throws GOLException if the property value
+     *         is not a power of 2 between 1 and 1024
+     * 
+     * @see GOLConstants#GRID_ZOOM_OUT_PN
+     */
+    public int getGridZoomOut()
+        throws GOLException
+    {
+        int     zoom    = getInt( GRID_ZOOM_OUT_PN, GRID_ZOOM_OUT_DV );
+        if ( 
+            zoom < 1 
+            || zoom > (1 << GridSnapshot.MAX_DENSITY_SHIFT) 
+            || Integer.bitCount( zoom ) != 1
+        )
+        {
+            String  message = 
+                "\"" + zoom + "\" is not a valid zoom-out factor";
+            throw new GOLException( message );
+        }
+        return zoom;
+    }
+    
+    /**
+     * Obtains the value of the GRID ACTIVE property.
+     * 
+     * @return the value of the GRID ACTIVE property
+     * 
+     * @see GOLConstants#GRID_ACTIVE_PN
+     */
+    public boolean getGridActive()
+    {
+        boolean active  = getBoolean( GRID_ACTIVE_PN, GRID_ACTIVE_DV );
+        return active;
+    }
+    
+    /**
+     * Obtains the value of the GRID ACTIVE FRAME RATE property.
+     * Specifies frames per second;
+     * values less than 1 are treated as 1.
+     * 
+     * @return the value of the GRID ACTIVE FRAME RATE property
+     * 
+     * @see GOLConstants#GRID_ACTIVE_FPS_PN
+     */
+    public int getGridActiveFrameRate()
+    {
+        int     fps     =
+            Math.max( getInt( GRID_ACTIVE_FPS_PN, GRID_ACTIVE_FPS_DV ), 1 );
+        return fps;
+    }
+    
     public Point getGridCellOrigin()
     {
         Point   origin  = getPoint( GRID_CELL_ORIGIN_PN, GRID_CELL_ORIGIN_DV );
@@ -287,6 +377,69 @@ public class GOLProperties extends Properties
         return pace;
     }
     
+    /**
+     * Obtains the value of the TURBO FRAME RATE property.
+     * Specifies frames per second;
+     * values less than 1 are treated as 1.
+     * 
+     * @return the value of the TURBO FRAME RATE property
+     * 
+     * @see GOLConstants#TURBO_FPS_PN
+     */
+    public int getTurboFrameRate()
+    {
+        int     fps     =
+            Math.max( getInt( TURBO_FPS_PN, TURBO_FPS_DV ), 1 );
+        return fps;
+    }
+    
+    /**
+     * Obtains the value of the TIMER OVERLOAD POLICY property.
+     * The value is the name of a policy
+     * (<em>skip</em>, <em>coalesce</em> or <em>catch_up</em>);
+     * the name is case-insensitive,
+     * and a hyphen may be used in place of the underscore.
+     * 
+     * @return the value of the TIMER OVERLOAD POLICY property
+     * 
+     * @throws GOLException if the property value
+     *         is not the name of an overload policy
+     * 
+     * @see GOLConstants#TIMER_OVERLOAD_PN
+     */
+    public GOLTimer.OverloadPolicy getTimerOverloadPolicy()
+        throws GOLException
+    {
+        String                  name    =
+            getString( TIMER_OVERLOAD_PN, TIMER_OVERLOAD_DV );
+        GOLTimer.OverloadPolicy policy  = null;
+        for ( GOLTimer.OverloadPolicy test : GOLTimer.OverloadPolicy.values() )
+            if ( test.name().equalsIgnoreCase( name.replace( '-', '_' ) ) )
+                policy = test;
+        if ( policy == null )
+        {
+            String  message =
+                "\"" + name + "\" is not a valid overload policy";
+            throw new GOLException( message );
+        }
+        return policy;
+    }
+    
+    /**
+     * Obtains the value of the TIMER CATCH-UP LIMIT property.
+     * Values less than 0 are treated as 0.
+     * 
+     * @return the value of the TIMER CATCH-UP LIMIT property
+     * 
+     * @see GOLConstants#TIMER_CATCH_UP_PN
+     */
+    public int getTimerCatchUpLimit()
+    {
+        int     limit   =
+            Math.max( getInt( TIMER_CATCH_UP_PN, TIMER_CATCH_UP_DV ), 0 );
+        return limit;
+    }
+    
     /**
      * Gets a value that indicates whether the application should attempt
      * to re-center the live cells in its display
@@ -304,13 +457,99 @@ public class GOLProperties extends Properties
     }
     
     /**
-     * Get the default propagation procedure.
+     * Creates the generation engine selected by the <em>spawn</em>
+     * property.
+     * The engine is selected by name
+     * (<em>conway</em>, <em>incremental</em>, <em>parallel</em>,
+     * <em>block</em>, <em>dense</em>, <em>tiled</em> or <em>hashlife</em>,
+     * or the name of an engine supplied by
+     * a provider on the class path);
+     * the name is case-insensitive.
+     * 
+     * @return  the generation engine selected by the spawn property
+     * 
+     * @throws GOLException if the property value
+     *         is not the name of a generation engine
+     * 
+     * @see GOLConstants#PROP_PROC_PN
+     * @see GenerationEngineProvider
+     */
+    public GenerationEngine getGenerationEngine()
+        throws GOLException
+    {
+        String                      name        =
+            getString( PROP_PROC_PN, PROP_PROC_DV );
+        GenerationEngineProvider    provider    =
+            GenerationEngineProvider.find( name );
+        if ( provider == null )
+        {
+            String  message =
+                "\"" + name + "\" is not a valid generation engine";
+            throw new GOLException( message );
+        }
+        GenerationEngine            engine      =
+            provider.newEngine( name, this );
+        return engine;
+    }
+    
+    /**
+     * Obtains the number of threads
+     * to be used by the parallel propagation procedure.
+     * If the value of the PARALLELISM property is 0 or less
+     * the number of available processors is returned.
      * 
-     * @return  the default propagation procedure
+     * @return  the number of threads
+     *          to be used by the parallel propagation procedure
+     * 
+     * @see GOLConstants#PARALLELISM_PN
      */
-    public Consumer<Object> getPropagateProc()
+    public int getParallelism()
     {
-        return o -> Utils.INSTANCE.conwayPropagate( o );
+        int threads = getInt( PARALLELISM_PN, PARALLELISM_DV );
+        if ( threads <= 0 )
+            threads = Runtime.getRuntime().availableProcessors();
+        return threads;
+    }
+    
+    /**
+     * Gets the row kernel to be used by the dense
+     * propagation procedure.
+     * The kernel is selected by name
+     * (<em>auto</em> or <em>scalar</em>);
+     * the name is case-insensitive.
+     * <em>Auto</em> selects the first accelerated kernel
+     * that is on the class path and supported by the host,
+     * falling back to the scalar kernel if there is none.
+     * 
+     * @return  the row kernel to be used by the dense
+     *          propagation procedure
+     * 
+     * @throws GOLException if the property value
+     *         is not the name of a row kernel
+     * 
+     * @see GOLConstants#KERNEL_PN
+     * @see RowKernel#getAccelerated()
+     */
+    public RowKernel getRowKernel()
+        throws GOLException
+    {
+        String      name    = getString( KERNEL_PN, KERNEL_DV );
+        RowKernel   kernel  = null;
+        if ( name.equalsIgnoreCase( KERNEL_SCALAR ) )
+            kernel = SwarKernel.INSTANCE;
+        else if ( name.equalsIgnoreCase( KERNEL_AUTO ) )
+        {
+            kernel = RowKernel.getAccelerated();
+            if ( kernel == null )
+                kernel = SwarKernel.INSTANCE;
+        }
+        else
+        {
+            String  message =
+                "\"" + name + "\" is not a valid row kernel";
+            throw new GOLException( message );
+        }
+        return kernel;
     }
     
     /**
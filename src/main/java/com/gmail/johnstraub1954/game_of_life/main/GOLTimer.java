@@ -1,26 +1,41 @@
 package com.gmail.johnstraub1954.game_of_life.main;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 
 /**
- * Provides access to the Java Timer utility.
- * Enables tasks to be executed at millisecond intervals.
+ * Schedules tasks to be executed at fixed intervals.
+ * Tasks are executed on a single scheduler thread,
+ * on a fixed-rate schedule that does not drift
+ * when an execution is late.
  * An individual task can be cancelled,
- * and the Timer itself can be terminated,
+ * and the timer itself can be terminated,
  * which will cancel every scheduled task.
  * Note that the scheduler runs on a separate thread;
- * to terminate the thread, invoke the cancel method.
- * Example: <pre> 
+ * to terminate the thread, invoke the dispose method.
+ * <p>
+ * If a task takes longer than its interval,
+ * its following executions are late;
+ * what happens to them is determined by
+ * the task's {@link OverloadPolicy}.
+ * Each task counts its overruns and measures its lateness
+ * (see {@link GOLTimerTask}),
+ * so that a client can tell when it has asked for
+ * more than the task can deliver.
+ * An exception thrown by one task
+ * does not affect it or any other task.
+ * </p>
+ * Example: <pre>
     final String message = "To be printed every .5 second";
-    TimerTask    task    = GOLTimer.INSTANCE.addTask( 
-        500, 
+    GOLTimerTask task    = GOLTimer.INSTANCE.addTask(
+        500,
         () -&gt; System.out.println( message )
     );
     try
-    { 
-        Thread.sleep( 2000 ); 
-    } 
+    {
+        Thread.sleep( 2000 );
+    }
     catch ( InterruptedException exc) {}
     task.cancel();
     GOLTimer.INSTANCE.dispose();</pre>
@@ -28,38 +43,152 @@ import java.util.TimerTask;
  * 
  * @author Jack Straub
  * 
- * @see java.util.TimerTask#cancel
+ * @see GOLTimerTask#cancel()
  */
 public enum GOLTimer
 {
     /** This enum's singleton. */
     INSTANCE;
     
+    /**
+     * Determines what happens to the ticks of a task
+     * that are due while a previous execution is still in progress.
+     * 
+     * @author Jack Straub
+     * 
+     * @see GOLConstants#TIMER_OVERLOAD_PN
+     */
+    public enum OverloadPolicy
+    {
+        /**
+         * Late ticks are dropped;
+         * the task resumes at the next tick on its schedule.
+         * The effective rate of the task falls.
+         */
+        SKIP,
+        /**
+         * Late ticks are combined into a single execution,
+         * which takes place immediately,
+         * up to a limit;
+         * the task is told how many ticks the execution represents,
+         * so that it can do the work of all of them at once.
+         * Ticks beyond the limit are dropped,
+         * so that a task that is slower than its period
+         * doesn't take longer and longer
+         * with each execution.
+         */
+        COALESCE,
+        /**
+         * Late ticks are executed immediately, back to back,
+         * up to a limit;
+         * ticks beyond the limit are dropped.
+         */
+        CATCH_UP
+    }
+    
+    /** Number of nanoseconds in a millisecond */
+    private static final long   nanosPerMilli   = 1_000_000L;
+    
     /** Associated system scheduler */
-    private final Timer timer   = new Timer( "Game of Life Timer" );
+    private final ScheduledThreadPoolExecutor   executor;
     
     /** Indicates whether this timer has been disposed. */
     private boolean     isDisposed  = false;
     
+    /**
+     * Constructor.
+     */
+    private GOLTimer()
+    {
+        executor = new ScheduledThreadPoolExecutor(
+            1,
+            r -> new Thread( r, "Game of Life Timer" )
+        );
+        // cancelled tasks are removed from the queue immediately,
+        // so no purge is required
+        executor.setRemoveOnCancelPolicy( true );
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy( false );
+    }
+    
     /**
      * Schedules a task to be executed at millisecond intervals.
-     * Returns a TimerTask object which can be used to cancel
+     * Late executions are skipped.
+     * Returns a GOLTimerTask object which can be used to cancel
      * task execution.
      * 
      * @param millis    the interval between executions in milliseconds
      * @param runnable  the task to be executed after each interval expires
      * 
-     * @return  TimeTask control object
+     * @return  task control object
      * 
      * @throws IllegalStateException if the timer has been disposed
+     * @throws IllegalArgumentException if millis is less than 1
+     * 
+     * @see GOLTimerTask#cancel()
+     */
+    public GOLTimerTask addTask( long millis, Runnable runnable )
+        throws IllegalStateException, IllegalArgumentException
+    {
+        GOLTimerTask    task    = addTask(
+            millis * nanosPerMilli,
+            OverloadPolicy.SKIP,
+            0,
+            ticks -> runnable.run()
+        );
+        return task;
+    }
+    
+    /**
+     * Schedules a task to be executed at nanosecond intervals,
+     * with a given overload policy.
+     * The task receives the number of ticks
+     * represented by each execution;
+     * this is always 1 unless the policy is COALESCE.
+     * Returns a GOLTimerTask object which can be used to cancel
+     * task execution, and to obtain its statistics.
+     * 
+     * @param periodNanos   the interval between executions
+     *                      in nanoseconds
+     * @param policy        the given overload policy
+     * @param catchUpLimit  the maximum number of late ticks
+     *                      executed back to back
+     *                      under the CATCH_UP policy,
+     *                      or combined into a single execution
+     *                      under the COALESCE policy;
+     *                      ignored by the SKIP policy
+     * @param action        the task to be executed
+     *                      after each interval expires
+     * 
+     * @return  task control object
      * 
-     * @see java.util.TimerTask#cancel()
+     * @throws IllegalStateException if the timer has been disposed
+     * @throws IllegalArgumentException
+     *         if periodNanos is less than 1
+     *         or catchUpLimit is negative
      */
-    public synchronized TimerTask addTask( long millis, Runnable runnable )
-        throws IllegalStateException
+    public synchronized GOLTimerTask addTask(
+        long            periodNanos,
+        OverloadPolicy  policy,
+        int             catchUpLimit,
+        IntConsumer     action
+    ) throws IllegalStateException, IllegalArgumentException
     {
-        final Task  task    = new Task( runnable );
-        timer.schedule( task, 0, millis );
+        if ( isDisposed )
+            throw new IllegalStateException( "Timer has been disposed" );
+        if ( periodNanos < 1 )
+        {
+            String  message = "Invalid interval: " + periodNanos;
+            throw new IllegalArgumentException( message );
+        }
+        if ( catchUpLimit < 0 )
+        {
+            String  message = "Invalid catch-up limit: " + catchUpLimit;
+            throw new IllegalArgumentException( message );
+        }
+        
+        GOLTimerTask    task    =
+            new GOLTimerTask( executor, periodNanos, policy, catchUpLimit, action );
+        task.start();
         return task;
     }
     
@@ -71,44 +200,34 @@ public enum GOLTimer
     public synchronized void dispose()
     {
         isDisposed = true;
-        timer.cancel();
+        executor.shutdownNow();
     }
     
     /**
      * Indicates whether this timer has been disposed.
+     * 
+     * @return  true if this timer has been disposed
      */
-    public boolean isDisposed()
+    public synchronized boolean isDisposed()
     {
         return isDisposed;
     }
     
     /**
-     * Encapsulates a TimerTask object which can be used
-     * to schedule a task at millisecond intervals.
+     * Waits for the scheduler thread to terminate
+     * after this timer has been disposed.
      * 
-     * @author Jack Straub
+     * @param millis    the maximum time to wait, in milliseconds
+     * 
+     * @return  true if the scheduler thread has terminated
+     * 
+     * @throws InterruptedException if interrupted while waiting
      */
-    private static class Task extends TimerTask
+    public boolean awaitTermination( long millis )
+        throws InterruptedException
     {
-        /** Encapsulates the task to be executed when the interval expires */
-        private final Runnable  runnable;
-        
-        public Task( Runnable runnable )
-        {
-            this.runnable = runnable;
-        }
-        
-        public void run()
-        {
-            runnable.run();
-        }
-        
-        @Override
-        public boolean cancel()
-        {
-            boolean status  = super.cancel();
-            GOLTimer.INSTANCE.timer.purge();
-            return status;
-        }
+        boolean result  =
+            executor.awaitTermination( millis, TimeUnit.MILLISECONDS );
+        return result;
     }
 }
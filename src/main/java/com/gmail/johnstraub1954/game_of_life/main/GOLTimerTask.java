@@ -0,0 +1,453 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * A task scheduled at a fixed rate by {@link GOLTimer}.
+ * <p>
+ * The task is executed on a fixed schedule:
+ * tick <em>n</em> is due <em>n</em> periods after the task was added,
+ * regardless of how long previous executions took,
+ * so the schedule does not drift.
+ * When an execution takes longer than a period
+ * the following ticks are late;
+ * what happens to them is determined by the task's
+ * {@link GOLTimer.OverloadPolicy overload policy}.
+ * </p>
+ * <p>
+ * An exception thrown by the task is caught and counted,
+ * and does not affect the task's schedule or any other task.
+ * </p>
+ * <p>
+ * The task keeps the following statistics,
+ * which may be read from any thread:
+ * </p>
+ * <ul>
+ * <li>
+ *      the number of executions,
+ *      and the number of ticks they represent
+ * </li>
+ * <li>
+ *      the number of ticks that were not executed on time
+ *      (<em>overruns</em>),
+ *      and the number that were never executed (<em>dropped</em>)
+ * </li>
+ * <li>the number of exceptions thrown, and the most recent one</li>
+ * <li>
+ *      the lateness of each execution
+ *      (the time between the tick's due time and the start of
+ *      the execution): the most recent, the mean and the maximum
+ * </li>
+ * <li>
+ *      the jitter: the mean difference in lateness
+ *      between consecutive executions
+ * </li>
+ * </ul>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLTimer#addTask(long, GOLTimer.OverloadPolicy, int, IntConsumer)
+ */
+public class GOLTimerTask implements Runnable
+{
+    /** Number of nanoseconds in a second */
+    private static final double     nanosPerSecond  = 1e9;
+    
+    /** Executor on which this task is scheduled */
+    private final ScheduledExecutorService  executor;
+    /** The interval between ticks, in nanoseconds */
+    private final long                      periodNanos;
+    /** Determines what happens to late ticks */
+    private final GOLTimer.OverloadPolicy   policy;
+    /**
+     * Maximum number of late ticks executed by CATCH_UP,
+     * or combined into a single execution by COALESCE
+     */
+    private final int                       catchUpLimit;
+    /** The action to execute; receives the number of ticks executed */
+    private final IntConsumer               action;
+    
+    /** Time at which tick 0 was due */
+    private long                origin          = 0;
+    /** The number of the next tick to execute */
+    private long                nextTick        = 0;
+    /** Controls the next scheduled execution; null if none */
+    private ScheduledFuture<?>  future          = null;
+    /** True if this task has been cancelled */
+    private boolean             cancelled       = false;
+    
+    /** Number of executions */
+    private long                runCount        = 0;
+    /** Number of ticks represented by all executions */
+    private long                tickCount       = 0;
+    /** Number of ticks that were not executed on time */
+    private long                overrunCount    = 0;
+    /** Number of ticks that were never executed */
+    private long                droppedCount    = 0;
+    /** Number of exceptions thrown by the action */
+    private long                exceptionCount  = 0;
+    /** The most recent exception thrown by the action */
+    private RuntimeException    lastException   = null;
+    /** Number of times the executor has run this task */
+    private long                wakeCount       = 0;
+    /** Lateness of the most recent execution, in nanoseconds */
+    private long                lastLateness    = 0;
+    /** Sum of the lateness of all executions */
+    private long                latenessSum     = 0;
+    /** Greatest lateness of any execution */
+    private long                latenessMax     = 0;
+    /** Sum of the differences in lateness of consecutive executions */
+    private long                jitterSum       = 0;
+    
+    /**
+     * Constructor.
+     * 
+     * @param executor      executor on which to schedule this task
+     * @param periodNanos   the interval between ticks, in nanoseconds
+     * @param policy        determines what happens to late ticks
+     * @param catchUpLimit  maximum number of late ticks executed
+     *                      by the CATCH_UP policy,
+     *                      or coalesced by the COALESCE policy
+     * @param action        the action to execute; receives the number
+     *                      of ticks represented by the execution
+     */
+    GOLTimerTask(
+        ScheduledExecutorService    executor,
+        long                        periodNanos,
+        GOLTimer.OverloadPolicy     policy,
+        int                         catchUpLimit,
+        IntConsumer                 action
+    )
+    {
+        this.executor = executor;
+        this.periodNanos = periodNanos;
+        this.policy = policy;
+        this.catchUpLimit = catchUpLimit;
+        this.action = action;
+    }
+    
+    /**
+     * Schedules the first tick, to be executed immediately.
+     */
+    synchronized void start()
+    {
+        origin = System.nanoTime();
+        nextTick = 0;
+        future = executor.schedule( this, 0, TimeUnit.NANOSECONDS );
+    }
+    
+    /**
+     * Executes the ticks that are due,
+     * according to the overload policy,
+     * then schedules the next tick.
+     * Invoked by the executor;
+     * not intended to be invoked directly.
+     */
+    @Override
+    public void run()
+    {
+        long    now         = System.nanoTime();
+        long    lateness;
+        long    behind;
+        synchronized ( this )
+        {
+            if ( cancelled )
+                return;
+            lateness = Math.max( 0, now - (origin + nextTick * periodNanos) );
+            behind = lateness / periodNanos;
+            recordLateness( lateness );
+            nextTick += behind + 1;
+            overrunCount += behind;
+        }
+        
+        switch ( policy )
+        {
+        case COALESCE:
+            long    coalesced   = Math.min( behind, catchUpLimit );
+            execute( (int)coalesced + 1 );
+            synchronized ( this )
+            {
+                droppedCount += behind - coalesced;
+            }
+            break;
+        case CATCH_UP:
+            long    extra       = Math.min( behind, catchUpLimit );
+            for ( long inx = 0 ; inx <= extra && !isCancelled() ; ++inx )
+                execute( 1 );
+            synchronized ( this )
+            {
+                droppedCount += behind - extra;
+            }
+            break;
+        case SKIP:
+        default:
+            execute( 1 );
+            synchronized ( this )
+            {
+                droppedCount += behind;
+            }
+            break;
+        }
+        
+        synchronized ( this )
+        {
+            long    due     = origin + nextTick * periodNanos;
+            long    delay   = Math.max( 0, due - System.nanoTime() );
+            try
+            {
+                if ( !cancelled )
+                    future = 
+                        executor.schedule( this, delay, TimeUnit.NANOSECONDS );
+            }
+            catch ( RejectedExecutionException exc )
+            {
+                // the timer has been disposed
+                cancelled = true;
+            }
+        }
+    }
+    
+    /**
+     * Cancels this task.
+     * An execution in progress is allowed to complete,
+     * but no further executions take place.
+     * 
+     * @return  true if this task was not already cancelled
+     */
+    public synchronized boolean cancel()
+    {
+        boolean result  = !cancelled;
+        cancelled = true;
+        if ( future != null )
+            future.cancel( false );
+        return result;
+    }
+    
+    /**
+     * Returns true if this task has been cancelled.
+     * 
+     * @return  true if this task has been cancelled
+     */
+    public synchronized boolean isCancelled()
+    {
+        return cancelled;
+    }
+    
+    /**
+     * Gets the interval between ticks, in nanoseconds.
+     * 
+     * @return  the interval between ticks, in nanoseconds
+     */
+    public long getPeriodNanos()
+    {
+        return periodNanos;
+    }
+    
+    /**
+     * Gets the policy that determines what happens to late ticks.
+     * 
+     * @return  the policy that determines what happens to late ticks
+     */
+    public GOLTimer.OverloadPolicy getPolicy()
+    {
+        return policy;
+    }
+    
+    /**
+     * Gets the number of times the action has been executed.
+     * 
+     * @return  the number of times the action has been executed
+     */
+    public synchronized long getRunCount()
+    {
+        return runCount;
+    }
+    
+    /**
+     * Gets the number of ticks represented by all executions;
+     * differs from the run count only under the COALESCE policy.
+     * 
+     * @return  the number of ticks represented by all executions
+     */
+    public synchronized long getTickCount()
+    {
+        return tickCount;
+    }
+    
+    /**
+     * Gets the number of ticks that were not executed on time,
+     * because a previous execution had not completed.
+     * 
+     * @return  the number of ticks that were not executed on time
+     */
+    public synchronized long getOverrunCount()
+    {
+        return overrunCount;
+    }
+    
+    /**
+     * Gets the number of ticks that were never executed.
+     * 
+     * @return  the number of ticks that were never executed
+     */
+    public synchronized long getDroppedCount()
+    {
+        return droppedCount;
+    }
+    
+    /**
+     * Gets the number of exceptions thrown by the action.
+     * 
+     * @return  the number of exceptions thrown by the action
+     */
+    public synchronized long getExceptionCount()
+    {
+        return exceptionCount;
+    }
+    
+    /**
+     * Gets the most recent exception thrown by the action.
+     * 
+     * @return  the most recent exception thrown by the action,
+     *          or null if none
+     */
+    public synchronized RuntimeException getLastException()
+    {
+        return lastException;
+    }
+    
+    /**
+     * Gets the lateness of the most recent execution, in nanoseconds.
+     * 
+     * @return  the lateness of the most recent execution
+     */
+    public synchronized long getLastLatenessNanos()
+    {
+        return lastLateness;
+    }
+    
+    /**
+     * Gets the mean lateness of all executions, in nanoseconds.
+     * 
+     * @return  the mean lateness of all executions
+     */
+    public synchronized long getMeanLatenessNanos()
+    {
+        long    mean    = wakeCount == 0 ? 0 : latenessSum / wakeCount;
+        return mean;
+    }
+    
+    /**
+     * Gets the greatest lateness of any execution, in nanoseconds.
+     * 
+     * @return  the greatest lateness of any execution
+     */
+    public synchronized long getMaxLatenessNanos()
+    {
+        return latenessMax;
+    }
+    
+    /**
+     * Gets the mean difference in lateness between
+     * consecutive executions, in nanoseconds.
+     * 
+     * @return  the mean difference in lateness between
+     *          consecutive executions
+     */
+    public synchronized long getJitterNanos()
+    {
+        long    jitter  = wakeCount < 2 ? 0 : jitterSum / (wakeCount - 1);
+        return jitter;
+    }
+    
+    /**
+     * Gets the number of ticks executed per second
+     * since this task was added.
+     * Under the SKIP and CATCH_UP policies,
+     * a rate lower than the requested rate
+     * means that the task cannot keep up.
+     * 
+     * @return  the number of ticks executed per second
+     */
+    public synchronized double getAchievedRate()
+    {
+        long    elapsed = System.nanoTime() - origin;
+        double  rate    =
+            elapsed <= 0 ? 0 : tickCount * nanosPerSecond / elapsed;
+        return rate;
+    }
+    
+    /**
+     * Returns a string representation of this task's statistics.
+     * 
+     * @return  a string representation of this task's statistics
+     */
+    @Override
+    public synchronized String toString()
+    {
+        StringBuilder   bldr    = new StringBuilder( "policy=" );
+        bldr.append( policy )
+            .append( ",periodNanos=" ).append( periodNanos )
+            .append( ",runs=" ).append( runCount )
+            .append( ",ticks=" ).append( tickCount )
+            .append( ",overruns=" ).append( overrunCount )
+            .append( ",dropped=" ).append( droppedCount )
+            .append( ",exceptions=" ).append( exceptionCount )
+            .append( ",meanLatenessNanos=" ).append( getMeanLatenessNanos() )
+            .append( ",maxLatenessNanos=" ).append( latenessMax )
+            .append( ",jitterNanos=" ).append( getJitterNanos() );
+        return bldr.toString();
+    }
+    
+    /**
+     * Executes the action once,
+     * on behalf of a given number of ticks.
+     * An exception thrown by the action is recorded,
+     * and does not propagate.
+     * 
+     * @param ticks the given number of ticks
+     */
+    private void execute( int ticks )
+    {
+        RuntimeException    thrown  = null;
+        try
+        {
+            action.accept( ticks );
+        }
+        catch ( RuntimeException exc )
+        {
+            thrown = exc;
+        }
+        
+        synchronized ( this )
+        {
+            ++runCount;
+            tickCount += ticks;
+            if ( thrown != null )
+            {
+                ++exceptionCount;
+                lastException = thrown;
+            }
+        }
+    }
+    
+    /**
+     * Records the lateness of an execution.
+     * The caller must hold this task's lock.
+     * 
+     * @param lateness  the lateness of the execution, in nanoseconds
+     */
+    private void recordLateness( long lateness )
+    {
+        if ( wakeCount > 0 )
+            jitterSum += Math.abs( lateness - lastLateness );
+        ++wakeCount;
+        lastLateness = lateness;
+        latenessSum += lateness;
+        latenessMax = Math.max( latenessMax, lateness );
+    }
+}
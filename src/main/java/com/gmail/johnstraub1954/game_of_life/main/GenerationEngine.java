@@ -0,0 +1,182 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Set;
+
+/**
+ * Calculates successive generations of the grid map
+ * currently configured in the Parameters singleton.
+ * <p>
+ * Engines are created by a {@link GenerationEngineProvider},
+ * and selected by name with the <em>spawn</em> property
+ * (see {@link GOLProperties#getGenerationEngine()});
+ * an application with an engine of its own,
+ * such as a 1-D automaton,
+ * may install it directly with
+ * {@link Parameters#setGenerationEngine(GenerationEngine)}.
+ * Each engine declares its capabilities,
+ * so that clients can decide, for example,
+ * whether to request many generations at once.
+ * </p>
+ * <p>
+ * The grid map is updated by {@link #step(int)}
+ * or {@link #advance(int)};
+ * clients that must read the grid map from another thread
+ * should use {@link #snapshot()}.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see Parameters#getGenerationEngine()
+ */
+public interface GenerationEngine extends AutoCloseable
+{
+    /**
+     * The capabilities that an engine may declare.
+     * 
+     * @author Jack Straub
+     * 
+     * @see GenerationEngine#getCapabilities()
+     */
+    enum Capability
+    {
+        /**
+         * The engine can advance many generations
+         * in a fraction of the time it takes
+         * to calculate them one at a time;
+         * intermediate generations are never calculated.
+         */
+        MULTI_STEP,
+        /** The engine calculates each generation on several threads. */
+        PARALLEL,
+        /** The engine supports life-like rules that do not contain B0. */
+        LIFE_LIKE_RULES,
+        /** The engine supports life-like rules that contain B0. */
+        B0_RULES,
+        /**
+         * A snapshot of the grid, as of the end of
+         * the most recently completed step,
+         * may be read from any thread
+         * (see {@link GridMap#getSnapshot()}).
+         */
+        SNAPSHOT
+    }
+    
+    /**
+     * Gets the name of this engine.
+     * 
+     * @return  the name of this engine
+     */
+    String getName();
+    
+    /**
+     * Gets the capabilities of this engine.
+     * 
+     * @return  the capabilities of this engine
+     */
+    Set<Capability> getCapabilities();
+    
+    /**
+     * Returns true if this engine can calculate generations
+     * using a given rule.
+     * An engine asked to step with a rule that it does not support
+     * delegates the step to the cell-by-cell Conway engine.
+     * 
+     * @param rule  the given rule
+     * 
+     * @return  true if this engine supports the given rule
+     */
+    boolean supportsRule( Rule rule );
+    
+    /**
+     * Advances the grid map currently configured
+     * in the Parameters singleton by a given number of generations,
+     * using the rule currently configured in the Parameters singleton.
+     * The grid map is updated,
+     * then Parameters.reset() is invoked once.
+     * 
+     * @param count the given number of generations
+     * 
+     * @throws IllegalArgumentException if count is less than 1
+     * 
+     * @see #advance(int)
+     */
+    default void step( int count )
+        throws IllegalArgumentException
+    {
+        advance( count );
+        Parameters.INSTANCE.reset();
+    }
+    
+    /**
+     * Advances the grid map currently configured
+     * in the Parameters singleton by a given number of generations,
+     * using the rule currently configured in the Parameters singleton,
+     * without invoking Parameters.reset().
+     * The grid map is updated as a single batch,
+     * so that readers of its snapshot
+     * never see an intermediate generation.
+     * This method may be invoked from a thread
+     * other than the event dispatch thread.
+     * 
+     * @param count the given number of generations
+     * 
+     * @throws IllegalArgumentException if count is less than 1
+     * 
+     * @see TurboRunner
+     */
+    void advance( int count )
+        throws IllegalArgumentException;
+    
+    /**
+     * Advances a given grid map by a given number of generations,
+     * using a given rule,
+     * without reference to the Parameters singleton.
+     * The grid map is updated as a single batch.
+     * This allows an engine to be used
+     * where the Parameters singleton is not wanted,
+     * such as the headless {@link HeadlessRunner}.
+     * The default implementation throws UnsupportedOperationException.
+     * 
+     * @param gridMap   the given grid map
+     * @param rule      the given rule
+     * @param count     the given number of generations
+     * 
+     * @throws IllegalArgumentException if count is less than 1
+     * @throws UnsupportedOperationException
+     *         if this engine can only advance the grid map
+     *         configured in the Parameters singleton
+     */
+    default void advance( GridMap gridMap, Rule rule, int count )
+        throws IllegalArgumentException, UnsupportedOperationException
+    {
+        String  message = getName() + " requires the Parameters singleton";
+        throw new UnsupportedOperationException( message );
+    }
+    
+    /**
+     * Gets the number of live cells in the grid map
+     * currently configured in the Parameters singleton.
+     * 
+     * @return  the number of live cells in the grid map
+     */
+    int population();
+    
+    /**
+     * Gets an immutable snapshot of the grid map
+     * currently configured in the Parameters singleton,
+     * as of the end of the most recent step.
+     * 
+     * @return  an immutable snapshot of the grid map
+     * 
+     * @see GridMap#getSnapshot()
+     */
+    GridSnapshot snapshot();
+    
+    /**
+     * Releases the resources held by this engine,
+     * such as threads.
+     * The engine may not be used after it has been closed.
+     */
+    @Override
+    void close();
+}
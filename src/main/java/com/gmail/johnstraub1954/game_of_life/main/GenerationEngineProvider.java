@@ -0,0 +1,109 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Creates generation engines by name.
+ * <p>
+ * Providers are services (see {@link java.util.ServiceLoader});
+ * the engines that are part of this project
+ * are provided by {@link StandardEngineProvider}.
+ * An engine is added to the application
+ * by putting a jar on the class path
+ * that contains a provider
+ * and the file
+ * <em>META-INF/services/com.gmail.johnstraub1954.game_of_life.main.GenerationEngineProvider</em>
+ * naming it;
+ * the engine can then be selected with the <em>spawn</em> property.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLProperties#getGenerationEngine()
+ */
+public interface GenerationEngineProvider
+{
+    /**
+     * Gets the names of the engines created by this provider.
+     * 
+     * @return  the names of the engines created by this provider
+     */
+    List<String> getNames();
+    
+    /**
+     * Creates the engine with a given name.
+     * Names are case-insensitive.
+     * 
+     * @param name  the given name
+     * @param props properties that configure the engine
+     * 
+     * @return  the engine with the given name
+     * 
+     * @throws GOLException if this provider does not create
+     *         an engine with the given name,
+     *         or if the properties that configure the engine
+     *         are not valid
+     */
+    GenerationEngine newEngine( String name, GOLProperties props )
+        throws GOLException;
+    
+    /**
+     * Gets every provider available on the class path.
+     * Providers that cannot be loaded are ignored.
+     * 
+     * @return  every provider available on the class path
+     */
+    static List<GenerationEngineProvider> getProviders()
+    {
+        List<GenerationEngineProvider>      list    = new ArrayList<>();
+        Iterator<GenerationEngineProvider>  iter    =
+            ServiceLoader.load( GenerationEngineProvider.class ).iterator();
+        boolean                             more    = true;
+        while ( more )
+        {
+            try
+            {
+                more = iter.hasNext();
+            }
+            catch ( ServiceConfigurationError exc )
+            {
+                more = false;
+            }
+            
+            try
+            {
+                if ( more )
+                    list.add( iter.next() );
+            }
+            catch ( ServiceConfigurationError | LinkageError exc )
+            {
+                // provider can't run in this JVM; try the next one
+            }
+        }
+        return list;
+    }
+    
+    /**
+     * Finds the first available provider
+     * that creates the engine with a given name.
+     * Names are case-insensitive.
+     * 
+     * @param name  the given name
+     * 
+     * @return  the first provider that creates the engine
+     *          with the given name, or null if none
+     */
+    static GenerationEngineProvider find( String name )
+    {
+        GenerationEngineProvider    result  = null;
+        for ( GenerationEngineProvider provider : getProviders() )
+            for ( String next : provider.getNames() )
+                if ( result == null && next.equalsIgnoreCase( name ) )
+                    result = provider;
+        return result;
+    }
+}
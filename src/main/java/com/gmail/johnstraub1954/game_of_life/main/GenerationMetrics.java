@@ -0,0 +1,117 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Accumulates statistics about the generations
+ * calculated by the propagation engines:
+ * the number of generations, the time taken to calculate them,
+ * and the name of the kernel that calculated the most recent one.
+ * <p>
+ * Engines record each generation as it completes;
+ * any thread may read the statistics.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public enum GenerationMetrics
+{
+    /** This enum's singleton. */
+    INSTANCE;
+    
+    /** Name of the kernel that calculated the most recent generation */
+    private String  kernel          = "";
+    /** Number of generations recorded */
+    private long    generations     = 0;
+    /** Time taken by all recorded generations, in nanoseconds */
+    private long    totalNanos      = 0;
+    /** Time taken by the most recent generation, in nanoseconds */
+    private long    lastNanos       = 0;
+    
+    /**
+     * Records a generation.
+     * 
+     * @param kernel    the name of the kernel that calculated
+     *                  the generation
+     * @param nanos     the time taken to calculate the generation,
+     *                  in nanoseconds
+     */
+    public synchronized void record( String kernel, long nanos )
+    {
+        this.kernel = kernel;
+        ++generations;
+        totalNanos += nanos;
+        lastNanos = nanos;
+    }
+    
+    /**
+     * Discards all recorded generations.
+     */
+    public synchronized void reset()
+    {
+        kernel = "";
+        generations = 0;
+        totalNanos = 0;
+        lastNanos = 0;
+    }
+    
+    /**
+     * Gets the name of the kernel that calculated
+     * the most recent generation;
+     * empty if no generations have been recorded.
+     * 
+     * @return  the name of the kernel that calculated
+     *          the most recent generation
+     */
+    public synchronized String getKernel()
+    {
+        return kernel;
+    }
+    
+    /**
+     * Gets the number of generations recorded.
+     * 
+     * @return  the number of generations recorded
+     */
+    public synchronized long getGenerationCount()
+    {
+        return generations;
+    }
+    
+    /**
+     * Gets the time taken by the most recent generation,
+     * in nanoseconds.
+     * 
+     * @return  the time taken by the most recent generation
+     */
+    public synchronized long getLastNanos()
+    {
+        return lastNanos;
+    }
+    
+    /**
+     * Gets the average time taken by the recorded generations,
+     * in nanoseconds; 0 if no generations have been recorded.
+     * 
+     * @return  the average time taken by the recorded generations
+     */
+    public synchronized long getAverageNanos()
+    {
+        long    average = generations == 0 ? 0 : totalNanos / generations;
+        return average;
+    }
+    
+    /**
+     * Returns a string representation of the metrics.
+     * 
+     * @return  a string representation of the metrics
+     */
+    @Override
+    public synchronized String toString()
+    {
+        StringBuilder   bldr    = new StringBuilder( "kernel=" );
+        bldr.append( kernel )
+            .append( ",generations=" ).append( generations )
+            .append( ",lastNanos=" ).append( lastNanos )
+            .append( ",averageNanos=" ).append( getAverageNanos() );
+        return bldr.toString();
+    }
+}
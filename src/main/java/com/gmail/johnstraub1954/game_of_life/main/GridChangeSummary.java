@@ -0,0 +1,108 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+
+/**
+ * Summarizes the changes made to a GridMap by a batch operation.
+ * An object of this class is the source of the NotificationEvent
+ * fired at the end of every batch
+ * (property GOLConstants.ACTION_GRID_BATCH_PN).
+ * Objects of this class are immutable.
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#applyBatch(java.util.function.Consumer)
+ * @see Parameters#gridBatchApplied(GridChangeSummary)
+ */
+public class GridChangeSummary
+{
+    /** The grid map that was modified */
+    private final GridMap   gridMap;
+    /** Number of cells that changed from dead to alive */
+    private final int       births;
+    /** Number of cells that changed from alive to dead */
+    private final int       deaths;
+    /** Rectangle enclosing all cells that changed state */
+    private final Rectangle bounds;
+    
+    /**
+     * Constructor.
+     * 
+     * @param gridMap   the grid map that was modified
+     * @param births    number of cells that changed from dead to alive
+     * @param deaths    number of cells that changed from alive to dead
+     * @param bounds    rectangle enclosing all cells that changed state;
+     *                  (0, 0, 0, 0) if none
+     */
+    public GridChangeSummary(
+        GridMap     gridMap,
+        int         births,
+        int         deaths,
+        Rectangle   bounds
+    )
+    {
+        this.gridMap = gridMap;
+        this.births = births;
+        this.deaths = deaths;
+        this.bounds = new Rectangle( bounds );
+    }
+    
+    /**
+     * Gets the grid map that was modified.
+     * 
+     * @return  the grid map that was modified
+     */
+    public GridMap getGridMap()
+    {
+        return gridMap;
+    }
+    
+    /**
+     * Gets the number of cells that changed from dead to alive.
+     * 
+     * @return  the number of cells that changed from dead to alive
+     */
+    public int getBirths()
+    {
+        return births;
+    }
+    
+    /**
+     * Gets the number of cells that changed from alive to dead.
+     * 
+     * @return  the number of cells that changed from alive to dead
+     */
+    public int getDeaths()
+    {
+        return deaths;
+    }
+    
+    /**
+     * Gets a copy of the rectangle
+     * that encloses all cells that changed state.
+     * If no cells changed state the rectangle is (0, 0, 0, 0).
+     * 
+     * @return  a copy of the rectangle
+     *          that encloses all cells that changed state
+     */
+    public Rectangle getBounds()
+    {
+        Rectangle   rect    = new Rectangle( bounds );
+        return rect;
+    }
+    
+    /**
+     * Returns a string representation of this summary.
+     * 
+     * @return  a string representation of this summary
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder   bldr    = new StringBuilder( "births=" );
+        bldr.append( births )
+            .append( ",deaths=" ).append( deaths )
+            .append( ",bounds=" ).append( bounds );
+        return bldr.toString();
+    }
+}
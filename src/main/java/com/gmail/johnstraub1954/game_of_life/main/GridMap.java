@@ -2,12 +2,12 @@ package com.gmail.johnstraub1954.game_of_life.main;
 
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Encapsulates all cells in a grid. 
@@ -41,15 +41,64 @@ import java.util.Set;
 public class GridMap implements Iterable<Cell>
 {
     /** 
-     * The map that defines the contents of the map.
+     * The largest number of changed cells recorded
+     * between one snapshot and the next.
+     * If more cells change, the changes are not recorded,
+     * and clients of the snapshot must assume that any cell may have changed.
+     * 
+     * @see GridSnapshot#forEachChange(GridSnapshot, IntBinaryConsumer)
+     */
+    public static final int MAX_TRACKED_CHANGES = 1 << 16;
+    
+    /**
+     * The set that defines the contents of the map.
      * Virtually speaking, the grid is infinite, and every cell in
      * the grid exists; however, only live cells are physically
-     * stored in the map. 
-     * The user can assume that any successful <em>get</em> operation
-     * returns a live cell; an unsuccessful <em>get</em> operation
-     * represents a dead cell.
+     * stored in the set.
+     * Any location in the set is a live cell;
+     * any location not in the set is a dead cell.
+     */
+    private final CellSet   grid;
+    
+    /**
+     * Spatial index of the live cells in the grid,
+     * used to answer queries restricted to a rectangle
+     * without examining every live cell.
+     * Updated every time a cell changes state.
+     */
+    private final ChunkIndex    index;
+    
+    /**
+     * Number of live cells in each row;
+     * tracks the first and last occupied rows.
+     */
+    private final OccupancyCounts   rows;
+    /**
+     * Number of live cells in each column;
+     * tracks the first and last occupied columns.
+     */
+    private final OccupancyCounts   cols;
+    /**
+     * Number of live cells in square blocks of the grid,
+     * published with each snapshot for zoomed-out rendering;
+     * null until a snapshot of this map has been asked for
+     * the density of blocks of 64x64 cells or more
+     * (see densityWanted),
+     * so that a map that is never rendered zoomed out
+     * doesn't maintain it.
+     * Not copied by the copy constructor.
      */
-    private final Map<Point,Boolean>    grid;
+    private DensityPyramid          pyramid         = null;
+    /**
+     * Set by a snapshot of this map
+     * the first time it is asked for the density of blocks
+     * too large to derive from the chunk index;
+     * the pyramid is created
+     * the next time a snapshot is published.
+     * 
+     * @see GridSnapshot#forEachDensity(Rectangle, int, DensityConsumer)
+     */
+    private final AtomicBoolean     densityWanted   = new AtomicBoolean();
     
     /** 
      * Changed to true every time the map is modified.
@@ -57,18 +106,124 @@ public class GridMap implements Iterable<Cell>
      */
     private boolean modified        = false;
     
+    /**
+     * True if changes to the map are reported
+     * to the Parameters singleton.
+     * A detached map can be used where the Parameters singleton
+     * is not wanted, such as the headless {@link HeadlessRunner}.
+     */
+    private final boolean   attached;
+    
+    /**
+     * Incremented every time the state of a cell in the map changes.
+     * Allows clients that cache the contents of the map,
+     * such as propagation engines,
+     * to detect modifications made by other clients.
+     * 
+     * @see #getModificationCount()
+     */
+    private long    modCount        = 0;
+    
+    /**
+     * Number of batches in progress (batches may be nested);
+     * 0 if none.
+     * 
+     * @see #applyBatch(Consumer)
+     */
+    private int     batchDepth      = 0;
+    /** True if set has been called during the current batch */
+    private boolean batchTouched    = false;
+    /** Number of births during the current batch */
+    private int     batchBirths     = 0;
+    /** Number of deaths during the current batch */
+    private int     batchDeaths     = 0;
+    /** Smallest x-coordinate of a cell changed during the current batch */
+    private int     batchMinX       = 0;
+    /** Smallest y-coordinate of a cell changed during the current batch */
+    private int     batchMinY       = 0;
+    /** Largest x-coordinate of a cell changed during the current batch */
+    private int     batchMaxX       = 0;
+    /** Largest y-coordinate of a cell changed during the current batch */
+    private int     batchMaxY       = 0;
+    
+    /**
+     * The most recently published snapshot of this map;
+     * null if none has been published.
+     * 
+     * @see #getSnapshot()
+     */
+    private volatile GridSnapshot   snapshot        = null;
+    /**
+     * True if a snapshot was requested while a batch was in progress,
+     * and the map had been modified since the most recent snapshot
+     * was published;
+     * a new snapshot is published when the batch ends.
+     */
+    private boolean                 snapshotWanted  = false;
+    /**
+     * True once a client has asked for a snapshot of this map.
+     * Until then the changes between snapshots are not recorded.
+     */
+    private volatile boolean        snapshotRead    = false;
+    /**
+     * Guards batchDepth and the creation of snapshots,
+     * so that a snapshot is never taken while a batch is in progress.
+     */
+    private final Object            snapshotLock    = new Object();
+    
+    /**
+     * The cells that changed state since the most recent snapshot
+     * was published, packed by {@link CellSet#pack(int, int)};
+     * the first changeCount elements are valid.
+     */
+    private long[]                  changes         = new long[16];
+    /** Number of valid elements in changes */
+    private int                     changeCount     = 0;
+    /**
+     * True if more than MAX_TRACKED_CHANGES cells have changed state
+     * since the most recent snapshot was published,
+     * or if cells changed state before any client
+     * asked for a snapshot
+     */
+    private boolean                 changesOverflow = false;
+    
     /**
      * Default constructor.
+     * Creates a map that reports changes
+     * to the Parameters singleton.
      */
     public GridMap()
     {
-        grid = new HashMap<>();
+        this( true );
+    }
+    
+    /**
+     * Constructor.
+     * Creates a map that is attached to,
+     * or detached from, the Parameters singleton.
+     * A detached map doesn't mark the grid as modified
+     * or fire batch notifications via the Parameters singleton,
+     * so that using it does not initialize the singleton.
+     * 
+     * @param attached  true if changes to the map are reported
+     *                  to the Parameters singleton
+     */
+    public GridMap( boolean attached )
+    {
+        this.attached = attached;
+        grid = new CellSet();
+        index = new ChunkIndex();
+        rows = new OccupancyCounts();
+        cols = new OccupancyCounts();
     }
     
     public GridMap( GridMap copyFrom )
     {
-        grid = new HashMap<>();
-        grid.putAll( copyFrom.grid );
+        attached = copyFrom.attached;
+        grid = new CellSet( copyFrom.grid );
+        index = new ChunkIndex( copyFrom.index );
+        rows = new OccupancyCounts( copyFrom.rows );
+        cols = new OccupancyCounts( copyFrom.cols );
         
         // can't just copy the modified property from there to here;
         // there's more bookkeeping to be done, so set the flag
@@ -76,6 +231,328 @@ public class GridMap implements Iterable<Cell>
         setModified( copyFrom.modified );
     }
     
+    /**
+     * Constructor.
+     * Creates an attached map containing
+     * the live cells recorded in a given chunk index.
+     * The index is copied in bulk,
+     * and the given modified flag is copied
+     * without being reported to the Parameters singleton,
+     * so no batch notification is fired
+     * and the modified state of the grid is unchanged.
+     * 
+     * @param index     the given chunk index
+     * @param modified  true if the map is to be marked as modified
+     * 
+     * @see GridSnapshot#toGridMap()
+     */
+    GridMap( ChunkIndex index, boolean modified )
+    {
+        attached = true;
+        this.modified = modified;
+        grid = new CellSet();
+        this.index = new ChunkIndex( index );
+        rows = new OccupancyCounts();
+        cols = new OccupancyCounts();
+        index.forEach( (xco, yco) -> {
+            grid.set( xco, yco, true );
+            rows.increment( yco );
+            cols.increment( xco );
+        });
+    }
+    
+    /**
+     * Returns true if the cell at a given location is alive.
+     * This method does not create any objects.
+     * 
+     * @param   xco     the x-coordinate of the given location
+     * @param   yco     the y-coordinate of the given location
+     * 
+     * @return  true if the cell at the given location is alive
+     */
+    public boolean isAlive( int xco, int yco )
+    {
+        boolean result  = grid.contains( xco, yco );
+        return result;
+    }
+    
+    /**
+     * Specifies the state of the cell at a given location.
+     * This method does not create any objects
+     * (other than when the map's internal storage is resized).
+     * When invoked outside of a batch,
+     * the map is marked as modified immediately;
+     * during a batch the modification is recorded
+     * and announced when the batch ends.
+     * 
+     * @param xco       the x-coordinate of the given location
+     * @param yco       the y-coordinate of the given location
+     * @param isAlive   the new state of the cell
+     * 
+     * @return  the previous state of the cell
+     */
+    public boolean set( int xco, int yco, boolean isAlive )
+    {
+        boolean wasAlive    = grid.set( xco, yco, isAlive );
+        if ( wasAlive != isAlive )
+        {
+            if ( isAlive )
+            {
+                index.add( xco, yco );
+                rows.increment( yco );
+                cols.increment( xco );
+            }
+            else
+            {
+                index.remove( xco, yco );
+                rows.decrement( yco );
+                cols.decrement( xco );
+            }
+            if ( pyramid != null )
+                pyramid.record( xco, yco, isAlive );
+            ++modCount;
+            recordChange( xco, yco );
+        }
+        if ( batchDepth == 0 )
+            setModified( true );
+        else
+            recordBatchChange( xco, yco, wasAlive, isAlive );
+        return wasAlive;
+    }
+    
+    /**
+     * Applies a batch of changes to this map.
+     * The given operation is invoked with this map as its argument,
+     * and may modify the map in any way.
+     * Modifications made during the batch
+     * do not individually mark the map as modified;
+     * instead, when the operation completes,
+     * the map is marked as modified once,
+     * and a single NotificationEvent
+     * (property GOLConstants.ACTION_GRID_BATCH_PN)
+     * summarizing the changes is fired.
+     * If the operation does not modify the map
+     * no notification is fired.
+     * Batches may be nested;
+     * the notification is fired when the outermost batch ends.
+     * 
+     * @param action    the given operation
+     * 
+     * @see Parameters#gridBatchApplied(GridChangeSummary)
+     */
+    public void applyBatch( Consumer<GridMap> action )
+    {
+        beginBatch();
+        try
+        {
+            action.accept( this );
+        }
+        finally
+        {
+            endBatch();
+        }
+    }
+    
+    /**
+     * Sets the state of every cell in a given array of locations,
+     * as a single batch.
+     * Each location is a pair of coordinates
+     * packed into a long by {@link CellSet#pack(int, int)}.
+     * 
+     * @param cells     the given array of locations
+     * @param isAlive   the new state of the cells
+     * 
+     * @see #applyBatch(Consumer)
+     */
+    public void putAll( long[] cells, boolean isAlive )
+    {
+        putAll( cells, cells.length, isAlive );
+    }
+    
+    /**
+     * Sets the state of the cells at the first <em>count</em>
+     * locations in a given array, as a single batch.
+     * Each location is a pair of coordinates
+     * packed into a long by {@link CellSet#pack(int, int)}.
+     * 
+     * @param cells     the given array of locations
+     * @param count     the number of locations to process
+     * @param isAlive   the new state of the cells
+     * 
+     * @see #applyBatch(Consumer)
+     */
+    public void putAll( long[] cells, int count, boolean isAlive )
+    {
+        beginBatch();
+        try
+        {
+            for ( int inx = 0 ; inx < count ; ++inx )
+                set(
+                    CellSet.unpackX( cells[inx] ),
+                    CellSet.unpackY( cells[inx] ),
+                    isAlive
+                );
+        }
+        finally
+        {
+            endBatch();
+        }
+    }
+    
+    /**
+     * Gets a snapshot of this map:
+     * an immutable view of its live cells.
+     * <p>
+     * Snapshots are published on demand:
+     * if the map has been modified
+     * since the most recent snapshot was published
+     * (or if no snapshot has been published)
+     * a new snapshot is published and returned;
+     * if not, the most recent snapshot is returned.
+     * Publishing a snapshot does not copy the live cells;
+     * the snapshot shares the bitmaps of the map's chunk index,
+     * and the map copies a shared bitmap
+     * the first time it changes a cell in it
+     * (see {@link ChunkIndex#share()}).
+     * </p>
+     * <p>
+     * While a batch is in progress
+     * (for example, while the next generation is being calculated)
+     * the most recently published snapshot is returned,
+     * and a new snapshot is published
+     * as soon as the batch ends.
+     * </p>
+     * <p>
+     * A client that reads the map on a thread other than
+     * the one that modifies it,
+     * such as a renderer, should read a snapshot
+     * rather than the map itself.
+     * </p>
+     * 
+     * @return  a snapshot of this map
+     * 
+     * @see #applyBatch(Consumer)
+     */
+    public GridSnapshot getSnapshot()
+    {
+        snapshotRead = true;
+        GridSnapshot    result  = snapshot;
+        if ( result == null || result.getModificationCount() != modCount )
+        {
+            synchronized ( snapshotLock )
+            {
+                result = snapshot;
+                if ( result == null )
+                    result = publishSnapshot();
+                else if ( result.getModificationCount() != modCount )
+                {
+                    if ( batchDepth == 0 )
+                        result = publishSnapshot();
+                    else
+                        snapshotWanted = true;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the number of live neighbors of the cell
+     * at a given location.
+     * The cell itself is not counted.
+     * This method does not create any objects.
+     * 
+     * @param xco   the x-coordinate of the given location
+     * @param yco   the y-coordinate of the given location
+     * 
+     * @return  the number of live neighbors of the cell
+     *          at the given location
+     * 
+     * @see Neighborhood#getLivingNeighborCount()
+     */
+    public int getLiveNeighborCount( int xco, int yco )
+    {
+        int count   = 0;
+        for ( int col = xco - 1 ; col <= xco + 1 ; ++col )
+            for ( int row = yco - 1 ; row <= yco + 1 ; ++row )
+                if ( grid.contains( col, row ) )
+                    ++count;
+        if ( grid.contains( xco, yco ) )
+            --count;
+        return count;
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates
+     * of every live cell in the map.
+     * Cells are not visited in any particular order.
+     * No objects are created
+     * (other than any created by the operation),
+     * and the operation must not modify the map.
+     * 
+     * @param action    the given operation
+     */
+    public void forEachLive( IntBinaryConsumer action )
+    {
+        for ( int slot = grid.nextSlot( 0 ) ; slot >= 0 ; slot = grid.nextSlot( slot + 1 ) )
+            action.accept( grid.getX( slot ), grid.getY( slot ) );
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates
+     * of every live cell within a given rectangle.
+     * Cells are not visited in any particular order.
+     * No objects are created
+     * (other than any created by the operation),
+     * and the operation must not modify the map.
+     * The cost is proportional to the number of live cells
+     * in the rectangle, plus the number of 32x32 chunks
+     * that the rectangle overlaps;
+     * live cells outside the rectangle are not examined.
+     * 
+     * @param rect      the given rectangle
+     * @param action    the given operation
+     */
+    public void forEachLive( Rectangle rect, IntBinaryConsumer action )
+    {
+        index.forEach( rect, action );
+    }
+    
+    /**
+     * Returns the number of live cells within a given rectangle.
+     * Live cells outside the rectangle are not examined.
+     * 
+     * @param rect  the given rectangle
+     * 
+     * @return  the number of live cells within the given rectangle
+     */
+    public int getPopulation( Rectangle rect )
+    {
+        int count   = index.count( rect );
+        return count;
+    }
+    
+    /**
+     * Kills every live cell within a given rectangle.
+     * Live cells outside the rectangle are not examined.
+     * 
+     * @param rect  the given rectangle
+     * 
+     * @return  the number of cells killed
+     */
+    public int clear( Rectangle rect )
+    {
+        int     count   = index.count( rect );
+        long[]  cells   = new long[count];
+        int[]   next    = { 0 };
+        index.forEach( rect, (xco, yco) ->
+            cells[next[0]++] = CellSet.pack( xco, yco )
+        );
+        for ( long cell : cells )
+            set( CellSet.unpackX( cell ), CellSet.unpackY( cell ), false );
+        return count;
+    }
+    
     /**
      * Returns the cell corresponding to a given coordinate pair.
      * 
@@ -83,11 +560,12 @@ public class GridMap implements Iterable<Cell>
      * @param   yco     the y-coordinate of the target cell
      * 
      * @return the cell corresponding to the given coordinates
+     * 
+     * @see #isAlive(int, int)
      */
     public Cell get( int xco, int yco )
     {
-        Point   point   = new Point( xco, yco );
-        Cell    cell    = get( point );
+        Cell    cell    = new Cell( xco, yco, isAlive( xco, yco ) );
         return cell;
     }
     
@@ -100,10 +578,7 @@ public class GridMap implements Iterable<Cell>
      */
     public Cell get( Point point )
     {
-        Boolean isAlive = grid.get( point );
-        if ( isAlive == null )
-            isAlive = false;
-        Cell    cell    = new Cell( point, isAlive );
+        Cell    cell    = get( point.x, point.y );
         return cell;
     }
     
@@ -116,10 +591,13 @@ public class GridMap implements Iterable<Cell>
      * @param isAlive   the value of the cell
      * 
      * @return  the previous value of the cell
+     * 
+     * @see #set(int, int, boolean)
      */
     public Cell put( int xco, int yco, boolean isAlive )
     {
-        Cell    cell    = put( new Point( xco, yco ), isAlive );
+        boolean wasAlive    = set( xco, yco, isAlive );
+        Cell    cell        = new Cell( xco, yco, wasAlive );
         return cell;
     }
     
@@ -132,8 +610,7 @@ public class GridMap implements Iterable<Cell>
      */
     public Cell put( Cell cell )
     {
-        Cell    result  = put( cell.getPoint(), cell.isAlive() );
-
+        Cell    result  = put( cell.getXco(), cell.getYco(), cell.isAlive() );
         return result;
     }
     
@@ -148,51 +625,63 @@ public class GridMap implements Iterable<Cell>
      */
     public Cell put( Point point, boolean isAlive )
     {
-        Cell    cell    = get( point );
-        if ( !isAlive )
-            grid.remove( point );
-        else
-            grid.put( point, true );
-        setModified( true );
+        Cell    cell    = put( point.x, point.y, isAlive );
         return cell;
     }
     
+    /**
+     * Returns the number of times the state of a cell in this map
+     * has changed since the map was created.
+     * A client that caches the contents of the map
+     * can compare the current value of the count
+     * with the value it saw when it last synchronized with the map;
+     * if the values differ, the map has been modified
+     * by another client.
+     * 
+     * @return  the number of times the state of a cell in this map
+     *          has changed
+     */
+    public long getModificationCount()
+    {
+        return modCount;
+    }
+    
+    /**
+     * Returns the number of live cells in this map.
+     * This is a constant-time operation.
+     * 
+     * @return  the number of live cells in this map
+     */
+    public int getPopulation()
+    {
+        int size    = grid.size();
+        return size;
+    }
+    
     /**
      * Return a rectangle that encloses all live cells in the grid.
+     * If there are no live cells the rectangle is (0, 0, 0, 0).
+     * The rectangle is obtained from the row and column counts,
+     * which are maintained as cells change state;
+     * the live cells themselves are not examined.
      * 
      * @return a rectangle that encloses all live cells in the grid
+     * 
+     * @see OccupancyCounts
      */
     public Rectangle getLiveRectangle()
     {
-        Set<Point>  keySet  = grid.keySet();
-        Rectangle   rect    = null;
-        
-        if ( keySet.isEmpty() )
-            rect = new Rectangle( 0, 0, 0, 0 );
-        else
+        Rectangle   rect    = new Rectangle();
+        if ( !grid.isEmpty() )
         {
-            int         minX    = Integer.MAX_VALUE;
-            int         maxX    = Integer.MIN_VALUE;
-            int         minY    = Integer.MAX_VALUE;
-            int         maxY    = Integer.MIN_VALUE;
-            for ( Point point : keySet )
-            {
-                int xco = point.x;
-                if ( xco < minX )
-                    minX = xco;
-                if ( xco > maxX )
-                    maxX = xco;
-    
-                int yco = point.y;
-                if ( yco < minY )
-                    minY = yco;
-                if ( yco > maxY )
-                    maxY = yco;
-            }
-            
-            int xExtent = maxX - minX + 1;
-            int yExtent = maxY - minY + 1;
-            rect    = new Rectangle( minX, minY, xExtent, yExtent );
+            int firstX  = cols.getFirst();
+            int firstY  = rows.getFirst();
+            rect.setBounds(
+                firstX,
+                firstY,
+                cols.getLast() - firstX + 1,
+                rows.getLast() - firstY + 1
+            );
         }
         return rect;
     }
@@ -212,8 +701,7 @@ public class GridMap implements Iterable<Cell>
      */
     public Iterator<Cell> liveIiterator()
     {
-        Rectangle       rect    = getLiveRectangle();
-        Iterator<Cell>  iter    = new CellIterator( rect );
+        Iterator<Cell>  iter    = new CellIterator();
         return iter;
     }
     
@@ -225,10 +713,12 @@ public class GridMap implements Iterable<Cell>
      * 
      * @return  an iterator that traverses every live cell
      *          in the given rectangle
+     * 
+     * @see #forEachLive(Rectangle, IntBinaryConsumer)
      */
     public Iterator<Cell> iterator( Rectangle rect )
     {
-        Iterator<Cell>  iter    = new CellIterator( rect );
+        Iterator<Cell>  iter    = new RectangleIterator( rect );
         return iter;
     }
 
@@ -291,6 +781,184 @@ public class GridMap implements Iterable<Cell>
         return result;
     }
     
+    /**
+     * Records the invocation of set during a batch.
+     * 
+     * @param xco       the x-coordinate of the cell
+     * @param yco       the y-coordinate of the cell
+     * @param wasAlive  the previous state of the cell
+     * @param isAlive   the new state of the cell
+     */
+    private void recordBatchChange(
+        int     xco,
+        int     yco,
+        boolean wasAlive,
+        boolean isAlive
+    )
+    {
+        batchTouched = true;
+        if ( wasAlive != isAlive )
+        {
+            if ( batchBirths + batchDeaths == 0 )
+            {
+                batchMinX = xco;
+                batchMaxX = xco;
+                batchMinY = yco;
+                batchMaxY = yco;
+            }
+            else
+            {
+                batchMinX = Math.min( batchMinX, xco );
+                batchMaxX = Math.max( batchMaxX, xco );
+                batchMinY = Math.min( batchMinY, yco );
+                batchMaxY = Math.max( batchMaxY, yco );
+            }
+            if ( isAlive )
+                ++batchBirths;
+            else
+                ++batchDeaths;
+        }
+    }
+    
+    /**
+     * Records a cell that has changed state
+     * since the most recent snapshot was published.
+     * Nothing is recorded if no snapshot has been published,
+     * since the changes are reported relative to the previous snapshot;
+     * a map that is never read via snapshots
+     * never records its changes
+     * (the snapshot published when the first batch begins
+     * doesn't count, unless a client has asked for it),
+     * and so never allocates storage for them.
+     * 
+     * @param xco   the x-coordinate of the cell
+     * @param yco   the y-coordinate of the cell
+     * 
+     * @see #MAX_TRACKED_CHANGES
+     */
+    private void recordChange( int xco, int yco )
+    {
+        if ( !changesOverflow && snapshot != null )
+        {
+            if ( changeCount == MAX_TRACKED_CHANGES || !snapshotRead )
+                changesOverflow = true;
+            else
+            {
+                if ( changeCount == changes.length )
+                    changes = Arrays.copyOf( changes, changeCount * 2 );
+                changes[changeCount++] = CellSet.pack( xco, yco );
+            }
+        }
+    }
+    
+    /**
+     * Begins a batch, or a nested batch.
+     * If no snapshot has yet been published,
+     * one is published before the batch begins,
+     * so that readers always have a snapshot
+     * while the batch is in progress.
+     * Every call must be paired with a call to {@link #endBatch()},
+     * normally in a finally block;
+     * clients outside this package use {@link #applyBatch(Consumer)}.
+     */
+    void beginBatch()
+    {
+        synchronized ( snapshotLock )
+        {
+            if ( batchDepth++ == 0 && snapshot == null )
+                publishSnapshot();
+        }
+    }
+    
+    /**
+     * Ends a batch, or a nested batch.
+     * If the outermost batch modified the map:
+     * marks the map as modified,
+     * fires a notification summarizing the changes
+     * if the map is attached to the Parameters singleton,
+     * and resets the batch bookkeeping.
+     * Nothing is allocated for a detached map.
+     * A new snapshot is not published
+     * unless one was requested during the batch;
+     * otherwise the most recent snapshot is merely stale,
+     * and the next call to {@link #getSnapshot()} publishes a new one.
+     */
+    void endBatch()
+    {
+        boolean             touched = false;
+        GridChangeSummary   summary = null;
+        synchronized ( snapshotLock )
+        {
+            if ( --batchDepth == 0 && batchTouched )
+            {
+                if ( attached )
+                {
+                    Rectangle   bounds  = new Rectangle();
+                    if ( batchBirths + batchDeaths > 0 )
+                        bounds.setBounds(
+                            batchMinX,
+                            batchMinY,
+                            batchMaxX - batchMinX + 1,
+                            batchMaxY - batchMinY + 1
+                        );
+                    summary =
+                        new GridChangeSummary( this, batchBirths, batchDeaths, bounds );
+                }
+                touched = true;
+                batchTouched = false;
+                batchBirths = 0;
+                batchDeaths = 0;
+            }
+            if ( batchDepth == 0 && snapshotWanted )
+                publishSnapshot();
+        }
+        
+        if ( touched )
+        {
+            setModified( true );
+            if ( summary != null )
+                Parameters.INSTANCE.gridBatchApplied( summary );
+        }
+    }
+    
+    /**
+     * Creates a snapshot of the current state of this map,
+     * and publishes it.
+     * The snapshot shares the chunk bitmaps of the index,
+     * so the cost is proportional to the number of chunks
+     * (plus the number of blocks in the pyramid, if any),
+     * not to the number of live cells.
+     * Must be called while holding snapshotLock,
+     * at a time when the map is not being modified.
+     * 
+     * @return  the new snapshot
+     */
+    private GridSnapshot publishSnapshot()
+    {
+        long[]          changed =
+            changesOverflow ? null : Arrays.copyOf( changes, changeCount );
+        if ( pyramid == null && densityWanted.get() )
+            pyramid = new DensityPyramid( index );
+        if ( pyramid != null )
+            pyramid.flush();
+        GridSnapshot    result  =
+            new GridSnapshot(
+                index.share(),
+                pyramid == null ? null : new DensityPyramid( pyramid ),
+                densityWanted,
+                getLiveRectangle(),
+                modCount,
+                modified,
+                snapshot,
+                changed
+            );
+        snapshot = result;
+        snapshotWanted = false;
+        changeCount = 0;
+        changesOverflow = false;
+        return result;
+    }
+    
     /**
      * Adjust the flag that says the grid has been modified
      * since the last file-save operation.
@@ -301,36 +969,28 @@ public class GridMap implements Iterable<Cell>
     private void setModified( boolean isSet )
     {
         modified = isSet;
-        Parameters.INSTANCE.setModifiedGrid( isSet );
+        if ( attached )
+            Parameters.INSTANCE.setModifiedGrid( isSet );
     }
 
     /**
      * This class is used to iterate over every live cell
-     * in some rectangle.
+     * in the map.
      * 
      * @author Jack Straub
      *
      */
     private class CellIterator implements Iterator<Cell>
     {
-        /** The source Rectangle */
-        private final Rectangle rect;
-        
-        /** 
-         * Iterator over all keys in the map.
-         * Note that only live cells are stored in the map,
-         * so every key maps to a live cell.
-         */
-        private Iterator<Point> pointIter;
+        /** Next slot of the cell set to examine */
+        private int             slot;
         
         /** Next cell to return; null if none. */
         private Cell            next;
         
-        public CellIterator( Rectangle rect )
+        public CellIterator()
         {
-            this.rect = rect;
-            Set<Point>   keys    = grid.keySet();
-            pointIter = keys.iterator();
+            slot = 0;
             next = nextCell();
         }
         
@@ -370,26 +1030,90 @@ public class GridMap implements Iterable<Cell>
         }
         
         /**
-         * Locates the "next" live cell that falls within the range
-         * of the given rectangle.
+         * Locates the "next" live cell.
          * Cells are not returned in any particular order.
          * 
-         * @return the "next" live cell in the rectangle
+         * @return the "next" live cell
          */
         private Cell nextCell()
         {
             Cell    nextCell = null;
-            while ( nextCell == null && pointIter.hasNext() )
+            if ( slot >= 0 )
             {
-                Point   point   = pointIter.next();
-                
-                if ( rect.contains( point) )
-                    nextCell = new Cell( point, true );
+                slot = grid.nextSlot( slot );
+                if ( slot >= 0 )
+                {
+                    nextCell = new Cell( grid.getX( slot ), grid.getY( slot ), true );
+                    ++slot;
+                }
             }
             return nextCell;
         }
     }
     
+    /**
+     * This class is used to iterate over every live cell
+     * in some rectangle.
+     * The coordinates of the cells are gathered
+     * from the chunk index when the iterator is created.
+     * 
+     * @author Jack Straub
+     * 
+     */
+    private class RectangleIterator implements Iterator<Cell>
+    {
+        /** Packed coordinates of the cells to traverse */
+        private final long[]    cells;
+        
+        /** Index of the next cell to return */
+        private int             next;
+        
+        public RectangleIterator( Rectangle rect )
+        {
+            cells = new long[index.count( rect )];
+            next = 0;
+            index.forEach( rect, (xco, yco) ->
+                cells[next++] = CellSet.pack( xco, yco )
+            );
+            next = 0;
+        }
+        
+        /**
+         * Returns true if this iterator can return another element.
+         * 
+         * @return true, if this iterator can return another element
+         */
+        @Override
+        public boolean hasNext()
+        {
+            boolean result  = next < cells.length;
+            return result;
+        }
+        
+        /**
+         * Returns the next Cell associated with this iterator.
+         * Throws NoSuchElement exception if there is no next Cell.
+         * 
+         * @return  the next Cell associated with this iterator
+         * 
+         * @throws NoSuchElementException if there is no next Cell
+         */
+        @Override
+        public Cell next() throws NoSuchElementException
+        {
+            if ( next == cells.length )
+            {
+                String  message = "Iterator exhausted";
+                throw new NoSuchElementException( message );
+            }
+            
+            long    cell    = cells[next++];
+            Cell    result  =
+                new Cell( CellSet.unpackX( cell ), CellSet.unpackY( cell ), true );
+            return result;
+        }
+    }
+    
     private class GenerationIterator implements Iterator<Cell>
     {
         private static final int    extendRectBy    = 2;
@@ -427,7 +1151,7 @@ public class GridMap implements Iterable<Cell>
                 throw new NoSuchElementException( message );
             }
             
-            Cell    nextCell    = get( nextLoc );
+            Cell    nextCell    = get( nextLoc.x, nextLoc.y );
             if ( ++nextLoc.x > lastCol )
             {
                 nextLoc.x = firstCol;
@@ -0,0 +1,387 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable view of the live cells of a GridMap
+ * at a particular moment.
+ * <p>
+ * A GridMap publishes a new snapshot on demand,
+ * when it is asked for one after it has been modified
+ * (see {@link GridMap#getSnapshot()}),
+ * so a map that nobody reads via snapshots is never shared.
+ * Clients that read the grid on a thread other than
+ * the one that calculates new generations,
+ * such as the Grid component on the event dispatch thread,
+ * read the most recently published snapshot
+ * instead of the map itself;
+ * the snapshot never changes, so it can be read
+ * without locking, and without copying it,
+ * while the next generation is being calculated.
+ * </p>
+ * <p>
+ * A snapshot does not copy the live cells.
+ * It holds a read-only copy of the table of the map's chunk index
+ * (see {@link ChunkIndex#share()}),
+ * which shares the 32x32 bitmaps of the chunks with the map;
+ * the map copies a shared bitmap
+ * the first time it changes a cell in it.
+ * Publishing a snapshot therefore costs time proportional to
+ * the number of occupied chunks,
+ * plus, if the map maintains a density pyramid,
+ * the number of blocks in the pyramid,
+ * and the map later copies only the chunks that change.
+ * </p>
+ * <p>
+ * A snapshot also records the cells that changed state
+ * between the previous snapshot of the same map and this one,
+ * as long as there were not too many of them
+ * (see {@link GridMap#MAX_TRACKED_CHANGES}).
+ * A client that has drawn the previous snapshot
+ * can use them to redraw only the cells that changed
+ * (see {@link #forEachChange(GridSnapshot, IntBinaryConsumer)}).
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#getSnapshot()
+ */
+public final class GridSnapshot
+{
+    /**
+     * The live cells,
+     * sharing its chunk bitmaps with the map;
+     * never modified
+     */
+    private final ChunkIndex    index;
+    /**
+     * Density of the live cells, for zoomed-out rendering;
+     * null until first needed, if the map did not maintain one
+     * when this snapshot was taken
+     */
+    private volatile DensityPyramid pyramid;
+    /**
+     * Set when this snapshot creates its own pyramid,
+     * telling the map to maintain one
+     * for subsequent snapshots
+     */
+    private final AtomicBoolean densityWanted;
+    /** The rectangle enclosing all live cells */
+    private final Rectangle     liveRect;
+    /** Modification count of the map when this snapshot was taken */
+    private final long          modCount;
+    /** True if the map was marked as modified when this snapshot was taken */
+    private final boolean       modified;
+    /** Uniquely identifies this snapshot */
+    private final long          serial;
+    /**
+     * The serial number of the previous snapshot of the same map;
+     * -1 if none
+     */
+    private final long          prevSerial;
+    /**
+     * The cells that changed state since the previous snapshot,
+     * packed by {@link CellSet#pack(int, int)};
+     * null if not known
+     */
+    private final long[]        changes;
+    
+    /**
+     * The base-2 logarithm of the largest block size
+     * supported by {@link #forEachDensity(Rectangle, int, DensityConsumer)}
+     */
+    public static final int     MAX_DENSITY_SHIFT   = DensityPyramid.MAX_SHIFT;
+    
+    /** Source of serial numbers */
+    private static final AtomicLong nextSerial  = new AtomicLong();
+    
+    /**
+     * Constructor.
+     * 
+     * @param index     read-only copy of the map's chunk index,
+     *                  which this snapshot keeps
+     *                  (see {@link ChunkIndex#share()})
+     * @param pyramid   copy of the map's pyramid,
+     *                  which this snapshot keeps;
+     *                  must have no pending changes.
+     *                  May be null,
+     *                  in which case a pyramid is created
+     *                  the first time one is needed.
+     * @param densityWanted
+     *                  set when this snapshot creates its own pyramid
+     * @param liveRect  the rectangle enclosing all live cells
+     * @param modCount  the modification count of the map
+     *                  at the time the snapshot is taken
+     * @param modified  true if the map is marked as modified
+     *                  at the time the snapshot is taken
+     * @param previous  the previous snapshot of the map;
+     *                  null if none
+     * @param changes   the cells that changed state
+     *                  since the previous snapshot,
+     *                  packed by {@link CellSet#pack(int, int)};
+     *                  null if not known.
+     *                  The array is not copied.
+     */
+    GridSnapshot(
+        ChunkIndex      index,
+        DensityPyramid  pyramid,
+        AtomicBoolean   densityWanted,
+        Rectangle       liveRect,
+        long            modCount,
+        boolean         modified,
+        GridSnapshot    previous,
+        long[]          changes
+    )
+    {
+        this.index = index;
+        this.pyramid = pyramid;
+        this.densityWanted = densityWanted;
+        this.liveRect = new Rectangle( liveRect );
+        this.modCount = modCount;
+        this.modified = modified;
+        this.serial = nextSerial.getAndIncrement();
+        this.prevSerial = previous == null ? -1 : previous.serial;
+        this.changes = previous == null ? null : changes;
+    }
+    
+    /**
+     * Returns true if the cell at a given location is alive.
+     * 
+     * @param   xco     the x-coordinate of the given location
+     * @param   yco     the y-coordinate of the given location
+     * 
+     * @return  true if the cell at the given location is alive
+     */
+    public boolean isAlive( int xco, int yco )
+    {
+        boolean result  = index.contains( xco, yco );
+        return result;
+    }
+    
+    /**
+     * Gets the number of live cells.
+     * 
+     * @return  the number of live cells
+     */
+    public int getPopulation()
+    {
+        int population  = index.getPopulation();
+        return population;
+    }
+    
+    /**
+     * Gets the number of live cells within a given rectangle.
+     * 
+     * @param rect  the given rectangle
+     * 
+     * @return  the number of live cells within the given rectangle
+     */
+    public int getPopulation( Rectangle rect )
+    {
+        int population  = index.count( rect );
+        return population;
+    }
+    
+    /**
+     * Gets a copy of the rectangle that encloses all live cells;
+     * (0, 0, 0, 0) if there are no live cells.
+     * 
+     * @return  a copy of the rectangle that encloses all live cells
+     */
+    public Rectangle getLiveRectangle()
+    {
+        Rectangle   rect    = new Rectangle( liveRect );
+        return rect;
+    }
+    
+    /**
+     * Gets the upper left corner of the rectangle
+     * that encloses all live cells.
+     * 
+     * @return  the upper left corner of the rectangle
+     *          that encloses all live cells
+     */
+    public Point getUpperLeftCorner()
+    {
+        Point   ulc = new Point( liveRect.x, liveRect.y );
+        return ulc;
+    }
+    
+    /**
+     * Gets the modification count of the grid map
+     * at the time this snapshot was taken.
+     * 
+     * @return  the modification count of the grid map
+     *          at the time this snapshot was taken
+     * 
+     * @see GridMap#getModificationCount()
+     */
+    public long getModificationCount()
+    {
+        return modCount;
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates
+     * of every live cell, in no particular order.
+     * 
+     * @param action    the given operation
+     */
+    public void forEachLive( IntBinaryConsumer action )
+    {
+        index.forEach( action );
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates
+     * of every live cell within a given rectangle,
+     * in no particular order.
+     * 
+     * @param rect      the given rectangle
+     * @param action    the given operation
+     */
+    public void forEachLive( Rectangle rect, IntBinaryConsumer action )
+    {
+        index.forEach( rect, action );
+    }
+    
+    /**
+     * Invokes a given operation on every horizontal run
+     * of live cells, in row-major order:
+     * by increasing y-coordinate,
+     * then by increasing x-coordinate.
+     * The cost is proportional to the number of runs
+     * plus <em>n</em> log <em>n</em>,
+     * where <em>n</em> is the number of occupied 32x32 chunks,
+     * not to the area of the live rectangle.
+     * 
+     * @param action    the given operation
+     * 
+     * @see RLERunEncoder
+     */
+    public void forEachRun( RLERunConsumer action )
+    {
+        index.forEachRun( action );
+    }
+    
+    /**
+     * Invokes a given operation on the coordinates
+     * of every cell that changed state
+     * between a given snapshot and this one.
+     * The changes are known only if the given snapshot
+     * is the snapshot of the same map that immediately preceded this one,
+     * and the number of changes between them
+     * did not exceed {@link GridMap#MAX_TRACKED_CHANGES};
+     * if they are not known the operation is not invoked,
+     * and the client must assume that any cell may have changed.
+     * A cell may be reported more than once.
+     * If the given snapshot is this snapshot
+     * the operation is not invoked, and true is returned.
+     * 
+     * @param since     the given snapshot; may be null
+     * @param action    the given operation
+     * 
+     * @return  true if the changes are known
+     */
+    public boolean forEachChange( GridSnapshot since, IntBinaryConsumer action )
+    {
+        boolean known   = since == this;
+        if ( !known && since != null && since.serial == prevSerial && changes != null )
+        {
+            known = true;
+            for ( long packed : changes )
+                action.accept( CellSet.unpackX( packed ), CellSet.unpackY( packed ) );
+        }
+        return known;
+    }
+    
+    /**
+     * Invokes a given operation on every square block of cells,
+     * of a given size,
+     * that overlaps a given rectangle
+     * and contains at least one live cell.
+     * The operation is passed the coordinates of the block
+     * and the number of live cells in it;
+     * block (<em>bx</em>,<em>by</em>) encloses the cells
+     * with x-coordinates <em>bx</em> &lt;&lt; <em>shift</em>
+     * through ((<em>bx</em> + 1) &lt;&lt; <em>shift</em>) - 1,
+     * and similarly for y.
+     * Blocks are visited in no particular order.
+     * The cost is proportional to the number of blocks
+     * that overlap the rectangle
+     * (or to the number of occupied blocks, if that is smaller),
+     * not to the number of live cells;
+     * except that the first request
+     * for blocks of 2<sup>6</sup> cells or more
+     * counts the live cells in every occupied chunk,
+     * after which the map maintains the counts incrementally.
+     * 
+     * @param rect      the given rectangle
+     * @param shift     the base-2 logarithm of the given size,
+     *                  1 through {@link #MAX_DENSITY_SHIFT}
+     * @param action    the given operation
+     * 
+     * @throws IllegalArgumentException if shift is out of range
+     */
+    public void 
+    forEachDensity( Rectangle rect, int shift, DensityConsumer action )
+        throws IllegalArgumentException
+    {
+        if ( shift < 1 || shift > MAX_DENSITY_SHIFT )
+        {
+            String  message = "Invalid density shift: " + shift;
+            throw new IllegalArgumentException( message );
+        }
+        if ( shift < DensityPyramid.MIN_SHIFT )
+            index.forEachDensity( rect, shift, action );
+        else
+            getPyramid().forEach( rect, shift, action );
+    }
+    
+    /**
+     * Gets the density pyramid of this snapshot,
+     * creating it if necessary.
+     * Creating it tells the map to maintain a pyramid
+     * for subsequent snapshots.
+     * 
+     * @return  the density pyramid of this snapshot
+     */
+    private DensityPyramid getPyramid()
+    {
+        DensityPyramid  result  = pyramid;
+        if ( result == null )
+        {
+            synchronized ( this )
+            {
+                result = pyramid;
+                if ( result == null )
+                {
+                    result = new DensityPyramid( index );
+                    pyramid = result;
+                    densityWanted.set( true );
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Creates a new grid map containing the live cells
+     * of this snapshot.
+     * The new map is attached to the Parameters singleton,
+     * and is marked as modified if the map of this snapshot was;
+     * creating it does not change the modified state
+     * of the Parameters singleton or fire a batch notification.
+     * 
+     * @return  a new grid map containing the live cells
+     *          of this snapshot
+     */
+    public GridMap toGridMap()
+    {
+        GridMap map = new GridMap( index, modified );
+        return map;
+    }
+}
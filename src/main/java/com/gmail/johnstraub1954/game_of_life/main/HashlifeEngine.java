@@ -0,0 +1,1060 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propagation engine based on Bill Gosper's Hashlife algorithm.
+ * <p>
+ * The grid is represented as a quadtree.
+ * A node at level <em>k</em> represents a square
+ * of 2<sup>k</sup> x 2<sup>k</sup> cells,
+ * and consists of four children at level <em>k-1</em>
+ * (northwest, northeast, southwest and southeast).
+ * A node at level 0 is a single cell.
+ * Nodes are canonicalized:
+ * there is never more than one node
+ * with a given set of children,
+ * so identical regions of the grid,
+ * wherever (and whenever) they occur,
+ * are represented by the same node.
+ * </p>
+ * <p>
+ * For a node at level <em>k</em>, the engine can calculate
+ * the center 2<sup>k-1</sup> x 2<sup>k-1</sup> cells of the node
+ * advanced by 2<sup>j</sup> generations,
+ * where 0 &lt;= j &lt;= k-2.
+ * Results are saved in a memo table
+ * so that each is calculated only once
+ * (as long as it is not evicted from the table);
+ * this allows the engine to advance regular patterns
+ * by enormous numbers of generations.
+ * </p>
+ * <p>
+ * The memo table has a fixed capacity;
+ * when two results compete for the same slot
+ * the older result is discarded.
+ * The node cache grows as new nodes are created;
+ * when it exceeds its limit
+ * nodes that are no longer reachable from the current generation
+ * are discarded.
+ * Canonical nodes do not depend on the rule,
+ * so changing the rule only clears the memo table.
+ * </p>
+ * <p>
+ * The root of the tree is always centered on the origin;
+ * a root at level <em>k</em>
+ * encloses the cells with x- and y-coordinates
+ * -2<sup>k-1</sup> through 2<sup>k-1</sup> - 1.
+ * </p>
+ * <p>
+ * Rules that contain B0 are not supported.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class HashlifeEngine
+{
+    /** Default capacity of the memo table; must be a power of 2 */
+    public static final int     DEF_MEMO_CAPACITY   = 1 << 20;
+    /**
+     * Default number of nodes that triggers garbage collection.
+     * A node occupies roughly 64 bytes,
+     * so this allows the node cache to grow
+     * to about one quarter of the maximum heap size.
+     */
+    public static final int     DEF_NODE_LIMIT      =
+        (int)Math.min( 1 << 28, Runtime.getRuntime().maxMemory() / 256 );
+    /**
+     * Largest exponent that may be passed to {@link #step(int)}.
+     * Ensures that generation counts and coordinates
+     * can be represented by a long.
+     */
+    public static final int     MAX_STEP_LOG        = 56;
+    
+    /** Initial size of the node cache table; must be a power of 2 */
+    private static final int    initTableSize       = 1 << 16;
+    
+    /** Canonical dead cell */
+    private static final Node   deadCell            = new Node( false );
+    /** Canonical live cell */
+    private static final Node   liveCell            = new Node( true );
+    
+    /** The rule currently in effect */
+    private Rule            rule;
+    /** The rule currently in effect, compiled into a lookup table */
+    private BlockRule       blockRule;
+    
+    /** Canonical node cache; chained hash table */
+    private Node[]          table           = new Node[initTableSize];
+    /** Number of nodes in the node cache */
+    private int             nodeCount       = 0;
+    /** Number of nodes that triggers garbage collection */
+    private int             nodeLimit;
+    
+    /** Memo table keys; lossy, direct-mapped */
+    private final Node[]    memoKeys;
+    /** Memo table exponents; memoSteps[i] goes with memoKeys[i] */
+    private final int[]     memoSteps;
+    /** Memo table results; memoValues[i] goes with memoKeys[i] */
+    private final Node[]    memoValues;
+    
+    /** Canonical empty nodes; element <em>k</em> is at level <em>k</em> */
+    private final List<Node>    emptyNodes  = new ArrayList<>();
+    
+    /** Root of the quadtree */
+    private Node            root;
+    /** Number of generations calculated since the last load */
+    private long            generation      = 0;
+    /** Incremented each time nodes are marked for garbage collection */
+    private int             markEpoch       = 0;
+    
+    /** The map that the engine was most recently synchronized with */
+    private GridMap         syncedMap       = null;
+    /**
+     * The modification count of the synchronized map
+     * at the time of the most recent synchronization
+     */
+    private long            syncedModCount  = -1;
+    
+    /**
+     * Constructor.
+     * Establishes Conway's original rule (B3/S23),
+     * and a default memo table capacity and node limit.
+     */
+    public HashlifeEngine()
+    {
+        this( new Rule( 1 << 3, (1 << 2) | (1 << 3) ) );
+    }
+    
+    /**
+     * Constructor.
+     * Establishes a given rule,
+     * and a default memo table capacity and node limit.
+     * 
+     * @param rule  the given rule
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0
+     */
+    public HashlifeEngine( Rule rule )
+        throws IllegalArgumentException
+    {
+        this( rule, DEF_MEMO_CAPACITY, DEF_NODE_LIMIT );
+    }
+    
+    /**
+     * Constructor.
+     * Establishes a given rule,
+     * memo table capacity and node limit.
+     * 
+     * @param rule          the given rule
+     * @param memoCapacity  the given memo table capacity;
+     *                      must be a power of 2
+     * @param nodeLimit     the number of nodes
+     *                      that triggers garbage collection
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0,
+     *         or the memo capacity is not a power of 2,
+     *         or the node limit is not positive
+     */
+    public HashlifeEngine( Rule rule, int memoCapacity, int nodeLimit )
+        throws IllegalArgumentException
+    {
+        if ( memoCapacity <= 0 || Integer.bitCount( memoCapacity ) != 1 )
+        {
+            String  message =
+                "Memo capacity must be a power of 2: " + memoCapacity;
+            throw new IllegalArgumentException( message );
+        }
+        if ( nodeLimit <= 0 )
+        {
+            String  message = "Node limit must be positive: " + nodeLimit;
+            throw new IllegalArgumentException( message );
+        }
+        
+        memoKeys = new Node[memoCapacity];
+        memoSteps = new int[memoCapacity];
+        memoValues = new Node[memoCapacity];
+        this.nodeLimit = nodeLimit;
+        setRule( rule );
+        
+        emptyNodes.add( deadCell );
+        root = getEmpty( 3 );
+    }
+    
+    /**
+     * Returns true if this engine can execute a given rule.
+     * 
+     * @param rule  the given rule
+     * 
+     * @return  true if this engine can execute the given rule
+     */
+    public static boolean supportsRule( Rule rule )
+    {
+        boolean result  = !rule.isBirthOnZero();
+        return result;
+    }
+    
+    /**
+     * Gets the rule currently in effect.
+     * 
+     * @return  the rule currently in effect
+     */
+    public Rule getRule()
+    {
+        return rule;
+    }
+    
+    /**
+     * Establishes the rule to use for subsequent generations.
+     * If the rule changes, the memo table is cleared.
+     * 
+     * @param rule  the rule to use for subsequent generations
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0
+     */
+    public void setRule( Rule rule )
+        throws IllegalArgumentException
+    {
+        if ( !supportsRule( rule ) )
+        {
+            String  message = "Rule not supported: " + rule;
+            throw new IllegalArgumentException( message );
+        }
+        if ( !rule.equals( this.rule ) )
+        {
+            this.rule = rule;
+            blockRule = new BlockRule( rule );
+            clearMemo();
+        }
+    }
+    
+    /**
+     * Replaces the contents of this engine
+     * with the live cells from a given GridMap,
+     * and resets the generation count to 0.
+     * 
+     * @param gridMap   the given GridMap
+     */
+    public void load( GridMap gridMap )
+    {
+        root = getEmpty( 3 );
+        gridMap.forEachLive( (xco, yco) -> setCell( xco, yco ) );
+        generation = 0;
+        syncedMap = gridMap;
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Creates a new GridMap containing the live cells
+     * of the current generation.
+     * The cells are written as a single batch.
+     * 
+     * @return  a new GridMap containing the live cells
+     *          of the current generation
+     * 
+     * @throws IllegalStateException if a live cell has a coordinate
+     *         that cannot be represented by an int
+     */
+    public GridMap toGridMap()
+        throws IllegalStateException
+    {
+        GridMap     gridMap = new GridMap();
+        CellSet     live    = getLiveCells();
+        gridMap.applyBatch( map -> {
+            for ( int slot = live.nextSlot( 0 ) ; slot >= 0 ; slot = live.nextSlot( slot + 1 ) )
+                map.set( live.getX( slot ), live.getY( slot ), true );
+        });
+        return gridMap;
+    }
+    
+    /**
+     * Modifies a given GridMap so that it contains exactly
+     * the live cells of the current generation.
+     * Only cells that differ between the GridMap
+     * and the current generation are written.
+     * The cells are written as a single batch.
+     * 
+     * @param gridMap   the given GridMap
+     * 
+     * @throws IllegalStateException if a live cell has a coordinate
+     *         that cannot be represented by an int
+     */
+    public void writeTo( GridMap gridMap )
+        throws IllegalStateException
+    {
+        CellSet     live    = getLiveCells();
+        // sized for the entire population,
+        // so that the set is never enlarged while it is being filled
+        // in the slot order of the grid map's own set
+        CellSet     dead    = new CellSet( gridMap.getPopulation() );
+        gridMap.forEachLive( (xco, yco) -> {
+            if ( !live.remove( xco, yco ) )
+                dead.add( xco, yco );
+        });
+        gridMap.applyBatch( map -> {
+            for ( int slot = dead.nextSlot( 0 ) ; slot >= 0 ; slot = dead.nextSlot( slot + 1 ) )
+                map.set( dead.getX( slot ), dead.getY( slot ), false );
+            for ( int slot = live.nextSlot( 0 ) ; slot >= 0 ; slot = live.nextSlot( slot + 1 ) )
+                map.set( live.getX( slot ), live.getY( slot ), true );
+        });
+    }
+    
+    /**
+     * Advances a given grid map by a given number of generations
+     * using a given rule.
+     * The engine is reloaded from the grid map
+     * only if the grid map has been modified
+     * since the engine last wrote to it.
+     * The count is decomposed into powers of two,
+     * so that the number of steps taken
+     * is logarithmic in the count;
+     * intermediate generations are never written to the grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rule      the given rule; may not contain B0
+     * @param count     the given number of generations
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0,
+     *         or if count is less than 1
+     */
+    public void advance( GridMap gridMap, Rule rule, int count )
+        throws IllegalArgumentException
+    {
+        if ( count < 1 )
+        {
+            String  message = "Invalid generation count: " + count;
+            throw new IllegalArgumentException( message );
+        }
+        
+        setRule( rule );
+        if (
+            gridMap != syncedMap
+            || gridMap.getModificationCount() != syncedModCount
+        )
+            load( gridMap );
+        for ( int log2 = 0 ; (count >> log2) != 0 ; ++log2 )
+            if ( (count & (1 << log2)) != 0 )
+                step( log2 );
+        writeTo( gridMap );
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Advances the current generation by one.
+     */
+    public void step()
+    {
+        step( 0 );
+    }
+    
+    /**
+     * Advances the current generation by 2<sup>log2</sup> generations.
+     * 
+     * @param log2  base-2 logarithm of the number of generations
+     *              to advance
+     * 
+     * @throws IllegalArgumentException
+     *         if log2 is negative or greater than MAX_STEP_LOG
+     * 
+     * @see #MAX_STEP_LOG
+     */
+    public void step( int log2 )
+        throws IllegalArgumentException
+    {
+        if ( log2 < 0 || log2 > MAX_STEP_LOG )
+        {
+            String  message = "Invalid step exponent: " + log2;
+            throw new IllegalArgumentException( message );
+        }
+        
+        // Expand the root until it is large enough to calculate
+        // 2^log2 generations, and all live cells are in its center
+        // quarter; then expand once more, so that the result
+        // (the center half) encloses everything the pattern
+        // can reach in 2^log2 generations.
+        while ( root.level < log2 + 2 || !isCentered( root ) )
+            root = expand( root );
+        root = expand( root );
+        root = successor( root, log2 );
+        generation += 1L << log2;
+        
+        if ( nodeCount > nodeLimit )
+            collectGarbage();
+    }
+    
+    /**
+     * Gets the number of generations calculated
+     * since the most recent load.
+     * 
+     * @return  the number of generations calculated
+     *          since the most recent load
+     */
+    public long getGeneration()
+    {
+        return generation;
+    }
+    
+    /**
+     * Gets the number of live cells in the current generation.
+     * 
+     * @return  the number of live cells in the current generation
+     */
+    public long getPopulation()
+    {
+        return root.population;
+    }
+    
+    /**
+     * Gets the number of nodes in the node cache.
+     * 
+     * @return  the number of nodes in the node cache
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+    
+    /**
+     * Discards all nodes in the node cache
+     * that are not reachable from the current generation
+     * or from the memo table.
+     * If that doesn't free at least half of the node limit,
+     * the memo table is cleared
+     * and all nodes not reachable from the current generation
+     * are discarded.
+     */
+    public void collectGarbage()
+    {
+        sweep( true );
+        if ( nodeCount > nodeLimit / 2 )
+        {
+            clearMemo();
+            sweep( false );
+        }
+        
+        // If most of the nodes are still in use,
+        // raise the limit to avoid collecting on every step.
+        if ( nodeCount > nodeLimit / 2 )
+            nodeLimit *= 2;
+    }
+    
+    /**
+     * Discards all nodes in the node cache
+     * that are not reachable from the current generation,
+     * and, optionally, from the memo table.
+     * 
+     * @param keepMemo  true to retain all nodes
+     *                  reachable from the memo table
+     */
+    private void sweep( boolean keepMemo )
+    {
+        int epoch   = ++markEpoch;
+        mark( root, epoch );
+        for ( Node node : emptyNodes )
+            node.mark = epoch;
+        if ( keepMemo )
+        {
+            for ( int inx = 0 ; inx < memoKeys.length ; ++inx )
+            {
+                if ( memoKeys[inx] != null )
+                {
+                    mark( memoKeys[inx], epoch );
+                    mark( memoValues[inx], epoch );
+                }
+            }
+        }
+        
+        int count   = 0;
+        for ( int inx = 0 ; inx < table.length ; ++inx )
+        {
+            Node    kept    = null;
+            Node    node    = table[inx];
+            while ( node != null )
+            {
+                Node    next    = node.next;
+                if ( node.mark == epoch )
+                {
+                    node.next = kept;
+                    kept = node;
+                    ++count;
+                }
+                node = next;
+            }
+            table[inx] = kept;
+        }
+        nodeCount = count;
+    }
+    
+    /**
+     * Calculates the center of a given node
+     * advanced by 2<sup>log2</sup> generations.
+     * The level of the node must be at least log2 + 2;
+     * the level of the result is one less than the level of the node.
+     * 
+     * @param node  the given node
+     * @param log2  base-2 logarithm of the number of generations
+     * 
+     * @return  the center of the given node
+     *          advanced by 2<sup>log2</sup> generations
+     */
+    private Node successor( Node node, int log2 )
+    {
+        int     level   = node.level;
+        Node    result  = null;
+        if ( node.population == 0 )
+            result = getEmpty( level - 1 );
+        else if ( level == 2 )
+            result = leafSuccessor( node );
+        else
+        {
+            int     memoInx = getMemoIndex( node, log2 );
+            if ( memoKeys[memoInx] == node && memoSteps[memoInx] == log2 )
+                result = memoValues[memoInx];
+            else
+            {
+                result = calcSuccessor( node, log2 );
+                memoKeys[memoInx] = node;
+                memoSteps[memoInx] = log2;
+                memoValues[memoInx] = result;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Calculates the center of a given node,
+     * at level 3 or greater,
+     * advanced by 2<sup>log2</sup> generations.
+     * The node is divided into nine overlapping subnodes
+     * one level down; these are combined into four
+     * overlapping nodes, each of which is advanced recursively.
+     * If log2 is the largest value permitted for the node's level,
+     * both the nine subnodes and the four combined nodes
+     * are advanced by half the required generations;
+     * otherwise only the four combined nodes are advanced.
+     * 
+     * @param node  the given node
+     * @param log2  base-2 logarithm of the number of generations
+     * 
+     * @return  the center of the given node
+     *          advanced by 2<sup>log2</sup> generations
+     */
+    private Node calcSuccessor( Node node, int log2 )
+    {
+        Node    n00 = node.nw;
+        Node    n01 = centerHorizontal( node.nw, node.ne );
+        Node    n02 = node.ne;
+        Node    n10 = centerVertical( node.nw, node.sw );
+        Node    n11 = center( node );
+        Node    n12 = centerVertical( node.ne, node.se );
+        Node    n20 = node.sw;
+        Node    n21 = centerHorizontal( node.sw, node.se );
+        Node    n22 = node.se;
+        
+        boolean fullStep    = log2 == node.level - 2;
+        int     subLog2     = fullStep ? log2 - 1 : log2;
+        if ( fullStep )
+        {
+            n00 = successor( n00, subLog2 );
+            n01 = successor( n01, subLog2 );
+            n02 = successor( n02, subLog2 );
+            n10 = successor( n10, subLog2 );
+            n11 = successor( n11, subLog2 );
+            n12 = successor( n12, subLog2 );
+            n20 = successor( n20, subLog2 );
+            n21 = successor( n21, subLog2 );
+            n22 = successor( n22, subLog2 );
+        }
+        else
+        {
+            n00 = center( n00 );
+            n01 = center( n01 );
+            n02 = center( n02 );
+            n10 = center( n10 );
+            n11 = center( n11 );
+            n12 = center( n12 );
+            n20 = center( n20 );
+            n21 = center( n21 );
+            n22 = center( n22 );
+        }
+        
+        Node    nw  = successor( join( n00, n01, n10, n11 ), subLog2 );
+        Node    ne  = successor( join( n01, n02, n11, n12 ), subLog2 );
+        Node    sw  = successor( join( n10, n11, n20, n21 ), subLog2 );
+        Node    se  = successor( join( n11, n12, n21, n22 ), subLog2 );
+        Node    result  = join( nw, ne, sw, se );
+        return result;
+    }
+    
+    /**
+     * Calculates the center 2x2 cells of a 4x4 node
+     * advanced by one generation,
+     * with a single lookup in the compiled rule.
+     * 
+     * @param node  the 4x4 node
+     * 
+     * @return  the center of the node advanced by one generation
+     */
+    private Node leafSuccessor( Node node )
+    {
+        int     bits    =
+            getLeafBits( node.nw, 0 )
+            | getLeafBits( node.ne, 2 )
+            | getLeafBits( node.sw, 8 )
+            | getLeafBits( node.se, 10 );
+        int     next    = blockRule.next( bits );
+        Node    result  = 
+            join(
+                (next & 1) != 0 ? liveCell : deadCell,
+                (next & 2) != 0 ? liveCell : deadCell,
+                (next & 4) != 0 ? liveCell : deadCell,
+                (next & 8) != 0 ? liveCell : deadCell
+            );
+        return result;
+    }
+    
+    /**
+     * Packs the cells of a 2x2 node into a 4x4 bit mask.
+     * 
+     * @param node  the 2x2 node
+     * @param shift position of the node's northwest cell in the mask
+     * 
+     * @return  the packed cells
+     */
+    private static int getLeafBits( Node node, int shift )
+    {
+        int bits    =
+            (node.nw.population == 0 ? 0 : 1)
+            | (node.ne.population == 0 ? 0 : 2)
+            | (node.sw.population == 0 ? 0 : 0x10)
+            | (node.se.population == 0 ? 0 : 0x20);
+        return bits << shift;
+    }
+    
+    /**
+     * Gets the canonical node for a given set of children.
+     * If the node doesn't exist yet it is created
+     * and added to the node cache.
+     * 
+     * @param nw    northwest child
+     * @param ne    northeast child
+     * @param sw    southwest child
+     * @param se    southeast child
+     * 
+     * @return  the canonical node for the given children
+     */
+    private Node join( Node nw, Node ne, Node sw, Node se )
+    {
+        int     hash    = hash( nw, ne, sw, se );
+        int     inx     = hash & (table.length - 1);
+        Node    result  = table[inx];
+        while (
+            result != null
+            && (result.nw != nw || result.ne != ne
+                || result.sw != sw || result.se != se)
+        )
+            result = result.next;
+        
+        if ( result == null )
+        {
+            result = new Node( nw, ne, sw, se, hash );
+            result.next = table[inx];
+            table[inx] = result;
+            if ( ++nodeCount > table.length - table.length / 4 )
+                resizeTable();
+        }
+        return result;
+    }
+    
+    /**
+     * Doubles the size of the node cache table.
+     */
+    private void resizeTable()
+    {
+        Node[]  newTable    = new Node[table.length * 2];
+        int     mask        = newTable.length - 1;
+        for ( Node node : table )
+        {
+            while ( node != null )
+            {
+                Node    next    = node.next;
+                int     inx     = node.hash & mask;
+                node.next = newTable[inx];
+                newTable[inx] = node;
+                node = next;
+            }
+        }
+        table = newTable;
+    }
+    
+    /**
+     * Gets the canonical empty node at a given level.
+     * 
+     * @param level the given level
+     * 
+     * @return  the canonical empty node at the given level
+     */
+    private Node getEmpty( int level )
+    {
+        while ( emptyNodes.size() <= level )
+        {
+            Node    prev    = emptyNodes.get( emptyNodes.size() - 1 );
+            emptyNodes.add( join( prev, prev, prev, prev ) );
+        }
+        return emptyNodes.get( level );
+    }
+    
+    /**
+     * Creates a node one level up from a given node,
+     * with the given node at its center.
+     * 
+     * @param node  the given node
+     * 
+     * @return  the expanded node
+     */
+    private Node expand( Node node )
+    {
+        Node    empty   = getEmpty( node.level - 1 );
+        Node    result  =
+            join(
+                join( empty, empty, empty, node.nw ),
+                join( empty, empty, node.ne, empty ),
+                join( empty, node.sw, empty, empty ),
+                join( node.se, empty, empty, empty )
+            );
+        return result;
+    }
+    
+    /**
+     * Returns true if all live cells of a given node
+     * lie within its center quarter.
+     * 
+     * @param node  the given node
+     * 
+     * @return  true if all live cells of the given node
+     *          lie within its center quarter
+     */
+    private static boolean isCentered( Node node )
+    {
+        long    inner   =
+            node.nw.se.population
+            + node.ne.sw.population
+            + node.sw.ne.population
+            + node.se.nw.population;
+        boolean result  = inner == node.population;
+        return result;
+    }
+    
+    /**
+     * Gets the center subnode of a given node.
+     * 
+     * @param node  the given node
+     * 
+     * @return  the center subnode of the given node
+     */
+    private Node center( Node node )
+    {
+        Node    result  =
+            join( node.nw.se, node.ne.sw, node.sw.ne, node.se.nw );
+        return result;
+    }
+    
+    /**
+     * Gets the subnode centered on the boundary
+     * between two horizontally adjacent nodes.
+     * 
+     * @param west  the western node
+     * @param east  the eastern node
+     * 
+     * @return  the subnode centered on the boundary
+     */
+    private Node centerHorizontal( Node west, Node east )
+    {
+        Node    result  = join( west.ne, east.nw, west.se, east.sw );
+        return result;
+    }
+    
+    /**
+     * Gets the subnode centered on the boundary
+     * between two vertically adjacent nodes.
+     * 
+     * @param north the northern node
+     * @param south the southern node
+     * 
+     * @return  the subnode centered on the boundary
+     */
+    private Node centerVertical( Node north, Node south )
+    {
+        Node    result  = join( north.sw, north.se, south.nw, south.ne );
+        return result;
+    }
+    
+    /**
+     * Makes a live cell at a given location,
+     * expanding the root as necessary.
+     * 
+     * @param xco   x-coordinate of the given location
+     * @param yco   y-coordinate of the given location
+     */
+    private void setCell( int xco, int yco )
+    {
+        long    half    = 1L << (root.level - 1);
+        while ( xco < -half || xco >= half || yco < -half || yco >= half )
+        {
+            root = expand( root );
+            half = 1L << (root.level - 1);
+        }
+        root = setCell( root, xco + half, yco + half );
+    }
+    
+    /**
+     * Makes a live cell at a given location within a given node.
+     * 
+     * @param node  the given node
+     * @param xco   x-coordinate of the location,
+     *              relative to the node's northwest corner
+     * @param yco   y-coordinate of the location,
+     *              relative to the node's northwest corner
+     * 
+     * @return  the node with the cell at the given location made live
+     */
+    private Node setCell( Node node, long xco, long yco )
+    {
+        Node    result  = liveCell;
+        if ( node.level > 0 )
+        {
+            long    half    = 1L << (node.level - 1);
+            Node    nw      = node.nw;
+            Node    ne      = node.ne;
+            Node    sw      = node.sw;
+            Node    se      = node.se;
+            if ( yco < half )
+            {
+                if ( xco < half )
+                    nw = setCell( nw, xco, yco );
+                else
+                    ne = setCell( ne, xco - half, yco );
+            }
+            else
+            {
+                if ( xco < half )
+                    sw = setCell( sw, xco, yco - half );
+                else
+                    se = setCell( se, xco - half, yco - half );
+            }
+            result = join( nw, ne, sw, se );
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the locations of all live cells in the current generation.
+     * 
+     * @return  the locations of all live cells in the current generation
+     * 
+     * @throws IllegalStateException if a live cell has a coordinate
+     *         that cannot be represented by an int
+     */
+    private CellSet getLiveCells()
+        throws IllegalStateException
+    {
+        CellSet     cells   =
+            new CellSet( (int)Math.min( root.population, Integer.MAX_VALUE ) );
+        long        half    = 1L << (root.level - 1);
+        addLiveCells( root, -half, -half, cells );
+        return cells;
+    }
+    
+    /**
+     * Adds the locations of all live cells in a given node
+     * to a given set.
+     * 
+     * @param node  the given node
+     * @param xco   x-coordinate of the node's northwest corner
+     * @param yco   y-coordinate of the node's northwest corner
+     * @param cells the given set
+     * 
+     * @throws IllegalStateException if a live cell has a coordinate
+     *         that cannot be represented by an int
+     */
+    private static void addLiveCells(
+        Node        node,
+        long        xco,
+        long        yco,
+        CellSet     cells
+    ) throws IllegalStateException
+    {
+        if ( node.population != 0 && node.level == 0 )
+        {
+            if ( xco != (int)xco || yco != (int)yco )
+            {
+                String  message =
+                    "Cell coordinates out of range: " + xco + ", " + yco;
+                throw new IllegalStateException( message );
+            }
+            cells.add( (int)xco, (int)yco );
+        }
+        else if ( node.population != 0 )
+        {
+            long    half    = 1L << (node.level - 1);
+            addLiveCells( node.nw, xco, yco, cells );
+            addLiveCells( node.ne, xco + half, yco, cells );
+            addLiveCells( node.sw, xco, yco + half, cells );
+            addLiveCells( node.se, xco + half, yco + half, cells );
+        }
+    }
+    
+    /**
+     * Marks a node, and all nodes reachable from it,
+     * with a given garbage collection epoch.
+     * 
+     * @param node  the node to mark
+     * @param epoch the given epoch
+     */
+    private static void mark( Node node, int epoch )
+    {
+        if ( node.level > 0 && node.mark != epoch )
+        {
+            node.mark = epoch;
+            mark( node.nw, epoch );
+            mark( node.ne, epoch );
+            mark( node.sw, epoch );
+            mark( node.se, epoch );
+        }
+    }
+    
+    /**
+     * Discards all entries in the memo table.
+     */
+    private void clearMemo()
+    {
+        for ( int inx = 0 ; inx < memoKeys.length ; ++inx )
+        {
+            memoKeys[inx] = null;
+            memoValues[inx] = null;
+        }
+    }
+    
+    /**
+     * Calculates the memo table index for a given node
+     * and step exponent.
+     * 
+     * @param node  the given node
+     * @param log2  the given step exponent
+     * 
+     * @return  the memo table index
+     */
+    private int getMemoIndex( Node node, int log2 )
+    {
+        int hash    = mix( node.hash * 31 + log2 );
+        int inx     = hash & (memoKeys.length - 1);
+        return inx;
+    }
+    
+    /**
+     * Calculates the hash code for a node with a given set of children.
+     * 
+     * @param nw    northwest child
+     * @param ne    northeast child
+     * @param sw    southwest child
+     * @param se    southeast child
+     * 
+     * @return  the hash code
+     */
+    private static int hash( Node nw, Node ne, Node sw, Node se )
+    {
+        int hash    =
+            nw.hash
+            + 0x9E3779B9 * ne.hash
+            + 0x85EBCA6B * sw.hash
+            + 0xC2B2AE35 * se.hash;
+        return mix( hash + nw.level );
+    }
+    
+    /**
+     * Scrambles the bits of a given integer
+     * (the MurmurHash3 finalizer).
+     * 
+     * @param value the given integer
+     * 
+     * @return  the scrambled integer
+     */
+    private static int mix( int value )
+    {
+        int hash    = value;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+    
+    /**
+     * Node in the quadtree.
+     * Nodes are immutable, except for the fields
+     * used to maintain the node cache.
+     * 
+     * @author Jack Straub
+     */
+    private static class Node
+    {
+        /** The level of this node; it encloses 2^level x 2^level cells */
+        private final int       level;
+        /** Northwest child; null at level 0 */
+        private final Node      nw;
+        /** Northeast child; null at level 0 */
+        private final Node      ne;
+        /** Southwest child; null at level 0 */
+        private final Node      sw;
+        /** Southeast child; null at level 0 */
+        private final Node      se;
+        /** Number of live cells enclosed by this node */
+        private final long      population;
+        /** Hash code, derived from the children's hash codes */
+        private final int       hash;
+        
+        /** Next node in the same node cache bucket */
+        private Node            next;
+        /** Most recent garbage collection epoch in which this node was marked */
+        private int             mark;
+        
+        /**
+         * Constructor for a node at level 0.
+         * 
+         * @param isAlive   true if this node is a live cell
+         */
+        public Node( boolean isAlive )
+        {
+            level = 0;
+            nw = null;
+            ne = null;
+            sw = null;
+            se = null;
+            population = isAlive ? 1 : 0;
+            hash = isAlive ? 1 : 0;
+        }
+        
+        /**
+         * Constructor for a node at level 1 or greater.
+         * 
+         * @param nw    northwest child
+         * @param ne    northeast child
+         * @param sw    southwest child
+         * @param se    southeast child
+         * @param hash  hash code of this node
+         */
+        public Node( Node nw, Node ne, Node sw, Node se, int hash )
+        {
+            this.level = nw.level + 1;
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.population =
+                nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+        }
+    }
+}
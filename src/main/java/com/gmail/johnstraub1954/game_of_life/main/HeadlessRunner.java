@@ -0,0 +1,366 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs a pattern for a given number of generations
+ * without a graphical user interface.
+ * The pattern is read from an RLE file,
+ * advanced with a given generation engine,
+ * and, optionally, written to another RLE file.
+ * Every given number of generations
+ * the population, the bounding box of the live cells
+ * and the elapsed time are printed to standard output.
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ *     java -Djava.awt.headless=true \
+ *         com.gmail.johnstraub1954.game_of_life.main.HeadlessRunner \
+ *         [-n generations] [-k interval] [-e engine] [-o output] input</pre>
+ * <ul>
+ *     <li>
+ *         <em>-n</em> the number of generations to run;
+ *         the default is 100.
+ *     </li>
+ *     <li>
+ *         <em>-k</em> the number of generations between reports;
+ *         the default is to report only after the last generation.
+ *     </li>
+ *     <li>
+ *         <em>-e</em> the name of the generation engine;
+ *         the default is given by the <em>spawn</em> system property,
+ *         or <em>tiled</em> if that property is not set.
+ *         Other engine properties, such as <em>parallelism</em>,
+ *         may also be given as system properties.
+ *     </li>
+ *     <li>
+ *         <em>-o</em> the RLE file to which the final generation
+ *         is written.
+ *     </li>
+ * </ul>
+ * <p>
+ * The input file is decoded on the number of threads
+ * given by the <em>parallelism</em> system property
+ * (see {@link RLEParallelDecoder}).
+ * The pattern is advanced in a detached GridMap
+ * with {@link GenerationEngine#advance(GridMap, Rule, int)},
+ * using the rule given in the header of the input file,
+ * so the Parameters singleton,
+ * and the Swing components that listen to it,
+ * are never initialized.
+ * The exceptions are the <em>conway</em> and <em>incremental</em>
+ * engines, and rules with birth on zero neighbors
+ * for engines that don't support them,
+ * which are implemented via the Utils singleton;
+ * they work, but initialize the Parameters singleton
+ * (which still loads no Swing classes).
+ * </p>
+ * <p>
+ * The exit status is 0 if the run succeeds,
+ * 1 if it fails,
+ * and 2 if the command line is not valid.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLConstants#PROP_PROC_PN
+ */
+public class HeadlessRunner
+{
+    /** Exit status of a successful run */
+    public static final int     STATUS_OK       = 0;
+    /** Exit status of a run that fails */
+    public static final int     STATUS_FAILED   = 1;
+    /** Exit status of a command line that is not valid */
+    public static final int     STATUS_USAGE    = 2;
+    
+    /** Number of generations run if not given on the command line */
+    private static final int    defGenerations  = 100;
+    /** Number of nanoseconds in a millisecond */
+    private static final double nanosPerMilli   = 1_000_000.0;
+    /** Number of nanoseconds in a second */
+    private static final double nanosPerSecond  = 1_000_000_000.0;
+    
+    /** Summary of the command line, printed when it is not valid */
+    private static final String usage           =
+        "usage: HeadlessRunner [-n generations] [-k interval] "
+        + "[-e engine] [-o output] input";
+    
+    /** Destination of reports */
+    private final PrintStream   out;
+    /** Destination of error messages */
+    private final PrintStream   err;
+    /** Properties that configure the engine */
+    private final GOLProperties props;
+    
+    /** Number of generations to run */
+    private int                 generations     = defGenerations;
+    /** Number of generations between reports; 0 to report at the end */
+    private int                 interval        = 0;
+    /** Path to the input file; null if not given */
+    private String              inputPath       = null;
+    /** Path to the output file; null if none */
+    private String              outputPath      = null;
+    
+    /**
+     * Constructor.
+     * Engine properties default to the system properties.
+     * 
+     * @param out   destination of reports
+     * @param err   destination of error messages
+     */
+    public HeadlessRunner( PrintStream out, PrintStream err )
+    {
+        this.out = out;
+        this.err = err;
+        props = new GOLProperties( System.getProperties() );
+    }
+    
+    /**
+     * Runs a pattern as directed by the command line,
+     * then exits with the resulting status.
+     * 
+     * @param args  command line arguments
+     */
+    public static void main( String[] args )
+    {
+        HeadlessRunner  runner  = new HeadlessRunner( System.out, System.err );
+        int             status  = runner.run( args );
+        System.exit( status );
+    }
+    
+    /**
+     * Runs a pattern as directed by a given command line.
+     * 
+     * @param args  the given command line
+     * 
+     * @return  the exit status of the run
+     */
+    public int run( String[] args )
+    {
+        int status  = STATUS_USAGE;
+        if ( parseArgs( args ) )
+        {
+            try
+            {
+                execute();
+                status = STATUS_OK;
+            }
+            catch ( GOLException | UnsupportedOperationException exc )
+            {
+                err.println( exc.getMessage() );
+                status = STATUS_FAILED;
+            }
+        }
+        else
+            err.println( usage );
+        return status;
+    }
+    
+    /**
+     * Parses a given command line.
+     * Errors are reported to the error stream.
+     * 
+     * @param args  the given command line
+     * 
+     * @return  true if the command line is valid
+     */
+    private boolean parseArgs( String[] args )
+    {
+        boolean         valid   = true;
+        List<String>    list    = Arrays.asList( args );
+        for ( int inx = 0 ; valid && inx < list.size() ; ++inx )
+        {
+            String  arg     = list.get( inx );
+            String  value   = inx + 1 < list.size() ? list.get( inx + 1 ) : null;
+            if ( !arg.startsWith( "-" ) && inputPath == null )
+                inputPath = arg;
+            else if ( value == null )
+                valid = false;
+            else
+            {
+                ++inx;
+                if ( arg.equals( "-n" ) )
+                    generations = parseCount( value, 0 );
+                else if ( arg.equals( "-k" ) )
+                    interval = parseCount( value, 1 );
+                else if ( arg.equals( "-e" ) )
+                    props.setProperty( GOLConstants.PROP_PROC_PN, value );
+                else if ( arg.equals( "-o" ) )
+                    outputPath = value;
+                else
+                    valid = false;
+            }
+            
+            if ( !valid || generations < 0 || interval < 0 )
+            {
+                err.println( "invalid argument: " + arg );
+                valid = false;
+            }
+        }
+        
+        if ( valid && inputPath == null )
+        {
+            err.println( "no input file" );
+            valid = false;
+        }
+        return valid;
+    }
+    
+    /**
+     * Parses a given count.
+     * 
+     * @param value the given count
+     * @param min   the smallest valid count
+     * 
+     * @return  the given count, or -1 if it is not valid
+     */
+    private static int parseCount( String value, int min )
+    {
+        int count   = -1;
+        try
+        {
+            count = Integer.parseInt( value );
+            if ( count < min )
+                count = -1;
+        }
+        catch ( NumberFormatException exc )
+        {
+            count = -1;
+        }
+        return count;
+    }
+    
+    /**
+     * Reads the input file, runs the pattern,
+     * and writes the output file, if any.
+     * 
+     * @throws GOLException if a file cannot be read or written,
+     *         or if the engine is not valid
+     * @throws UnsupportedOperationException
+     *         if the engine cannot advance a detached grid map
+     */
+    private void execute()
+        throws GOLException, UnsupportedOperationException
+    {
+        long        start   = System.nanoTime();
+        GridMap     map     = new GridMap( false );
+        RLEInput    input   =
+            new RLEInput( new File( inputPath ), map, props.getParallelism() );
+        Rule        rule    = getRule( input );
+        try ( GenerationEngine engine = props.getGenerationEngine() )
+        {
+            out.printf(
+                "%s: %s, engine %s, loaded in %.1f ms%n",
+                inputPath,
+                rule,
+                engine.getName(),
+                (System.nanoTime() - start) / nanosPerMilli
+            );
+            report( 0, map, 0 );
+            
+            long    runStart    = System.nanoTime();
+            int     gen         = 0;
+            while ( gen < generations )
+            {
+                int count   = generations - gen;
+                if ( interval > 0 && interval < count )
+                    count = interval;
+                engine.advance( map, rule, count );
+                gen += count;
+                if ( interval > 0 || gen == generations )
+                    report( gen, map, System.nanoTime() - runStart );
+            }
+        }
+        
+        if ( outputPath != null )
+            write( input, map );
+    }
+    
+    /**
+     * Gets the rule given in the header of a given RLE input source.
+     * If the birth or survival states are missing
+     * those of Conway's rule (B3/S23) are substituted,
+     * as they are by {@link RLEDescriptor#getHeaderLine()}.
+     * 
+     * @param input the given RLE input source
+     * 
+     * @return  the rule given in the header of the given input source
+     */
+    private static Rule getRule( RLEInput input )
+    {
+        List<Integer>   birth       = input.getBirthRules();
+        List<Integer>   survival    = input.getSurvivalRules();
+        Rule            rule        = Rule.of(
+            birth.isEmpty() ? Arrays.asList( 3 ) : birth,
+            survival.isEmpty() ? Arrays.asList( 2, 3 ) : survival
+        );
+        return rule;
+    }
+    
+    /**
+     * Prints the population and bounding box of a given grid map
+     * after a given number of generations,
+     * with the time taken to calculate them.
+     * 
+     * @param gen       the given number of generations
+     * @param map       the given grid map
+     * @param nanos     the time taken, in nanoseconds
+     */
+    private void report( int gen, GridMap map, long nanos )
+    {
+        GridSnapshot    snapshot    = map.getSnapshot();
+        Rectangle       rect        = snapshot.getLiveRectangle();
+        double          rate        =
+            nanos == 0 ? 0 : gen * nanosPerSecond / nanos;
+        out.printf(
+            "gen %d pop %d bbox (%d,%d) %dx%d time %.1f ms %.0f gen/s%n",
+            gen,
+            snapshot.getPopulation(),
+            rect.x,
+            rect.y,
+            rect.width,
+            rect.height,
+            nanos / nanosPerMilli,
+            rate
+        );
+    }
+    
+    /**
+     * Writes a given grid map to the output file,
+     * using the metadata and rule from a given RLE input source.
+     * The upper-left corner is taken from the grid map.
+     * 
+     * @param input     the given RLE input source
+     * @param map       the given grid map
+     * 
+     * @throws GOLException if the output file cannot be written
+     */
+    private void write( RLEInput input, GridMap map )
+        throws GOLException
+    {
+        RLEDescriptor   descrip = new RLEDescriptor( input );
+        descrip.setGridMap( map );
+        descrip.setUpperLeftCorner( null );
+        input.getComments().forEach( descrip::addComments );
+        
+        try ( Writer writer = new BufferedWriter( new FileWriter( outputPath ) ); )
+        {
+            descrip.write( writer );
+        }
+        catch ( IOException exc )
+        {
+            String  message = outputPath + ": cannot be written";
+            throw new GOLException( message );
+        }
+    }
+}
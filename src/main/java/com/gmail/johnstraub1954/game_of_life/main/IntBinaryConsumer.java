@@ -0,0 +1,25 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Operation that accepts a pair of int arguments,
+ * typically the x- and y-coordinates of a cell,
+ * and returns no result.
+ * This is the primitive specialization of
+ * BiConsumer&lt;Integer,Integer&gt;,
+ * which the standard library does not provide.
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#forEachLive(IntBinaryConsumer)
+ */
+@FunctionalInterface
+public interface IntBinaryConsumer
+{
+    /**
+     * Performs this operation on the given arguments.
+     * 
+     * @param xco   the first argument (the x-coordinate)
+     * @param yco   the second argument (the y-coordinate)
+     */
+    void accept( int xco, int yco );
+}
@@ -0,0 +1,386 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed hash table of long keys,
+ * shared by the hash tables of the grid:
+ * CellSet, ChunkIndex, OccupancyCounts,
+ * the block counts of DensityPyramid
+ * and the tile table of TiledPropagator.
+ * <p>
+ * Keys are stored in a single array
+ * using linear probing;
+ * the home slot of a key is taken from the low-order bits
+ * of a 64-bit mixing function of the key,
+ * so that the keys of one table,
+ * inserted into another table in slot order,
+ * are spread through the second table
+ * instead of forming a single probe cluster.
+ * Removal uses backward-shift deletion,
+ * so the array never contains tombstones.
+ * The table is doubled before it becomes more than half full,
+ * and halved when it becomes less than one-eighth full.
+ * </p>
+ * <p>
+ * Long.MIN_VALUE denotes an empty slot,
+ * and may not be used as a key.
+ * </p>
+ * <p>
+ * A subclass that associates values with the keys
+ * stores them in arrays parallel to the key array,
+ * allocated with {@link #getCapacity()} elements,
+ * and keeps them parallel by overriding
+ * {@link #moveValue(int, int)}, {@link #clearValue(int)}
+ * and {@link #relocateValues(int, int[])}.
+ * The value in a newly occupied slot
+ * is always the default (0 or null),
+ * as long as the subclass clears its values
+ * when asked to.
+ * </p>
+ * <p>
+ * Slot numbers are invalidated
+ * when a key is added or removed.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+class LongHashTable
+{
+    /** Value denoting an empty slot */
+    static final long           FREE_KEY        = Long.MIN_VALUE;
+    /** Smallest permissible capacity; must be a power of 2 */
+    private static final int    minCapacity     = 16;
+    /** Largest permissible capacity */
+    private static final int    maxCapacity     = 1 << 30;
+    
+    /** The keys; FREE_KEY denotes an empty slot */
+    private long[]  keys;
+    /** Mask to convert a hash code to an index into keys */
+    private int     mask;
+    /** Number of keys in the table */
+    private int     used;
+    
+    /**
+     * Default constructor.
+     */
+    public LongHashTable()
+    {
+        this( 0 );
+    }
+    
+    /**
+     * Constructor.
+     * Creates a table with room for a given number of keys,
+     * so that adding that many keys
+     * never enlarges the table.
+     * 
+     * @param expected  the given number of keys
+     */
+    public LongHashTable( int expected )
+    {
+        int capacity    = minCapacity;
+        while ( capacity < maxCapacity && expected > capacity / 2 )
+            capacity *= 2;
+        allocate( capacity );
+    }
+    
+    /**
+     * Constructor.
+     * Creates a table that contains the same keys, in the same slots,
+     * as a given table.
+     * A subclass copies its own values.
+     * 
+     * @param copyFrom  the given table
+     */
+    public LongHashTable( LongHashTable copyFrom )
+    {
+        keys = copyFrom.keys.clone();
+        mask = copyFrom.mask;
+        used = copyFrom.used;
+    }
+    
+    /**
+     * Scrambles the bits of a given long
+     * (the MurmurHash3 64-bit finalizer).
+     * 
+     * @param value the given long
+     * 
+     * @return  the scrambled long
+     */
+    static long mix( long value )
+    {
+        long    hash    = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+    /**
+     * Gets the number of keys in this table.
+     * 
+     * @return  the number of keys in this table
+     */
+    public int size()
+    {
+        return used;
+    }
+    
+    /**
+     * Gets the number of slots in this table.
+     * Valid slot numbers are 0 through getCapacity() - 1.
+     * 
+     * @return  the number of slots in this table
+     */
+    public int getCapacity()
+    {
+        return keys.length;
+    }
+    
+    /**
+     * Finds the slot containing a given key.
+     * 
+     * @param key   the given key; may not be FREE_KEY
+     * 
+     * @return  the slot containing the given key, or -1 if none
+     */
+    public final int findSlot( long key )
+    {
+        int slot    = probe( key );
+        int result  = keys[slot] == key ? slot : -1;
+        return result;
+    }
+    
+    /**
+     * Adds a given key to this table, if it is not already present,
+     * and gets the slot containing it.
+     * If the key is added
+     * the table is first enlarged, if necessary,
+     * and the value in the key's slot is the default.
+     * 
+     * @param key   the given key; may not be FREE_KEY
+     * 
+     * @return  the slot containing the given key
+     */
+    public final int addKey( long key )
+    {
+        int slot    = probe( key );
+        if ( keys[slot] == FREE_KEY )
+        {
+            if ( used >= keys.length / 2 && keys.length < maxCapacity )
+            {
+                rehash( keys.length * 2 );
+                slot = probe( key );
+            }
+            keys[slot] = key;
+            ++used;
+        }
+        return slot;
+    }
+    
+    /**
+     * Removes the key in a given, occupied slot,
+     * then shifts subsequent keys in the same probe sequence
+     * backward to fill the gap.
+     * The table is then reduced, if necessary.
+     * 
+     * @param slot  the given slot
+     */
+    public final void removeSlot( int slot )
+    {
+        int gap     = slot;
+        int next    = (gap + 1) & mask;
+        while ( keys[next] != FREE_KEY )
+        {
+            // A key may move into the gap only if the gap
+            // lies between the key's home slot and its current slot.
+            long    key     = keys[next];
+            int     home    = getHome( key );
+            if ( ((next - home) & mask) >= ((next - gap) & mask) )
+            {
+                keys[gap] = key;
+                moveValue( next, gap );
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        clearValue( gap );
+        --used;
+        if ( keys.length > minCapacity && used < keys.length / 8 )
+            rehash( keys.length / 2 );
+    }
+    
+    /**
+     * Removes all keys from this table.
+     * The capacity of the table is retained,
+     * so a table that is repeatedly cleared and refilled
+     * to a similar size does not allocate memory.
+     */
+    public void clear()
+    {
+        if ( used > 0 )
+        {
+            for ( int slot = 0 ; slot < keys.length ; ++slot )
+                if ( keys[slot] != FREE_KEY )
+                    clearValue( slot );
+            Arrays.fill( keys, FREE_KEY );
+            used = 0;
+        }
+    }
+    
+    /**
+     * Finds the first occupied slot at or after a given slot.
+     * To traverse all keys in the table:
+     * <pre>
+     *     for ( int slot = table.nextSlot( 0 ) ;
+     *           slot &gt;= 0 ;
+     *           slot = table.nextSlot( slot + 1 ) )
+     *         visit( table.getKey( slot ) );
+     * </pre>
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the first occupied slot at or after the given slot,
+     *          or -1 if none
+     */
+    public int nextSlot( int slot )
+    {
+        int next    = slot;
+        while ( next < keys.length && keys[next] == FREE_KEY )
+            ++next;
+        if ( next >= keys.length )
+            next = -1;
+        return next;
+    }
+    
+    /**
+     * Gets the key in a given slot.
+     * 
+     * @param slot  the given slot
+     * 
+     * @return  the key in the given slot;
+     *          FREE_KEY if the slot is empty
+     */
+    public long getKey( int slot )
+    {
+        return keys[slot];
+    }
+    
+    /**
+     * Moves the value in one slot to another;
+     * invoked when a key is shifted backward
+     * by {@link #removeSlot(int)}.
+     * The default implementation does nothing.
+     * 
+     * @param from  the slot the value is moved from
+     * @param to    the slot the value is moved to
+     */
+    protected void moveValue( int from, int to )
+    {
+        // no values to move
+    }
+    
+    /**
+     * Restores the value in a given slot to the default;
+     * invoked when the slot is emptied.
+     * The default implementation does nothing.
+     * 
+     * @param slot  the given slot
+     */
+    protected void clearValue( int slot )
+    {
+        // no values to clear
+    }
+    
+    /**
+     * Replaces the value arrays with arrays of a given capacity,
+     * moving each value to the new slot of its key;
+     * invoked when the table is enlarged or reduced.
+     * The default implementation does nothing.
+     * 
+     * @param capacity  the given capacity
+     * @param moves     the new slot of the key in each old slot;
+     *                  -1 if the old slot was empty
+     */
+    protected void relocateValues( int capacity, int[] moves )
+    {
+        // no values to relocate
+    }
+    
+    /**
+     * Finds the slot containing a given key
+     * or, if the key is not present,
+     * the empty slot at which its probe sequence ends.
+     * 
+     * @param key   the given key
+     * 
+     * @return  the slot containing the given key,
+     *          or the empty slot at which its probe sequence ends
+     */
+    private int probe( long key )
+    {
+        int slot    = getHome( key );
+        while ( keys[slot] != FREE_KEY && keys[slot] != key )
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+    
+    /**
+     * Gets the home slot of a given key:
+     * the first slot in the key's probe sequence.
+     * The home slot is taken from the low-order bits of the mixed key.
+     * 
+     * @param key   the given key
+     * 
+     * @return  the home slot of the given key
+     */
+    private int getHome( long key )
+    {
+        int home    = (int)mix( key ) & mask;
+        return home;
+    }
+    
+    /**
+     * Moves all keys to a new array of a given capacity,
+     * then has the subclass move its values.
+     * 
+     * @param capacity  the given capacity; must be a power of 2
+     */
+    private void rehash( int capacity )
+    {
+        long[]  oldKeys = keys;
+        int[]   moves   = new int[oldKeys.length];
+        allocate( capacity );
+        for ( int inx = 0 ; inx < oldKeys.length ; ++inx )
+        {
+            long    key     = oldKeys[inx];
+            if ( key == FREE_KEY )
+                moves[inx] = -1;
+            else
+            {
+                int slot    = probe( key );
+                keys[slot] = key;
+                moves[inx] = slot;
+                ++used;
+            }
+        }
+        relocateValues( capacity, moves );
+    }
+    
+    /**
+     * Allocates a new, empty key array of a given capacity.
+     * 
+     * @param capacity  the given capacity; must be a power of 2
+     */
+    private void allocate( int capacity )
+    {
+        keys = new long[capacity];
+        Arrays.fill( keys, FREE_KEY );
+        mask = capacity - 1;
+        used = 0;
+    }
+}
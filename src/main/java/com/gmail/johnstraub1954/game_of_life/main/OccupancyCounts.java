@@ -0,0 +1,224 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Counts the live cells in each row (or each column) of a grid,
+ * and tracks the first and last occupied row (or column).
+ * GridMap keeps one instance for rows and one for columns,
+ * so that the rectangle enclosing all live cells
+ * can be obtained without examining the cells.
+ * <p>
+ * The bounds are maintained incrementally.
+ * A cell born outside the bounds extends them immediately.
+ * When the last cell in the first or last occupied row dies
+ * the corresponding bound is marked stale,
+ * and is recalculated the next time it is requested:
+ * starting from the stale bound,
+ * successive rows are examined until an occupied row is found.
+ * If that takes more steps than there are occupied rows
+ * the bound is instead recalculated from the occupied rows directly.
+ * The cost of a recalculation is therefore no greater than
+ * the number of occupied rows,
+ * and is usually a step or two
+ * (a moving pattern vacates one row at a time);
+ * it is paid only once, however many cells died in the meantime.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#getLiveRectangle()
+ */
+class OccupancyCounts extends LongHashTable
+{
+    /**
+     * Number of live cells in each row, parallel to the keys;
+     * the keys are row numbers, stored as longs so that every int
+     * is a valid row number
+     */
+    private int[]       counts;
+    
+    /**
+     * First occupied row if firstValid is true;
+     * otherwise a row no greater than the first occupied row.
+     */
+    private int         first;
+    /**
+     * Last occupied row if lastValid is true;
+     * otherwise a row no less than the last occupied row.
+     */
+    private int         last;
+    /** True if first is the first occupied row */
+    private boolean     firstValid;
+    /** True if last is the last occupied row */
+    private boolean     lastValid;
+    
+    /**
+     * Default constructor.
+     */
+    public OccupancyCounts()
+    {
+        counts = new int[getCapacity()];
+        first = 0;
+        last = 0;
+        firstValid = true;
+        lastValid = true;
+    }
+    
+    /**
+     * Constructor.
+     * Creates a copy of a given object.
+     * 
+     * @param copyFrom  the given object
+     */
+    public OccupancyCounts( OccupancyCounts copyFrom )
+    {
+        super( copyFrom );
+        counts = copyFrom.counts.clone();
+        first = copyFrom.first;
+        last = copyFrom.last;
+        firstValid = copyFrom.firstValid;
+        lastValid = copyFrom.lastValid;
+    }
+    
+    /**
+     * Records the birth of a cell in a given row.
+     * 
+     * @param row   the given row
+     */
+    public void increment( int row )
+    {
+        int     slot    = addKey( row );
+        if ( counts[slot]++ == 0 )
+        {
+            if ( size() == 1 )
+            {
+                first = row;
+                last = row;
+                firstValid = true;
+                lastValid = true;
+            }
+            else
+            {
+                // If the bound is stale, it is still a limit
+                // on the true bound, so a row beyond it must be
+                // the new bound.
+                if ( row <= first )
+                {
+                    first = row;
+                    firstValid = true;
+                }
+                if ( row >= last )
+                {
+                    last = row;
+                    lastValid = true;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Records the death of a cell in a given row.
+     * The row must contain at least one live cell.
+     * 
+     * @param row   the given row
+     */
+    public void decrement( int row )
+    {
+        int slot    = findSlot( row );
+        if ( slot >= 0 && --counts[slot] == 0 )
+        {
+            removeSlot( slot );
+            if ( row == first )
+                firstValid = false;
+            if ( row == last )
+                lastValid = false;
+        }
+    }
+    
+    /**
+     * Gets the first occupied row.
+     * The result is undefined if there are no occupied rows.
+     * 
+     * @return  the first occupied row
+     */
+    public int getFirst()
+    {
+        if ( !firstValid )
+        {
+            int steps   = 0;
+            int row     = first;
+            while ( steps < size() && findSlot( row ) < 0 )
+            {
+                ++row;
+                ++steps;
+            }
+            first = steps < size() ? row : scan( true );
+            firstValid = true;
+        }
+        return first;
+    }
+    
+    /**
+     * Gets the last occupied row.
+     * The result is undefined if there are no occupied rows.
+     * 
+     * @return  the last occupied row
+     */
+    public int getLast()
+    {
+        if ( !lastValid )
+        {
+            int steps   = 0;
+            int row     = last;
+            while ( steps < size() && findSlot( row ) < 0 )
+            {
+                --row;
+                ++steps;
+            }
+            last = steps < size() ? row : scan( false );
+            lastValid = true;
+        }
+        return last;
+    }
+    
+    /**
+     * Finds the first or last occupied row
+     * by examining every occupied row.
+     * 
+     * @param findFirst true to find the first occupied row,
+     *                  false to find the last
+     * 
+     * @return  the first or last occupied row
+     */
+    private int scan( boolean findFirst )
+    {
+        long    result  = findFirst ? Long.MAX_VALUE : Long.MIN_VALUE;
+        for ( int slot = nextSlot( 0 ) ; slot >= 0 ; slot = nextSlot( slot + 1 ) )
+        {
+            long    key     = getKey( slot );
+            result = findFirst ? Math.min( result, key ) : Math.max( result, key );
+        }
+        return (int)result;
+    }
+    
+    @Override
+    protected void moveValue( int from, int to )
+    {
+        counts[to] = counts[from];
+    }
+    
+    @Override
+    protected void clearValue( int slot )
+    {
+        counts[slot] = 0;
+    }
+    
+    @Override
+    protected void relocateValues( int capacity, int[] moves )
+    {
+        int[]   oldCounts   = counts;
+        counts = new int[capacity];
+        for ( int inx = 0 ; inx < moves.length ; ++inx )
+            if ( moves[inx] >= 0 )
+                counts[moves[inx]] = oldCounts[inx];
+    }
+}
@@ -0,0 +1,327 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Propagation engine that divides the grid into horizontal bands
+ * and calculates the next generation of each band in parallel,
+ * on a ForkJoinPool.
+ * <p>
+ * The region examined is exactly the region examined by
+ * {@link Utils#conwayPropagate(Object)}:
+ * the live rectangle of the grid map plus a margin on every side.
+ * The region is divided into bands of consecutive rows.
+ * Each band first copies the cells it needs
+ * (its own rows plus one row above and below)
+ * from the grid map into a private bit-packed array,
+ * then calculates its births and deaths from that copy.
+ * The grid map is not modified until every band is complete,
+ * so the copies form an immutable view of the current generation.
+ * Finally the births and deaths of all bands
+ * are written to the grid map as a single batch.
+ * The result is identical to that of conwayPropagate,
+ * including for rules that contain B0.
+ * </p>
+ * <p>
+ * The cost of a generation is proportional to the area
+ * of the live rectangle, as it is for conwayPropagate.
+ * For sparse patterns spread over a large area
+ * {@link TiledPropagator} or {@link HashlifeEngine}
+ * is more appropriate.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLProperties#getParallelism()
+ * @see GenerationEngine
+ */
+public class ParallelPropagator
+{
+    /**
+     * The smallest number of rows in a band;
+     * smaller bands do not repay the cost of scheduling them.
+     */
+    public static final int     MIN_BAND_HEIGHT = 16;
+    /**
+     * Number of bands per thread;
+     * more than one band per thread balances the load
+     * when some bands are busier than others.
+     */
+    private static final int    bandsPerThread  = 4;
+    /** Margin added to every side of the live rectangle */
+    private static final int    margin          = 2;
+    
+    /** Pool on which bands are calculated */
+    private final ForkJoinPool  pool;
+    /** Number of threads in pool */
+    private final int           parallelism;
+    
+    /** The grid map whose next generation is under calculation */
+    private GridMap             gridMap;
+    /** The rule used to calculate the current generation */
+    private Rule                rule;
+    /** The first column to evaluate */
+    private int                 firstCol;
+    /** The last column to evaluate */
+    private int                 lastCol;
+    /**
+     * First row of each band;
+     * element <em>n</em> + 1 is one greater than
+     * the last row of band <em>n</em>
+     */
+    private int[]               bandRows;
+    /** The births and deaths calculated by each band */
+    private BandResult[]        results;
+    
+    /**
+     * Constructor.
+     * 
+     * @param parallelism   the number of threads to use
+     * 
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public ParallelPropagator( int parallelism )
+        throws IllegalArgumentException
+    {
+        if ( parallelism < 1 )
+        {
+            String  message = "Invalid parallelism: " + parallelism;
+            throw new IllegalArgumentException( message );
+        }
+        this.parallelism = parallelism;
+        pool = new ForkJoinPool( parallelism );
+    }
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule.
+     * Only cells that change state are written to the grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rule      the given rule
+     */
+    public void nextGeneration( GridMap gridMap, Rule rule )
+    {
+        Rectangle   rect        = gridMap.getLiveRectangle();
+        int         firstRow    = rect.y - margin;
+        int         rowCount    = rect.height + 2 * margin + 1;
+        int         bandCount   =
+            Math.min(
+                parallelism * bandsPerThread,
+                (rowCount + MIN_BAND_HEIGHT - 1) / MIN_BAND_HEIGHT
+            );
+        
+        this.gridMap = gridMap;
+        this.rule = rule;
+        firstCol = rect.x - margin;
+        lastCol = firstCol + rect.width + 2 * margin;
+        bandRows = new int[bandCount + 1];
+        for ( int inx = 0 ; inx <= bandCount ; ++inx )
+            bandRows[inx] =
+                firstRow + (int)((long)rowCount * inx / bandCount);
+        results = new BandResult[bandCount];
+        
+        pool.invoke( new BandTask( 0, bandCount ) );
+        
+        gridMap.applyBatch( map -> {
+            for ( BandResult result : results )
+            {
+                map.putAll( result.births, result.birthCount, true );
+                map.putAll( result.deaths, result.deathCount, false );
+            }
+        });
+        
+        this.gridMap = null;
+        results = null;
+    }
+    
+    /**
+     * Gets the number of threads used by this engine.
+     * 
+     * @return  the number of threads used by this engine
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+    
+    /**
+     * Stops the threads used by this engine.
+     * Generations may not be calculated after this method is invoked.
+     */
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+    
+    /**
+     * Calculates the births and deaths in a given band.
+     * The result is stored in the results array.
+     * 
+     * @param band  the given band
+     */
+    private void calculateBand( int band )
+    {
+        int         firstRow    = bandRows[band];
+        int         rowCount    = bandRows[band + 1] - firstRow;
+        int         originX     = firstCol - 1;
+        int         width       = lastCol - firstCol + 3;
+        int         words       = (width + Long.SIZE - 1) / Long.SIZE;
+        long[][]    rows        = new long[rowCount + 2][words];
+        Rectangle   view        =
+            new Rectangle( originX, firstRow - 1, width, rowCount + 2 );
+        gridMap.forEachLive( view, (xco, yco) -> {
+            int bit = xco - originX;
+            rows[yco - firstRow + 1][bit >> 6] |= 1L << bit;
+        });
+        
+        boolean     birthOnZero = rule.isBirthOnZero();
+        int[]       colSums     = new int[width];
+        BandResult  result      = new BandResult();
+        for ( int row = 1 ; row <= rowCount ; ++row )
+        {
+            long[]  above   = rows[row - 1];
+            long[]  curr    = rows[row];
+            long[]  below   = rows[row + 1];
+            if ( birthOnZero || !isEmpty( above, curr, below ) )
+            {
+                for ( int bit = 0 ; bit < width ; ++bit )
+                    colSums[bit] =
+                        getBit( above, bit )
+                        + getBit( curr, bit )
+                        + getBit( below, bit );
+                int yco     = firstRow + row - 1;
+                for ( int bit = 1 ; bit < width - 1 ; ++bit )
+                {
+                    boolean isAlive = getBit( curr, bit ) != 0;
+                    int     count   =
+                        colSums[bit - 1] + colSums[bit] + colSums[bit + 1]
+                        - (isAlive ? 1 : 0);
+                    if ( rule.nextState( isAlive, count ) != isAlive )
+                        result.add( CellSet.pack( originX + bit, yco ), isAlive );
+                }
+            }
+        }
+        results[band] = result;
+    }
+    
+    /**
+     * Gets the value of a given bit in a bit-packed row.
+     * 
+     * @param row   the given row
+     * @param bit   the given bit
+     * 
+     * @return  the value of the given bit, 0 or 1
+     */
+    private static int getBit( long[] row, int bit )
+    {
+        int value   = (int)(row[bit >> 6] >>> bit) & 1;
+        return value;
+    }
+    
+    /**
+     * Determines whether three bit-packed rows
+     * are all empty.
+     * 
+     * @param above the first row
+     * @param curr  the second row
+     * @param below the third row
+     * 
+     * @return  true if all three rows are empty
+     */
+    private static boolean isEmpty( long[] above, long[] curr, long[] below )
+    {
+        long    bits    = 0;
+        for ( int inx = 0 ; inx < curr.length ; ++inx )
+            bits |= above[inx] | curr[inx] | below[inx];
+        return bits == 0;
+    }
+    
+    /**
+     * Task that calculates a range of bands,
+     * splitting the range in half until only one band remains.
+     * 
+     * @author Jack Straub
+     */
+    private class BandTask extends RecursiveAction
+    {
+        /** Generated serial version UID */
+        private static final long serialVersionUID = -4379161183407751246L;
+        
+        /** The first band in the range */
+        private final int   firstBand;
+        /** One greater than the last band in the range */
+        private final int   endBand;
+        
+        /**
+         * Constructor.
+         * 
+         * @param firstBand the first band in the range
+         * @param endBand   one greater than the last band in the range
+         */
+        public BandTask( int firstBand, int endBand )
+        {
+            this.firstBand = firstBand;
+            this.endBand = endBand;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            if ( endBand - firstBand == 1 )
+                calculateBand( firstBand );
+            else
+            {
+                int mid = (firstBand + endBand) >>> 1;
+                invokeAll(
+                    new BandTask( firstBand, mid ),
+                    new BandTask( mid, endBand )
+                );
+            }
+        }
+    }
+    
+    /**
+     * The births and deaths calculated by a single band,
+     * as packed coordinates (see {@link CellSet#pack(int, int)}).
+     * 
+     * @author Jack Straub
+     */
+    private static class BandResult
+    {
+        /** Cells that come alive; the first birthCount are valid */
+        private long[]  births      = new long[16];
+        /** Number of valid elements in births */
+        private int     birthCount  = 0;
+        /** Cells that die; the first deathCount are valid */
+        private long[]  deaths      = new long[16];
+        /** Number of valid elements in deaths */
+        private int     deathCount  = 0;
+        
+        /**
+         * Records a cell that changes state.
+         * 
+         * @param packed    the packed coordinates of the cell
+         * @param isAlive   the current state of the cell;
+         *                  true if the cell dies
+         */
+        public void add( long packed, boolean isAlive )
+        {
+            if ( isAlive )
+            {
+                if ( deathCount == deaths.length )
+                    deaths = Arrays.copyOf( deaths, deathCount * 2 );
+                deaths[deathCount++] = packed;
+            }
+            else
+            {
+                if ( birthCount == births.length )
+                    births = Arrays.copyOf( births, birthCount * 2 );
+                births[birthCount++] = packed;
+            }
+        }
+    }
+}
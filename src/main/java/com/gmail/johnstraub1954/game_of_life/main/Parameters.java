@@ -8,6 +8,9 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_BIRTH
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_GRID_LATEST_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_GRID_URL_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.CTRL_SURVIVAL_STATES_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GENERATION_ENGINE_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_FPS_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ACTIVE_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_CLICKED_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_COLOR_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_CELL_ORIGIN_PN;
@@ -23,7 +26,9 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGI
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_LEFT_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_RIGHT_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_MARGIN_TOP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_RASTER_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_WIDTH_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.GRID_ZOOM_OUT_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_EMAIL_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_NAME_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MISC_AUTHOR_TIME_PN;
@@ -32,6 +37,9 @@ import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MODIFIED_G
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MODIFIED_GUI_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MODIFIED_METADATA_PN;
 import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.MODIFIED_PATTERN_DATA_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_CATCH_UP_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TIMER_OVERLOAD_PN;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.TURBO_FPS_PN;
 
 import java.awt.Color;
 import java.awt.Point;
@@ -73,6 +81,13 @@ public enum Parameters
     /** Auto-regeneration maximum value (generations per second) */
     private float               autoRegenerationPaceMax;
 
+    /** Frame rate at which the grid is refreshed in turbo mode */
+    private int                 turboFrameRate;
+    /** What happens when the animation timer falls behind */
+    private GOLTimer.OverloadPolicy timerOverloadPolicy;
+    /** Maximum number of late generations calculated back to back */
+    private int                 timerCatchUpLimit;
+
     /** Background color of the grid */
     private Color               gridColor;
     /** Top margin of grid */
@@ -99,6 +114,14 @@ public enum Parameters
     private int                 gridCellSize;
     /** Grid cell color (for live cells) */
     private Color               gridCellColor;
+    /** Raster rendering on/off */
+    private boolean             gridRaster;
+    /** Number of cells along each side of the block drawn as one pixel */
+    private int                 gridZoomOut;
+    /** Active rendering on/off; takes effect when the grid is created */
+    private boolean             gridActive;
+    /** Frames per second drawn when active rendering is on */
+    private int                 gridActiveFrameRate;
     /** 
      * Indicates whether the application should try to center the grid
      * with each new generation.
@@ -168,9 +191,9 @@ public enum Parameters
      */
     private boolean             modifiedPatternData;
     /**
-     * Procedure to invoke when spawning a new generation.
+     * Engine that calculates new generations.
      */
-    private Consumer<Object>    propagateProc;
+    private GenerationEngine    generationEngine;
     
     /** Support for PropertyChangeListeners */
     private final PropertyChangeSupport propChangeSupport   = 
@@ -196,6 +219,9 @@ public enum Parameters
         autoRegenerationPace = props.getAutoRegenPace();
         autoRegenerationPaceMin = props.getAutoRegenPaceMin();
         autoRegenerationPaceMax = props.getAutoRegenPaceMax();
+        turboFrameRate = props.getTurboFrameRate();
+        timerOverloadPolicy = props.getTimerOverloadPolicy();
+        timerCatchUpLimit = props.getTimerCatchUpLimit();
         
         gridColor = props.getGridColor();
         gridMarginTop = props.getGridMarginTop();
@@ -209,9 +235,13 @@ public enum Parameters
         gridLineColor = props.getGridLineColor();
         gridCellSize = props.getGridCellSize();
         gridCellColor = props.getGridCellColor();
+        gridRaster = props.getGridRaster();
+        gridZoomOut = props.getGridZoomOut();
+        gridActive = props.getGridActive();
+        gridActiveFrameRate = props.getGridActiveFrameRate();
         gridKeepCentered = props.getGridKeepCentered();
         
-        propagateProc = props.getPropagateProc();
+        generationEngine = props.getGenerationEngine();
         
         initPatternParameters();
         addPropertyChangeListener( 
@@ -473,6 +503,96 @@ public enum Parameters
             firePropertyChange( propName, oldVal, newVal );
     }
 
+    /**
+     * Gets the frame rate at which the grid is refreshed
+     * in turbo mode.
+     * 
+     * @return the turbo frame rate, in frames per second
+     */
+    public int getTurboFrameRate()
+    {
+        return turboFrameRate;
+    }
+    
+    /**
+     * Sets the frame rate at which the grid is refreshed
+     * in turbo mode.
+     * The new rate takes effect the next time turbo mode is started.
+     * 
+     * @param fps   the turbo frame rate, in frames per second
+     */
+    public void setTurboFrameRate( int fps )
+    {
+        int     oldVal      = this.turboFrameRate;
+        int     newVal      = fps;
+        String  propName    = TURBO_FPS_PN;
+        this.turboFrameRate = fps;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
+    /**
+     * Gets the policy that determines what happens
+     * when the animation timer falls behind.
+     * 
+     * @return the timer overload policy
+     */
+    public GOLTimer.OverloadPolicy getTimerOverloadPolicy()
+    {
+        return timerOverloadPolicy;
+    }
+    
+    /**
+     * Sets the policy that determines what happens
+     * when the animation timer falls behind.
+     * The new policy takes effect
+     * the next time the animation pace changes.
+     * 
+     * @param policy    the timer overload policy
+     */
+    public void setTimerOverloadPolicy( GOLTimer.OverloadPolicy policy )
+    {
+        GOLTimer.OverloadPolicy oldVal      = this.timerOverloadPolicy;
+        GOLTimer.OverloadPolicy newVal      = policy;
+        String                  propName    = TIMER_OVERLOAD_PN;
+        this.timerOverloadPolicy = policy;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
+    /**
+     * Gets the maximum number of late generations
+     * calculated back to back
+     * when the timer overload policy is CATCH_UP,
+     * or at once when it is COALESCE.
+     * 
+     * @return the timer catch-up limit
+     */
+    public int getTimerCatchUpLimit()
+    {
+        return timerCatchUpLimit;
+    }
+    
+    /**
+     * Sets the maximum number of late generations
+     * calculated back to back
+     * when the timer overload policy is CATCH_UP,
+     * or at once when it is COALESCE.
+     * The new limit takes effect
+     * the next time the animation pace changes.
+     * 
+     * @param limit the timer catch-up limit
+     */
+    public void setTimerCatchUpLimit( int limit )
+    {
+        int     oldVal      = this.timerCatchUpLimit;
+        int     newVal      = limit;
+        String  propName    = TIMER_CATCH_UP_PN;
+        this.timerCatchUpLimit = limit;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+
     /**
      * Gets the gridColor parameter.
      * 
@@ -771,6 +891,108 @@ public enum Parameters
             firePropertyChange( propName, oldVal, newVal );
     }
     
+    /**
+     * Gets the gridRaster parameter.
+     * 
+     * @return the gridRaster
+     */
+    public boolean isGridRaster()
+    {
+        return gridRaster;
+    }
+    
+    /**
+     * Sets the gridRaster parameter.
+     * 
+     * @param gridRaster the gridRaster to set
+     */
+    public void setGridRaster(boolean gridRaster)
+    {
+        boolean oldVal      = this.gridRaster;
+        boolean newVal      = gridRaster;
+        String  propName    = GRID_RASTER_PN;
+        this.gridRaster = gridRaster;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
+    /**
+     * Gets the gridZoomOut parameter.
+     * 
+     * @return the gridZoomOut
+     */
+    public int getGridZoomOut()
+    {
+        return gridZoomOut;
+    }
+    
+    /**
+     * Sets the gridZoomOut parameter.
+     * 
+     * @param gridZoomOut the gridZoomOut to set
+     */
+    public void setGridZoomOut(int gridZoomOut)
+    {
+        int     oldVal      = this.gridZoomOut;
+        int     newVal      = gridZoomOut;
+        String  propName    = GRID_ZOOM_OUT_PN;
+        this.gridZoomOut = gridZoomOut;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
+    /**
+     * Gets the gridActive parameter.
+     * 
+     * @return the gridActive
+     */
+    public boolean isGridActive()
+    {
+        return gridActive;
+    }
+    
+    /**
+     * Sets the gridActive parameter.
+     * The change takes effect the next time the grid is created.
+     * 
+     * @param gridActive the gridActive to set
+     */
+    public void setGridActive(boolean gridActive)
+    {
+        boolean oldVal      = this.gridActive;
+        boolean newVal      = gridActive;
+        String  propName    = GRID_ACTIVE_PN;
+        this.gridActive = gridActive;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
+    /**
+     * Gets the gridActiveFrameRate parameter.
+     * 
+     * @return the gridActiveFrameRate
+     */
+    public int getGridActiveFrameRate()
+    {
+        return gridActiveFrameRate;
+    }
+    
+    /**
+     * Sets the gridActiveFrameRate parameter.
+     * Values less than 1 are treated as 1.
+     * 
+     * @param fps the gridActiveFrameRate to set
+     */
+    public void setGridActiveFrameRate( int fps )
+    {
+        int     oldVal      = this.gridActiveFrameRate;
+        int     newVal      = Math.max( fps, 1 );
+        String  propName    = GRID_ACTIVE_FPS_PN;
+        this.gridActiveFrameRate = newVal;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+    }
+    
     /**
      * Gets the GridMap managed by this Parameters object.
      * If the parameter has not been set by the user,
@@ -1256,26 +1478,39 @@ public enum Parameters
     }
     
     /**
-     * Get the procedure registered to spawn the next generation
+     * Gets the engine that calculates new generations
      * of a cellular automaton.
      * 
-     * @return  the procedure registered to spawn the next generation
+     * @return  the engine that calculates new generations
      *          of a cellular automaton
      */
-    public Consumer<Object> getPropagateProc()
+    public GenerationEngine getGenerationEngine()
     {
-        return propagateProc;
+        return generationEngine;
     }
     
     /**
-     * Registers the procedure to propagate the next generation
+     * Installs the engine that calculates new generations
      * of a cellular automaton.
+     * The previously installed engine, if different, is closed.
+     * 
+     * @param engine    the engine to install
      * 
-     * @param proc  the procedure to register
+     * @see GenerationEngine#close()
      */
-    public void setPropagateProc( Consumer<Object> proc )
+    public void setGenerationEngine( GenerationEngine engine )
     {
-        propagateProc = proc;
+        GenerationEngine    oldVal      = generationEngine;
+        GenerationEngine    newVal      = engine;
+        String              propName    = GENERATION_ENGINE_PN;
+        generationEngine = engine;
+        propChangeSupport.
+            firePropertyChange( propName, oldVal, newVal );
+        
+        // close the old engine after the listeners have
+        // stopped using it
+        if ( oldVal != null && oldVal != newVal )
+            oldVal.close();
     }
 
     /**
@@ -1299,6 +1534,23 @@ public enum Parameters
         fireNotificationEvent( GOLConstants.ACTION_RESET_PN );
     }
     
+    /**
+     * Fires a NotificationEvent to NotificationListeners
+     * announcing that a batch of changes
+     * has been applied to a grid map.
+     * The event's property name will
+     * be set to GOLConstants.ACTION_GRID_BATCH_PN,
+     * and its source will be the given summary.
+     * 
+     * @param summary   summary of the changes in the batch
+     * 
+     * @see GridMap#applyBatch(java.util.function.Consumer)
+     */
+    public void gridBatchApplied( GridChangeSummary summary )
+    {
+        fireNotificationEvent( GOLConstants.ACTION_GRID_BATCH_PN, summary );
+    }
+    
     /**
      * Fires a NotificationEvent to NotificationListeners.
      * The event's property name will
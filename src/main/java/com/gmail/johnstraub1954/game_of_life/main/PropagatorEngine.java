@@ -0,0 +1,214 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Generation engine that adapts a propagation procedure,
+ * such as {@link TiledPropagator#nextGeneration(GridMap, Rule)},
+ * to the {@link GenerationEngine} interface.
+ * <p>
+ * All the generations requested by a single step
+ * are calculated within a single batch,
+ * so that listeners are notified
+ * once per step rather than once per generation,
+ * and a reader of the map's snapshots
+ * never sees an intermediate generation.
+ * Rules that the engine does not support
+ * are delegated to {@link ConwayPropagator#nextGeneration(GridMap, Rule)},
+ * using a propagator that belongs to this engine.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see StandardEngineProvider
+ */
+public class PropagatorEngine implements GenerationEngine
+{
+    /** The name of this engine */
+    private final String            name;
+    /** The capabilities of this engine */
+    private final Set<Capability>   capabilities;
+    /** Advances a grid map by a given number of generations */
+    private final Stepper           stepper;
+    /** Invoked when this engine is closed; may be null */
+    private final Runnable          closer;
+    /** 
+     * Calculates generations using rules this engine does not support;
+     * not shared with other engines, which may run on other threads
+     */
+    private final ConwayPropagator  fallback    = new ConwayPropagator();
+    
+    /**
+     * Advances a given grid map by a given number of generations
+     * using a given rule.
+     * 
+     * @author Jack Straub
+     */
+    @FunctionalInterface
+    public interface Stepper
+    {
+        /**
+         * Advances a given grid map by a given number of generations
+         * using a given rule.
+         * 
+         * @param gridMap   the given grid map
+         * @param rule      the given rule
+         * @param count     the given number of generations
+         */
+        void advance( GridMap gridMap, Rule rule, int count );
+    }
+    
+    /**
+     * Constructor.
+     * Adapts a procedure that calculates a single generation.
+     * 
+     * @param name          the name of this engine
+     * @param generation    the procedure that calculates
+     *                      a single generation
+     * @param capabilities  the capabilities of this engine
+     */
+    public PropagatorEngine(
+        String                      name,
+        BiConsumer<GridMap, Rule>   generation,
+        Set<Capability>             capabilities
+    )
+    {
+        this( name, repeat( generation ), capabilities, null );
+    }
+    
+    /**
+     * Constructor.
+     * 
+     * @param name          the name of this engine
+     * @param stepper       the procedure that advances a grid map
+     *                      by a given number of generations
+     * @param capabilities  the capabilities of this engine
+     * @param closer        invoked when this engine is closed;
+     *                      may be null
+     */
+    public PropagatorEngine(
+        String          name,
+        Stepper         stepper,
+        Set<Capability> capabilities,
+        Runnable        closer
+    )
+    {
+        this.name = name;
+        this.stepper = stepper;
+        this.capabilities =
+            Collections.unmodifiableSet( EnumSet.copyOf( capabilities ) );
+        this.closer = closer;
+    }
+    
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+    
+    @Override
+    public Set<Capability> getCapabilities()
+    {
+        return capabilities;
+    }
+    
+    @Override
+    public boolean supportsRule( Rule rule )
+    {
+        Capability  required    =
+            rule.isBirthOnZero() ?
+            Capability.B0_RULES : Capability.LIFE_LIKE_RULES;
+        boolean     result      = capabilities.contains( required );
+        return result;
+    }
+    
+    @Override
+    public void advance( int count )
+        throws IllegalArgumentException
+    {
+        advance( Parameters.INSTANCE.getGridMap(), Rule.fromParameters(), count );
+    }
+    
+    @Override
+    public void advance( GridMap gridMap, Rule rule, int count )
+        throws IllegalArgumentException
+    {
+        if ( count < 1 )
+        {
+            String  message = "Invalid generation count: " + count;
+            throw new IllegalArgumentException( message );
+        }
+        
+        // begin and end the batch directly, rather than via applyBatch,
+        // so that advancing a detached map allocates nothing
+        gridMap.beginBatch();
+        try
+        {
+            if ( supportsRule( rule ) )
+                stepper.advance( gridMap, rule, count );
+            else
+                for ( int gen = 0 ; gen < count ; ++gen )
+                    fallback.nextGeneration( gridMap, rule );
+        }
+        finally
+        {
+            gridMap.endBatch();
+        }
+    }
+    
+    @Override
+    public int population()
+    {
+        int population  = Parameters.INSTANCE.getGridMap().getPopulation();
+        return population;
+    }
+    
+    @Override
+    public GridSnapshot snapshot()
+    {
+        GridSnapshot    snapshot    =
+            Parameters.INSTANCE.getGridMap().getSnapshot();
+        return snapshot;
+    }
+    
+    @Override
+    public void close()
+    {
+        if ( closer != null )
+            closer.run();
+    }
+    
+    /**
+     * Returns a string representation of this engine:
+     * its name.
+     * 
+     * @return  a string representation of this engine
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+    
+    /**
+     * Creates a stepper that invokes a procedure
+     * that calculates a single generation
+     * once for each generation requested.
+     * 
+     * @param generation    the procedure that calculates
+     *                      a single generation
+     * 
+     * @return  the stepper
+     */
+    private static Stepper repeat( BiConsumer<GridMap, Rule> generation )
+    {
+        Stepper stepper = (map, rule, count) -> {
+            for ( int gen = 0 ; gen < count ; ++gen )
+                generation.accept( map, rule );
+        };
+        return stepper;
+    }
+}
@@ -5,6 +5,8 @@ import java.awt.Rectangle;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -57,6 +59,13 @@ public class RLEDescriptor implements Iterable<Character>
     private Point               upperLeftCorner = null;
     /** Grid map for obtaining pattern data */
     private GridMap             gridMap         = null;
+    /**
+     * Snapshot of gridMap, taken the first time the pattern data
+     * is needed; all pattern data is obtained from the snapshot,
+     * so the header line and the encoded grid are consistent
+     * even if the grid map changes in the meantime.
+     */
+    private GridSnapshot        snapshot        = null;
     
     /**
      * Default constructor.
@@ -99,7 +108,7 @@ public class RLEDescriptor implements Iterable<Character>
         authorTime = params.getAuthorTime();
         gridMap = params.getGridMap();
         if ( gridMap != null )
-            upperLeftCorner = gridMap.getUpperLeftCorner();
+            upperLeftCorner = getSnapshot().getUpperLeftCorner();
     }
     
     /**
@@ -195,7 +204,7 @@ public class RLEDescriptor implements Iterable<Character>
             return upperLeftCorner;
         
         if ( gridMap != null )
-            return gridMap.getUpperLeftCorner();
+            return getSnapshot().getUpperLeftCorner();
         
         return new Point( 0, 0 );
     }
@@ -355,6 +364,21 @@ public class RLEDescriptor implements Iterable<Character>
     public void setGridMap( GridMap gridMap )
     {
         this.gridMap = gridMap;
+        snapshot = null;
+    }
+    
+    /**
+     * Gets the snapshot of the encapsulated grid map,
+     * taking it if necessary.
+     * The encapsulated grid map may not be null.
+     * 
+     * @return  the snapshot of the encapsulated grid map
+     */
+    private GridSnapshot getSnapshot()
+    {
+        if ( snapshot == null )
+            snapshot = gridMap.getSnapshot();
+        return snapshot;
     }
     
     /**
@@ -420,7 +444,7 @@ public class RLEDescriptor implements Iterable<Character>
             if ( gridMap == null )
                 upperLeftCorner = new Point( 0, 0 );
             else
-                upperLeftCorner = gridMap.getUpperLeftCorner();
+                upperLeftCorner = getSnapshot().getUpperLeftCorner();
         }
         
         StringBuilder   bBldr   = new StringBuilder( "B" );
@@ -450,7 +474,8 @@ public class RLEDescriptor implements Iterable<Character>
      */
     public Iterator<Character> iterator() throws NullPointerException
     {
-        Iterator<Character> iterator    = new CellIterator( gridMap );
+        Iterator<Character> iterator    = 
+            new CellIterator( getSnapshot() );
         return iterator;
     }
     
@@ -458,17 +483,51 @@ public class RLEDescriptor implements Iterable<Character>
      * Encodes the encapsulated grid in RLE format.
      * Returns the encoding as a list of strings suitable for
      * writing to an output sink as individual lines of text.
+     * The encapsulated grid map may not be null.
      * 
      * @return  the encoding of the encapsulated grid map in RLE format
+     * 
+     * @see #write(Writer)
      */
     public List<String> getEncodedGrid()
     {
-        RLEGridEncoder  encoder = new RLEGridEncoder( this );
-        encoder.encode();
-        List<String>    lines   = encoder.getLines();
+        StringWriter    writer  = new StringWriter();
+        new RLERunEncoder( writer ).encode( getSnapshot() );
+        List<String>    lines   = new ArrayList<>();
+        for ( String line : writer.toString().split( System.lineSeparator() ) )
+            lines.add( line );
         return lines;
     }
     
+    /**
+     * Writes a complete RLE file to a given stream:
+     * the header comments, the header line,
+     * and the encoded grid.
+     * The encoded grid is written as it is encoded,
+     * so it is never held in memory in its entirety.
+     * The encapsulated grid map may not be null.
+     * The stream is flushed, but not closed.
+     * 
+     * @param writer    the given stream
+     * 
+     * @throws GOLException if the stream cannot be written
+     */
+    public void write( Writer writer ) throws GOLException
+    {
+        String  endl    = System.lineSeparator();
+        try
+        {
+            for ( String comment : getHeaderComments() )
+                writer.write( comment + endl );
+            writer.write( getHeaderLine() + endl );
+        }
+        catch ( IOException exc )
+        {
+            throw new GOLException( "I/O error", exc );
+        }
+        new RLERunEncoder( writer ).encode( getSnapshot() );
+    }
+    
     /**
      * Sequentially iterates over every "significant" cell 
      * in the encapsulated gridMap.
@@ -487,8 +546,8 @@ public class RLEDescriptor implements Iterable<Character>
      */
     private static class CellIterator implements Iterator<Character>
     {
-        /** The grid map to traverse */
-        private final GridMap   gridMap;
+        /** Snapshot of the grid map to traverse */
+        private final GridSnapshot  gridMap;
         /** The live rectangle within the grid map to traverse */
         private final Rectangle liveRect;
         /** 
@@ -527,10 +586,10 @@ public class RLEDescriptor implements Iterable<Character>
         /**
          * Constructor.
          * 
-         * @param map   the grid map to traverse;
+         * @param map   snapshot of the grid map to traverse;
          *              may not be null
          */
-        public CellIterator( GridMap map )
+        public CellIterator( GridSnapshot map )
         {
             gridMap = map;
             liveRect = gridMap.getLiveRectangle();
@@ -573,8 +632,7 @@ public class RLEDescriptor implements Iterable<Character>
                 throw new NoSuchElementException( "iterator overflow" );
             if ( nextX <= lastLiveX )
             {
-                Cell    nextCell    = gridMap.get( nextX++, currY );
-                lastChar = nextCell.isAlive() ? 'o' : 'b';
+                lastChar = gridMap.isAlive( nextX++, currY ) ? 'o' : 'b';
             }
             else
             {
@@ -610,9 +668,8 @@ public class RLEDescriptor implements Iterable<Character>
             if ( ++currY < lastY )
             {
                 int col = lastX - 1;
-                Cell    cell    = gridMap.get( col, currY );
-                while ( !cell.isAlive() && col >= 0 )
-                    cell = gridMap.get( --col, currY );
+                while ( !gridMap.isAlive( col, currY ) && col >= 0 )
+                    --col;
                 lastLiveX = col;
             }
             nextX = firstX;
@@ -2,6 +2,7 @@ package com.gmail.johnstraub1954.game_of_life.main;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.regex.Matcher;
@@ -19,6 +20,10 @@ import java.util.regex.Pattern;
  * of a Game of Life Pattern. It is broken into a separate class
  * in order to facilitate testing.
  * 
+ * This class holds the complete input sequence in memory.
+ * To decode a large pattern directly from a stream
+ * use {@link RLERunDecoder}.
+ *  
  * @author Jack Straub
  * 
  * @see <a href=https://conwaylife.com/wiki/Run_Length_Encoded>
@@ -127,6 +132,27 @@ public class RLEGridDecoder implements Iterable<Character>
         }
     }
 
+    /**
+     * Decodes the input sequence,
+     * passing each run of live cells to a given consumer.
+     * 
+     * @param originX   the x-coordinate of the first cell
+     *                  in each row of the grid
+     * @param originY   the y-coordinate of the first row of the grid
+     * @param sink      the given consumer
+     * 
+     * @return  the number of live cells decoded
+     * 
+     * @see RLERunDecoder#decode(int, int, RLERunConsumer)
+     */
+    public long decode( int originX, int originY, RLERunConsumer sink )
+    {
+        RLERunDecoder   decoder =
+            new RLERunDecoder( new StringReader( codes.toString() ) );
+        long            live    = decoder.decode( originX, originY, sink );
+        return live;
+    }
+    
     /**
      * Returns an iterator that sequentially traverses
      * the input sequence for a grid for a run length encoded
@@ -95,6 +95,25 @@ public class RLEInput
     private Point               upperLeft       = new Point( 0, 0 );
     private RLEGridDecoder      gridDecoder;
     private GridMap             gridMap         = null;
+    /**
+     * The URL that the input was read from,
+     * if the encoded grid was decoded directly from it
+     * into the grid map given to the constructor;
+     * the encoded grid is read again from this URL
+     * when it is decoded into another grid map.
+     * Null if the input was not read from a URL.
+     */
+    private URL                 source          = null;
+    /**
+     * The decoded pattern, if the encoded grid was decoded
+     * directly from an input stream
+     * into the grid map given to the constructor;
+     * a stream cannot be read a second time,
+     * so a copy of the pattern is kept instead.
+     * Null otherwise, in which case either source
+     * or gridDecoder holds the encoded grid.
+     */
+    private GridSnapshot        pattern         = null;
 
     public RLEInput( String path )
     {
@@ -102,6 +121,52 @@ public class RLEInput
     }
     
     public RLEInput( File path )
+    {
+        this( path, null );
+    }
+    
+    /**
+     * Constructor.
+     * Reads a given file.
+     * If a target grid map is given
+     * the encoded grid is decoded, as it is read,
+     * directly into the target grid map,
+     * and the text of the encoded grid is never held in memory;
+     * the target grid map should be empty.
+     * Otherwise the encoded grid is retained by the
+     * {@link #getGridDecoder() grid decoder}.
+     * 
+     * @param path      the given file
+     * @param target    the target grid map; may be null
+     * 
+     * @throws GOLException if the file cannot be read or parsed
+     */
+    public RLEInput( File path, GridMap target )
+    {
+        this( path, target, 1 );
+    }
+    
+    /**
+     * Constructor.
+     * Reads a given file,
+     * decoding the encoded grid into a target grid map
+     * on a given number of threads.
+     * If the number of threads is greater than 1
+     * the encoded grid is read into memory,
+     * then decoded by an {@link RLEParallelDecoder};
+     * otherwise this constructor is equivalent to
+     * {@link #RLEInput(File, GridMap)}.
+     * 
+     * @param path      the given file
+     * @param target    the target grid map; may be null,
+     *                  in which case the number of threads is ignored
+     * @param threads   the given number of threads
+     * 
+     * @throws GOLException if the file cannot be read or parsed
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public RLEInput( File path, GridMap target, int threads )
+        throws GOLException, IllegalArgumentException
     {
         try
         {
@@ -111,7 +176,7 @@ public class RLEInput
                 throw new GOLException( message );
             };
             URL url = path.toURI().toURL();
-            parse( url );
+            parse( url, target, threads );
         }
         catch ( IOException exc )
         {
@@ -120,10 +185,27 @@ public class RLEInput
     }
     
     public RLEInput( URL url )
+    {
+        this( url, null );
+    }
+    
+    /**
+     * Constructor.
+     * Reads a given URL,
+     * optionally decoding the encoded grid into a target grid map.
+     * 
+     * @param url       the given URL
+     * @param target    the target grid map; may be null
+     * 
+     * @throws GOLException if the URL cannot be read or parsed
+     * 
+     * @see #RLEInput(File, GridMap)
+     */
+    public RLEInput( URL url, GridMap target )
     {
         try
         {
-            parse( url );
+            parse( url, target, 1 );
         }
         catch ( IOException exc )
         {
@@ -132,10 +214,49 @@ public class RLEInput
     }
     
     public RLEInput( InputStream inStream )
+    {
+        this( inStream, null );
+    }
+    
+    /**
+     * Constructor.
+     * Reads a given stream,
+     * optionally decoding the encoded grid into a target grid map.
+     * 
+     * @param inStream  the given stream
+     * @param target    the target grid map; may be null
+     * 
+     * @throws GOLException if the stream cannot be read or parsed
+     * 
+     * @see #RLEInput(File, GridMap)
+     */
+    public RLEInput( InputStream inStream, GridMap target )
+    {
+        this( inStream, target, 1 );
+    }
+    
+    /**
+     * Constructor.
+     * Reads a given stream,
+     * decoding the encoded grid into a target grid map
+     * on a given number of threads.
+     * 
+     * @param inStream  the given stream
+     * @param target    the target grid map; may be null,
+     *                  in which case the number of threads is ignored
+     * @param threads   the given number of threads
+     * 
+     * @throws GOLException if the stream cannot be read or parsed
+     * @throws IllegalArgumentException if threads is less than 1
+     * 
+     * @see #RLEInput(File, GridMap, int)
+     */
+    public RLEInput( InputStream inStream, GridMap target, int threads )
+        throws GOLException, IllegalArgumentException
     {
         try
         {
-            parse( inStream );
+            parse( inStream, target, threads );
         }
         catch ( IOException exc )
         {
@@ -252,16 +373,111 @@ public class RLEInput
         return gridDecoder;
     }
     
-    private void parse( URL url ) throws IOException
+    /**
+     * Decodes the encoded grid into a new grid map,
+     * positioned at the upper-left corner given in the header.
+     * If the encoded grid was decoded into a target grid map
+     * when this object was constructed
+     * it is read again from its file or URL;
+     * if it was read from a stream
+     * the new grid map is a copy of the pattern
+     * as it was when it was decoded,
+     * copied run by run, in row-major order,
+     * as fast as the pattern was first decoded.
+     * 
+     * @return  the new grid map
+     * 
+     * @see #decodeGridMap(GridMap)
+     */
+    public GridMap decodeGridMap()
+    {
+        GridMap map = decodeGridMap( new GridMap() );
+        return map;
+    }
+    
+    /**
+     * Decodes the encoded grid into a given grid map,
+     * positioned at the upper-left corner given in the header.
+     * The given map should be empty;
+     * dead cells in the encoded grid are not recorded.
+     * The live cells are added to the grid map as a single batch,
+     * so that listeners are notified once
+     * rather than once per cell.
+     * 
+     * @param map   the given grid map
+     * 
+     * @return  the given grid map
+     * 
+     * @see #decodeGridMap()
+     */
+    public GridMap decodeGridMap( GridMap map )
     {
+        if ( source != null )
+            new RLEInput( source, map );
+        else if ( pattern != null )
+            map.applyBatch( m -> pattern.forEachRun( getInserter( m ) ) );
+        else
+            map.applyBatch( m ->
+                gridDecoder.decode( upperLeft.x, upperLeft.y, getInserter( m ) )
+            );
+        return map;
+    }
+    
+    /**
+     * Gets a consumer that sets every cell
+     * in a run of live cells
+     * to alive in a given grid map.
+     * 
+     * @param map   the given grid map
+     * 
+     * @return  a consumer that sets the cells in a run of live cells
+     *          to alive in the given grid map
+     */
+    private static RLERunConsumer getInserter( GridMap map )
+    {
+        RLERunConsumer  inserter    = (xco, yco, length) -> {
+            for ( int inx = 0 ; inx < length ; ++inx )
+                map.set( xco + inx, yco, true );
+        };
+        return inserter;
+    }
+    
+    private void parse( URL url, GridMap target, int threads )
+        throws IOException
+    {
+        if ( target != null )
+            source = url;
         try ( InputStream inStream = url.openStream(); )
         {
-            parse( inStream );
+            parse( inStream, target, threads );
         }
     }
-        
-    private void parse( InputStream inStream ) throws IOException
+    
+    /**
+     * Parses a given stream.
+     * If a target grid map is given the encoded grid
+     * is decoded into it, on the given number of threads;
+     * otherwise it is retained by a new RLEGridDecoder.
+     * If the grid was decoded into a target grid map
+     * and the stream was not opened from a URL
+     * a copy of the decoded pattern is kept,
+     * so that it can be decoded again.
+     * 
+     * @param inStream  the given stream
+     * @param target    the target grid map; may be null
+     * @param threads   the given number of threads
+     * 
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    private void parse( InputStream inStream, GridMap target, int threads )
+        throws IOException, IllegalArgumentException
     {
+        if ( threads < 1 )
+        {
+            String  message = "Invalid thread count: " + threads;
+            throw new IllegalArgumentException( message );
+        }
         try ( 
             InputStreamReader inReader = new InputStreamReader( inStream );
             BufferedReader bufReader = new BufferedReader( inReader );
@@ -281,7 +497,29 @@ public class RLEInput
                 if ( headerPresent )
                     bufReader.reset();
             }
-            gridDecoder = new RLEGridDecoder( bufReader );
+            if ( target == null )
+                gridDecoder = new RLEGridDecoder( bufReader );
+            else if ( threads > 1 )
+            {
+                RLEParallelDecoder  decoder = new RLEParallelDecoder( threads );
+                try
+                {
+                    decoder.decode( bufReader, upperLeft.x, upperLeft.y, target );
+                }
+                finally
+                {
+                    decoder.shutdown();
+                }
+            }
+            else
+            {
+                RLERunDecoder   decoder = new RLERunDecoder( bufReader );
+                target.applyBatch( m ->
+                    decoder.decode( upperLeft.x, upperLeft.y, getInserter( m ) )
+                );
+            }
+            if ( target != null && source == null )
+                pattern = target.getSnapshot();
         }
     }
     
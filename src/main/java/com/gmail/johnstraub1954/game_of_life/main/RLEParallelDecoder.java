@@ -0,0 +1,445 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decodes the encoded grid of a large RLE file
+ * on multiple threads, using a ForkJoinPool.
+ * <p>
+ * The encoded grid is read into memory,
+ * then divided into segments of roughly equal length;
+ * each segment except the last ends with a '$',
+ * so every segment begins at the start of a row.
+ * Decoding takes two parallel passes:
+ * </p>
+ * <ol>
+ *     <li>
+ *         Each segment is scanned for '$' tags,
+ *         and their counts are added
+ *         to obtain the number of rows the segment spans;
+ *         the scan also finds the end of the encoded grid
+ *         (a '!', a blank line or a comment),
+ *         if it falls within the segment.
+ *         The row offset of each segment is the sum
+ *         of the rows spanned by the segments that precede it.
+ *     </li>
+ *     <li>
+ *         Each segment is decoded by an {@link RLERunDecoder},
+ *         starting at its row offset,
+ *         and its live cells are collected
+ *         in a private array of packed coordinates.
+ *     </li>
+ * </ol>
+ * <p>
+ * Finally the live cells of all segments are added to the grid map
+ * as a single batch.
+ * The result is identical to that of RLERunDecoder.
+ * The encoded grid is held in memory while it is decoded,
+ * so a file that is too small to divide
+ * into at least two segments of {@link #MIN_SEGMENT_LENGTH}
+ * is decoded on a single thread.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see RLEInput#RLEInput(java.io.File, GridMap, int)
+ * @see GOLProperties#getParallelism()
+ */
+public class RLEParallelDecoder
+{
+    /**
+     * The smallest number of characters in a segment;
+     * smaller segments do not repay the cost of scheduling them.
+     */
+    public static final int     MIN_SEGMENT_LENGTH  = 1 << 16;
+    /**
+     * Number of segments per thread;
+     * more than one segment per thread balances the load
+     * when some segments are denser than others.
+     */
+    private static final int    segmentsPerThread   = 4;
+    
+    /** Pool on which segments are scanned and decoded */
+    private final ForkJoinPool  pool;
+    /** Number of threads in pool */
+    private final int           parallelism;
+    
+    /** The text of the encoded grid */
+    private char[]              text;
+    /** The x-coordinate of the first cell in every row */
+    private int                 originX;
+    /**
+     * Index into text of the start of each segment;
+     * element <em>n</em> + 1 is the end (non-inclusive)
+     * of segment <em>n</em>
+     */
+    private int[]               bounds;
+    /** The number of rows spanned by each segment */
+    private long[]              rows;
+    /**
+     * The index into text of the end of the encoded grid
+     * within each segment;
+     * -1 if the encoded grid doesn't end within the segment
+     */
+    private int[]               ends;
+    /** The y-coordinate of the first row of each segment */
+    private int[]               offsets;
+    /** The live cells decoded from each segment */
+    private SegmentResult[]     results;
+    
+    /**
+     * Constructor.
+     * 
+     * @param parallelism   the number of threads to use
+     * 
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public RLEParallelDecoder( int parallelism )
+        throws IllegalArgumentException
+    {
+        if ( parallelism < 1 )
+        {
+            String  message = "Invalid parallelism: " + parallelism;
+            throw new IllegalArgumentException( message );
+        }
+        this.parallelism = parallelism;
+        pool = new ForkJoinPool( parallelism );
+    }
+    
+    /**
+     * Reads the encoded grid from a given stream,
+     * and decodes it into a given grid map.
+     * The first row of the grid is placed at given coordinates.
+     * The stream is read to its end, but not closed.
+     * The given map should be empty.
+     * 
+     * @param reader    the given stream,
+     *                  positioned before the encoded grid
+     * @param originX   the x-coordinate of the first cell
+     *                  in each row of the grid
+     * @param originY   the y-coordinate of the first row of the grid
+     * @param map       the given grid map
+     * 
+     * @return  the number of live cells decoded
+     * 
+     * @throws GOLException if the stream cannot be read,
+     *         or if a count is too large
+     */
+    public long decode( Reader reader, int originX, int originY, GridMap map )
+        throws GOLException
+    {
+        char[]  buffer  = new char[MIN_SEGMENT_LENGTH];
+        int     length  = 0;
+        try
+        {
+            int count   = 0;
+            while ( count >= 0 )
+            {
+                if ( length == buffer.length )
+                    buffer = Arrays.copyOf( buffer, length * 2 );
+                count = reader.read( buffer, length, buffer.length - length );
+                if ( count > 0 )
+                    length += count;
+            }
+        }
+        catch ( IOException exc )
+        {
+            throw new GOLException( "I/O error", exc );
+        }
+        
+        long    live    = decode( buffer, length, originX, originY, map );
+        return live;
+    }
+    
+    /**
+     * Decodes a given encoded grid into a given grid map.
+     * The first row of the grid is placed at given coordinates.
+     * The given map should be empty.
+     * 
+     * @param text      the text of the given encoded grid;
+     *                  it may be preceded by blank lines and comments
+     * @param length    the number of valid characters in text
+     * @param originX   the x-coordinate of the first cell
+     *                  in each row of the grid
+     * @param originY   the y-coordinate of the first row of the grid
+     * @param map       the given grid map
+     * 
+     * @return  the number of live cells decoded
+     * 
+     * @throws GOLException if a count is too large
+     */
+    public long
+    decode( char[] text, int length, int originX, int originY, GridMap map )
+        throws GOLException
+    {
+        int     start           = getDataStart( text, length );
+        int     segmentCount    =
+            Math.min(
+                parallelism * segmentsPerThread,
+                Math.max( 1, (length - start) / MIN_SEGMENT_LENGTH )
+            );
+        
+        this.text = text;
+        this.originX = originX;
+        bounds = new int[segmentCount + 1];
+        bounds[0] = start;
+        bounds[segmentCount] = length;
+        for ( int inx = 1 ; inx < segmentCount ; ++inx )
+        {
+            int bound   =
+                Math.max(
+                    bounds[inx - 1],
+                    start + (int)((long)(length - start) * inx / segmentCount)
+                );
+            while ( bound < length && text[bound - 1] != '$' )
+                ++bound;
+            bounds[inx] = bound;
+        }
+        rows = new long[segmentCount];
+        ends = new int[segmentCount];
+        offsets = new int[segmentCount];
+        results = new SegmentResult[segmentCount];
+        
+        long    live    = 0;
+        try
+        {
+            pool.invoke( new SegmentTask( 0, segmentCount, false ) );
+            
+            // Segments that follow the end of the encoded grid
+            // are not decoded
+            int     decodeCount = 0;
+            long    nextY       = originY;
+            while ( decodeCount < segmentCount
+                && (decodeCount == 0 || ends[decodeCount - 1] < 0) )
+            {
+                offsets[decodeCount] = (int)nextY;
+                nextY += rows[decodeCount++];
+            }
+            pool.invoke( new SegmentTask( 0, decodeCount, true ) );
+            
+            for ( int inx = 0 ; inx < decodeCount ; ++inx )
+                live += results[inx].count;
+            map.applyBatch( m -> {
+                for ( SegmentResult result : results )
+                    if ( result != null )
+                        m.putAll( result.cells, result.count, true );
+            });
+        }
+        finally
+        {
+            this.text = null;
+            results = null;
+        }
+        return live;
+    }
+    
+    /**
+     * Gets the number of threads used by this decoder.
+     * 
+     * @return  the number of threads used by this decoder
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+    
+    /**
+     * Stops the threads used by this decoder.
+     * Files may not be decoded after this method is invoked.
+     */
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+    
+    /**
+     * Finds the start of the encoded grid in a given text:
+     * the start of the first line
+     * that is neither blank nor a comment.
+     * 
+     * @param text      the given text
+     * @param length    the number of valid characters in text
+     * 
+     * @return  the index of the start of the encoded grid
+     */
+    private static int getDataStart( char[] text, int length )
+    {
+        int     start   = 0;
+        int     inx     = 0;
+        boolean found   = false;
+        while ( !found && inx < length )
+        {
+            char    next    = text[inx];
+            if ( next == '\r' )
+                ++inx;
+            else if ( next == '\n' )
+                start = ++inx;
+            else if ( next == '#' )
+            {
+                while ( inx < length && text[inx] != '\n' )
+                    ++inx;
+                start = inx;
+            }
+            else
+                found = true;
+        }
+        return start;
+    }
+    
+    /**
+     * Counts the rows spanned by a given segment,
+     * and finds the end of the encoded grid within it, if any.
+     * The results are stored in the rows and ends arrays.
+     * 
+     * @param segment   the given segment
+     */
+    private void scanSegment( int segment )
+    {
+        int     end     = bounds[segment + 1];
+        long    count   = 0;
+        long    total   = 0;
+        int     stop    = -1;
+        for ( int inx = bounds[segment] ; inx < end && stop < 0 ; ++inx )
+        {
+            char    next    = text[inx];
+            if ( next >= '0' && next <= '9' )
+                count = Math.min( count * 10 + (next - '0'), Integer.MAX_VALUE );
+            else if ( next == '$' )
+            {
+                total += count == 0 ? 1 : count;
+                count = 0;
+            }
+            else if ( next == '!' )
+                stop = inx;
+            else if ( next == '\n' )
+            {
+                // a blank line or a comment ends the encoded grid
+                int     look    = inx + 1;
+                while ( look < end && text[look] == '\r' )
+                    ++look;
+                if ( look < end && (text[look] == '\n' || text[look] == '#') )
+                    stop = inx;
+            }
+            else if ( next != '\r' && next != ' ' && next != '\t' )
+                count = 0;
+        }
+        rows[segment] = total;
+        ends[segment] = stop;
+    }
+    
+    /**
+     * Decodes a given segment, up to the end of the encoded grid.
+     * The live cells are stored in the results array.
+     * 
+     * @param segment   the given segment
+     * 
+     * @throws GOLException if a count is too large
+     */
+    private void decodeSegment( int segment )
+        throws GOLException
+    {
+        int             start   = bounds[segment];
+        int             end     =
+            ends[segment] < 0 ? bounds[segment + 1] : ends[segment];
+        SegmentResult   result  = new SegmentResult();
+        RLERunDecoder   decoder =
+            new RLERunDecoder(
+                new CharArrayReader( text, start, end - start )
+            );
+        decoder.decode( originX, offsets[segment], result::add );
+        results[segment] = result;
+    }
+    
+    /**
+     * Task that scans or decodes a range of segments,
+     * splitting the range in half until only one segment remains.
+     * 
+     * @author Jack Straub
+     */
+    private class SegmentTask extends RecursiveAction
+    {
+        /** Generated serial version UID */
+        private static final long serialVersionUID = 2816402967327146715L;
+        
+        /** The first segment in the range */
+        private final int       firstSegment;
+        /** One greater than the last segment in the range */
+        private final int       endSegment;
+        /** True to decode the segments, false to scan them */
+        private final boolean   decode;
+        
+        /**
+         * Constructor.
+         * 
+         * @param firstSegment  the first segment in the range
+         * @param endSegment    one greater than the last segment
+         *                      in the range
+         * @param decode        true to decode the segments,
+         *                      false to scan them
+         */
+        public SegmentTask( int firstSegment, int endSegment, boolean decode )
+        {
+            this.firstSegment = firstSegment;
+            this.endSegment = endSegment;
+            this.decode = decode;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            if ( endSegment - firstSegment == 1 )
+            {
+                if ( decode )
+                    decodeSegment( firstSegment );
+                else
+                    scanSegment( firstSegment );
+            }
+            else if ( endSegment - firstSegment > 1 )
+            {
+                int mid = (firstSegment + endSegment) >>> 1;
+                invokeAll(
+                    new SegmentTask( firstSegment, mid, decode ),
+                    new SegmentTask( mid, endSegment, decode )
+                );
+            }
+        }
+    }
+    
+    /**
+     * The live cells decoded from a single segment,
+     * as packed coordinates (see {@link CellSet#pack(int, int)}).
+     * 
+     * @author Jack Straub
+     */
+    private static class SegmentResult
+    {
+        /** The live cells; the first count are valid */
+        private long[]  cells   = new long[16];
+        /** Number of valid elements in cells */
+        private int     count   = 0;
+        
+        /**
+         * Records a run of live cells.
+         * 
+         * @param xco       the x-coordinate of the first cell in the run
+         * @param yco       the y-coordinate of the run
+         * @param length    the number of cells in the run
+         */
+        public void add( int xco, int yco, int length )
+        {
+            if ( count + length > cells.length )
+                cells =
+                    Arrays.copyOf(
+                        cells,
+                        Math.max( cells.length * 2, count + length )
+                    );
+            for ( int inx = 0 ; inx < length ; ++inx )
+                cells[count++] = CellSet.pack( xco + inx, yco );
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Operation that accepts a horizontal run of live cells,
+ * and returns no result.
+ * The run begins at the given coordinates,
+ * and extends to the right for the given number of cells.
+ * 
+ * @author Jack Straub
+ * 
+ * @see RLERunDecoder#decode(int, int, RLERunConsumer)
+ * @see GridSnapshot#forEachRun(RLERunConsumer)
+ */
+@FunctionalInterface
+public interface RLERunConsumer
+{
+    /**
+     * Performs this operation on the given arguments.
+     * 
+     * @param xco       the x-coordinate of the first cell in the run
+     * @param yco       the y-coordinate of the run
+     * @param length    the number of cells in the run; at least 1
+     */
+    void accept( int xco, int yco, int length );
+}
@@ -0,0 +1,213 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Decodes the encoded grid of an RLE file,
+ * such as 3obo$3b!,
+ * as it is read from a stream.
+ * Each run of live cells is passed to a consumer
+ * as soon as it is decoded;
+ * runs of dead cells only advance the position.
+ * The stream is read in fixed-size blocks,
+ * so the text of the encoded grid is never held in memory.
+ * <p>
+ * The decoder is a state machine
+ * that examines each character of the stream once.
+ * Decoding follows the rules of {@link RLEGridDecoder}:
+ * </p>
+ * <ul>
+ *     <li>
+ *         Blank lines and comments (lines beginning with '#')
+ *         preceding the encoded grid are skipped.
+ *     </li>
+ *     <li>
+ *         The encoded grid ends at a '!',
+ *         at a blank line or comment following the encoded grid,
+ *         or at the end of the stream.
+ *     </li>
+ *     <li>
+ *         A tag not preceded by a count has a count of 1.
+ *         A count may be split across lines.
+ *     </li>
+ *     <li>
+ *         'o' denotes live cells and '$' the end of a row;
+ *         every other tag denotes dead cells.
+ *     </li>
+ * </ul>
+ * <p>
+ * Spaces, tabs and carriage returns within the encoded grid
+ * are ignored.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see <a href=https://conwaylife.com/wiki/Run_Length_Encoded>
+ *          Run Length Encoded Files
+ *      </a>
+ */
+public class RLERunDecoder
+{
+    /** Number of characters read from the stream at a time */
+    private static final int    bufferSize  = 8192;
+    
+    /**
+     * The states of the decoder.
+     * 
+     * @author Jack Straub
+     */
+    private enum State
+    {
+        /** At the start of a line */
+        LINE_START,
+        /** Within a comment line preceding the encoded grid */
+        COMMENT,
+        /** Within a line of the encoded grid */
+        DATA,
+        /** The encoded grid has ended */
+        DONE
+    }
+    
+    /** The stream to read */
+    private final Reader    reader;
+    /** Block of characters read from the stream */
+    private final char[]    buffer      = new char[bufferSize];
+    /** Number of valid characters in buffer */
+    private int             limit       = 0;
+    /** Index of the next character in buffer to examine */
+    private int             next        = 0;
+    
+    /**
+     * Constructor.
+     * 
+     * @param reader    the stream to read,
+     *                  positioned before the encoded grid
+     */
+    public RLERunDecoder( Reader reader )
+    {
+        this.reader = reader;
+    }
+    
+    /**
+     * Decodes the encoded grid,
+     * passing each run of live cells to a given consumer.
+     * The first row of the grid is placed at given coordinates.
+     * The stream is left positioned somewhere after the end
+     * of the encoded grid.
+     * 
+     * @param originX   the x-coordinate of the first cell
+     *                  in each row of the grid
+     * @param originY   the y-coordinate of the first row of the grid
+     * @param sink      the given consumer
+     * 
+     * @return  the number of live cells decoded
+     * 
+     * @throws GOLException if the stream cannot be read,
+     *         or if a count is too large
+     */
+    public long decode( int originX, int originY, RLERunConsumer sink )
+        throws GOLException
+    {
+        State   state   = State.LINE_START;
+        boolean started = false;
+        long    count   = 0;
+        long    live    = 0;
+        int     xco     = originX;
+        int     yco     = originY;
+        while ( state != State.DONE )
+        {
+            int     nextChar    = read();
+            if ( nextChar < 0 )
+                state = State.DONE;
+            else if ( nextChar == '\r' )
+            {
+                // part of a line separator; ignore it
+            }
+            else if ( state == State.COMMENT )
+            {
+                if ( nextChar == '\n' )
+                    state = State.LINE_START;
+            }
+            else if ( nextChar == '\n' )
+            {
+                // a blank line ends the encoded grid,
+                // or is skipped if the grid hasn't started
+                if ( state == State.LINE_START && started )
+                    state = State.DONE;
+                else
+                    state = State.LINE_START;
+            }
+            else if ( state == State.LINE_START && nextChar == '#' )
+                state = started ? State.DONE : State.COMMENT;
+            else
+            {
+                state = State.DATA;
+                started = true;
+                if ( nextChar >= '0' && nextChar <= '9' )
+                {
+                    count = count * 10 + (nextChar - '0');
+                    if ( count > Integer.MAX_VALUE )
+                    {
+                        String  message = "RLE count too large";
+                        throw new GOLException( message );
+                    }
+                }
+                else if ( nextChar == ' ' || nextChar == '\t' )
+                {
+                    // white space within a line; ignore it
+                }
+                else if ( nextChar == '!' )
+                    state = State.DONE;
+                else
+                {
+                    int     run     = count == 0 ? 1 : (int)count;
+                    count = 0;
+                    if ( nextChar == '$' )
+                    {
+                        yco += run;
+                        xco = originX;
+                    }
+                    else
+                    {
+                        if ( nextChar == 'o' )
+                        {
+                            sink.accept( xco, yco, run );
+                            live += run;
+                        }
+                        xco += run;
+                    }
+                }
+            }
+        }
+        
+        return live;
+    }
+    
+    /**
+     * Gets the next character from the stream.
+     * 
+     * @return  the next character from the stream,
+     *          or -1 at the end of the stream
+     * 
+     * @throws GOLException if the stream cannot be read
+     */
+    private int read()
+        throws GOLException
+    {
+        try
+        {
+            while ( next == limit && limit >= 0 )
+            {
+                limit = reader.read( buffer, 0, buffer.length );
+                next = 0;
+            }
+        }
+        catch ( IOException exc )
+        {
+            throw new GOLException( "I/O error", exc );
+        }
+        int     result  = limit < 0 ? -1 : buffer[next++];
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Encodes the live cells of a grid
+ * as the encoded grid of an RLE file,
+ * such as bo$2bo$3o!,
+ * writing it to a stream as it is encoded.
+ * The encoding is computed from the runs of live cells
+ * reported by {@link GridSnapshot#forEachRun(RLERunConsumer)};
+ * the gaps between runs become runs of dead cells
+ * and ends of rows.
+ * Individual cells are never examined,
+ * so the cost is proportional to the number of runs,
+ * not to the area of the live rectangle,
+ * and no more than a single line of output is held in memory.
+ * <p>
+ * The encoding matches that of {@link RLEGridEncoder}:
+ * each row begins at the left edge of the live rectangle,
+ * dead cells at the end of a row are omitted,
+ * and the output is broken into lines
+ * of no more than {@link #MAX_LINE_LEN} characters,
+ * never in the middle of a count.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see RLERunDecoder
+ */
+public class RLERunEncoder
+{
+    /** Maximum length of a line of the encoded grid */
+    public static final int     MAX_LINE_LEN    = 70;
+    
+    /** The line separator written after each line */
+    private static final String endl    = System.lineSeparator();
+    
+    /** The stream to write */
+    private final Writer    writer;
+    /** The line being assembled */
+    private final char[]    line        = new char[MAX_LINE_LEN];
+    /** Number of characters in line */
+    private int             lineLen     = 0;
+    /** A count and tag being added to line */
+    private final char[]    token       = new char[12];
+    
+    /** The x-coordinate of the first cell in every row */
+    private int             firstX      = 0;
+    /** The x-coordinate of the next cell to encode */
+    private int             nextX       = 0;
+    /** The y-coordinate of the row being encoded */
+    private int             currY       = 0;
+    
+    /**
+     * Constructor.
+     * 
+     * @param writer    the stream to write
+     */
+    public RLERunEncoder( Writer writer )
+    {
+        this.writer = writer;
+    }
+    
+    /**
+     * Encodes the live cells of a given snapshot,
+     * and writes the encoding to the stream,
+     * terminated by '!'.
+     * The stream is flushed, but not closed.
+     * 
+     * @param snapshot  the given snapshot
+     * 
+     * @throws GOLException if the stream cannot be written
+     */
+    public void encode( GridSnapshot snapshot )
+        throws GOLException
+    {
+        Rectangle   rect    = snapshot.getLiveRectangle();
+        firstX = rect.x;
+        nextX = rect.x;
+        currY = rect.y;
+        lineLen = 0;
+        
+        snapshot.forEachRun( this::addRun );
+        addToken( 1, '!' );
+        writeLine();
+        try
+        {
+            writer.flush();
+        }
+        catch ( IOException exc )
+        {
+            throw new GOLException( "I/O error", exc );
+        }
+    }
+    
+    /**
+     * Encodes a run of live cells,
+     * preceded by any ends of rows and dead cells
+     * between it and the previous run.
+     * 
+     * @param xco       the x-coordinate of the first cell in the run
+     * @param yco       the y-coordinate of the run
+     * @param length    the number of cells in the run
+     * 
+     * @throws GOLException if the stream cannot be written
+     */
+    private void addRun( int xco, int yco, int length )
+        throws GOLException
+    {
+        if ( yco > currY )
+        {
+            addToken( yco - currY, '$' );
+            currY = yco;
+            nextX = firstX;
+        }
+        if ( xco > nextX )
+            addToken( xco - nextX, 'b' );
+        addToken( length, 'o' );
+        nextX = xco + length;
+    }
+    
+    /**
+     * Adds a tag, preceded by a count if the count is greater than 1,
+     * to the current line.
+     * If the current line has no room for them
+     * it is written first.
+     * 
+     * @param count the count
+     * @param tag   the tag
+     * 
+     * @throws GOLException if the stream cannot be written
+     */
+    private void addToken( int count, char tag )
+        throws GOLException
+    {
+        int start   = token.length - 1;
+        token[start] = tag;
+        if ( count > 1 )
+            for ( int rest = count ; rest > 0 ; rest /= 10 )
+                token[--start] = (char)('0' + rest % 10);
+        
+        int tokenLen    = token.length - start;
+        if ( lineLen + tokenLen > MAX_LINE_LEN )
+            writeLine();
+        System.arraycopy( token, start, line, lineLen, tokenLen );
+        lineLen += tokenLen;
+    }
+    
+    /**
+     * Writes the current line, if it is not empty,
+     * followed by a line separator.
+     * 
+     * @throws GOLException if the stream cannot be written
+     */
+    private void writeLine()
+        throws GOLException
+    {
+        if ( lineLen > 0 )
+        {
+            try
+            {
+                writer.write( line, 0, lineLen );
+                writer.write( endl );
+            }
+            catch ( IOException exc )
+            {
+                throw new GOLException( "I/O error", exc );
+            }
+            lineLen = 0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Calculates the next generation of a block of bit-packed rows.
+ * Used by {@link DensePropagator}.
+ * <p>
+ * The rows are stored consecutively in an array of longs,
+ * a fixed number of words per row;
+ * bit <em>b</em> of a word represents column <em>b</em>
+ * of a span of 64 consecutive cells.
+ * The scalar implementation, {@link SwarKernel},
+ * is always available.
+ * Implementations that require facilities
+ * not available on every JVM,
+ * such as the vector kernel in the <em>vector</em> module,
+ * are provided as services
+ * (see {@link java.util.ServiceLoader}),
+ * and are used only if they are on the class path
+ * and report that they are supported by the host.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLProperties#getRowKernel()
+ */
+public interface RowKernel
+{
+    /**
+     * Gets the name of this kernel,
+     * for display in the generation metrics.
+     * 
+     * @return  the name of this kernel
+     * 
+     * @see GenerationMetrics#getKernel()
+     */
+    String getName();
+    
+    /**
+     * Returns true if this kernel can be used on this host.
+     * 
+     * @return  true if this kernel can be used on this host
+     */
+    boolean isSupported();
+    
+    /**
+     * Calculates the next generation of a rectangle of words.
+     * Every word in the rectangle must have a word to its west and east
+     * and a row above and below it within the array;
+     * words outside the rectangle are not modified.
+     * 
+     * @param curr      the current generation
+     * @param next      receives the next generation
+     * @param rowWords  the number of words in each row
+     * @param firstRow  the first row to calculate
+     * @param lastRow   the last row to calculate
+     * @param firstWord the first word of each row to calculate
+     * @param lastWord  the last word of each row to calculate
+     * @param birthMask birth mask of the rule to apply
+     * @param survMask  survival mask of the rule to apply
+     */
+    void nextRows(
+        long[]  curr,
+        long[]  next,
+        int     rowWords,
+        int     firstRow,
+        int     lastRow,
+        int     firstWord,
+        int     lastWord,
+        int     birthMask,
+        int     survMask
+    );
+    
+    /**
+     * Finds the first kernel provided as a service
+     * that is supported on this host.
+     * Providers that cannot be loaded
+     * (for example, because a module they require
+     * is not present in this JVM)
+     * are ignored.
+     * 
+     * @return  the first supported kernel provided as a service,
+     *          or null if none
+     */
+    static RowKernel getAccelerated()
+    {
+        RowKernel           result  = null;
+        Iterator<RowKernel> iter    =
+            ServiceLoader.load( RowKernel.class ).iterator();
+        boolean             more    = true;
+        while ( result == null && more )
+        {
+            try
+            {
+                more = iter.hasNext();
+            }
+            catch ( ServiceConfigurationError exc )
+            {
+                more = false;
+            }
+            
+            try
+            {
+                if ( more )
+                {
+                    RowKernel   kernel  = iter.next();
+                    if ( kernel.isSupported() )
+                        result = kernel;
+                }
+            }
+            catch ( ServiceConfigurationError | LinkageError exc )
+            {
+                // provider can't run in this JVM; try the next one
+            }
+        }
+        return result;
+    }
+}
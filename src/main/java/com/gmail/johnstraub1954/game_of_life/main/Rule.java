@@ -0,0 +1,229 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Collection;
+
+/**
+ * Immutable, compiled form of a birth/survival (B/S) rule,
+ * such as B3/S23 (Conway's original rule)
+ * or B36/S23 (Highlife).
+ * The birth and survival states are stored as bit masks;
+ * if bit <em>n</em> of the birth mask is set
+ * a dead cell with <em>n</em> live neighbors comes alive,
+ * and if bit <em>n</em> of the survival mask is set
+ * a live cell with <em>n</em> live neighbors survives.
+ * Only neighbor counts 0 through 8 are meaningful.
+ * 
+ * @author Jack Straub
+ */
+public class Rule
+{
+    /** Mask of all valid neighbor counts, 0 through 8 */
+    private static final int    validMask   = 0x1FF;
+    
+    /** Bit <em>n</em> set if a dead cell with n neighbors is born */
+    private final int   birthMask;
+    /** Bit <em>n</em> set if a live cell with n neighbors survives */
+    private final int   survivalMask;
+    
+    /**
+     * Constructor.
+     * 
+     * @param birthMask     bit mask of birth states
+     * @param survivalMask  bit mask of survival states
+     */
+    public Rule( int birthMask, int survivalMask )
+    {
+        this.birthMask = birthMask & validMask;
+        this.survivalMask = survivalMask & validMask;
+    }
+    
+    /**
+     * Compiles a rule from a given list of birth states
+     * and a given list of survival states.
+     * States outside the range 0 through 8 are ignored.
+     * 
+     * @param birthStates       the given birth states
+     * @param survivalStates    the given survival states
+     * 
+     * @return  the compiled rule
+     */
+    public static Rule of(
+        Collection<Integer> birthStates,
+        Collection<Integer> survivalStates
+    )
+    {
+        Rule    rule    =
+            new Rule( toMask( birthStates ), toMask( survivalStates ) );
+        return rule;
+    }
+    
+    /**
+     * Compiles the rule currently configured
+     * in the Parameters singleton.
+     * 
+     * @return  the rule currently configured in the Parameters singleton
+     * 
+     * @see Parameters#getBirthStates()
+     * @see Parameters#getSurvivalStates()
+     */
+    public static Rule fromParameters()
+    {
+        Parameters  params  = Parameters.INSTANCE;
+        Rule        rule    =
+            of( params.getBirthStates(), params.getSurvivalStates() );
+        return rule;
+    }
+    
+    /**
+     * Gets the birth mask for this rule.
+     * 
+     * @return the birth mask for this rule
+     */
+    public int getBirthMask()
+    {
+        return birthMask;
+    }
+    
+    /**
+     * Gets the survival mask for this rule.
+     * 
+     * @return the survival mask for this rule
+     */
+    public int getSurvivalMask()
+    {
+        return survivalMask;
+    }
+    
+    /**
+     * Returns true if a dead cell with a given number
+     * of live neighbors comes alive under this rule.
+     * 
+     * @param count the given number of live neighbors
+     * 
+     * @return  true if a dead cell with the given number
+     *          of neighbors comes alive
+     */
+    public boolean isBirth( int count )
+    {
+        boolean result  = (birthMask & (1 << count)) != 0;
+        return result;
+    }
+    
+    /**
+     * Returns true if a live cell with a given number
+     * of live neighbors survives under this rule.
+     * 
+     * @param count the given number of live neighbors
+     * 
+     * @return  true if a live cell with the given number
+     *          of neighbors survives
+     */
+    public boolean isSurvival( int count )
+    {
+        boolean result  = (survivalMask & (1 << count)) != 0;
+        return result;
+    }
+    
+    /**
+     * Determines the next state of a cell
+     * given its current state and the number of its live neighbors.
+     * 
+     * @param isAlive   the current state of the cell
+     * @param count     the number of the cell's live neighbors
+     * 
+     * @return  true if the cell is alive in the next generation
+     */
+    public boolean nextState( boolean isAlive, int count )
+    {
+        boolean result  = isAlive ? isSurvival( count ) : isBirth( count );
+        return result;
+    }
+    
+    /**
+     * Indicates whether empty space gives birth under this rule
+     * (i.e. the rule contains B0).
+     * Such rules cause the infinite dead region of the grid
+     * to come alive, and are not supported by engines
+     * that only examine the neighborhood of live cells.
+     * 
+     * @return  true if this rule contains B0
+     */
+    public boolean isBirthOnZero()
+    {
+        boolean result  = (birthMask & 1) != 0;
+        return result;
+    }
+    
+    /**
+     * Returns a string representation of this rule
+     * in B/S notation, e.g. "B3/S23".
+     * 
+     * @return  a string representation of this rule
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder   bldr    = new StringBuilder( "B" );
+        for ( int inx = 0 ; inx < 9 ; ++inx )
+            if ( isBirth( inx ) )
+                bldr.append( inx );
+        bldr.append( "/S" );
+        for ( int inx = 0 ; inx < 9 ; ++inx )
+            if ( isSurvival( inx ) )
+                bldr.append( inx );
+        return bldr.toString();
+    }
+    
+    /**
+     * Tests this Rule against a given object for equality.
+     * Equality pertains if the given object is a Rule
+     * with the same birth and survival states.
+     * 
+     * @param   obj the given Object
+     * 
+     * @return true, if this Rule is equal to the given object
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        boolean result  = false;
+        if ( obj instanceof Rule )
+        {
+            Rule    that    = (Rule)obj;
+            result =
+                this.birthMask == that.birthMask
+                && this.survivalMask == that.survivalMask;
+        }
+        return result;
+    }
+    
+    /**
+     * Produces a hashcode for this Rule.
+     * Required because <em>equals</em> is overridden.
+     * 
+     * @return  a hashcode for this Rule
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash    = (birthMask << 9) | survivalMask;
+        return hash;
+    }
+    
+    /**
+     * Converts a collection of neighbor counts to a bit mask.
+     * 
+     * @param states    the collection to convert
+     * 
+     * @return  the bit mask
+     */
+    private static int toMask( Collection<Integer> states )
+    {
+        int mask    = 0;
+        if ( states != null )
+            for ( Integer state : states )
+                if ( state != null && state >= 0 && state <= 8 )
+                    mask |= 1 << state;
+        return mask;
+    }
+}
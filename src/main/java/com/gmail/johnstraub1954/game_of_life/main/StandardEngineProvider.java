@@ -0,0 +1,147 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_BLOCK;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_CONWAY;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_DENSE;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_HASHLIFE;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_INCREMENTAL;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_PARALLEL;
+import static com.gmail.johnstraub1954.game_of_life.main.GOLConstants.PROP_PROC_TILED;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import com.gmail.johnstraub1954.game_of_life.main.GenerationEngine.Capability;
+
+/**
+ * Provides the generation engines that are part of this project:
+ * <em>conway</em>, <em>incremental</em>, <em>tiled</em>,
+ * <em>parallel</em>, <em>block</em>, <em>dense</em>
+ * and <em>hashlife</em>.
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLConstants#PROP_PROC_PN
+ */
+public class StandardEngineProvider implements GenerationEngineProvider
+{
+    /** The names of the engines created by this provider */
+    private static final List<String>   names   =
+        Collections.unmodifiableList( Arrays.asList(
+            PROP_PROC_CONWAY,
+            PROP_PROC_INCREMENTAL,
+            PROP_PROC_TILED,
+            PROP_PROC_PARALLEL,
+            PROP_PROC_BLOCK,
+            PROP_PROC_DENSE,
+            PROP_PROC_HASHLIFE
+        ) );
+    
+    /**
+     * Default constructor; required by ServiceLoader.
+     */
+    public StandardEngineProvider()
+    {
+        // no further initialization required
+    }
+    
+    @Override
+    public List<String> getNames()
+    {
+        return names;
+    }
+    
+    @Override
+    public GenerationEngine newEngine( String name, GOLProperties props )
+        throws GOLException
+    {
+        EnumSet<Capability> lifeLike    =
+            EnumSet.of( Capability.LIFE_LIKE_RULES, Capability.SNAPSHOT );
+        EnumSet<Capability> allRules    = EnumSet.copyOf( lifeLike );
+        allRules.add( Capability.B0_RULES );
+        
+        GenerationEngine    engine      = null;
+        if ( name.equalsIgnoreCase( PROP_PROC_CONWAY ) )
+        {
+            ConwayPropagator    conway  = new ConwayPropagator();
+            engine = new PropagatorEngine(
+                PROP_PROC_CONWAY,
+                (map, rule) -> conway.nextGeneration( map, rule ),
+                allRules
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_INCREMENTAL ) )
+        {
+            ConwayPropagator    conway  = new ConwayPropagator();
+            engine = new PropagatorEngine(
+                PROP_PROC_INCREMENTAL,
+                (map, rule) -> conway.incrementalGeneration( map, rule ),
+                allRules
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_TILED ) )
+        {
+            TiledPropagator tiled   = new TiledPropagator();
+            engine = new PropagatorEngine(
+                PROP_PROC_TILED,
+                (map, rule) -> tiled.nextGeneration( map, rule ),
+                lifeLike
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_PARALLEL ) )
+        {
+            ParallelPropagator  parallel    =
+                new ParallelPropagator( props.getParallelism() );
+            EnumSet<Capability> caps        = EnumSet.copyOf( allRules );
+            caps.add( Capability.PARALLEL );
+            engine = new PropagatorEngine(
+                PROP_PROC_PARALLEL,
+                (map, rule, count) -> {
+                    for ( int gen = 0 ; gen < count ; ++gen )
+                        parallel.nextGeneration( map, rule );
+                },
+                caps,
+                () -> parallel.shutdown()
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_BLOCK ) )
+        {
+            BlockPropagator block   = new BlockPropagator();
+            engine = new PropagatorEngine(
+                PROP_PROC_BLOCK,
+                (map, rule) -> block.nextGeneration( map, block.getBlockRule( rule ) ),
+                lifeLike
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_DENSE ) )
+        {
+            DensePropagator dense   = new DensePropagator( props.getRowKernel() );
+            engine = new PropagatorEngine(
+                PROP_PROC_DENSE,
+                (map, rule) -> dense.nextGeneration( map, rule ),
+                lifeLike
+            );
+        }
+        else if ( name.equalsIgnoreCase( PROP_PROC_HASHLIFE ) )
+        {
+            HashlifeEngine      hashlife    = new HashlifeEngine();
+            EnumSet<Capability> caps        = EnumSet.copyOf( lifeLike );
+            caps.add( Capability.MULTI_STEP );
+            engine = new PropagatorEngine(
+                PROP_PROC_HASHLIFE,
+                (map, rule, count) -> hashlife.advance( map, rule, count ),
+                caps,
+                null
+            );
+        }
+        else
+        {
+            String  message =
+                "\"" + name + "\" is not a valid generation engine";
+            throw new GOLException( message );
+        }
+        return engine;
+    }
+}
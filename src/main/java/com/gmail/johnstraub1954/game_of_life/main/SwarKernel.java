@@ -0,0 +1,171 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * The word-wide ("SWAR", SIMD within a register) kernel
+ * shared by the propagation engines that store cells
+ * as bit-packed rows of longs.
+ * This is the scalar RowKernel, available on every JVM.
+ * <p>
+ * Bit <em>b</em> of a word represents column <em>b</em>
+ * of a span of 64 consecutive cells.
+ * The kernel calculates the next generation
+ * of all 64 cells of a word at once,
+ * using only shifts and logical operations:
+ * no branches depend on the state of a cell,
+ * and no cell is examined individually.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see TiledPropagator
+ * @see DensePropagator
+ * @see RowKernel
+ */
+public enum SwarKernel implements RowKernel
+{
+    /** This enum's singleton. */
+    INSTANCE;
+    
+    /** Index of the most significant bit of a word */
+    private static final int    lastBit     = Long.SIZE - 1;
+    
+    @Override
+    public String getName()
+    {
+        return "scalar";
+    }
+    
+    @Override
+    public boolean isSupported()
+    {
+        return true;
+    }
+    
+    @Override
+    public void nextRows(
+        long[]  curr,
+        long[]  next,
+        int     rowWords,
+        int     firstRow,
+        int     lastRow,
+        int     firstWord,
+        int     lastWord,
+        int     birthMask,
+        int     survMask
+    )
+    {
+        for ( int row = firstRow ; row <= lastRow ; ++row )
+        {
+            int above   = (row - 1) * rowWords;
+            int base    = row * rowWords;
+            int below   = (row + 1) * rowWords;
+            for ( int word = firstWord ; word <= lastWord ; ++word )
+                next[base + word] = nextRow(
+                    curr[above + word - 1],
+                    curr[above + word],
+                    curr[above + word + 1],
+                    curr[base + word - 1],
+                    curr[base + word],
+                    curr[base + word + 1],
+                    curr[below + word - 1],
+                    curr[below + word],
+                    curr[below + word + 1],
+                    birthMask,
+                    survMask
+                );
+        }
+    }
+    
+    /**
+     * Calculates the next generation of one word of a row.
+     * Bit <em>b</em> of each argument represents
+     * column <em>b</em> of a 64-cell span;
+     * the <em>C</em> arguments are the target word
+     * and the words directly above and below it,
+     * the <em>W</em> and <em>E</em> arguments are the adjacent words
+     * to the west and east of those.
+     * The neighbor counts for all 64 cells in the row
+     * are calculated in parallel by a tree of bit-sliced adders,
+     * yielding a four-bit count spread across four words
+     * (s0 through s3, least significant first);
+     * the rule is then applied, also in parallel,
+     * to every possible count.
+     * 
+     * @param aboveW    west word of the row above the target row
+     * @param aboveC    center word of the row above the target row
+     * @param aboveE    east word of the row above the target row
+     * @param currW     west word of the target row
+     * @param currC     center word of the target row
+     * @param currE     east word of the target row
+     * @param belowW    west word of the row below the target row
+     * @param belowC    center word of the row below the target row
+     * @param belowE    east word of the row below the target row
+     * @param birthMask birth mask of the rule to apply
+     * @param survMask  survival mask of the rule to apply
+     * 
+     * @return  the next generation of the target row
+     */
+    public static long nextRow(
+        long aboveW, long aboveC, long aboveE,
+        long currW,  long currC,  long currE,
+        long belowW, long belowC, long belowE,
+        int birthMask, int survMask
+    )
+    {
+        // Bit b of a "left" word is the cell in column b - 1;
+        // bit b of a "right" word is the cell in column b + 1.
+        long    aboveL  = (aboveC << 1) | (aboveW >>> lastBit);
+        long    aboveR  = (aboveC >>> 1) | (aboveE << lastBit);
+        long    currL   = (currC << 1) | (currW >>> lastBit);
+        long    currR   = (currC >>> 1) | (currE << lastBit);
+        long    belowL  = (belowC << 1) | (belowW >>> lastBit);
+        long    belowR  = (belowC >>> 1) | (belowE << lastBit);
+        
+        // Row above and row below: three cells each, 0 - 3;
+        // current row: two cells, 0 - 2.
+        long    aboveXor    = aboveL ^ aboveC;
+        long    aboveSum    = aboveXor ^ aboveR;
+        long    aboveCarry  = (aboveL & aboveC) | (aboveXor & aboveR);
+        long    belowXor    = belowL ^ belowC;
+        long    belowSum    = belowXor ^ belowR;
+        long    belowCarry  = (belowL & belowC) | (belowXor & belowR);
+        long    currSum     = currL ^ currR;
+        long    currCarry   = currL & currR;
+        
+        // Add the ones bits of the three partial sums.
+        long    onesXor     = aboveSum ^ belowSum;
+        long    s0          = onesXor ^ currSum;
+        long    onesCarry   = (aboveSum & belowSum) | (onesXor & currSum);
+        
+        // Add the twos bits, plus the carry from the ones bits.
+        long    twosXor     = aboveCarry ^ belowCarry;
+        long    twosSum     = twosXor ^ currCarry;
+        long    twosCarry   = 
+            (aboveCarry & belowCarry) | (twosXor & currCarry);
+        long    s1          = twosSum ^ onesCarry;
+        long    fours       = twosSum & onesCarry;
+        long    s2          = twosCarry ^ fours;
+        long    s3          = twosCarry & fours;
+        
+        long    result  = 0;
+        for ( int count = 0 ; count <= 8 ; ++count )
+        {
+            int     bit     = 1 << count;
+            boolean birth   = (birthMask & bit) != 0;
+            boolean survive = (survMask & bit) != 0;
+            if ( birth || survive )
+            {
+                long    equal   =
+                    ((count & 1) != 0 ? s0 : ~s0)
+                    & ((count & 2) != 0 ? s1 : ~s1)
+                    & ((count & 4) != 0 ? s2 : ~s2)
+                    & ((count & 8) != 0 ? s3 : ~s3);
+                if ( birth )
+                    result |= equal & ~currC;
+                if ( survive )
+                    result |= equal & currC;
+            }
+        }
+        return result;
+    }
+}
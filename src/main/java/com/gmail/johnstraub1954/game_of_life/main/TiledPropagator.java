@@ -0,0 +1,519 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import java.util.Arrays;
+
+/**
+ * Propagation engine that stores live cells as 64x64 tiles
+ * of bit-packed words,
+ * and calculates each new generation using word-wide
+ * bit arithmetic.
+ * <p>
+ * A tile is an array of 64 longs;
+ * element <em>r</em> of the array represents row <em>r</em> of the tile,
+ * and bit <em>b</em> of that element represents column <em>b</em>.
+ * The tile with coordinates (<em>tx</em>,<em>ty</em>)
+ * encloses the grid cells with
+ * x-coordinates <em>tx * 64</em> through <em>tx * 64 + 63</em>
+ * and y-coordinates <em>ty * 64</em> through <em>ty * 64 + 63</em>.
+ * Only tiles that contain at least one live cell are stored.
+ * </p>
+ * <p>
+ * The engine keeps its tiles synchronized with a GridMap:
+ * after each generation, only the cells that changed state
+ * are written back to the map.
+ * Once the set of tiles has stabilized,
+ * calculating a generation does not allocate memory:
+ * the tables that hold the current and next generations
+ * are reused, and tiles that die are recycled.
+ * If the map is modified by some other client
+ * (for example, by clicking on a cell in the GUI)
+ * the engine detects the modification
+ * and reloads its tiles from the map.
+ * </p>
+ * <p>
+ * Rules that contain B0 (birth with no neighbors)
+ * are not supported by this engine;
+ * {@link PropagatorEngine} delegates them to
+ * {@link ConwayPropagator#nextGeneration(GridMap, Rule)}.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GridMap#getModificationCount()
+ * @see GenerationEngine
+ */
+public class TiledPropagator
+{
+    /** Number of cells along each side of a tile */
+    public static final int     TILE_SIZE   = Long.SIZE;
+    
+    /** Converts a grid coordinate to a tile coordinate (tx = x >> 6) */
+    private static final int    tileShift   = 6;
+    /** Converts a grid coordinate to a tile offset (bit = x &amp; 63) */
+    private static final int    tileMask    = TILE_SIZE - 1;
+    /** Index of the last row in a tile */
+    private static final int    lastRow     = TILE_SIZE - 1;
+    
+    /** Shared representation of a tile containing no live cells */
+    private static final long[] emptyTile   = new long[TILE_SIZE];
+    
+    /** All tiles that contain at least one live cell */
+    private TileTable           tiles           = new TileTable();
+    /** 
+     * Receives the next generation of tiles;
+     * swapped with tiles at the end of each generation
+     */
+    private TileTable           nextTiles       = new TileTable();
+    /**
+     * Coordinates of the tiles that may contain live cells
+     * in the next generation;
+     * retained between generations to avoid reallocating it.
+     */
+    private final CellSet       candidates      = new CellSet();
+    /** Discarded tiles, available for reuse */
+    private long[][]            tilePool        = new long[16][];
+    /** Number of tiles in tilePool */
+    private int                 poolCount       = 0;
+    
+    /** The map that the tiles were most recently synchronized with */
+    private GridMap             syncedMap       = null;
+    
+    /**
+     * The modification count of the synchronized map
+     * at the time of the most recent synchronization
+     */
+    private long                syncedModCount  = -1;
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule.
+     * Only cells that change state are written to the grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param rule      the given rule; may not contain B0
+     * 
+     * @throws IllegalArgumentException if the given rule contains B0
+     */
+    public void nextGeneration( GridMap gridMap, Rule rule )
+        throws IllegalArgumentException
+    {
+        if ( rule.isBirthOnZero() )
+        {
+            String  message = "Rule not supported: " + rule;
+            throw new IllegalArgumentException( message );
+        }
+        
+        if (
+            gridMap != syncedMap
+            || gridMap.getModificationCount() != syncedModCount
+        )
+            load( gridMap );
+        
+        int birthMask   = rule.getBirthMask();
+        int survMask    = rule.getSurvivalMask();
+        getCandidates();
+        nextTiles.clear();
+        for ( int slot = candidates.nextSlot( 0 ) ;
+              slot >= 0 ;
+              slot = candidates.nextSlot( slot + 1 ) )
+        {
+            int     tileX   = candidates.getX( slot );
+            int     tileY   = candidates.getY( slot );
+            long[]  next    = obtainTile();
+            long[]  curr    = getTile( tileX, tileY );
+            boolean isLive  = nextTile( tileX, tileY, birthMask, survMask, next );
+            
+            writeChanges( gridMap, tileX, tileY, curr, next );
+            if ( isLive )
+                nextTiles.put( getKey( tileX, tileY ), next );
+            else
+                releaseTile( next );
+        }
+        
+        releaseAll( tiles );
+        TileTable   temp    = tiles;
+        tiles = nextTiles;
+        nextTiles = temp;
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Gets the number of tiles currently stored by this engine.
+     * 
+     * @return  the number of tiles currently stored by this engine
+     */
+    public int getTileCount()
+    {
+        int count   = tiles.size();
+        return count;
+    }
+    
+    /**
+     * Discards all tiles and reloads them from a given grid map.
+     * 
+     * @param gridMap   the given grid map
+     */
+    private void load( GridMap gridMap )
+    {
+        releaseAll( tiles );
+        gridMap.forEachLive( (xco, yco) -> {
+            long    key     = getKey( xco >> tileShift, yco >> tileShift );
+            long[]  tile    = tiles.get( key );
+            if ( tile == null )
+            {
+                tile = obtainTile();
+                Arrays.fill( tile, 0 );
+                tiles.put( key, tile );
+            }
+            tile[yco & tileMask] |= 1L << (xco & tileMask);
+        });
+        
+        syncedMap = gridMap;
+        syncedModCount = gridMap.getModificationCount();
+    }
+    
+    /**
+     * Assembles the set of tiles that may contain live cells
+     * in the next generation.
+     * This consists of every existing tile,
+     * plus every neighbor of an existing tile
+     * that shares an edge or corner containing a live cell.
+     * The result is stored in candidates.
+     */
+    private void getCandidates()
+    {
+        candidates.clear();
+        for ( int slot = tiles.nextSlot( 0 ) ;
+              slot >= 0 ;
+              slot = tiles.nextSlot( slot + 1 ) )
+        {
+            long    key     = tiles.getKey( slot );
+            long[]  tile    = tiles.getTile( slot );
+            int     tileX   = getTileX( key );
+            int     tileY   = getTileY( key );
+            long    allRows = 0;
+            for ( long row : tile )
+                allRows |= row;
+            
+            long    top     = tile[0];
+            long    bottom  = tile[lastRow];
+            boolean west    = (allRows & 1) != 0;
+            boolean east    = allRows < 0;
+            
+            candidates.add( tileX, tileY );
+            if ( top != 0 )
+                candidates.add( tileX, tileY - 1 );
+            if ( bottom != 0 )
+                candidates.add( tileX, tileY + 1 );
+            if ( west )
+                candidates.add( tileX - 1, tileY );
+            if ( east )
+                candidates.add( tileX + 1, tileY );
+            if ( (top & 1) != 0 )
+                candidates.add( tileX - 1, tileY - 1 );
+            if ( top < 0 )
+                candidates.add( tileX + 1, tileY - 1 );
+            if ( (bottom & 1) != 0 )
+                candidates.add( tileX - 1, tileY + 1 );
+            if ( bottom < 0 )
+                candidates.add( tileX + 1, tileY + 1 );
+        }
+    }
+    
+    /**
+     * Gets a tile from the pool of discarded tiles,
+     * or allocates a new tile if the pool is empty.
+     * The contents of the tile are undefined.
+     * 
+     * @return  a tile
+     */
+    private long[] obtainTile()
+    {
+        long[]  tile    = 
+            poolCount > 0 ? tilePool[--poolCount] : new long[TILE_SIZE];
+        return tile;
+    }
+    
+    /**
+     * Returns a tile to the pool of discarded tiles.
+     * 
+     * @param tile  the tile to return
+     */
+    private void releaseTile( long[] tile )
+    {
+        if ( poolCount == tilePool.length )
+            tilePool = Arrays.copyOf( tilePool, poolCount * 2 );
+        tilePool[poolCount++] = tile;
+    }
+    
+    /**
+     * Returns every tile in a given table to the pool
+     * of discarded tiles,
+     * and clears the table.
+     * 
+     * @param table the given table
+     */
+    private void releaseAll( TileTable table )
+    {
+        for ( int slot = table.nextSlot( 0 ) ;
+              slot >= 0 ;
+              slot = table.nextSlot( slot + 1 ) )
+            releaseTile( table.getTile( slot ) );
+        table.clear();
+    }
+    
+    /**
+     * Calculates the next generation of the tile at a given location.
+     * 
+     * @param tileX     x-coordinate of the given location
+     * @param tileY     y-coordinate of the given location
+     * @param birthMask birth mask of the rule to apply
+     * @param survMask  survival mask of the rule to apply
+     * @param next      array to receive the next generation of the tile
+     * 
+     * @return  true if the next generation of the tile
+     *          contains at least one live cell
+     */
+    private boolean nextTile(
+        int     tileX,
+        int     tileY,
+        int     birthMask,
+        int     survMask,
+        long[]  next
+    )
+    {
+        long[]  northWest   = getTile( tileX - 1, tileY - 1 );
+        long[]  north       = getTile( tileX, tileY - 1 );
+        long[]  northEast   = getTile( tileX + 1, tileY - 1 );
+        long[]  west        = getTile( tileX - 1, tileY );
+        long[]  center      = getTile( tileX, tileY );
+        long[]  east        = getTile( tileX + 1, tileY );
+        long[]  southWest   = getTile( tileX - 1, tileY + 1 );
+        long[]  south       = getTile( tileX, tileY + 1 );
+        long[]  southEast   = getTile( tileX + 1, tileY + 1 );
+        
+        long    liveRows    = 0;
+        for ( int row = 0 ; row < TILE_SIZE ; ++row )
+        {
+            long    aboveW;
+            long    aboveC;
+            long    aboveE;
+            long    belowW;
+            long    belowC;
+            long    belowE;
+            if ( row == 0 )
+            {
+                aboveW = northWest[lastRow];
+                aboveC = north[lastRow];
+                aboveE = northEast[lastRow];
+            }
+            else
+            {
+                aboveW = west[row - 1];
+                aboveC = center[row - 1];
+                aboveE = east[row - 1];
+            }
+            if ( row == lastRow )
+            {
+                belowW = southWest[0];
+                belowC = south[0];
+                belowE = southEast[0];
+            }
+            else
+            {
+                belowW = west[row + 1];
+                belowC = center[row + 1];
+                belowE = east[row + 1];
+            }
+            
+            next[row] = SwarKernel.nextRow(
+                aboveW, aboveC, aboveE,
+                west[row], center[row], east[row],
+                belowW, belowC, belowE,
+                birthMask, survMask
+            );
+            liveRows |= next[row];
+        }
+        
+        return liveRows != 0;
+    }
+    
+    /**
+     * Writes every cell that differs between the current
+     * and next generations of a tile to a given grid map.
+     * 
+     * @param gridMap   the given grid map
+     * @param tileX     x-coordinate of the tile
+     * @param tileY     y-coordinate of the tile
+     * @param curr      the current generation of the tile
+     * @param next      the next generation of the tile
+     */
+    private static void writeChanges(
+        GridMap gridMap,
+        int     tileX,
+        int     tileY,
+        long[]  curr,
+        long[]  next
+    )
+    {
+        int originX = tileX << tileShift;
+        int originY = tileY << tileShift;
+        for ( int row = 0 ; row < TILE_SIZE ; ++row )
+        {
+            long    changed = curr[row] ^ next[row];
+            while ( changed != 0 )
+            {
+                int     bit     = Long.numberOfTrailingZeros( changed );
+                boolean isAlive = (next[row] & (1L << bit)) != 0;
+                gridMap.set( originX + bit, originY + row, isAlive );
+                changed &= changed - 1;
+            }
+        }
+    }
+    
+    /**
+     * Gets the tile at a given location.
+     * If there is no tile at the location
+     * a shared empty tile is returned.
+     * 
+     * @param tileX the x-coordinate of the given location
+     * @param tileY the y-coordinate of the given location
+     * 
+     * @return  the tile at the given location
+     */
+    private long[] getTile( int tileX, int tileY )
+    {
+        long[]  tile    = tiles.get( getKey( tileX, tileY ) );
+        if ( tile == null )
+            tile = emptyTile;
+        return tile;
+    }
+    
+    /**
+     * Packs a pair of tile coordinates into a single key.
+     * 
+     * @param tileX the x-coordinate of the tile
+     * @param tileY the y-coordinate of the tile
+     * 
+     * @return  the packed key
+     */
+    private static long getKey( int tileX, int tileY )
+    {
+        long    key = ((long)tileX << 32) | (tileY & 0xFFFFFFFFL);
+        return key;
+    }
+    
+    /**
+     * Extracts the tile x-coordinate from a packed key.
+     * 
+     * @param key   the packed key
+     * 
+     * @return  the tile x-coordinate
+     */
+    private static int getTileX( long key )
+    {
+        return (int)(key >> 32);
+    }
+    
+    /**
+     * Extracts the tile y-coordinate from a packed key.
+     * 
+     * @param key   the packed key
+     * 
+     * @return  the tile y-coordinate
+     */
+    private static int getTileY( long key )
+    {
+        return (int)key;
+    }
+    
+    /**
+     * Maps packed tile coordinates to tiles,
+     * without creating objects for lookups and insertions,
+     * as a HashMap&lt;Long,long[]&gt; would.
+     * Entries are never removed individually;
+     * the table is cleared at the start of each generation,
+     * and retains its capacity.
+     * 
+     * @author Jack Straub
+     */
+    private static class TileTable extends LongHashTable
+    {
+        /** Initial number of tiles for which there is room */
+        private static final int    initialTiles    = 32;
+        
+        /** Tiles, parallel to the keys */
+        private long[][]    values;
+        
+        /**
+         * Default constructor.
+         */
+        public TileTable()
+        {
+            super( initialTiles );
+            values = new long[getCapacity()][];
+        }
+        
+        /**
+         * Gets the tile with a given key.
+         * 
+         * @param key   the given key
+         * 
+         * @return  the tile with the given key, or null if none
+         */
+        public long[] get( long key )
+        {
+            int     slot    = findSlot( key );
+            long[]  tile    = slot >= 0 ? values[slot] : null;
+            return tile;
+        }
+        
+        /**
+         * Associates a tile with a given key.
+         * 
+         * @param key   the given key
+         * @param tile  the tile
+         */
+        public void put( long key, long[] tile )
+        {
+            // adding the key may replace the values array,
+            // so the slot must be found before the array is referenced
+            int slot    = addKey( key );
+            values[slot] = tile;
+        }
+        
+        /**
+         * Gets the tile in a given, occupied slot.
+         * 
+         * @param slot  the given slot
+         * 
+         * @return  the tile in the given slot
+         */
+        public long[] getTile( int slot )
+        {
+            return values[slot];
+        }
+        
+        @Override
+        protected void moveValue( int from, int to )
+        {
+            values[to] = values[from];
+        }
+        
+        @Override
+        protected void clearValue( int slot )
+        {
+            values[slot] = null;
+        }
+        
+        @Override
+        protected void relocateValues( int capacity, int[] moves )
+        {
+            long[][]    oldValues   = values;
+            values = new long[capacity][];
+            for ( int inx = 0 ; inx < moves.length ; ++inx )
+                if ( moves[inx] >= 0 )
+                    values[moves[inx]] = oldValues[inx];
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+/**
+ * Runs a generation engine as fast as it can on a thread of its own.
+ * <p>
+ * The runner repeatedly advances the grid map
+ * currently configured in the Parameters singleton
+ * with {@link GenerationEngine#advance(int)},
+ * which does not invoke Parameters.reset(),
+ * so no generation is painted by the runner itself.
+ * The view is expected to refresh itself at a fixed frame rate,
+ * painting a snapshot of the grid map as of the end of
+ * the most recently completed advance;
+ * the generations calculated in between are never painted.
+ * </p>
+ * <p>
+ * Each advance has a fixed cost of its own
+ * (a batch notification,
+ * and a new snapshot if the view asked for one during the advance),
+ * so the runner advances several generations at a time:
+ * the number of generations per advance is doubled
+ * while an advance takes less than a quarter of the frame period,
+ * and halved while it takes more than the frame period.
+ * For engines with the {@link GenerationEngine.Capability#MULTI_STEP}
+ * capability this also lets the engine leap
+ * many generations at once.
+ * </p>
+ * <p>
+ * If the engine throws an exception the runner stops;
+ * the exception is available from {@link #getError()}.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see GOLConstants#TURBO_FPS_PN
+ */
+public class TurboRunner
+{
+    /** Largest number of generations calculated by a single advance */
+    public static final int     MAX_CHUNK       = 1 << 24;
+    
+    /** Number of nanoseconds in a second */
+    private static final long   nanosPerSecond  = 1_000_000_000L;
+    
+    /** The engine that calculates the generations */
+    private final GenerationEngine  engine;
+    /** Target time between frames, in nanoseconds */
+    private final long              frameNanos;
+    
+    /** The thread that runs the engine; null if not running */
+    private Thread                  thread          = null;
+    /** Set to ask the runner thread to stop */
+    private volatile boolean        stopRequested   = false;
+    /** Number of generations calculated since the runner started */
+    private volatile long           generations     = 0;
+    /** Number of generations calculated by the next advance */
+    private volatile int            chunk           = 1;
+    /** The exception that stopped the runner; null if none */
+    private volatile Throwable      error           = null;
+    
+    /**
+     * Constructor.
+     * 
+     * @param engine    the engine that calculates the generations
+     * @param fps       the frame rate at which the view is refreshed
+     * 
+     * @throws IllegalArgumentException if fps is less than 1
+     */
+    public TurboRunner( GenerationEngine engine, int fps )
+        throws IllegalArgumentException
+    {
+        if ( fps < 1 )
+        {
+            String  message = "Invalid frame rate: " + fps;
+            throw new IllegalArgumentException( message );
+        }
+        this.engine = engine;
+        frameNanos = nanosPerSecond / fps;
+    }
+    
+    /**
+     * Starts the runner thread.
+     * Has no effect if the runner is already running.
+     */
+    public synchronized void start()
+    {
+        if ( thread == null )
+        {
+            stopRequested = false;
+            error = null;
+            generations = 0;
+            chunk = 1;
+            thread = new Thread( () -> run(), "Game of Life Turbo" );
+            thread.setDaemon( true );
+            thread.start();
+        }
+    }
+    
+    /**
+     * Stops the runner thread,
+     * and waits for the advance in progress, if any, to complete.
+     * Has no effect if the runner is not running.
+     */
+    public synchronized void stop()
+    {
+        if ( thread != null )
+        {
+            stopRequested = true;
+            boolean interrupted = false;
+            while ( thread.isAlive() )
+            {
+                try
+                {
+                    thread.join();
+                }
+                catch ( InterruptedException exc )
+                {
+                    interrupted = true;
+                }
+            }
+            thread = null;
+            if ( interrupted )
+                Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Returns true if the runner thread is running.
+     * 
+     * @return  true if the runner thread is running
+     */
+    public synchronized boolean isRunning()
+    {
+        boolean result  = thread != null && thread.isAlive();
+        return result;
+    }
+    
+    /**
+     * Gets the number of generations calculated
+     * since the runner was most recently started.
+     * 
+     * @return  the number of generations calculated
+     *          since the runner was most recently started
+     */
+    public long getGenerationCount()
+    {
+        return generations;
+    }
+    
+    /**
+     * Gets the number of generations that will be calculated
+     * by the next advance.
+     * 
+     * @return  the number of generations that will be calculated
+     *          by the next advance
+     */
+    public int getChunkSize()
+    {
+        return chunk;
+    }
+    
+    /**
+     * Gets the exception that stopped the runner.
+     * 
+     * @return  the exception that stopped the runner,
+     *          or null if none
+     */
+    public Throwable getError()
+    {
+        return error;
+    }
+    
+    /**
+     * Gets the engine that calculates the generations.
+     * 
+     * @return  the engine that calculates the generations
+     */
+    public GenerationEngine getEngine()
+    {
+        return engine;
+    }
+    
+    /**
+     * Advances the grid map until asked to stop.
+     */
+    private void run()
+    {
+        try
+        {
+            while ( !stopRequested )
+            {
+                int     count   = chunk;
+                long    start   = System.nanoTime();
+                engine.advance( count );
+                long    elapsed = System.nanoTime() - start;
+                generations += count;
+                
+                if ( elapsed < frameNanos / 4 && count < MAX_CHUNK )
+                    chunk = count * 2;
+                else if ( elapsed > frameNanos && count > 1 )
+                    chunk = count / 2;
+            }
+        }
+        catch ( RuntimeException | Error exc )
+        {
+            error = exc;
+            exc.printStackTrace();
+        }
+    }
+}
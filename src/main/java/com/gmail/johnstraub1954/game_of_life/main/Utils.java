@@ -2,8 +2,6 @@ package com.gmail.johnstraub1954.game_of_life.main;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -23,6 +21,15 @@ public enum Utils implements PropertyChangeListener
     private static List<Integer>    birthStates     = params.getBirthStates();
     private static GridMap          gridMap         = params.getGridMap();
     
+    /**
+     * Calculates the generations requested of this singleton;
+     * accessed only by synchronized methods,
+     * because the singleton may be used from more than one thread.
+     * Generation engines create their own propagators.
+     */
+    private static final ConwayPropagator   propagator  = 
+        new ConwayPropagator();
+    
     /**
      * Default constructor.
      */
@@ -41,24 +48,90 @@ public enum Utils implements PropertyChangeListener
      */
     public void conwayPropagate( Object obj )
     {
-        List<Cell>      cellsToModify   = new ArrayList<>();
-        Iterator<Cell>  cellIterator    = gridMap.iterator();
-        while ( cellIterator.hasNext() )
-        {
-            Cell            cell    = cellIterator.next();
-            Neighborhood    hood    = new Neighborhood( cell, gridMap );
-            Cell            newCell = 
-                hood.getNextState( survivalStates, birthStates );
-            if ( cell.isAlive() != newCell.isAlive() )
-                cellsToModify.add( newCell );
-        }
-        
-        for ( Cell modifiedCell : cellsToModify )
-            gridMap.put( modifiedCell );
-        
+        conwayGeneration( gridMap, Rule.of( birthStates, survivalStates ) );
+        params.reset();
+    }
+    
+    /**
+     * Calculate the next generation of a given grid map
+     * using Conway's original algorithm and a given rule.
+     * Every cell in the live rectangle of the grid map,
+     * plus a margin of two cells on every side,
+     * is evaluated.
+     * The changes are applied to the grid map as a single batch.
+     * 
+     * @param map   the given grid map
+     * @param rule  the given rule
+     * 
+     * @see #conwayPropagate(Object)
+     */
+    public synchronized void conwayGeneration( GridMap map, Rule rule )
+    {
+        propagator.nextGeneration( map, rule );
+    }
+    
+    /**
+     * Calculate the next generation for this game pattern
+     * using Conway's original algorithm,
+     * visiting only cells that changed state
+     * in the previous generation, and their neighbors.
+     * Cells that did not change,
+     * and that have no neighbors that changed,
+     * cannot change in the next generation,
+     * so still lifes and empty space cost nothing.
+     * <p>
+     * The first generation after the grid map or rule changes,
+     * or after the grid map is modified by some other client,
+     * visits every cell, as conwayPropagate does.
+     * Rules that contain B0 always visit every cell.
+     * </p>
+     * <p>
+     * The grid map is updated, then Parameters.reset() is invoked.
+     * </p>
+     * 
+     * @param   obj Object controlling propagation; not used
+     * 
+     * @see #getVisitedCount()
+     */
+    public void incrementalPropagate( Object obj )
+    {
+        incrementalGeneration( 
+            gridMap,
+            Rule.of( birthStates, survivalStates )
+        );
         params.reset();
     }
     
+    /**
+     * Calculate the next generation of a given grid map
+     * using a given rule,
+     * visiting only cells that changed state
+     * in the previous generation, and their neighbors.
+     * The changes are applied to the grid map as a single batch.
+     * 
+     * @param map   the given grid map
+     * @param rule  the given rule
+     * 
+     * @see #incrementalPropagate(Object)
+     */
+    public synchronized void incrementalGeneration( GridMap map, Rule rule )
+    {
+        propagator.incrementalGeneration( map, rule );
+    }
+    
+    /**
+     * Gets the number of cells evaluated
+     * during the most recent generation
+     * calculated by conwayPropagate or incrementalPropagate.
+     * 
+     * @return  the number of cells evaluated
+     *          during the most recent generation
+     */
+    public synchronized long getVisitedCount()
+    {
+        return propagator.getVisitedCount();
+    }
+    
     @SuppressWarnings("unchecked")
     public void propertyChange( PropertyChangeEvent evt )
     {
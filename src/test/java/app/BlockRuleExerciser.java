@@ -0,0 +1,182 @@
+package app;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.BlockPropagator;
+import com.gmail.johnstraub1954.game_of_life.main.BlockRule;
+import com.gmail.johnstraub1954.game_of_life.main.Cell;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.Neighborhood;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+import com.gmail.johnstraub1954.game_of_life.main.Utils;
+
+/**
+ * Compares the BlockRule lookup table with per-cell evaluation.
+ * <p>
+ * The kernel comparison calculates the center 2x2 cells
+ * of random 4x4 squares three ways:
+ * with Neighborhood.getNextState (a HashMap of neighbors
+ * and List.contains on the rule);
+ * by counting neighbors with bit masks and calling Rule.nextState;
+ * and with a single lookup in a BlockRule.
+ * The engine comparison runs a random soup
+ * with Utils.conwayPropagate and with BlockPropagator.
+ * Speeds are reported in cells per second.
+ * </p>
+ * <p>
+ * Usage: BlockRuleExerciser [side [generations]]
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class BlockRuleExerciser
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private static final int[]  centerNeighbors =
+        { 0x0757, 0x0EAE, 0x7570, 0xEAE0 };
+    private static final int[]  centerBits      = { 5, 6, 9, 10 };
+    
+    public static void main( String[] args )
+    {
+        int     side        = args.length > 0 ? Integer.parseInt( args[0] ) : 1000;
+        int     generations = args.length > 1 ? Integer.parseInt( args[1] ) : 50;
+        
+        Rule    rule        = Rule.fromParameters();
+        long    start       = System.nanoTime();
+        BlockRule   table   = new BlockRule( rule );
+        System.out.printf( 
+            "table compiled in %.2f ms%n", 
+            (System.nanoTime() - start) / 1e6 
+        );
+        
+        int[]   blocks      = new int[1 << 20];
+        Random  randy       = new Random( 1 );
+        for ( int inx = 0 ; inx < blocks.length ; ++inx )
+            blocks[inx] = randy.nextInt( BlockRule.TABLE_SIZE );
+        for ( int inx = 0 ; inx < 5 ; ++inx )
+        {
+            runMasks( blocks, rule );
+            runTable( blocks, table );
+        }
+        System.out.printf( "kernel, %,d random 4x4 squares%n", blocks.length );
+        double  neighRate   = runNeighborhood( blocks.length / 64 );
+        double  maskRate    = runMasks( blocks, rule );
+        double  tableRate   = runTable( blocks, table );
+        System.out.printf( "%-14s %,15.0f cells/sec%n", "Neighborhood", neighRate );
+        System.out.printf( 
+            "%-14s %,15.0f cells/sec %8.1fx%n", 
+            "masks", maskRate, maskRate / neighRate
+        );
+        System.out.printf( 
+            "%-14s %,15.0f cells/sec %8.1fx%n", 
+            "table", tableRate, tableRate / neighRate
+        );
+        
+        run( getSoup( side ), 5, null );
+        run( getSoup( side ), 5, table );
+        GridMap expected    = getSoup( side );
+        GridMap actual      = getSoup( side );
+        double  conwayRate  = run( expected, generations, null );
+        double  blockRate   = run( actual, generations, table );
+        System.out.printf( "engine, %dx%d soup, %d generations%n", side, side, generations );
+        System.out.printf( "%-14s %,15.0f cells/sec%n", "conway", conwayRate );
+        System.out.printf( 
+            "%-14s %,15.0f cells/sec %8.1fx  identical: %b%n", 
+            "block", blockRate, blockRate / conwayRate, expected.equals( actual )
+        );
+    }
+    
+    /**
+     * Evaluates cells one at a time with Neighborhood.getNextState.
+     * 
+     * @param count number of cells to evaluate
+     * 
+     * @return  cells per second
+     */
+    private static double runNeighborhood( int count )
+    {
+        GridMap         map         = getSoup( 256 );
+        List<Integer>   birth       = params.getBirthStates();
+        List<Integer>   survival    = params.getSurvivalStates();
+        int             live        = 0;
+        long            start       = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+        {
+            Cell            cell    = map.get( inx & 255, (inx >> 8) & 255 );
+            Neighborhood    hood    = new Neighborhood( cell, map );
+            if ( hood.getNextState( survival, birth ).isAlive() )
+                ++live;
+        }
+        double  rate    = count * 1e9 / (System.nanoTime() - start);
+        if ( live < 0 )
+            System.out.println( live );
+        return rate;
+    }
+    
+    private static double runMasks( int[] blocks, Rule rule )
+    {
+        int     live    = 0;
+        long    start   = System.nanoTime();
+        for ( int block : blocks )
+            for ( int inx = 0 ; inx < 4 ; ++inx )
+            {
+                int     count   = Integer.bitCount( block & centerNeighbors[inx] );
+                boolean isAlive = (block & (1 << centerBits[inx])) != 0;
+                if ( rule.nextState( isAlive, count ) )
+                    ++live;
+            }
+        double  rate    = 4.0 * blocks.length * 1e9 / (System.nanoTime() - start);
+        if ( live < 0 )
+            System.out.println( live );
+        return rate;
+    }
+    
+    private static double runTable( int[] blocks, BlockRule table )
+    {
+        int     live    = 0;
+        long    start   = System.nanoTime();
+        for ( int block : blocks )
+            live += table.next( block );
+        double  rate    = 4.0 * blocks.length * 1e9 / (System.nanoTime() - start);
+        if ( live < 0 )
+            System.out.println( live );
+        return rate;
+    }
+    
+    private static double run( GridMap map, int generations, BlockRule table )
+    {
+        BlockPropagator block   = new BlockPropagator();
+        long            cells   = 0;
+        long            elapsed = 0;
+        params.setGridMap( map );
+        for ( int gen = 0 ; gen < generations ; ++gen )
+        {
+            Rectangle   rect    = map.getLiveRectangle();
+            cells += (long)rect.width * rect.height;
+            
+            long    start   = System.nanoTime();
+            if ( table != null )
+                block.nextGeneration( map, table );
+            else
+                Utils.INSTANCE.conwayPropagate( null );
+            elapsed += System.nanoTime() - start;
+        }
+        double  rate    = cells * 1e9 / elapsed;
+        return rate;
+    }
+    
+    private static GridMap getSoup( int side )
+    {
+        Random  randy   = new Random( 1 );
+        GridMap map     = new GridMap();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.set( col, row, true );
+        return map;
+    }
+}
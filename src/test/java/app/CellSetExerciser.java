@@ -0,0 +1,152 @@
+package app;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.CellSet;
+
+/**
+ * Compares CellSet with HashMap&lt;Point,Boolean&gt;,
+ * the former backing store of GridMap.
+ * Reports the memory used per live cell,
+ * and the speed of add, lookup and remove operations.
+ * <p>
+ * Usage: CellSetExerciser [cellCount]
+ * </p>
+ * <p>
+ * Cells are drawn at random from a square
+ * whose area is twice cellCount (default 1,000,000);
+ * lookups are half hits, half misses.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class CellSetExerciser
+{
+    private static int[]    xcos;
+    private static int[]    ycos;
+    
+    public static void main( String[] args )
+    {
+        int     count   = args.length > 0 ? Integer.parseInt( args[0] ) : 1000000;
+        int     side    = (int)Math.sqrt( 2.0 * count );
+        Random  randy   = new Random( 1 );
+        xcos = new int[count];
+        ycos = new int[count];
+        for ( int inx = 0 ; inx < count ; ++inx )
+        {
+            xcos[inx] = randy.nextInt( side ) - side / 2;
+            ycos[inx] = randy.nextInt( side ) - side / 2;
+        }
+        
+        // warm up
+        for ( int inx = 0 ; inx < 3 ; ++inx )
+        {
+            runHashMap();
+            runCellSet();
+        }
+        
+        System.out.printf( "%,d cells%n", count );
+        System.out.printf(
+            "%-10s %10s %14s %14s %14s%n",
+            "", "bytes/cell", "add/sec", "lookup/sec", "remove/sec"
+        );
+        print( "HashMap", runHashMap() );
+        print( "CellSet", runCellSet() );
+    }
+    
+    private static void print( String name, double[] results )
+    {
+        System.out.printf(
+            "%-10s %10.1f %,14.0f %,14.0f %,14.0f%n",
+            name, results[0], results[1], results[2], results[3]
+        );
+    }
+    
+    /**
+     * Exercises a HashMap&lt;Point,Boolean&gt;
+     * in the way GridMap used it.
+     * 
+     * @return  bytes per cell, adds/sec, lookups/sec, removes/sec
+     */
+    private static double[] runHashMap()
+    {
+        int     count   = xcos.length;
+        long    before  = getUsedMemory();
+        Map<Point, Boolean> map     = new HashMap<>();
+        
+        long    start   = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            map.put( new Point( xcos[inx], ycos[inx] ), true );
+        double  addRate = count * 1e9 / (System.nanoTime() - start);
+        
+        double  bytes   = (double)(getUsedMemory() - before) / map.size();
+        
+        int     hits    = 0;
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+        {
+            Point   point   = new Point( xcos[inx], ycos[inx] + (inx & 1) * 1000000 );
+            if ( map.get( point ) != null )
+                ++hits;
+        }
+        double  getRate = count * 1e9 / (System.nanoTime() - start);
+        
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            map.remove( new Point( xcos[inx], ycos[inx] ) );
+        double  remRate = count * 1e9 / (System.nanoTime() - start);
+        
+        if ( hits == 0 || !map.isEmpty() )
+            throw new IllegalStateException( "unexpected result" );
+        double[]    results = { bytes, addRate, getRate, remRate };
+        return results;
+    }
+    
+    /**
+     * Exercises a CellSet.
+     * 
+     * @return  bytes per cell, adds/sec, lookups/sec, removes/sec
+     */
+    private static double[] runCellSet()
+    {
+        int     count   = xcos.length;
+        long    before  = getUsedMemory();
+        CellSet set     = new CellSet();
+        
+        long    start   = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            set.add( xcos[inx], ycos[inx] );
+        double  addRate = count * 1e9 / (System.nanoTime() - start);
+        
+        double  bytes   = (double)(getUsedMemory() - before) / set.size();
+        
+        int     hits    = 0;
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            if ( set.contains( xcos[inx], ycos[inx] + (inx & 1) * 1000000 ) )
+                ++hits;
+        double  getRate = count * 1e9 / (System.nanoTime() - start);
+        
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            set.remove( xcos[inx], ycos[inx] );
+        double  remRate = count * 1e9 / (System.nanoTime() - start);
+        
+        if ( hits == 0 || !set.isEmpty() )
+            throw new IllegalStateException( "unexpected result" );
+        double[]    results = { bytes, addRate, getRate, remRate };
+        return results;
+    }
+    
+    private static long getUsedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for ( int inx = 0 ; inx < 3 ; ++inx )
+            System.gc();
+        long    used    = runtime.totalMemory() - runtime.freeMemory();
+        return used;
+    }
+}
@@ -0,0 +1,83 @@
+package app;
+
+import java.io.InputStream;
+import java.util.Iterator;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.HashlifeEngine;
+import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+
+/**
+ * Advances an RLE pattern by successive powers of two
+ * using HashlifeEngine, and reports the time required
+ * to reach each generation.
+ * <p>
+ * Usage: HashlifeExerciser [pattern [maxLog2]]
+ * </p>
+ * <p>
+ * <em>Pattern</em> is the name of an RLE resource
+ * (default GosperGlider.rle);
+ * <em>maxLog2</em> is the base-2 logarithm
+ * of the last generation to reach (default 30).
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class HashlifeExerciser
+{
+    public static void main( String[] args )
+    {
+        String  pattern = args.length > 0 ? args[0] : "GosperGlider.rle";
+        int     maxLog2 = args.length > 1 ? Integer.parseInt( args[1] ) : 30;
+        
+        HashlifeEngine  engine  = new HashlifeEngine( new Rule( 0x8, 0xC ) );
+        engine.load( getPattern( pattern ) );
+        
+        long    start   = System.nanoTime();
+        System.out.printf( "%s%n", pattern );
+        System.out.printf(
+            "%20s %16s %10s %10s%n", "generation", "population", "nodes", "millis"
+        );
+        for ( int log2 = 0 ; log2 < maxLog2 ; ++log2 )
+        {
+            // generation 2^log2 -> generation 2^(log2 + 1)
+            engine.step( log2 );
+            if ( log2 == 0 )
+                engine.step( 0 );
+            long    millis  = (System.nanoTime() - start) / 1000000;
+            System.out.printf(
+                "%,20d %,16d %,10d %,10d%n",
+                engine.getGeneration(),
+                engine.getPopulation(),
+                engine.getNodeCount(),
+                millis
+            );
+        }
+    }
+    
+    private static GridMap getPattern( String pattern )
+    {
+        ClassLoader loader  = HashlifeExerciser.class.getClassLoader();
+        InputStream inStr   = loader.getResourceAsStream( pattern );
+        if ( inStr == null )
+            throw new IllegalArgumentException( pattern + ": not found" );
+        RLEInput            input   = new RLEInput( inStr );
+        Iterator<Character> iter    = input.getGridDecoder().iterator();
+        int                 currX   = 0;
+        int                 currY   = 0;
+        GridMap             map     = new GridMap();
+        while ( iter.hasNext() )
+        {
+            char    nextChar    = iter.next();
+            if ( nextChar == '$' )
+            {
+                ++currY;
+                currX = 0;
+            }
+            else
+                map.put( currX++, currY, nextChar == 'o' );
+        }
+        return map;
+    }
+}
@@ -0,0 +1,114 @@
+package app;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.ParallelPropagator;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+import com.gmail.johnstraub1954.game_of_life.main.Utils;
+
+/**
+ * Measures the speed of ParallelPropagator
+ * with 1 through <em>n</em> threads,
+ * and compares it with the speed of Utils.conwayPropagate.
+ * Speed is reported in cells per second,
+ * where the number of cells processed in one generation
+ * is the area of the rectangle enclosing all live cells.
+ * Every run is verified to be identical to conwayPropagate.
+ * <p>
+ * Usage: ParallelScalingExerciser [side [generations [maxThreads]]]
+ * </p>
+ * <p>
+ * The pattern is a random side x side soup of 50% density
+ * (default 1000);
+ * maxThreads defaults to the number of available processors.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class ParallelScalingExerciser
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    public static void main( String[] args )
+    {
+        int     side        = args.length > 0 ? Integer.parseInt( args[0] ) : 1000;
+        int     generations = args.length > 1 ? Integer.parseInt( args[1] ) : 50;
+        int     maxThreads  = args.length > 2 
+            ? Integer.parseInt( args[2] ) 
+            : Runtime.getRuntime().availableProcessors();
+        
+        GridMap expected    = getSoup( side, 1 );
+        run( getSoup( side, 1 ), 5, 0 );
+        double  baseRate    = run( expected, generations, 0 );
+        
+        System.out.printf(
+            "%dx%d soup, %d generations, %d processors%n", 
+            side, side, generations, Runtime.getRuntime().availableProcessors()
+        );
+        System.out.printf( "%-12s %,15.0f cells/sec%n", "conway", baseRate );
+        double  oneRate     = 0;
+        for ( int threads = 1 ; threads <= maxThreads ; ++threads )
+        {
+            run( getSoup( side, 1 ), 5, threads );
+            GridMap actual  = getSoup( side, 1 );
+            double  rate    = run( actual, generations, threads );
+            if ( threads == 1 )
+                oneRate = rate;
+            System.out.printf(
+                "%2d thread(s) %,15.0f cells/sec %6.2fx conway %6.2fx 1 thread"
+                    + "  identical: %b%n",
+                threads, rate, rate / baseRate, rate / oneRate,
+                actual.equals( expected )
+            );
+        }
+    }
+    
+    /**
+     * Runs a given number of generations of a given map.
+     * 
+     * @param map           the given map
+     * @param generations   the given number of generations
+     * @param threads       the number of threads to use;
+     *                      0 to use Utils.conwayPropagate
+     *                      
+     * @return  the speed of the run, in cells per second
+     */
+    private static double run( GridMap map, int generations, int threads )
+    {
+        ParallelPropagator  parallel    = 
+            threads > 0 ? new ParallelPropagator( threads ) : null;
+        Rule                rule        = Rule.fromParameters();
+        long                cells       = 0;
+        long                elapsed     = 0;
+        params.setGridMap( map );
+        for ( int gen = 0 ; gen < generations ; ++gen )
+        {
+            Rectangle   rect    = map.getLiveRectangle();
+            cells += (long)rect.width * rect.height;
+            
+            long    start   = System.nanoTime();
+            if ( parallel != null )
+                parallel.nextGeneration( map, rule );
+            else
+                Utils.INSTANCE.conwayPropagate( null );
+            elapsed += System.nanoTime() - start;
+        }
+        
+        double  rate    = cells * 1e9 / elapsed;
+        return rate;
+    }
+    
+    private static GridMap getSoup( int side, long seed )
+    {
+        Random  randy   = new Random( seed );
+        GridMap map     = new GridMap();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.set( col, row, true );
+        return map;
+    }
+}
@@ -0,0 +1,152 @@
+package app;
+
+import java.awt.Rectangle;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+import com.gmail.johnstraub1954.game_of_life.main.RLEInput;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+import com.gmail.johnstraub1954.game_of_life.main.TiledPropagator;
+import com.gmail.johnstraub1954.game_of_life.main.Utils;
+
+/**
+ * Compares the speed of Utils.conwayPropagate
+ * with the speed of Utils.incrementalPropagate
+ * and TiledPropagator.
+ * Speed is reported in cells per second,
+ * where the number of cells processed in one generation
+ * is the area of the rectangle enclosing all live cells.
+ * <p>
+ * Usage: PropagationExerciser [pattern [generations]]
+ * </p>
+ * <p>
+ * <em>Pattern</em> may be the name of an RLE resource
+ * (default pp8primecalculator.rle)
+ * or an integer, <em>n</em>,
+ * denoting a random nxn soup of 50% density.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class PropagationExerciser
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    /** 
+     * Total number of cells visited by the most recent run;
+     * -1 if the engine doesn't report visited cells
+     */
+    private static long totalVisited;
+    
+    public static void main( String[] args )
+    {
+        String  pattern     = args.length > 0 ? args[0] : "pp8primecalculator.rle";
+        int     generations = args.length > 1 ? Integer.parseInt( args[1] ) : 100;
+        
+        String[]    engines = { "conway", "incremental", "tiled" };
+        GridMap[]   maps    = new GridMap[engines.length];
+        double[]    rates   = new double[engines.length];
+        long[]      visited = new long[engines.length];
+        for ( int inx = 0 ; inx < engines.length ; ++inx )
+        {
+            // warm up
+            run( getPattern( pattern ), 10, engines[inx] );
+            maps[inx] = getPattern( pattern );
+        }
+        for ( int inx = 0 ; inx < engines.length ; ++inx )
+        {
+            rates[inx] = run( maps[inx], generations, engines[inx] );
+            visited[inx] = totalVisited;
+        }
+        
+        System.out.printf( "%s, %d generations%n", pattern, generations );
+        for ( int inx = 0 ; inx < engines.length ; ++inx )
+        {
+            System.out.printf(
+                "%-12s %,15.0f cells/sec %8.1fx",
+                engines[inx], rates[inx], rates[inx] / rates[0]
+            );
+            if ( visited[inx] >= 0 )
+                System.out.printf(
+                    "  %,12d cells visited/gen", visited[inx] / generations
+                );
+            System.out.printf( "  identical: %b%n", maps[inx].equals( maps[0] ) );
+        }
+    }
+    
+    private static double run( GridMap map, int generations, String engine )
+    {
+        TiledPropagator tiled   = new TiledPropagator();
+        Utils           utils   = Utils.INSTANCE;
+        Rule            rule    = Rule.fromParameters();
+        long            cells   = 0;
+        long            elapsed = 0;
+        params.setGridMap( map );
+        totalVisited = engine.equals( "tiled" ) ? -1 : 0;
+        
+        for ( int gen = 0 ; gen < generations ; ++gen )
+        {
+            Rectangle   rect    = map.getLiveRectangle();
+            cells += (long)rect.width * rect.height;
+            
+            long    start   = System.nanoTime();
+            if ( engine.equals( "tiled" ) )
+                tiled.nextGeneration( map, rule );
+            else if ( engine.equals( "incremental" ) )
+                utils.incrementalPropagate( null );
+            else
+                utils.conwayPropagate( null );
+            elapsed += System.nanoTime() - start;
+            if ( totalVisited >= 0 )
+                totalVisited += utils.getVisitedCount();
+        }
+        
+        double  rate    = cells * 1e9 / elapsed;
+        return rate;
+    }
+    
+    private static GridMap getPattern( String pattern )
+    {
+        GridMap map = null;
+        if ( pattern.matches( "\\d+" ) )
+            map = getSoup( Integer.parseInt( pattern ), 1 );
+        else
+        {
+            ClassLoader loader  = PropagationExerciser.class.getClassLoader();
+            InputStream inStr   = loader.getResourceAsStream( pattern );
+            if ( inStr == null )
+                throw new IllegalArgumentException( pattern + ": not found" );
+            RLEInput            input   = new RLEInput( inStr );
+            Iterator<Character> iter    = input.getGridDecoder().iterator();
+            int                 currX   = 0;
+            int                 currY   = 0;
+            map = new GridMap();
+            while ( iter.hasNext() )
+            {
+                char    nextChar    = iter.next();
+                if ( nextChar == '$' )
+                {
+                    ++currY;
+                    currX = 0;
+                }
+                else
+                    map.put( currX++, currY, nextChar == 'o' );
+            }
+        }
+        return map;
+    }
+    
+    private static GridMap getSoup( int side, long seed )
+    {
+        Random  randy   = new Random( seed );
+        GridMap map     = new GridMap();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.put( col, row, true );
+        return map;
+    }
+}
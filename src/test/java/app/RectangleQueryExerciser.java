@@ -0,0 +1,100 @@
+package app;
+
+import java.awt.Rectangle;
+import java.util.Iterator;
+import java.util.Random;
+
+import com.gmail.johnstraub1954.game_of_life.main.Cell;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+
+/**
+ * Measures the cost of visiting the live cells
+ * within a small rectangle (such as a zoomed-in viewport)
+ * of a grid containing a large number of live cells.
+ * Compares GridMap.forEachLive(Rectangle, ...),
+ * which uses the map's chunk index,
+ * with a scan of every live cell filtered by the rectangle,
+ * which is how rectangle queries used to be answered.
+ * <p>
+ * Usage: RectangleQueryExerciser [cellCount [viewWidth viewHeight]]
+ * </p>
+ * <p>
+ * The grid is a random soup of density 50%
+ * containing approximately cellCount cells (default 4,000,000);
+ * the view (default 200x120) is centered on the soup.
+ * </p>
+ * 
+ * @author Jack Straub
+ */
+public class RectangleQueryExerciser
+{
+    private static long visited;
+    
+    public static void main( String[] args )
+    {
+        int     count   = args.length > 0 ? Integer.parseInt( args[0] ) : 4000000;
+        int     width   = args.length > 2 ? Integer.parseInt( args[1] ) : 200;
+        int     height  = args.length > 2 ? Integer.parseInt( args[2] ) : 120;
+        int     side    = (int)Math.sqrt( 2.0 * count );
+        Random  randy   = new Random( 1 );
+        GridMap map     = new GridMap();
+        
+        long    start   = System.nanoTime();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.set( col, row, true );
+        long    millis  = (System.nanoTime() - start) / 1000000;
+        System.out.printf( 
+            "%,d live cells, loaded in %,d ms%n", map.getPopulation(), millis
+        );
+        
+        Rectangle   view    = 
+            new Rectangle( (side - width) / 2, (side - height) / 2, width, height );
+        int         inView  = map.getPopulation( view );
+        System.out.printf( 
+            "view %dx%d, %,d live cells in view%n", width, height, inView
+        );
+        
+        // warm up
+        for ( int inx = 0 ; inx < 3 ; ++inx )
+        {
+            scanAll( map, view );
+            indexed( map, view );
+        }
+        
+        int     reps    = 5;
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < reps ; ++inx )
+            scanAll( map, view );
+        double  scanMicros  = (System.nanoTime() - start) / 1e3 / reps;
+        
+        reps = 2000;
+        start = System.nanoTime();
+        for ( int inx = 0 ; inx < reps ; ++inx )
+            indexed( map, view );
+        double  indexMicros = (System.nanoTime() - start) / 1e3 / reps;
+        
+        System.out.printf( "scan all live cells %,14.1f us/query%n", scanMicros );
+        System.out.printf( "chunk index         %,14.1f us/query%n", indexMicros );
+        System.out.printf( "speedup             %,14.0fx%n", scanMicros / indexMicros );
+        if ( visited == 0 )
+            System.out.println( "(nothing visited)" );
+    }
+    
+    private static void scanAll( GridMap map, Rectangle view )
+    {
+        Iterator<Cell>  iter    = map.liveIiterator();
+        while ( iter.hasNext() )
+        {
+            Cell    cell    = iter.next();
+            if ( view.contains( cell.getXco(), cell.getYco() ) )
+                ++visited;
+        }
+    }
+    
+    private static void indexed( GridMap map, Rectangle view )
+    {
+        map.forEachLive( view, (xco, yco) -> ++visited );
+    }
+}
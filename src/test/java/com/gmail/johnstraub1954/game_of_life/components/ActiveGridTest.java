@@ -0,0 +1,178 @@
+package com.gmail.johnstraub1954.game_of_life.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
+import com.gmail.johnstraub1954.game_of_life.main.Parameters;
+
+/**
+ * Verifies the frame scheduling and centering logic of ActiveGrid.
+ * The grid is never displayed,
+ * so its render thread never starts;
+ * frames are rendered and recorded directly.
+ * Does not require a display.
+ * 
+ * @author Jack Straub
+ */
+class ActiveGridTest
+{
+    private static final Parameters params      = Parameters.INSTANCE;
+    /** Width of the grid, in pixels */
+    private static final int        width       = 200;
+    /** Height of the grid, in pixels */
+    private static final int        height      = 100;
+    /** Size of a cell, in pixels */
+    private static final int        cellSize    = 4;
+    
+    private GridMap     prevGridMap;
+    private int         prevCellSize;
+    private int         prevZoomOut;
+    private boolean     prevKeepCentered;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevCellSize = params.getGridCellSize();
+        prevZoomOut = params.getGridZoomOut();
+        prevKeepCentered = params.isGridKeepCentered();
+        params.setGridCellSize( cellSize );
+        params.setGridZoomOut( 1 );
+        params.setGridKeepCentered( true );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setGridCellSize( prevCellSize );
+        params.setGridZoomOut( prevZoomOut );
+        params.setGridKeepCentered( prevKeepCentered );
+    }
+    
+    @Test
+    void testCenterGrid()
+    {
+        GridMap     map     = new GridMap();
+        map.put( 10, 20, true );
+        map.put( 12, 21, true );
+        params.setGridMap( map );
+        ActiveGrid  grid    = new ActiveGrid();
+        grid.setSize( width, height );
+        
+        // the first frame centers the grid
+        GridSnapshot    snapshot    = map.getSnapshot();
+        assertTrue( grid.isFrameNeeded( snapshot ) );
+        grid.renderFrame( width, height, snapshot );
+        assertEquals( getCenteredOrigin( snapshot ), grid.getGridCellOrigin() );
+        
+        // the origin moved, so one more frame is requested;
+        // after that, nothing has changed
+        grid.isFrameNeeded( snapshot );
+        assertFalse( grid.isFrameNeeded( snapshot ) );
+        
+        // centering an idle grid doesn't request a frame
+        grid.centerGrid( snapshot );
+        grid.renderFrame( width, height, snapshot );
+        assertFalse( grid.isFrameNeeded( snapshot ) );
+        
+        // centering a grid whose live cells have moved does
+        map.put( 110, 20, true );
+        GridSnapshot    moved       = map.getSnapshot();
+        Point           expOrigin   = getCenteredOrigin( moved );
+        assertNotEquals( expOrigin, grid.getGridCellOrigin() );
+        grid.centerGrid( moved );
+        assertEquals( expOrigin, grid.getGridCellOrigin() );
+        assertTrue( grid.isFrameNeeded( snapshot ) );
+        assertFalse( grid.isFrameNeeded( snapshot ) );
+        
+        // a new snapshot, or a new size, requires a frame
+        assertTrue( grid.isFrameNeeded( moved ) );
+        grid.renderFrame( width, height, moved );
+        grid.isFrameNeeded( moved );
+        assertFalse( grid.isFrameNeeded( moved ) );
+        grid.setSize( width + 1, height );
+        assertTrue( grid.isFrameNeeded( moved ) );
+    }
+    
+    @Test
+    void testDroppedFrames()
+    {
+        ActiveGrid  grid    = new ActiveGrid();
+        long        period  = 10;
+        
+        // frame finished on time
+        assertEquals( 10, grid.getNextDeadline( 0, period, 5 ) );
+        // frame finished late, but within the next period
+        assertEquals( 20, grid.getNextDeadline( 10, period, 25 ) );
+        assertEquals( 30, grid.getNextDeadline( 20, period, 40 ) );
+        assertEquals( 0, grid.getDroppedFrameCount() );
+        
+        // frame took four and a half periods:
+        // the three periods that followed it entirely are dropped,
+        // and the schedule resumes from the most recent boundary
+        assertEquals( 70, grid.getNextDeadline( 30, period, 75 ) );
+        assertEquals( 3, grid.getDroppedFrameCount() );
+        assertEquals( 80, grid.getNextDeadline( 70, period, 75 ) );
+        assertEquals( 3, grid.getDroppedFrameCount() );
+        
+        // one dropped period
+        assertEquals( 100, grid.getNextDeadline( 80, period, 105 ) );
+        assertEquals( 4, grid.getDroppedFrameCount() );
+    }
+    
+    @Test
+    void testAchievedFrameRate()
+    {
+        ActiveGrid  grid        = new ActiveGrid();
+        long        base        = 1_000_000L;
+        long        interval    = 50_000_000L;
+        assertEquals( 0, grid.getAchievedFrameRate() );
+        assertEquals( 0, grid.getMeanFrameNanos() );
+        
+        grid.recordFrame( base - 2_000_000, base );
+        assertEquals( 1, grid.getFrameCount() );
+        assertEquals( 0, grid.getAchievedFrameRate() );
+        
+        // three frames in 100 milliseconds: 20 frames per second
+        grid.recordFrame( base + interval - 4_000_000, base + interval );
+        grid.recordFrame( base + 2 * interval - 3_000_000, base + 2 * interval );
+        assertEquals( 3, grid.getFrameCount() );
+        assertEquals( 20, grid.getAchievedFrameRate(), .0001 );
+        assertEquals( 3_000_000, grid.getLastFrameNanos() );
+        assertEquals( 4_000_000, grid.getMaxFrameNanos() );
+        assertEquals( 3_000_000, grid.getMeanFrameNanos() );
+    }
+    
+    /**
+     * Gets the cell that ActiveGrid should place in its upper-left corner
+     * to center the live cells of a given snapshot.
+     * 
+     * @param snapshot  the given snapshot
+     * 
+     * @return  the cell in the upper-left corner of the centered grid
+     */
+    private static Point getCenteredOrigin( GridSnapshot snapshot )
+    {
+        Rectangle   rect    = snapshot.getLiveRectangle();
+        int         cols    = width / cellSize;
+        int         rows    = height / cellSize;
+        Point       origin  =
+            new Point(
+                rect.x - (cols / 2 - rect.width / 2),
+                rect.y - (rows / 2 - rect.height / 2)
+            );
+        return origin;
+    }
+}
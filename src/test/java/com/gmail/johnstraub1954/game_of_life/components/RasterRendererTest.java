@@ -0,0 +1,224 @@
+package com.gmail.johnstraub1954.game_of_life.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.GridSnapshot;
+
+/**
+ * Verifies that RasterRenderer writes live cells
+ * into the correct pixels,
+ * and that the grid-line overlay is cached
+ * until a property that affects it changes.
+ * Does not require a display.
+ * 
+ * @author Jack Straub
+ */
+class RasterRendererTest
+{
+    private static final int    bgRGB       = 0xFFFFFF;
+    private static final int    lineRGB     = 0x000000;
+    private static final int    cellRGB     = 0xFF0000;
+    private static final Color  bgColor     = new Color( bgRGB );
+    private static final Color  lineColor   = new Color( lineRGB );
+    private static final Color  cellColor   = new Color( cellRGB );
+    
+    @Test
+    void testCells()
+    {
+        int             size        = 4;
+        RasterRenderer  renderer    = new RasterRenderer();
+        renderer.setStyle( bgColor, false, 1, lineColor, size, cellColor );
+        
+        GridMap map     = new GridMap();
+        map.put( 10, 20, true );
+        map.put( 12, 21, true );
+        // outside the visible area
+        map.put( 5, 5, true );
+        Point           ulc     = new Point( 10, 20 );
+        BufferedImage   image   =
+            renderer.render( 40, 30, map.getSnapshot(), ulc );
+        
+        for ( int yco = 0 ; yco < image.getHeight() ; ++yco )
+            for ( int xco = 0 ; xco < image.getWidth() ; ++xco )
+            {
+                int     cellX   = xco / size + ulc.x;
+                int     cellY   = yco / size + ulc.y;
+                int     expRGB  =
+                    map.isAlive( cellX, cellY ) ? cellRGB : bgRGB;
+                int     actRGB  = image.getRGB( xco, yco ) & 0xFFFFFF;
+                assertEquals( expRGB, actRGB, xco + "," + yco );
+            }
+    }
+    
+    @Test
+    void testSingleCellSize()
+    {
+        RasterRenderer  renderer    = new RasterRenderer();
+        renderer.setStyle( bgColor, false, 1, lineColor, 1, cellColor );
+        GridMap map     = new GridMap();
+        map.put( 3, 2, true );
+        BufferedImage   image   =
+            renderer.render( 8, 8, map.getSnapshot(), new Point( 0, 0 ) );
+        assertEquals( cellRGB, image.getRGB( 3, 2 ) & 0xFFFFFF );
+        assertEquals( bgRGB, image.getRGB( 2, 2 ) & 0xFFFFFF );
+        assertEquals( bgRGB, image.getRGB( 3, 3 ) & 0xFFFFFF );
+    }
+    
+    @Test
+    void testOverlayCache()
+    {
+        int             size        = 8;
+        RasterRenderer  renderer    = new RasterRenderer();
+        GridSnapshot    snapshot    = new GridMap().getSnapshot();
+        Point           ulc         = new Point( 0, 0 );
+        renderer.setStyle( bgColor, true, 1, lineColor, size, cellColor );
+        BufferedImage   image       = renderer.render( 64, 64, snapshot, ulc );
+        BufferedImage   overlay     = renderer.getOverlay();
+        assertNotNull( overlay );
+        
+        // grid lines are drawn; cell interiors are not
+        assertNotEquals( bgRGB, image.getRGB( size, size / 2 ) & 0xFFFFFF );
+        assertEquals( bgRGB, image.getRGB( size / 2, size / 2 ) & 0xFFFFFF );
+        
+        // same style and size: overlay is reused
+        renderer.setStyle( bgColor, true, 1, lineColor, size, Color.BLUE );
+        renderer.render( 64, 64, snapshot, new Point( 5, 5 ) );
+        assertSame( overlay, renderer.getOverlay() );
+        
+        // new cell size: overlay is redrawn
+        renderer.setStyle( bgColor, true, 1, lineColor, size * 2, cellColor );
+        renderer.render( 64, 64, snapshot, ulc );
+        assertNotSame( overlay, renderer.getOverlay() );
+        overlay = renderer.getOverlay();
+        
+        // new size: overlay is redrawn
+        renderer.render( 32, 64, snapshot, ulc );
+        assertNotSame( overlay, renderer.getOverlay() );
+    }
+    
+    @Test
+    void testIncremental()
+    {
+        int             size        = 4;
+        int             width       = 64;
+        int             height      = 48;
+        Point           ulc         = new Point( 0, 0 );
+        RasterRenderer  renderer    = new RasterRenderer();
+        renderer.setStyle( bgColor, true, 1, lineColor, size, cellColor );
+        
+        GridMap map     = new GridMap();
+        map.put( 1, 1, true );
+        map.put( 2, 1, true );
+        map.put( 3, 1, true );
+        renderer.render( width, height, map.getSnapshot(), ulc );
+        assertEquals(
+            new Rectangle( 0, 0, width, height ),
+            renderer.getDamage()
+        );
+        
+        // no change: nothing is rendered
+        renderer.render( width, height, map.getSnapshot(), ulc );
+        assertTrue( renderer.getDamage().isEmpty() );
+        
+        // blinker: only the changed cells are rendered
+        map.applyBatch( m -> {
+            m.set( 1, 1, false );
+            m.set( 3, 1, false );
+            m.set( 2, 0, true );
+            m.set( 2, 2, true );
+        });
+        BufferedImage   image   =
+            renderer.render( width, height, map.getSnapshot(), ulc );
+        assertEquals(
+            new Rectangle( 1 * size, 0, 3 * size, 3 * size ),
+            renderer.getDamage()
+        );
+        
+        // the result is the same as a full rendering
+        RasterRenderer  expRenderer = new RasterRenderer();
+        expRenderer.setStyle( bgColor, true, 1, lineColor, size, cellColor );
+        BufferedImage   expImage    =
+            expRenderer.render( width, height, map.getSnapshot(), ulc );
+        for ( int yco = 0 ; yco < height ; ++yco )
+            for ( int xco = 0 ; xco < width ; ++xco )
+                assertEquals(
+                    expImage.getRGB( xco, yco ),
+                    image.getRGB( xco, yco ),
+                    xco + "," + yco
+                );
+        
+        // a new origin requires a full rendering
+        renderer.render( width, height, map.getSnapshot(), new Point( 1, 1 ) );
+        assertEquals(
+            new Rectangle( 0, 0, width, height ),
+            renderer.getDamage()
+        );
+    }
+    
+    @Test
+    void testDensity()
+    {
+        int             shift       = 2;
+        RasterRenderer  renderer    = new RasterRenderer();
+        renderer.setStyle( bgColor, true, 1, lineColor, 4, cellColor );
+        
+        // one full 4x4 block, one block with a single live cell
+        GridMap map     = new GridMap();
+        for ( int yco = 8 ; yco < 12 ; ++yco )
+            for ( int xco = 4 ; xco < 8 ; ++xco )
+                map.put( xco, yco, true );
+        map.put( 13, 1, true );
+        BufferedImage   image   =
+            renderer.renderDensity( 8, 8, map.getSnapshot(), new Point( 0, 0 ), shift );
+        
+        // a full block is drawn in the live cell color,
+        // an empty block in the background color (no grid lines)
+        assertEquals( cellRGB, image.getRGB( 1, 2 ) & 0xFFFFFF );
+        for ( int yco = 0 ; yco < image.getHeight() ; ++yco )
+            for ( int xco = 0 ; xco < image.getWidth() ; ++xco )
+                if ( (xco != 1 || yco != 2) && (xco != 3 || yco != 0) )
+                    assertEquals( bgRGB, image.getRGB( xco, yco ) & 0xFFFFFF );
+        
+        // a sparse block is a blend of the two
+        int     sparse  = image.getRGB( 3, 0 ) & 0xFFFFFF;
+        assertNotEquals( bgRGB, sparse );
+        assertNotEquals( cellRGB, sparse );
+        assertEquals( 
+            new Rectangle( 0, 0, 8, 8 ), 
+            renderer.getDamage()
+        );
+        
+        // the next ordinary rendering is complete
+        renderer.render( 32, 32, map.getSnapshot(), new Point( 0, 0 ) );
+        assertEquals( 
+            new Rectangle( 0, 0, 32, 32 ), 
+            renderer.getDamage()
+        );
+    }
+    
+    @Test
+    void testInvalidSize()
+    {
+        RasterRenderer  renderer    = new RasterRenderer();
+        renderer.setStyle( bgColor, false, 1, lineColor, 4, cellColor );
+        GridSnapshot    snapshot    = new GridMap().getSnapshot();
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> renderer.render( 0, 10, snapshot, new Point() )
+        );
+    }
+}
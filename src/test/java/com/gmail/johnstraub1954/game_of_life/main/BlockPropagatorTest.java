@@ -0,0 +1,126 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getSoup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that BlockPropagator produces
+ * exactly the same generations as Utils.conwayPropagate.
+ * 
+ * @author Jack Straub
+ */
+class BlockPropagatorTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testGlider()
+    {
+        // odd and even, positive and negative coordinates
+        int[][] coords  = { {0,-1}, {1,0}, {-1,1}, {0,1}, {1,1} };
+        compare( coords, 300 );
+    }
+    
+    @Test
+    void testRandomSoup()
+    {
+        compare( getSoup( 150, 101, 1 ), 100 );
+    }
+    
+    @Test
+    void testHighlife()
+    {
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        compare( getSoup( 100, 100, 2 ), 100 );
+    }
+    
+    @Test
+    void testRuleChange()
+    {
+        BlockPropagator block   = new BlockPropagator();
+        assertEquals( Rule.fromParameters(), block.getBlockRule().getRule() );
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        assertEquals( Rule.fromParameters(), block.getBlockRule().getRule() );
+        params.setSurvivalStates( Arrays.asList( 1, 2, 3 ) );
+        assertEquals( Rule.fromParameters(), block.getBlockRule().getRule() );
+    }
+    
+    @Test
+    void testPropagate()
+    {
+        GridMap         map     = new GridMap();
+        BlockPropagator block   = new BlockPropagator();
+        
+        // blinker
+        map.set( 10, 10, true );
+        map.set( 11, 10, true );
+        map.set( 12, 10, true );
+        block.nextGeneration( map, block.getBlockRule() );
+        assertEquals( 3, map.getPopulation() );
+        assertTrue( map.isAlive( 11, 9 ) );
+        assertTrue( map.isAlive( 11, 10 ) );
+        assertTrue( map.isAlive( 11, 11 ) );
+    }
+    
+    @Test
+    void testBirthOnZero()
+    {
+        BlockPropagator block   = new BlockPropagator();
+        BlockRule       table   = new BlockRule( new Rule( 0x9, 0xC ) );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> block.nextGeneration( new GridMap(), table )
+        );
+    }
+    
+    /**
+     * Runs the given pattern for a given number of generations,
+     * once using Utils.conwayPropagate
+     * and once using BlockPropagator,
+     * and verifies that the two are identical at every generation.
+     * 
+     * @param coords        coordinates of the live cells in the pattern
+     * @param generations   the given number of generations
+     */
+    private static void compare( int[][] coords, int generations )
+    {
+        BlockRule       table   = new BlockRule( Rule.fromParameters() );
+        BlockPropagator block   = new BlockPropagator();
+        PropagationTestSupport.compare(
+            coords,
+            generations,
+            (map, rule) -> block.nextGeneration( map, table )
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BlockRuleTest
+{
+    @Test
+    void testNext()
+    {
+        Random  randy   = new Random( 5 );
+        for ( int inx = 0 ; inx < 10 ; ++inx )
+        {
+            Rule        rule    = new Rule( randy.nextInt( 512 ), randy.nextInt( 512 ) );
+            BlockRule   table   = new BlockRule( rule );
+            assertSame( rule, table.getRule() );
+            for ( int block = 0 ; block < BlockRule.TABLE_SIZE ; block += 7 )
+                assertEquals( getNext( rule, block ), table.next( block ) );
+        }
+    }
+    
+    @Test
+    void testGetCenter()
+    {
+        assertEquals( 0, BlockRule.getCenter( 0x9999 ) );
+        assertEquals( 1, BlockRule.getCenter( 1 << 5 ) );
+        assertEquals( 2, BlockRule.getCenter( 1 << 6 ) );
+        assertEquals( 4, BlockRule.getCenter( 1 << 9 ) );
+        assertEquals( 8, BlockRule.getCenter( 1 << 10 ) );
+        assertEquals( 0xF, BlockRule.getCenter( 0xFFFF ) );
+    }
+    
+    /**
+     * Calculates the next state of the center 2x2 square
+     * of a 4x4 square, cell by cell.
+     */
+    private static int getNext( Rule rule, int block )
+    {
+        int result  = 0;
+        for ( int inx = 0 ; inx < 4 ; ++inx )
+        {
+            int xco     = 1 + (inx & 1);
+            int yco     = 1 + (inx >> 1);
+            int count   = 0;
+            for ( int row = yco - 1 ; row <= yco + 1 ; ++row )
+                for ( int col = xco - 1 ; col <= xco + 1 ; ++col )
+                    if ( (row != yco || col != xco) && isSet( block, col, row ) )
+                        ++count;
+            if ( rule.nextState( isSet( block, xco, yco ), count ) )
+                result |= 1 << inx;
+        }
+        return result;
+    }
+    
+    private static boolean isSet( int block, int xco, int yco )
+    {
+        boolean result  = (block & (1 << (yco * 4 + xco))) != 0;
+        return result;
+    }
+}
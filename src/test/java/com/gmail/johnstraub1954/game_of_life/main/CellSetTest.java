@@ -0,0 +1,151 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CellSetTest
+{
+    @Test
+    void testAddRemoveContains()
+    {
+        CellSet set = new CellSet();
+        assertTrue( set.isEmpty() );
+        assertTrue( set.add( 5, -7 ) );
+        assertFalse( set.add( 5, -7 ) );
+        assertTrue( set.contains( 5, -7 ) );
+        assertFalse( set.contains( -7, 5 ) );
+        assertEquals( 1, set.size() );
+        
+        assertTrue( set.remove( 5, -7 ) );
+        assertFalse( set.remove( 5, -7 ) );
+        assertFalse( set.contains( 5, -7 ) );
+        assertTrue( set.isEmpty() );
+    }
+    
+    @Test
+    void testFreeKey()
+    {
+        // (Integer.MIN_VALUE, 0) packs to the value
+        // that denotes an empty slot
+        CellSet set = new CellSet();
+        assertFalse( set.contains( Integer.MIN_VALUE, 0 ) );
+        assertFalse( set.set( Integer.MIN_VALUE, 0, true ) );
+        assertTrue( set.contains( Integer.MIN_VALUE, 0 ) );
+        assertEquals( 1, set.size() );
+        assertTrue( set.set( Integer.MIN_VALUE, 0, true ) );
+        
+        int slot    = set.nextSlot( 0 );
+        assertEquals( Integer.MIN_VALUE, set.getX( slot ) );
+        assertEquals( 0, set.getY( slot ) );
+        assertEquals( -1, set.nextSlot( slot + 1 ) );
+        
+        assertTrue( set.set( Integer.MIN_VALUE, 0, false ) );
+        assertTrue( set.isEmpty() );
+        assertEquals( -1, set.nextSlot( 0 ) );
+    }
+    
+    @Test
+    void testRandomOperations()
+    {
+        // Narrow coordinate range forces plenty of collisions,
+        // re-adds and backward-shift deletions.
+        Random      randy   = new Random( 5 );
+        CellSet     set     = new CellSet();
+        Set<Long>   expSet  = new HashSet<>();
+        for ( int inx = 0 ; inx < 200000 ; ++inx )
+        {
+            int     xco     = randy.nextInt( 200 ) - 100;
+            int     yco     = randy.nextInt( 200 ) - 100;
+            long    key     = CellSet.pack( xco, yco );
+            boolean include = randy.nextInt( 3 ) != 0 || inx > 150000;
+            if ( inx > 180000 )
+                include = false;
+            boolean expPrev = include ? !expSet.add( key ) : expSet.remove( key );
+            assertEquals( expPrev, set.set( xco, yco, include ) );
+            assertEquals( expSet.size(), set.size() );
+        }
+        
+        Set<Long>   actSet  = new HashSet<>();
+        for ( int slot = set.nextSlot( 0 ) ; slot >= 0 ; slot = set.nextSlot( slot + 1 ) )
+            assertTrue( actSet.add( CellSet.pack( set.getX( slot ), set.getY( slot ) ) ) );
+        assertEquals( expSet, actSet );
+        for ( long key : expSet )
+            assertTrue( set.contains( CellSet.unpackX( key ), CellSet.unpackY( key ) ) );
+    }
+    
+    /**
+     * Verify that copying a large set cell by cell,
+     * in slot order, takes linear time.
+     * If the home slot of a key were taken from the high-order bits
+     * of its hash code, keys visited in slot order would all land
+     * in one probe cluster of the new set,
+     * and the copy would take minutes.
+     */
+    @Test
+    void testCopyInSlotOrder()
+    {
+        int     side    = 1 << 10;
+        CellSet source  = new CellSet();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                source.add( col, row );
+        
+        CellSet copy    = new CellSet();
+        assertTimeoutPreemptively( Duration.ofSeconds( 10 ), () -> {
+            for ( int slot = source.nextSlot( 0 ) ;
+                  slot >= 0 ;
+                  slot = source.nextSlot( slot + 1 ) )
+                copy.add( source.getX( slot ), source.getY( slot ) );
+        });
+        assertEquals( source, copy );
+    }
+    
+    @Test
+    void testGetBounds()
+    {
+        CellSet     set     = new CellSet();
+        Rectangle   rect    = new Rectangle( 1, 2, 3, 4 );
+        assertEquals( new Rectangle( 0, 0, 0, 0 ), set.getBounds( rect ) );
+        
+        set.add( -10, 5 );
+        set.add( 10, -5 );
+        set.add( 0, 20 );
+        assertEquals( new Rectangle( -10, -5, 21, 26 ), set.getBounds( rect ) );
+    }
+    
+    @Test
+    void testEqualsHashCode()
+    {
+        CellSet set1    = new CellSet();
+        CellSet set2    = new CellSet();
+        for ( int inx = 0 ; inx < 100 ; ++inx )
+        {
+            set1.add( inx, -inx );
+            set2.add( 99 - inx, inx - 99 );
+        }
+        assertEquals( set1, set2 );
+        assertEquals( set1.hashCode(), set2.hashCode() );
+        
+        CellSet copy    = new CellSet( set1 );
+        assertEquals( set1, copy );
+        copy.remove( 0, 0 );
+        assertNotEquals( set1, copy );
+        copy.add( 1000, 1000 );
+        assertNotEquals( set1, copy );
+        
+        set1.clear();
+        assertTrue( set1.isEmpty() );
+        assertEquals( new CellSet(), set1 );
+    }
+}
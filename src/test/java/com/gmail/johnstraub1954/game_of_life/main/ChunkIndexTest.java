@@ -0,0 +1,183 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkIndexTest
+{
+    @Test
+    void testRandomRectangles()
+    {
+        Random      randy   = new Random( 3 );
+        ChunkIndex  index   = new ChunkIndex();
+        Set<Point>  live    = new HashSet<>();
+        for ( int inx = 0 ; inx < 20000 ; ++inx )
+        {
+            Point   point   = 
+                new Point( randy.nextInt( 400 ) - 200, randy.nextInt( 400 ) - 200 );
+            if ( live.add( point ) )
+                index.add( point.x, point.y );
+            else if ( randy.nextBoolean() )
+            {
+                live.remove( point );
+                index.remove( point.x, point.y );
+            }
+        }
+        
+        for ( int inx = 0 ; inx < 500 ; ++inx )
+        {
+            // mix of small rectangles (chunk-by-chunk lookup)
+            // and large ones (scan of all chunks)
+            int         limit   = inx % 2 == 0 ? 40 : 1000;
+            Rectangle   rect    = new Rectangle(
+                randy.nextInt( 500 ) - 250,
+                randy.nextInt( 500 ) - 250,
+                randy.nextInt( limit ),
+                randy.nextInt( limit )
+            );
+            Set<Point>  expected    = new HashSet<>();
+            for ( Point point : live )
+                if ( rect.contains( point ) )
+                    expected.add( point );
+            Set<Point>  actual      = new HashSet<>();
+            index.forEach( rect, (xco, yco) -> 
+                assertTrue( actual.add( new Point( xco, yco ) ) )
+            );
+            assertEquals( expected, actual, rect.toString() );
+            assertEquals( expected.size(), index.count( rect ) );
+        }
+    }
+    
+    @Test
+    void testExtremeCoordinates()
+    {
+        ChunkIndex  index   = new ChunkIndex();
+        int[][]     coords  =
+        {
+            { Integer.MIN_VALUE, Integer.MIN_VALUE },
+            { Integer.MAX_VALUE, Integer.MAX_VALUE },
+            { Integer.MIN_VALUE, Integer.MAX_VALUE },
+            { -1, -1 }, { 0, 0 }, { 31, 31 }, { 32, 32 }
+        };
+        for ( int[] coord : coords )
+            index.add( coord[0], coord[1] );
+        // (0,0) and (31,31) share a chunk
+        assertEquals( 6, index.getChunkCount() );
+        
+        Rectangle   all     = new Rectangle(
+            Integer.MIN_VALUE, Integer.MIN_VALUE,
+            Integer.MAX_VALUE, Integer.MAX_VALUE
+        );
+        // x and y from Integer.MIN_VALUE through -2
+        assertEquals( 1, index.count( all ) );
+        assertEquals( 3, index.count( new Rectangle( -1, -1, 33, 33 ) ) );
+        assertEquals( 0, index.count( new Rectangle( 0, 0, 0, 10 ) ) );
+        
+        for ( int[] coord : coords )
+            index.remove( coord[0], coord[1] );
+        assertEquals( 0, index.getChunkCount() );
+        assertEquals( 0, index.count( all ) );
+    }
+    
+    @Test
+    void testForEachRun()
+    {
+        Random      randy   = new Random( 5 );
+        ChunkIndex  index   = new ChunkIndex();
+        boolean[][] grid    = new boolean[200][200];
+        for ( int inx = 0 ; inx < 15000 ; ++inx )
+        {
+            int row = randy.nextInt( 200 );
+            int col = randy.nextInt( 200 );
+            if ( !grid[row][col] )
+            {
+                grid[row][col] = true;
+                index.add( col - 100, row - 100 );
+            }
+        }
+        
+        // runs in row-major order, merged across chunk boundaries
+        List<String>    expected    = new ArrayList<>();
+        for ( int row = 0 ; row < 200 ; ++row )
+            for ( int col = 0 ; col < 200 ; ++col )
+                if ( grid[row][col] && (col == 0 || !grid[row][col - 1]) )
+                {
+                    int len = 1;
+                    while ( col + len < 200 && grid[row][col + len] )
+                        ++len;
+                    expected.add( (col - 100) + "," + (row - 100) + "," + len );
+                }
+        List<String>    actual      = new ArrayList<>();
+        index.forEachRun( (xco, yco, len) ->
+            actual.add( xco + "," + yco + "," + len )
+        );
+        assertEquals( expected, actual );
+        
+        // a run that fills an entire chunk row, and continues
+        ChunkIndex  full    = new ChunkIndex();
+        for ( int col = -32 ; col < 40 ; ++col )
+            full.add( col, 7 );
+        actual.clear();
+        full.forEachRun( (xco, yco, len) ->
+            actual.add( xco + "," + yco + "," + len )
+        );
+        assertEquals( Arrays.asList( "-32,7,72" ), actual );
+    }
+    
+    /**
+     * Verify that a shared copy of an index
+     * is unaffected by later changes to the index,
+     * including changes that empty a chunk
+     * and then reuse its bitmap.
+     */
+    @Test
+    void testShare()
+    {
+        Random      randy   = new Random( 5 );
+        ChunkIndex  index   = new ChunkIndex();
+        Set<Point>  live    = new HashSet<>();
+        List<ChunkIndex>    copies      = new ArrayList<>();
+        List<Set<Point>>    expected    = new ArrayList<>();
+        for ( int gen = 0 ; gen < 20 ; ++gen )
+        {
+            for ( int inx = 0 ; inx < 2000 ; ++inx )
+            {
+                Point   point   = 
+                    new Point( randy.nextInt( 200 ) - 100, randy.nextInt( 200 ) - 100 );
+                if ( live.add( point ) )
+                    index.add( point.x, point.y );
+                else
+                {
+                    live.remove( point );
+                    index.remove( point.x, point.y );
+                }
+            }
+            copies.add( index.share() );
+            expected.add( new HashSet<>( live ) );
+        }
+        
+        for ( int inx = 0 ; inx < copies.size() ; ++inx )
+        {
+            ChunkIndex  copy    = copies.get( inx );
+            Set<Point>  actual  = new HashSet<>();
+            copy.forEach( (xco, yco) -> 
+                assertTrue( actual.add( new Point( xco, yco ) ) )
+            );
+            assertEquals( expected.get( inx ), actual );
+            assertEquals( actual.size(), copy.getPopulation() );
+            for ( Point point : actual )
+                assertTrue( copy.contains( point.x, point.y ) );
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getSoup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that DensePropagator produces
+ * exactly the same generations as Utils.conwayPropagate,
+ * whether it uses its dense array or the sparse engine.
+ * 
+ * @author Jack Straub
+ */
+class DensePropagatorTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testGlider()
+    {
+        // long enough to outgrow the array several times
+        int[][] coords  = { {0,-1}, {1,0}, {-1,1}, {0,1}, {1,1} };
+        compare( coords, 600 );
+    }
+    
+    @Test
+    void testRPentomino()
+    {
+        // escaping gliders eventually make the pattern sparse
+        int[][] coords  = { {1,0}, {2,0}, {0,1}, {1,1}, {1,2} };
+        compare( coords, 1200 );
+    }
+    
+    @Test
+    void testRandomSoup()
+    {
+        compare( getSoup( 200, 130, 1 ), 100 );
+    }
+    
+    @Test
+    void testHighlife()
+    {
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        compare( getSoup( 100, 100, 2 ), 100 );
+    }
+    
+    @Test
+    void testSparseFallback()
+    {
+        Rule            rule    = Rule.fromParameters();
+        DensePropagator dense   = new DensePropagator();
+        GridMap         map     = new GridMap();
+        
+        // two blinkers, far apart
+        for ( int col = 0 ; col < 3 ; ++col )
+        {
+            map.set( col, 0, true );
+            map.set( col + 1000, 1000, true );
+        }
+        dense.nextGeneration( map, rule );
+        assertFalse( dense.isDense() );
+        
+        // once one blinker is gone the other is dense
+        map.clear( new Rectangle( 990, 990, 20, 20 ) );
+        dense.nextGeneration( map, rule );
+        assertTrue( dense.isDense() );
+        assertTrue( map.isAlive( 0, 0 ) );
+        assertTrue( map.isAlive( 1, 0 ) );
+        assertTrue( map.isAlive( 2, 0 ) );
+        assertEquals( 3, map.getPopulation() );
+    }
+    
+    @Test
+    void testMetrics()
+    {
+        Rule                rule    = Rule.fromParameters();
+        DensePropagator     dense   = new DensePropagator();
+        GenerationMetrics   metrics = GenerationMetrics.INSTANCE;
+        GridMap             map     = new GridMap();
+        map.set( 0, 0, true );
+        map.set( 1, 0, true );
+        map.set( 2, 0, true );
+        
+        metrics.reset();
+        dense.nextGeneration( map, rule );
+        assertEquals( SwarKernel.INSTANCE, dense.getKernel() );
+        assertEquals( SwarKernel.INSTANCE.getName(), metrics.getKernel() );
+        assertEquals( 1, metrics.getGenerationCount() );
+        
+        map.set( 1000, 1000, true );
+        dense.nextGeneration( map, rule );
+        assertFalse( dense.isDense() );
+        assertEquals( "tiled", metrics.getKernel() );
+        assertEquals( 2, metrics.getGenerationCount() );
+    }
+    
+    @Test
+    void testPropagate()
+    {
+        GridMap         map     = new GridMap();
+        DensePropagator dense   = new DensePropagator();
+        
+        // blinker
+        map.put( 10, 10, true );
+        map.put( 11, 10, true );
+        map.put( 12, 10, true );
+        dense.nextGeneration( map, Rule.fromParameters() );
+        assertTrue( map.isAlive( 11, 9 ) );
+        assertTrue( map.isAlive( 11, 10 ) );
+        assertTrue( map.isAlive( 11, 11 ) );
+        assertEquals( 3, map.getPopulation() );
+        
+        // modification by another client must be detected
+        map.put( 11, 9, false );
+        dense.nextGeneration( map, Rule.fromParameters() );
+        assertEquals( 0, map.getPopulation() );
+    }
+    
+    @Test
+    void testBirthOnZero()
+    {
+        DensePropagator dense   = new DensePropagator();
+        Rule            rule    = new Rule( 0x9, 0xC );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> dense.nextGeneration( new GridMap(), rule )
+        );
+    }
+    
+    /**
+     * Runs the given pattern for a given number of generations,
+     * once using Utils.conwayPropagate
+     * and once using DensePropagator,
+     * and verifies that the two are identical at every generation.
+     * 
+     * @param coords        coordinates of the live cells in the pattern
+     * @param generations   the given number of generations
+     */
+    private static void compare( int[][] coords, int generations )
+    {
+        DensePropagator dense   = new DensePropagator();
+        PropagationTestSupport.compare( coords, generations, dense::nextGeneration );
+    }
+}
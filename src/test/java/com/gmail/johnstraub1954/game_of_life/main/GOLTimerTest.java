@@ -0,0 +1,264 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies the overload policies, statistics and exception isolation
+ * of GOLTimerTask.
+ * Tasks are scheduled on a private executor,
+ * so that the GOLTimer singleton is not disposed.
+ * Timing assertions are deliberately loose.
+ * 
+ * @author Jack Straub
+ */
+class GOLTimerTest
+{
+    /** Period of every task, in nanoseconds (10 milliseconds) */
+    private static final long   period      = 10_000_000L;
+    /** Longest time to wait for a condition, in milliseconds */
+    private static final long   maxWait     = 5000;
+    
+    private ScheduledThreadPoolExecutor executor;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        executor = new ScheduledThreadPoolExecutor( 1 );
+        executor.setRemoveOnCancelPolicy( true );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void testSkip()
+    {
+        GOLTimerTask    task    =
+            startTask( GOLTimer.OverloadPolicy.SKIP, 0, new SlowStart() );
+        waitFor( () -> task.getRunCount() >= 3 );
+        task.cancel();
+        
+        assertTrue( task.getOverrunCount() >= 3 );
+        assertEquals( task.getOverrunCount(), task.getDroppedCount() );
+        assertEquals( task.getRunCount(), task.getTickCount() );
+    }
+    
+    @Test
+    void testCoalesce()
+    {
+        AtomicInteger   maxTicks    = new AtomicInteger();
+        SlowStart       action      =
+            new SlowStart( ticks -> maxTicks.accumulateAndGet( ticks, Math::max ) );
+        GOLTimerTask    task        =
+            startTask( GOLTimer.OverloadPolicy.COALESCE, 100, action );
+        waitFor( () -> task.getRunCount() >= 3 );
+        task.cancel();
+        
+        assertTrue( maxTicks.get() > 1 );
+        assertTrue( task.getTickCount() > task.getRunCount() );
+        assertEquals( 0, task.getDroppedCount() );
+    }
+    
+    @Test
+    void testCoalesceLimit()
+    {
+        int             limit       = 1;
+        AtomicInteger   maxTicks    = new AtomicInteger();
+        SlowStart       action      =
+            new SlowStart( ticks -> maxTicks.accumulateAndGet( ticks, Math::max ) );
+        GOLTimerTask    task        =
+            startTask( GOLTimer.OverloadPolicy.COALESCE, limit, action );
+        waitFor( () -> task.getRunCount() >= 3 );
+        task.cancel();
+        
+        // the first execution takes 5 periods, so the next 4 ticks are late;
+        // 1 of the late ticks is coalesced, the rest are dropped
+        assertEquals( limit + 1, maxTicks.get() );
+        assertTrue( task.getDroppedCount() > 0 );
+        assertTrue( task.getOverrunCount() > task.getDroppedCount() );
+    }
+    
+    @Test
+    void testCatchUp()
+    {
+        int             limit   = 2;
+        GOLTimerTask    task    =
+            startTask( GOLTimer.OverloadPolicy.CATCH_UP, limit, new SlowStart() );
+        waitFor( () -> task.getRunCount() >= 5 );
+        task.cancel();
+        
+        // the first execution takes 5 periods, so the next 4 ticks are late;
+        // 2 of the late ticks are executed, the rest are dropped
+        assertTrue( task.getDroppedCount() > 0 );
+        assertTrue( task.getOverrunCount() > task.getDroppedCount() );
+        assertEquals( task.getRunCount(), task.getTickCount() );
+    }
+    
+    @Test
+    void testExceptionIsolation()
+    {
+        RuntimeException    exc     = new IllegalStateException( "test" );
+        GOLTimerTask        bad     =
+            startTask( GOLTimer.OverloadPolicy.SKIP, 0, ticks -> { throw exc; } );
+        AtomicInteger       count   = new AtomicInteger();
+        GOLTimerTask        good    =
+            startTask(
+                GOLTimer.OverloadPolicy.SKIP,
+                0,
+                ticks -> count.incrementAndGet()
+            );
+        waitFor( () -> bad.getRunCount() >= 3 && good.getRunCount() >= 3 );
+        bad.cancel();
+        good.cancel();
+        
+        assertEquals( bad.getRunCount(), bad.getExceptionCount() );
+        assertSame( exc, bad.getLastException() );
+        assertEquals( 0, good.getExceptionCount() );
+        assertEquals( good.getRunCount(), count.get() );
+    }
+    
+    @Test
+    void testCancel()
+        throws InterruptedException
+    {
+        GOLTimerTask    task    =
+            startTask( GOLTimer.OverloadPolicy.SKIP, 0, ticks -> {} );
+        waitFor( () -> task.getRunCount() >= 2 );
+        assertFalse( task.isCancelled() );
+        assertTrue( task.cancel() );
+        assertFalse( task.cancel() );
+        assertTrue( task.isCancelled() );
+        
+        // allow an execution already in progress to complete
+        Thread.sleep( period / 1_000_000 );
+        long    runs    = task.getRunCount();
+        Thread.sleep( 5 * period / 1_000_000 );
+        assertEquals( runs, task.getRunCount() );
+    }
+    
+    @Test
+    void testLateness()
+    {
+        GOLTimerTask    task    =
+            startTask( GOLTimer.OverloadPolicy.SKIP, 0, new SlowStart() );
+        waitFor( () -> task.getRunCount() >= 3 );
+        task.cancel();
+        
+        // the second execution is due while the first is in progress
+        assertTrue( task.getMaxLatenessNanos() > 0 );
+        assertTrue( task.getMaxLatenessNanos() >= task.getMeanLatenessNanos() );
+        assertTrue( task.getMeanLatenessNanos() >= 0 );
+        assertTrue( task.getJitterNanos() >= 0 );
+        assertTrue( task.getAchievedRate() > 0 );
+    }
+    
+    @Test
+    void testInvalidArguments()
+    {
+        GOLTimer    timer   = GOLTimer.INSTANCE;
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> timer.addTask( 0, GOLTimer.OverloadPolicy.SKIP, 0, t -> {} )
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> timer.addTask( period, GOLTimer.OverloadPolicy.CATCH_UP, -1, t -> {} )
+        );
+    }
+    
+    /**
+     * Creates and starts a task on the private executor.
+     * 
+     * @param policy        the task's overload policy
+     * @param catchUpLimit  the task's catch-up limit
+     * @param action        the task's action
+     * 
+     * @return  the started task
+     */
+    private GOLTimerTask
+    startTask( GOLTimer.OverloadPolicy policy, int catchUpLimit, IntConsumer action )
+    {
+        GOLTimerTask    task    =
+            new GOLTimerTask( executor, period, policy, catchUpLimit, action );
+        task.start();
+        return task;
+    }
+    
+    /**
+     * Waits for a condition to become true.
+     * Fails if the condition does not become true
+     * within a reasonable time.
+     * 
+     * @param condition the condition to wait for
+     */
+    private static void waitFor( BooleanSupplier condition )
+    {
+        long    limit   = System.currentTimeMillis() + maxWait;
+        while ( !condition.getAsBoolean() )
+        {
+            assertTrue( System.currentTimeMillis() < limit, "timed out" );
+            try
+            {
+                Thread.sleep( 1 );
+            }
+            catch ( InterruptedException exc )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Action whose first execution takes 5 periods,
+     * so that the following ticks are late.
+     */
+    private static class SlowStart implements IntConsumer
+    {
+        private final IntConsumer   next;
+        private boolean             first   = true;
+        
+        public SlowStart()
+        {
+            this( ticks -> {} );
+        }
+        
+        public SlowStart( IntConsumer next )
+        {
+            this.next = next;
+        }
+        
+        @Override
+        public void accept( int ticks )
+        {
+            if ( first )
+            {
+                first = false;
+                try
+                {
+                    Thread.sleep( 5 * period / 1_000_000 );
+                }
+                catch ( InterruptedException exc )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            next.accept( ticks );
+        }
+    }
+}
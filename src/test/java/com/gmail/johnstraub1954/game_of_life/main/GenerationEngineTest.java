@@ -0,0 +1,340 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.gmail.johnstraub1954.game_of_life.main.GenerationEngine.Capability;
+
+/**
+ * Verifies that every engine provided by StandardEngineProvider
+ * can be selected with the spawn property,
+ * and produces exactly the same generations
+ * as Utils.conwayGeneration.
+ * 
+ * @author Jack Straub
+ */
+class GenerationEngineTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testServiceLoader()
+    {
+        GenerationEngineProvider    provider    =
+            GenerationEngineProvider.find( GOLConstants.PROP_PROC_TILED );
+        assertNotNull( provider );
+        assertTrue( provider instanceof StandardEngineProvider );
+        assertTrue(
+            GenerationEngineProvider.find( "TILED" )
+            instanceof StandardEngineProvider
+        );
+        assertNull( GenerationEngineProvider.find( "no such engine" ) );
+    }
+    
+    @Test
+    void testAllEngines()
+    {
+        for ( String name : new StandardEngineProvider().getNames() )
+        {
+            try ( GenerationEngine engine = getEngine( name ) )
+            {
+                assertEquals( name, engine.getName() );
+                compare( engine, 1, 20 );
+                compare( engine, 13, 5 );
+            }
+        }
+    }
+    
+    @Test
+    void testHighlife()
+    {
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        for ( String name : new StandardEngineProvider().getNames() )
+        {
+            try ( GenerationEngine engine = getEngine( name ) )
+            {
+                compare( engine, 4, 10 );
+            }
+        }
+    }
+    
+    @Test
+    void testBirthOnZero()
+    {
+        // engines that don't support B0 delegate to the Conway engine
+        params.setBirthStates( Arrays.asList( 0, 3 ) );
+        Rule    rule    = Rule.fromParameters();
+        for ( String name : new StandardEngineProvider().getNames() )
+        {
+            try ( GenerationEngine engine = getEngine( name ) )
+            {
+                boolean b0  =
+                    engine.getCapabilities().contains( Capability.B0_RULES );
+                assertEquals( b0, engine.supportsRule( rule ) );
+                compare( engine, 1, 3 );
+            }
+        }
+    }
+    
+    @Test
+    void testCapabilities()
+    {
+        try ( GenerationEngine engine = getEngine( "hashlife" ) )
+        {
+            assertTrue(
+                engine.getCapabilities().contains( Capability.MULTI_STEP )
+            );
+            assertFalse(
+                engine.getCapabilities().contains( Capability.PARALLEL )
+            );
+        }
+        try ( GenerationEngine engine = getEngine( "parallel" ) )
+        {
+            assertTrue(
+                engine.getCapabilities().contains( Capability.PARALLEL )
+            );
+            assertTrue(
+                engine.getCapabilities().contains( Capability.B0_RULES )
+            );
+        }
+        for ( String name : new StandardEngineProvider().getNames() )
+        {
+            try ( GenerationEngine engine = getEngine( name ) )
+            {
+                assertTrue(
+                    engine.getCapabilities().contains( Capability.SNAPSHOT )
+                );
+                assertThrows(
+                    IllegalArgumentException.class,
+                    () -> engine.step( 0 )
+                );
+            }
+        }
+    }
+    
+    @Test
+    void testSnapshot()
+    {
+        GridMap     map     = new GridMap();
+        map.put( 0, 0, true );
+        map.put( 1, 0, true );
+        map.put( 2, 0, true );
+        params.setGridMap( map );
+        try ( GenerationEngine engine = getEngine( "dense" ) )
+        {
+            engine.step( 1 );
+            GridSnapshot    snapshot    = engine.snapshot();
+            assertEquals( 3, engine.population() );
+            assertEquals( 3, snapshot.getPopulation() );
+            assertTrue( snapshot.isAlive( 1, -1 ) );
+            assertTrue( snapshot.isAlive( 1, 1 ) );
+            assertFalse( snapshot.isAlive( 0, 0 ) );
+        }
+    }
+    
+    @Test
+    void testExplicitGridMap()
+    {
+        // the explicit rule (HighLife) differs from the configured rule,
+        // and the configured grid map must not be touched
+        GridMap     configured  = new GridMap();
+        params.setGridMap( configured );
+        Rule        rule        = Rule.of( Arrays.asList( 3, 6 ), Arrays.asList( 2, 3 ) );
+        for ( String name : new StandardEngineProvider().getNames() )
+        {
+            Random      randy   = new Random( 5 );
+            GridMap     expMap  = new GridMap();
+            GridMap     actMap  = new GridMap( false );
+            for ( int row = 0 ; row < 40 ; ++row )
+                for ( int col = 0 ; col < 40 ; ++col )
+                    if ( randy.nextBoolean() )
+                    {
+                        expMap.put( col, row, true );
+                        actMap.put( col, row, true );
+                    }
+            
+            try ( GenerationEngine engine = getEngine( name ) )
+            {
+                for ( int gen = 0 ; gen < 7 ; ++gen )
+                    Utils.INSTANCE.conwayGeneration( expMap, rule );
+                engine.advance( actMap, rule, 7 );
+                assertEquals( expMap, actMap, name );
+                assertEquals( 0, configured.getPopulation(), name );
+                assertThrows(
+                    IllegalArgumentException.class,
+                    () -> engine.advance( actMap, rule, 0 )
+                );
+            }
+        }
+    }
+    
+    /**
+     * Verify that engines stepping different grid maps
+     * on different threads do not interfere with one another.
+     * The conway and incremental engines,
+     * and the fallback used by the tiled engine for B0 rules,
+     * each have working storage of their own.
+     */
+    @Test
+    void testConcurrentEngines() throws Exception
+    {
+        Rule        life    = Rule.of( Arrays.asList( 3 ), Arrays.asList( 2, 3 ) );
+        Rule        b0      = Rule.of( Arrays.asList( 0, 3 ), Arrays.asList( 2, 3 ) );
+        String[]    names   =
+        {
+            GOLConstants.PROP_PROC_CONWAY,
+            GOLConstants.PROP_PROC_INCREMENTAL,
+            GOLConstants.PROP_PROC_TILED
+        };
+        Rule[]      rules   = { life, life, b0 };
+        int[]       gens    = { 150, 150, 20 };
+        for ( int inx = 0 ; inx < names.length ; ++inx )
+        {
+            Rule                rule    = rules[inx];
+            int                 count   = gens[inx];
+            GridMap[]           expMaps = new GridMap[2];
+            GridMap[]           actMaps = new GridMap[2];
+            GenerationEngine[]  engines = new GenerationEngine[2];
+            Thread[]            threads = new Thread[2];
+            CyclicBarrier       barrier = new CyclicBarrier( 2 );
+            for ( int jnx = 0 ; jnx < 2 ; ++jnx )
+            {
+                Random  randy   = new Random( jnx );
+                expMaps[jnx] = new GridMap( false );
+                actMaps[jnx] = new GridMap( false );
+                for ( int row = 0 ; row < 40 ; ++row )
+                    for ( int col = 0 ; col < 40 ; ++col )
+                        if ( randy.nextBoolean() )
+                        {
+                            expMaps[jnx].put( col, row, true );
+                            actMaps[jnx].put( col, row, true );
+                        }
+                for ( int gen = 0 ; gen < count ; ++gen )
+                    Utils.INSTANCE.conwayGeneration( expMaps[jnx], rule );
+                
+                GridMap             actMap  = actMaps[jnx];
+                GenerationEngine    engine  = getEngine( names[inx] );
+                engines[jnx] = engine;
+                threads[jnx] = new Thread( () -> {
+                    try
+                    {
+                        barrier.await();
+                        for ( int gen = 0 ; gen < count ; ++gen )
+                            engine.advance( actMap, rule, 1 );
+                    }
+                    catch ( InterruptedException | BrokenBarrierException exc )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            
+            for ( Thread thread : threads )
+                thread.start();
+            for ( int jnx = 0 ; jnx < 2 ; ++jnx )
+            {
+                threads[jnx].join();
+                engines[jnx].close();
+                assertEquals( expMaps[jnx], actMaps[jnx], names[inx] );
+            }
+        }
+    }
+    
+    @Test
+    void testInvalidName()
+    {
+        GOLProperties   props   = new GOLProperties();
+        props.setProperty( GOLConstants.PROP_PROC_PN, "no such engine" );
+        assertThrows( GOLException.class, () -> props.getGenerationEngine() );
+    }
+    
+    /**
+     * Creates the engine with a given name,
+     * selected by the spawn property.
+     * 
+     * @param name  the given name
+     * 
+     * @return  the engine with the given name
+     */
+    private static GenerationEngine getEngine( String name )
+    {
+        GOLProperties   props   = new GOLProperties();
+        props.setProperty( GOLConstants.PROP_PROC_PN, name );
+        props.setProperty( GOLConstants.PARALLELISM_PN, "3" );
+        GenerationEngine    engine  = props.getGenerationEngine();
+        return engine;
+    }
+    
+    /**
+     * Runs a random soup for a given number of steps
+     * of a given number of generations,
+     * once using Utils.conwayGeneration
+     * and once using a given engine,
+     * and verifies that the two are identical after every step.
+     * 
+     * @param engine    the given engine
+     * @param count     the number of generations in each step
+     * @param steps     the number of steps
+     */
+    private static void compare( GenerationEngine engine, int count, int steps )
+    {
+        Random      randy   = new Random( count );
+        GridMap     expMap  = new GridMap();
+        GridMap     actMap  = new GridMap();
+        for ( int row = 0 ; row < 60 ; ++row )
+            for ( int col = 0 ; col < 60 ; ++col )
+                if ( randy.nextBoolean() )
+                {
+                    expMap.put( col, row, true );
+                    actMap.put( col, row, true );
+                }
+        
+        Rule        rule    = Rule.fromParameters();
+        params.setGridMap( actMap );
+        for ( int step = 0 ; step < steps ; ++step )
+        {
+            for ( int gen = 0 ; gen < count ; ++gen )
+                Utils.INSTANCE.conwayGeneration( expMap, rule );
+            engine.step( count );
+            String  message = engine.getName() + " step " + step;
+            assertEquals( expMap, actMap, message );
+            assertEquals( expMap.getPopulation(), engine.population(), message );
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class GridSnapshotTest
+{
+    @Test
+    void testSnapshot()
+    {
+        GridMap     map     = new GridMap();
+        map.set( 3, 4, true );
+        map.set( -5, 10, true );
+        
+        GridSnapshot    snap1   = map.getSnapshot();
+        assertSame( snap1, map.getSnapshot() );
+        assertEquals( 2, snap1.getPopulation() );
+        assertTrue( snap1.isAlive( 3, 4 ) );
+        assertEquals( new Rectangle( -5, 4, 9, 7 ), snap1.getLiveRectangle() );
+        assertEquals( new Point( -5, 4 ), snap1.getUpperLeftCorner() );
+        assertEquals( 1, snap1.getPopulation( new Rectangle( 0, 0, 5, 5 ) ) );
+        
+        List<Point> cells   = new ArrayList<>();
+        snap1.forEachLive( (xco, yco) -> cells.add( new Point( xco, yco ) ) );
+        assertEquals( 2, cells.size() );
+        assertTrue( cells.contains( new Point( -5, 10 ) ) );
+        
+        // modifying the map doesn't modify the snapshot
+        map.set( 3, 4, false );
+        assertTrue( snap1.isAlive( 3, 4 ) );
+        assertEquals( 2, snap1.getPopulation() );
+        GridSnapshot    snap2   = map.getSnapshot();
+        assertNotSame( snap1, snap2 );
+        assertFalse( snap2.isAlive( 3, 4 ) );
+        assertEquals( map.getModificationCount(), snap2.getModificationCount() );
+        
+        GridMap copy    = snap1.toGridMap();
+        assertEquals( 2, copy.getPopulation() );
+        assertTrue( copy.isAlive( 3, 4 ) );
+    }
+    
+    /**
+     * Verify that restoring a checkpoint
+     * doesn't mark the grid as modified.
+     */
+    @Test
+    void testToGridMapNotModified()
+    {
+        GridMap     map     = new GridMap();
+        map.set( 3, 4, true );
+        map.set( 5, 4, true );
+        CheckpointStack cpStack = CheckpointStack.INSTANCE;
+        cpStack.clear();
+        cpStack.push( map );
+        
+        Parameters.INSTANCE.setModifiedGrid( false );
+        GridMap     restored    = cpStack.pop();
+        assertFalse( Parameters.INSTANCE.getModifiedGrid() );
+        assertEquals( map, restored );
+        assertEquals( map.getLiveRectangle(), restored.getLiveRectangle() );
+        
+        // the restored map is attached
+        restored.set( 0, 0, true );
+        assertTrue( Parameters.INSTANCE.getModifiedGrid() );
+        cpStack.clear();
+    }
+    
+    @Test
+    void testSnapshotDuringBatch()
+    {
+        GridMap     map     = new GridMap();
+        map.set( 0, 0, true );
+        GridSnapshot    before  = map.getSnapshot();
+        AtomicReference<GridSnapshot>   during  = new AtomicReference<>();
+        map.applyBatch( m -> {
+            m.set( 1, 1, true );
+            during.set( m.getSnapshot() );
+        });
+        
+        // the snapshot published before the batch is returned
+        // while the batch is in progress
+        assertSame( before, during.get() );
+        GridSnapshot    after   = map.getSnapshot();
+        assertNotSame( before, after );
+        assertEquals( 2, after.getPopulation() );
+        
+        // a batch doesn't publish a snapshot unless one is requested
+        // during the batch, in which case it is published when the batch ends
+        map.applyBatch( m -> m.set( 2, 2, true ) );
+        map.applyBatch( m -> {
+            m.set( 3, 3, true );
+            during.set( m.getSnapshot() );
+        });
+        assertSame( after, during.get() );
+        map.applyBatch( m -> during.set( m.getSnapshot() ) );
+        assertEquals( 4, during.get().getPopulation() );
+        assertSame( during.get(), map.getSnapshot() );
+        
+        // a new map has a snapshot during its first batch
+        GridMap     empty   = new GridMap();
+        empty.applyBatch( m -> {
+            m.set( 1, 1, true );
+            during.set( m.getSnapshot() );
+        });
+        assertEquals( 0, during.get().getPopulation() );
+        assertEquals( 1, empty.getSnapshot().getPopulation() );
+    }
+    
+    @Test
+    void testForEachChange()
+    {
+        GridMap     map     = new GridMap();
+        map.set( 0, 0, true );
+        map.set( 1, 0, true );
+        GridSnapshot    snap1   = map.getSnapshot();
+        
+        map.applyBatch( m -> {
+            m.set( 0, 0, false );
+            m.set( 5, 5, true );
+            // no change
+            m.set( 1, 0, true );
+        });
+        GridSnapshot    snap2   = map.getSnapshot();
+        List<Point>     changes = new ArrayList<>();
+        assertTrue(
+            snap2.forEachChange(
+                snap1,
+                (xco, yco) -> changes.add( new Point( xco, yco ) )
+            )
+        );
+        assertEquals( 2, changes.size() );
+        assertTrue( changes.contains( new Point( 0, 0 ) ) );
+        assertTrue( changes.contains( new Point( 5, 5 ) ) );
+        
+        // a snapshot has no changes relative to itself
+        changes.clear();
+        assertTrue(
+            snap2.forEachChange( snap2, (xco, yco) -> changes.add( null ) )
+        );
+        assertEquals( 0, changes.size() );
+        
+        // changes are known only relative to the immediate predecessor
+        map.set( 7, 7, true );
+        GridSnapshot    snap3   = map.getSnapshot();
+        assertFalse( snap3.forEachChange( snap1, (xco, yco) -> changes.add( null ) ) );
+        assertFalse( snap3.forEachChange( null, (xco, yco) -> changes.add( null ) ) );
+        assertEquals( 0, changes.size() );
+        
+        // or to a snapshot of another map
+        GridMap     other   = new GridMap( map );
+        other.set( 8, 8, true );
+        GridSnapshot    snap4   = other.getSnapshot();
+        assertFalse( snap4.forEachChange( snap3, (xco, yco) -> changes.add( null ) ) );
+    }
+    
+    @Test
+    void testChangeOverflow()
+    {
+        GridMap     map     = new GridMap();
+        GridSnapshot    snap1   = map.getSnapshot();
+        int         count   = GridMap.MAX_TRACKED_CHANGES + 1;
+        map.applyBatch( m -> {
+            for ( int inx = 0 ; inx < count ; ++inx )
+                m.set( inx, 0, true );
+        });
+        GridSnapshot    snap2   = map.getSnapshot();
+        assertFalse( snap2.forEachChange( snap1, (xco, yco) -> {} ) );
+        
+        // tracking resumes with the next snapshot
+        map.set( 0, 0, false );
+        int[]       changes = { 0 };
+        assertTrue(
+            map.getSnapshot().forEachChange( snap2, (xco, yco) -> ++changes[0] )
+        );
+        assertEquals( 1, changes[0] );
+    }
+    
+    @Test
+    void testForEachDensity()
+    {
+        Random      random  = new Random( 1954 );
+        GridMap     map     = new GridMap();
+        for ( int inx = 0 ; inx < 5000 ; ++inx )
+            map.set( random.nextInt( 6000 ) - 3000, random.nextInt( 400 ) - 200, true );
+        
+        // the first density request builds a pyramid from scratch;
+        // from then on the map maintains one,
+        // and updates it incrementally
+        verifyDensity( map.getSnapshot() );
+        for ( int pass = 0 ; pass < 2 ; ++pass )
+        {
+            map.applyBatch( m -> {
+                for ( int inx = 0 ; inx < 5000 ; ++inx )
+                    m.set( random.nextInt( 6000 ) - 3000, random.nextInt( 400 ) - 200, inx % 2 == 0 );
+            });
+            verifyDensity( map.getSnapshot() );
+        }
+        GridSnapshot    snapshot    = map.getSnapshot();
+        verifyDensity( new GridMap( map ).getSnapshot() );
+        
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> snapshot.forEachDensity( new Rectangle( 0, 0, 1, 1 ), 0, (x, y, c) -> {} )
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> snapshot.forEachDensity(
+                new Rectangle( 0, 0, 1, 1 ),
+                GridSnapshot.MAX_DENSITY_SHIFT + 1,
+                (x, y, c) -> {}
+            )
+        );
+    }
+    
+    /**
+     * Verifies the block counts reported by a given snapshot,
+     * at every block size, in a small rectangle
+     * (fewer blocks than occupied blocks)
+     * and a large rectangle (more blocks than occupied blocks),
+     * against counts calculated from the snapshot's live cells.
+     * 
+     * @param snapshot  the given snapshot
+     */
+    private static void verifyDensity( GridSnapshot snapshot )
+    {
+        Rectangle[] rects   =
+        {
+            new Rectangle( -100, -50, 300, 120 ),
+            new Rectangle( -5000, -5000, 10000, 10000 ),
+        };
+        for ( int shift = 1 ; shift <= GridSnapshot.MAX_DENSITY_SHIFT ; ++shift )
+            for ( Rectangle rect : rects )
+            {
+                int                 bShift  = shift;
+                Rectangle           blocks  =
+                    new Rectangle(
+                        rect.x >> shift,
+                        rect.y >> shift,
+                        ((rect.x + rect.width - 1) >> shift) - (rect.x >> shift) + 1,
+                        ((rect.y + rect.height - 1) >> shift) - (rect.y >> shift) + 1
+                    );
+                Map<Point, Integer> expected    = new HashMap<>();
+                snapshot.forEachLive( (xco, yco) -> {
+                    Point   block   = new Point( xco >> bShift, yco >> bShift );
+                    if ( blocks.contains( block ) )
+                        expected.merge( block, 1, Integer::sum );
+                });
+                Map<Point, Integer> actual      = new HashMap<>();
+                snapshot.forEachDensity( rect, shift, (xco, yco, count) ->
+                    assertEquals( null, actual.put( new Point( xco, yco ), count ) )
+                );
+                assertEquals( expected, actual, "shift " + shift + ", " + rect );
+            }
+    }
+    
+    /**
+     * Reads snapshots on one thread
+     * while another thread calculates generations.
+     * Every snapshot must be a complete generation.
+     */
+    @Test
+    void testConcurrentReader() throws InterruptedException
+    {
+        // Two gliders travelling away from each other;
+        // every generation has exactly 10 live cells.
+        int[][]     coords  =
+        {
+            {1,0}, {2,1}, {0,2}, {1,2}, {2,2},
+            {-1,-100}, {-2,-101}, {0,-102}, {-1,-102}, {-2,-102},
+        };
+        GridMap     map     = new GridMap();
+        for ( int[] coord : coords )
+            map.set( coord[0], coord[1], true );
+        Rule                rule    = new Rule( 0x8, 0xC );
+        ParallelPropagator  engine  = new ParallelPropagator( 1 );
+        
+        AtomicBoolean           done        = new AtomicBoolean( false );
+        AtomicReference<String> failure     = new AtomicReference<>();
+        Thread  reader  = new Thread( () -> {
+            try
+            {
+                while ( !done.get() )
+                {
+                    GridSnapshot    snap    = map.getSnapshot();
+                    int[]           count   = { 0 };
+                    snap.forEachLive( (xco, yco) -> ++count[0] );
+                    if ( count[0] != coords.length || snap.getPopulation() != coords.length )
+                        failure.compareAndSet( null, "torn snapshot: " + count[0] );
+                }
+            }
+            catch ( RuntimeException exc )
+            {
+                failure.compareAndSet( null, exc.toString() );
+            }
+        });
+        reader.start();
+        for ( int gen = 0 ; gen < 2000 ; ++gen )
+            engine.nextGeneration( map, rule );
+        done.set( true );
+        reader.join();
+        
+        assertEquals( null, failure.get() );
+        assertEquals( coords.length, map.getPopulation() );
+    }
+}
@@ -7,10 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -352,6 +354,182 @@ class GridmapTest
         assertTrue( livePoints.contains( lrc ) );
     }
 
+    @Test
+    void testIsAliveSet()
+    {
+        assertFalse( gridMap.isAlive( 3, -4 ) );
+        assertFalse( gridMap.set( 3, -4, true ) );
+        assertTrue( gridMap.isAlive( 3, -4 ) );
+        assertTrue( gridMap.get( 3, -4 ).isAlive() );
+        assertTrue( gridMap.set( 3, -4, true ) );
+        assertEquals( 1, gridMap.getModificationCount() );
+        assertTrue( gridMap.set( 3, -4, false ) );
+        assertFalse( gridMap.isAlive( 3, -4 ) );
+        assertEquals( 2, gridMap.getModificationCount() );
+    }
+    
+    @Test
+    void testGetLiveNeighborCount()
+    {
+        // 3x3 block, all live
+        for ( int row = -1 ; row <= 1 ; ++row )
+            for ( int col = -1 ; col <= 1 ; ++col )
+                gridMap.set( col, row, true );
+        
+        assertEquals( 8, gridMap.getLiveNeighborCount( 0, 0 ) );
+        assertEquals( 3, gridMap.getLiveNeighborCount( -1, -1 ) );
+        assertEquals( 5, gridMap.getLiveNeighborCount( 0, -1 ) );
+        assertEquals( 3, gridMap.getLiveNeighborCount( 0, -2 ) );
+        assertEquals( 1, gridMap.getLiveNeighborCount( 2, 2 ) );
+        assertEquals( 0, gridMap.getLiveNeighborCount( 3, 0 ) );
+        
+        Cell            self    = gridMap.get( 0, -1 );
+        Neighborhood    hood    = new Neighborhood( self, gridMap );
+        assertEquals( 
+            hood.getLivingNeighborCount(), 
+            gridMap.getLiveNeighborCount( 0, -1 ) 
+        );
+    }
+    
+    @Test
+    void testForEachLive()
+    {
+        Point[]     allPoints   =
+        {
+            new Point( -10, -10 ),
+            new Point( 10, -10 ),
+            new Point( -10, 10 ),
+            new Point( 10, 10 ),
+            new Point( 0, 0 )
+        };
+        for ( Point point : allPoints )
+            gridMap.set( point.x, point.y, true );
+        
+        List<Point> visited = new ArrayList<>();
+        gridMap.forEachLive( (xco, yco) -> visited.add( new Point( xco, yco ) ) );
+        assertEquals( allPoints.length, visited.size() );
+        for ( Point point : allPoints )
+            assertTrue( visited.contains( point ) );
+        
+        // upper-left corner and center only
+        visited.clear();
+        Rectangle   rect    = new Rectangle( -10, -10, 20, 20 );
+        gridMap.forEachLive( rect, (xco, yco) -> visited.add( new Point( xco, yco ) ) );
+        assertEquals( 2, visited.size() );
+        assertTrue( visited.contains( allPoints[0] ) );
+        assertTrue( visited.contains( allPoints[4] ) );
+    }
+    
+    @Test
+    void testRectanglePopulationClear()
+    {
+        for ( int row = -40 ; row < 40 ; ++row )
+            for ( int col = -40 ; col < 40 ; ++col )
+                if ( (row + col) % 3 == 0 )
+                    gridMap.set( col, row, true );
+        int         total   = gridMap.getPopulation();
+        Rectangle   rect    = new Rectangle( -5, -7, 20, 30 );
+        int         inRect  = 0;
+        for ( int row = rect.y ; row < rect.y + rect.height ; ++row )
+            for ( int col = rect.x ; col < rect.x + rect.width ; ++col )
+                if ( gridMap.isAlive( col, row ) )
+                    ++inRect;
+        
+        assertEquals( inRect, gridMap.getPopulation( rect ) );
+        assertEquals( inRect, gridMap.clear( rect ) );
+        assertEquals( 0, gridMap.getPopulation( rect ) );
+        assertEquals( total - inRect, gridMap.getPopulation() );
+        assertFalse( gridMap.iterator( rect ).hasNext() );
+        
+        GridMap     copy    = new GridMap( gridMap );
+        Rectangle   all     = gridMap.getLiveRectangle();
+        assertEquals( total - inRect, copy.getPopulation( all ) );
+    }
+    
+    @Test
+    void testGetLiveRectangleIncremental()
+    {
+        assertEquals( new Rectangle( 0, 0, 0, 0 ), gridMap.getLiveRectangle() );
+        
+        Random  randy   = new Random( 11 );
+        for ( int inx = 0 ; inx < 5000 ; ++inx )
+        {
+            int xco = randy.nextInt( 60 ) - 30;
+            int yco = randy.nextInt( 40 ) - 10;
+            gridMap.set( xco, yco, randy.nextInt( 3 ) != 0 );
+            if ( inx % 10 == 0 )
+            {
+                CellSet     expSet  = new CellSet();
+                gridMap.forEachLive( (col, row) -> expSet.add( col, row ) );
+                Rectangle   expRect = expSet.getBounds( new Rectangle() );
+                assertEquals( expRect, gridMap.getLiveRectangle() );
+            }
+        }
+        
+        // kill everything
+        for ( int row = -10 ; row < 30 ; ++row )
+            for ( int col = -30 ; col < 30 ; ++col )
+                gridMap.set( col, row, false );
+        assertEquals( new Rectangle( 0, 0, 0, 0 ), gridMap.getLiveRectangle() );
+        gridMap.set( 100, -100, true );
+        assertEquals( new Rectangle( 100, -100, 1, 1 ), gridMap.getLiveRectangle() );
+    }
+    
+    @Test
+    void testApplyBatch()
+    {
+        Parameters              params      = Parameters.INSTANCE;
+        List<Object>            changes     = new ArrayList<>();
+        List<GridChangeSummary> summaries   = new ArrayList<>();
+        PropertyChangeListener  changeL     = e -> changes.add( e.getNewValue() );
+        NotificationListener    batchL      = 
+            e -> summaries.add( (GridChangeSummary)e.getSource() );
+        
+        params.setModifiedGrid( false );
+        params.addPropertyChangeListener( GOLConstants.MODIFIED_GRID_PN, changeL );
+        params.addNotificationListener( GOLConstants.ACTION_GRID_BATCH_PN, batchL );
+        try
+        {
+            // 1000 cells in a single batch
+            long[]  cells   = new long[1000];
+            for ( int inx = 0 ; inx < cells.length ; ++inx )
+                cells[inx] = CellSet.pack( inx % 50 - 10, inx / 50 + 5 );
+            gridMap.putAll( cells, true );
+            assertEquals( 1, changes.size() );
+            assertEquals( 1, summaries.size() );
+            GridChangeSummary   summary = summaries.get( 0 );
+            assertEquals( gridMap, summary.getGridMap() );
+            assertEquals( 1000, summary.getBirths() );
+            assertEquals( 0, summary.getDeaths() );
+            assertEquals( new Rectangle( -10, 5, 50, 20 ), summary.getBounds() );
+            assertEquals( 1000, gridMap.getPopulation() );
+            
+            // nested batches notify once, when the outer batch ends
+            summaries.clear();
+            gridMap.applyBatch( map -> {
+                map.putAll( new long[] { CellSet.pack( -10, 5 ) }, false );
+                assertTrue( summaries.isEmpty() );
+                map.set( 100, 100, true );
+                map.set( 100, 100, true );
+            });
+            assertEquals( 1, summaries.size() );
+            summary = summaries.get( 0 );
+            assertEquals( 1, summary.getBirths() );
+            assertEquals( 1, summary.getDeaths() );
+            assertEquals( new Rectangle( -10, 5, 111, 96 ), summary.getBounds() );
+            
+            // a batch that does not modify the map does not notify
+            summaries.clear();
+            gridMap.applyBatch( map -> map.isAlive( 0, 0 ) );
+            assertTrue( summaries.isEmpty() );
+        }
+        finally
+        {
+            params.removePropertyChangeListener( GOLConstants.MODIFIED_GRID_PN, changeL );
+            params.removeNotificationListener( batchL );
+        }
+    }
+    
     /**
      *  Verify that GridMap.iterator().next()
      *  throws a NoSuchElementException when necessary.
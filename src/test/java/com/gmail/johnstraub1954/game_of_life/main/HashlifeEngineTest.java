@@ -0,0 +1,216 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getLiveSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that HashlifeEngine produces
+ * the same generations as TiledPropagator
+ * (which is verified against Utils.conwayPropagate
+ * in TiledPropagatorTest).
+ * 
+ * @author Jack Straub
+ */
+class HashlifeEngineTest
+{
+    private static final Rule   conway      = new Rule( 0x8, 0xC );
+    private static final Rule   highlife    = new Rule( 0x48, 0xC );
+    
+    private static final int[][]    rPentomino  =
+        { {1,0}, {2,0}, {0,1}, {1,1}, {1,2} };
+    private static final int[][]    glider      =
+        { {1,0}, {2,1}, {0,2}, {1,2}, {2,2} };
+    
+    @Test
+    void testStepRPentomino()
+    {
+        compareSingleSteps( getMap( rPentomino ), conway, 300 );
+    }
+    
+    @Test
+    void testStepSoup()
+    {
+        compareSingleSteps( getSoup( 64, 1 ), conway, 100 );
+    }
+    
+    @Test
+    void testStepHighlife()
+    {
+        compareSingleSteps( getSoup( 48, 2 ), highlife, 100 );
+    }
+    
+    @Test
+    void testStepPowerOfTwo()
+    {
+        for ( int log2 = 0 ; log2 <= 8 ; ++log2 )
+        {
+            GridMap         expMap  = getMap( rPentomino );
+            TiledPropagator tiled   = new TiledPropagator();
+            for ( int gen = 0 ; gen < 1 << log2 ; ++gen )
+                tiled.nextGeneration( expMap, conway );
+            
+            HashlifeEngine  engine  = new HashlifeEngine( conway );
+            engine.load( getMap( rPentomino ) );
+            engine.step( log2 );
+            assertEquals( 1L << log2, engine.getGeneration() );
+            assertEquals( getLiveSet( expMap ), getLiveSet( engine.toGridMap() ) );
+            assertEquals( expMap.getPopulation(), engine.getPopulation() );
+        }
+    }
+    
+    @Test
+    void testGliderLongJump()
+    {
+        // A glider moves one cell diagonally every four generations.
+        HashlifeEngine  engine  = new HashlifeEngine( conway );
+        engine.load( getMap( glider ) );
+        engine.step( 20 );
+        int     offset  = (1 << 20) / 4;
+        Set<Point>  expected    = new HashSet<>();
+        for ( int[] coord : glider )
+            expected.add( new Point( coord[0] + offset, coord[1] + offset ) );
+        assertEquals( expected, getLiveSet( engine.toGridMap() ) );
+        assertEquals( 5, engine.getPopulation() );
+    }
+    
+    @Test
+    void testGarbageCollection()
+    {
+        // Tiny memo table and node limit force frequent eviction
+        // and collection; results must not change.
+        HashlifeEngine  engine  = new HashlifeEngine( conway, 16, 64 );
+        GridMap         expMap  = getMap( rPentomino );
+        TiledPropagator tiled   = new TiledPropagator();
+        engine.load( getMap( rPentomino ) );
+        for ( int gen = 0 ; gen < 200 ; ++gen )
+        {
+            tiled.nextGeneration( expMap, conway );
+            engine.step();
+        }
+        assertEquals( getLiveSet( expMap ), getLiveSet( engine.toGridMap() ) );
+        
+        engine.collectGarbage();
+        int     count   = engine.getNodeCount();
+        engine.load( new GridMap() );
+        engine.setRule( highlife );
+        engine.collectGarbage();
+        assertTrue( engine.getNodeCount() < count );
+    }
+    
+    @Test
+    void testWriteTo()
+    {
+        GridMap         map     = getMap( rPentomino );
+        HashlifeEngine  engine  = new HashlifeEngine( conway );
+        engine.load( map );
+        engine.step( 4 );
+        engine.writeTo( map );
+        assertEquals( getLiveSet( engine.toGridMap() ), getLiveSet( map ) );
+    }
+    
+    /**
+     * Verify that writing the current generation to a large grid map
+     * that differs from it in every cell
+     * takes time proportional to the size of the map.
+     */
+    @Test
+    void testWriteToLarge()
+    {
+        GridMap         map     = new GridMap( false );
+        map.applyBatch( m -> {
+            for ( int yco = 0 ; yco < 1024 ; ++yco )
+                for ( int xco = 0 ; xco < 1024 ; ++xco )
+                    m.set( xco, yco, true );
+        });
+        HashlifeEngine  engine  = new HashlifeEngine( conway );
+        engine.load( new GridMap( false ) );
+        assertTimeoutPreemptively( Duration.ofSeconds( 10 ), () ->
+            engine.writeTo( map )
+        );
+        assertEquals( 0, map.getPopulation() );
+    }
+    
+    @Test
+    void testSetRule()
+    {
+        HashlifeEngine  engine  = new HashlifeEngine( conway );
+        engine.load( getSoup( 32, 3 ) );
+        engine.step( 3 );
+        engine.setRule( highlife );
+        engine.step( 3 );
+        
+        GridMap         expMap  = getSoup( 32, 3 );
+        TiledPropagator tiled   = new TiledPropagator();
+        for ( int gen = 0 ; gen < 8 ; ++gen )
+            tiled.nextGeneration( expMap, conway );
+        for ( int gen = 0 ; gen < 8 ; ++gen )
+            tiled.nextGeneration( expMap, highlife );
+        assertEquals( getLiveSet( expMap ), getLiveSet( engine.toGridMap() ) );
+    }
+    
+    @Test
+    void testInvalid()
+    {
+        Rule    birthOnZero = new Rule( 0x9, 0xC );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new HashlifeEngine( birthOnZero )
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new HashlifeEngine( conway, 100, 100 )
+        );
+        
+        HashlifeEngine  engine  = new HashlifeEngine( conway );
+        assertThrows( IllegalArgumentException.class, () -> engine.step( -1 ) );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> engine.step( HashlifeEngine.MAX_STEP_LOG + 1 )
+        );
+    }
+    
+    private static void compareSingleSteps( GridMap map, Rule rule, int gens )
+    {
+        HashlifeEngine  engine  = new HashlifeEngine( rule );
+        TiledPropagator tiled   = new TiledPropagator();
+        engine.load( map );
+        for ( int gen = 0 ; gen < gens ; ++gen )
+        {
+            tiled.nextGeneration( map, rule );
+            engine.step();
+            Set<Point>  expected    = getLiveSet( map );
+            Set<Point>  actual      = getLiveSet( engine.toGridMap() );
+            assertEquals( expected, actual, "generation " + gen );
+        }
+    }
+    
+    private static GridMap getMap( int[][] coords )
+    {
+        GridMap map = new GridMap();
+        for ( int[] coord : coords )
+            map.put( coord[0], coord[1], true );
+        return map;
+    }
+    
+    private static GridMap getSoup( int side, long seed )
+    {
+        Random  randy   = new Random( seed );
+        GridMap map     = new GridMap();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.put( col - side / 2, row - side / 2, true );
+        return map;
+    }
+}
@@ -0,0 +1,111 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HeadlessRunnerTest
+{
+    /** Glider; after 4 generations it moves 1 cell right and down */
+    private static final String glider  =
+        "x = 10, y = 20, rule = B3/S23" + System.lineSeparator()
+        + "bo$2bo$3o!" + System.lineSeparator();
+
+    @TempDir
+    File    tempDir;
+
+    private final ByteArrayOutputStream outBytes    =
+        new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errBytes    =
+        new ByteArrayOutputStream();
+
+    @Test
+    void testRun()
+        throws IOException
+    {
+        File    input   = write( "glider.rle", glider );
+        File    output  = new File( tempDir, "out.rle" );
+        int     status  = run(
+            "-n", "8", "-k", "4", "-e", "hashlife",
+            "-o", output.getPath(), input.getPath()
+        );
+        assertEquals( HeadlessRunner.STATUS_OK, status, errBytes.toString() );
+
+        String  report  = outBytes.toString();
+        assertTrue( report.contains( "engine hashlife" ), report );
+        assertTrue( report.contains( "gen 0 pop 5 bbox (10,20) 3x3" ), report );
+        assertTrue( report.contains( "gen 4 pop 5 bbox (11,21) 3x3" ), report );
+        assertTrue( report.contains( "gen 8 pop 5 bbox (12,22) 3x3" ), report );
+
+        RLEInput    result  = new RLEInput( output );
+        GridMap     map     = result.decodeGridMap( new GridMap( false ) );
+        assertEquals( 5, map.getPopulation() );
+        assertTrue( map.isAlive( 13, 22 ) );
+        assertTrue( map.isAlive( 14, 23 ) );
+        assertTrue( map.isAlive( 12, 24 ) );
+        assertTrue( map.isAlive( 13, 24 ) );
+        assertTrue( map.isAlive( 14, 24 ) );
+    }
+
+    @Test
+    void testEngines()
+        throws IOException
+    {
+        File    input   = write( "glider.rle", glider );
+        for ( String name : Arrays.asList( "tiled", "block", "dense" ) )
+        {
+            outBytes.reset();
+            int status  = run( "-n", "40", "-e", name, input.getPath() );
+            assertEquals( HeadlessRunner.STATUS_OK, status, name );
+            String  report  = outBytes.toString();
+            assertTrue( report.contains( "gen 40 pop 5 bbox (20,30)" ), report );
+        }
+    }
+
+    @Test
+    void testInvalid()
+        throws IOException
+    {
+        File    input   = write( "glider.rle", glider );
+        assertEquals( HeadlessRunner.STATUS_USAGE, run() );
+        assertEquals( HeadlessRunner.STATUS_USAGE, run( "-n", "x", input.getPath() ) );
+        assertEquals( HeadlessRunner.STATUS_USAGE, run( "-k", "0", input.getPath() ) );
+        assertEquals( HeadlessRunner.STATUS_USAGE, run( "-q", "1", input.getPath() ) );
+        assertEquals( HeadlessRunner.STATUS_USAGE, run( input.getPath(), "-n" ) );
+        assertEquals(
+            HeadlessRunner.STATUS_FAILED,
+            run( "-e", "no such engine", input.getPath() )
+        );
+        assertEquals(
+            HeadlessRunner.STATUS_FAILED,
+            run( new File( tempDir, "missing.rle" ).getPath() )
+        );
+    }
+
+    private File write( String name, String contents )
+        throws IOException
+    {
+        File    file    = new File( tempDir, name );
+        Files.write( file.toPath(), contents.getBytes() );
+        return file;
+    }
+
+    private int run( String... args )
+    {
+        HeadlessRunner  runner  = new HeadlessRunner(
+            new PrintStream( outBytes, true ),
+            new PrintStream( errBytes, true )
+        );
+        int status  = runner.run( args );
+        return status;
+    }
+}
@@ -0,0 +1,180 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies the hash table shared by
+ * CellSet, ChunkIndex, OccupancyCounts,
+ * DensityPyramid and TiledPropagator,
+ * using a table of counts like theirs.
+ * 
+ * @author Jack Straub
+ */
+class LongHashTableTest
+{
+    @Test
+    void testRandomOperations()
+    {
+        // Narrow key range forces plenty of collisions,
+        // re-adds and backward-shift deletions;
+        // the table grows and shrinks several times.
+        Random              randy   = new Random( 7 );
+        Counts              table   = new Counts();
+        Map<Long, Integer>  expMap  = new HashMap<>();
+        for ( int inx = 0 ; inx < 300000 ; ++inx )
+        {
+            long    key     = randy.nextInt( 4000 ) - 2000;
+            int     phase   = inx / 50000;
+            boolean add     = phase % 2 == 0 ? randy.nextInt( 3 ) != 0 : randy.nextInt( 3 ) == 0;
+            if ( add )
+            {
+                table.add( key, 1 );
+                expMap.merge( key, 1, Integer::sum );
+            }
+            else if ( expMap.containsKey( key ) )
+            {
+                table.add( key, -1 );
+                expMap.compute( key, (k, v) -> v == 1 ? null : v - 1 );
+            }
+            assertEquals( expMap.size(), table.size() );
+        }
+        
+        Map<Long, Integer>  actMap  = new HashMap<>();
+        for ( int slot = table.nextSlot( 0 ) ; slot >= 0 ; slot = table.nextSlot( slot + 1 ) )
+            assertEquals( null, actMap.put( table.getKey( slot ), table.get( slot ) ) );
+        assertEquals( expMap, actMap );
+        for ( Map.Entry<Long, Integer> entry : expMap.entrySet() )
+            assertEquals( (int)entry.getValue(), table.get( table.findSlot( entry.getKey() ) ) );
+    }
+    
+    /**
+     * Verify that copying a large table key by key,
+     * in slot order, takes linear time,
+     * with and without presizing the new table.
+     */
+    @Test
+    void testCopyInSlotOrder()
+    {
+        int     count   = 1 << 20;
+        Counts  source  = new Counts();
+        for ( int inx = 0 ; inx < count ; ++inx )
+            source.add( inx, inx + 1 );
+        
+        Counts  copy        = new Counts();
+        Counts  presized    = new Counts( count );
+        assertTimeoutPreemptively( Duration.ofSeconds( 10 ), () -> {
+            for ( int slot = source.nextSlot( 0 ) ;
+                  slot >= 0 ;
+                  slot = source.nextSlot( slot + 1 ) )
+            {
+                copy.add( source.getKey( slot ), source.get( slot ) );
+                presized.add( source.getKey( slot ), source.get( slot ) );
+            }
+        });
+        assertEquals( count, copy.size() );
+        assertEquals( count, presized.size() );
+        for ( int inx = 0 ; inx < count ; inx += 997 )
+        {
+            assertEquals( inx + 1, copy.get( copy.findSlot( inx ) ) );
+            assertEquals( inx + 1, presized.get( presized.findSlot( inx ) ) );
+        }
+    }
+    
+    @Test
+    void testCapacity()
+    {
+        LongHashTable   table       = new LongHashTable( 1000 );
+        int             capacity    = table.getCapacity();
+        for ( int inx = 0 ; inx < 1000 ; ++inx )
+            table.addKey( inx * 31L );
+        assertEquals( capacity, table.getCapacity() );
+        assertTrue( table.getCapacity() >= 2000 );
+        
+        // removing the keys shrinks the table to its minimum capacity
+        for ( int inx = 0 ; inx < 1000 ; ++inx )
+            table.removeSlot( table.findSlot( inx * 31L ) );
+        assertEquals( 0, table.size() );
+        assertEquals( new LongHashTable().getCapacity(), table.getCapacity() );
+        assertEquals( -1, table.nextSlot( 0 ) );
+    }
+    
+    @Test
+    void testClear()
+    {
+        Counts  table   = new Counts();
+        for ( int inx = 0 ; inx < 100 ; ++inx )
+            table.add( inx, 5 );
+        int     capacity    = table.getCapacity();
+        table.clear();
+        assertEquals( 0, table.size() );
+        assertEquals( capacity, table.getCapacity() );
+        assertEquals( -1, table.findSlot( 50 ) );
+        
+        // a newly occupied slot starts with the default value
+        table.add( 50, 1 );
+        assertEquals( 1, table.get( table.findSlot( 50 ) ) );
+    }
+    
+    /**
+     * Table that associates a non-zero count with each key,
+     * in the same way as the tables of the grid.
+     */
+    private static class Counts extends LongHashTable
+    {
+        private int[]   counts;
+        
+        public Counts()
+        {
+            counts = new int[getCapacity()];
+        }
+        
+        public Counts( int expected )
+        {
+            super( expected );
+            counts = new int[getCapacity()];
+        }
+        
+        public int get( int slot )
+        {
+            return counts[slot];
+        }
+        
+        public void add( long key, int delta )
+        {
+            int slot    = addKey( key );
+            if ( (counts[slot] += delta) == 0 )
+                removeSlot( slot );
+        }
+        
+        @Override
+        protected void moveValue( int from, int to )
+        {
+            counts[to] = counts[from];
+        }
+        
+        @Override
+        protected void clearValue( int slot )
+        {
+            counts[slot] = 0;
+        }
+        
+        @Override
+        protected void relocateValues( int capacity, int[] moves )
+        {
+            int[]   oldCounts   = counts;
+            counts = new int[capacity];
+            for ( int inx = 0 ; inx < moves.length ; ++inx )
+                if ( moves[inx] >= 0 )
+                    counts[moves[inx]] = oldCounts[inx];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class OccupancyCountsTest
+{
+    @Test
+    void testMovingPattern()
+    {
+        // Five cells in each of rows 0 - 9, then slide the
+        // pattern down a row at a time, as a spaceship would.
+        OccupancyCounts counts  = new OccupancyCounts();
+        for ( int row = 0 ; row < 10 ; ++row )
+            for ( int inx = 0 ; inx < 5 ; ++inx )
+                counts.increment( row );
+        for ( int gen = 0 ; gen < 1000 ; ++gen )
+        {
+            for ( int inx = 0 ; inx < 5 ; ++inx )
+            {
+                counts.decrement( gen );
+                counts.increment( gen + 10 );
+            }
+            assertEquals( gen + 1, counts.getFirst() );
+            assertEquals( gen + 10, counts.getLast() );
+            assertEquals( 10, counts.size() );
+        }
+    }
+    
+    @Test
+    void testRandomOperations()
+    {
+        Random                      randy       = new Random( 7 );
+        OccupancyCounts             counts      = new OccupancyCounts();
+        TreeMap<Integer, Integer>   expCounts   = new TreeMap<>();
+        for ( int inx = 0 ; inx < 100000 ; ++inx )
+        {
+            // an occasional outlier far from the rest
+            int row = inx % 1000 == 0 
+                ? randy.nextInt() 
+                : randy.nextInt( 200 ) - 100;
+            if ( expCounts.containsKey( row ) && randy.nextInt( 5 ) < 3 )
+            {
+                counts.decrement( row );
+                int count   = expCounts.get( row ) - 1;
+                if ( count == 0 )
+                    expCounts.remove( row );
+                else
+                    expCounts.put( row, count );
+            }
+            else
+            {
+                counts.increment( row );
+                expCounts.merge( row, 1, Integer::sum );
+            }
+            
+            assertEquals( expCounts.size(), counts.size() );
+            if ( !expCounts.isEmpty() && inx % 7 == 0 )
+            {
+                assertEquals( (int)expCounts.firstKey(), counts.getFirst() );
+                assertEquals( (int)expCounts.lastKey(), counts.getLast() );
+            }
+        }
+        
+        OccupancyCounts copy    = new OccupancyCounts( counts );
+        assertEquals( (int)expCounts.firstKey(), copy.getFirst() );
+        assertEquals( (int)expCounts.lastKey(), copy.getLast() );
+    }
+    
+    @Test
+    void testExtremes()
+    {
+        OccupancyCounts counts  = new OccupancyCounts();
+        counts.increment( Integer.MIN_VALUE );
+        counts.increment( Integer.MAX_VALUE );
+        counts.increment( 0 );
+        assertEquals( Integer.MIN_VALUE, counts.getFirst() );
+        assertEquals( Integer.MAX_VALUE, counts.getLast() );
+        counts.decrement( Integer.MIN_VALUE );
+        counts.decrement( Integer.MAX_VALUE );
+        assertEquals( 0, counts.getFirst() );
+        assertEquals( 0, counts.getLast() );
+    }
+}
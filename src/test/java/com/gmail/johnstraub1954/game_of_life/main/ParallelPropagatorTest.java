@@ -0,0 +1,118 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getSoup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that ParallelPropagator produces
+ * exactly the same generations as Utils.conwayPropagate.
+ * 
+ * @author Jack Straub
+ */
+class ParallelPropagatorTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testGlider()
+    {
+        int[][] coords  = { {0,-1}, {1,0}, {-1,1}, {0,1}, {1,1} };
+        compare( coords, 200, 1 );
+        compare( coords, 200, 3 );
+    }
+    
+    @Test
+    void testRandomSoup()
+    {
+        // tall enough to be divided into several bands
+        compare( getSoup( 70, 150, 1 ), 60, 1 );
+        compare( getSoup( 70, 150, 1 ), 60, 4 );
+    }
+    
+    @Test
+    void testHighlife()
+    {
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        compare( getSoup( 100, 100, 2 ), 50, 2 );
+    }
+    
+    @Test
+    void testBirthOnZero()
+    {
+        params.setBirthStates( Arrays.asList( 0, 3 ) );
+        compare( getSoup( 20, 40, 3 ), 10, 2 );
+    }
+    
+    @Test
+    void testPropagate()
+    {
+        GridMap             map         = new GridMap();
+        ParallelPropagator  parallel    = new ParallelPropagator( 2 );
+        assertEquals( 2, parallel.getParallelism() );
+        
+        // blinker
+        map.set( 10, 10, true );
+        map.set( 11, 10, true );
+        map.set( 12, 10, true );
+        parallel.nextGeneration( map, Rule.fromParameters() );
+        assertEquals( 3, map.getPopulation() );
+        assertTrue( map.isAlive( 11, 9 ) );
+        assertTrue( map.isAlive( 11, 10 ) );
+        assertTrue( map.isAlive( 11, 11 ) );
+    }
+    
+    @Test
+    void testInvalidParallelism()
+    {
+        Class<IllegalArgumentException> clazz   = 
+            IllegalArgumentException.class;
+        assertThrows( clazz, () -> new ParallelPropagator( 0 ) );
+    }
+    
+    /**
+     * Runs the given pattern for a given number of generations,
+     * once using Utils.conwayPropagate
+     * and once using ParallelPropagator,
+     * and verifies that the two are identical at every generation.
+     * 
+     * @param coords        coordinates of the live cells in the pattern
+     * @param generations   the given number of generations
+     * @param parallelism   the number of threads to use
+     */
+    private static void compare( int[][] coords, int generations, int parallelism )
+    {
+        ParallelPropagator  parallel    = new ParallelPropagator( parallelism );
+        PropagationTestSupport.compare( coords, generations, parallel::nextGeneration );
+    }
+}
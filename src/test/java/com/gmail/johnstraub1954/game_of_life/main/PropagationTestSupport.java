@@ -0,0 +1,105 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Utilities shared by the tests of the propagation engines.
+ * 
+ * @author Jack Straub
+ */
+class PropagationTestSupport
+{
+    /**
+     * Prevents instantiation.
+     */
+    private PropagationTestSupport()
+    {
+    }
+    
+    /**
+     * Runs the given pattern for a given number of generations,
+     * once using Utils.conwayPropagate
+     * and once using a given engine,
+     * and verifies that the two are identical at every generation.
+     * The rule currently configured in the Parameters singleton
+     * is used.
+     * 
+     * @param coords        coordinates of the live cells in the pattern
+     * @param generations   the given number of generations
+     * @param engine        the given engine; calculates the next generation
+     *                      of a given grid map using a given rule
+     */
+    static void compare(
+        int[][]                     coords,
+        int                         generations,
+        BiConsumer<GridMap, Rule>   engine
+    )
+    {
+        GridMap         expMap  = new GridMap();
+        GridMap         actMap  = new GridMap();
+        for ( int[] coord : coords )
+        {
+            expMap.set( coord[0], coord[1], true );
+            actMap.set( coord[0], coord[1], true );
+        }
+        
+        Rule            rule    = Rule.fromParameters();
+        Parameters.INSTANCE.setGridMap( expMap );
+        for ( int gen = 0 ; gen < generations ; ++gen )
+        {
+            Utils.INSTANCE.conwayPropagate( null );
+            engine.accept( actMap, rule );
+            Set<Point>  expected    = getLiveSet( expMap );
+            Set<Point>  actual      = getLiveSet( actMap );
+            assertEquals( expected, actual, "generation " + gen );
+        }
+    }
+    
+    /**
+     * Gets the coordinates of the live cells
+     * in a random pattern of a given size,
+     * centered on the origin;
+     * each cell is alive with probability 1/2.
+     * 
+     * @param width     the width of the pattern
+     * @param height    the height of the pattern
+     * @param seed      seed for the random number generator
+     * 
+     * @return  the coordinates of the live cells in the pattern
+     */
+    static int[][] getSoup( int width, int height, long seed )
+    {
+        Random  randy   = new Random( seed );
+        int[][] coords  = new int[width * height][];
+        int     count   = 0;
+        for ( int row = 0 ; row < height ; ++row )
+            for ( int col = 0 ; col < width ; ++col )
+                if ( randy.nextBoolean() )
+                    coords[count++] = new int[] { col - width / 2, row - height / 2 };
+        return Arrays.copyOf( coords, count );
+    }
+    
+    /**
+     * Gets the locations of the live cells in a given grid map.
+     * 
+     * @param map   the given grid map
+     * 
+     * @return  the locations of the live cells in the given grid map
+     */
+    static Set<Point> getLiveSet( GridMap map )
+    {
+        Set<Point>      set     = new HashSet<>();
+        Iterator<Cell>  iter    = map.liveIiterator();
+        while ( iter.hasNext() )
+            set.add( iter.next().getPoint() );
+        return set;
+    }
+}
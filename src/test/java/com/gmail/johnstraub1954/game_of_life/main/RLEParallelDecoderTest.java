@@ -0,0 +1,146 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RLEParallelDecoderTest
+{
+    private static final String endl    = System.lineSeparator();
+    
+    /** Encoded grid spanning several segments */
+    private static final String encoded = getEncoded();
+    
+    @Test
+    void testDecode()
+    {
+        assertTrue( encoded.length() > 4 * RLEParallelDecoder.MIN_SEGMENT_LENGTH );
+        compare( encoded, 4 );
+        compare( encoded, 1 );
+        compare( encoded.replace( endl, "\r\n" ), 3 );
+        compare( encoded.replace( endl, "\n" ), 8 );
+        compare( "#C leading comment" + endl + endl + encoded, 4 );
+        compare( "bo$2bo$3o!", 4 );
+        compare( "", 4 );
+    }
+    
+    /**
+     * Verify that text following the end of the encoded grid
+     * is ignored.
+     */
+    @Test
+    void testDecodeEnd()
+    {
+        int     mid     = encoded.indexOf( '$', encoded.length() / 2 ) + 1;
+        String  head    = encoded.substring( 0, mid );
+        String  tail    = "3o$" + endl + "2o!";
+        compare( head + "!" + tail, 4 );
+        compare( head + endl + endl + tail, 4 );
+        compare( head + endl + "#C trailing comment" + endl + tail, 4 );
+        compare( head + endl + "\r" + endl + tail, 4 );
+    }
+    
+    @Test
+    void testDecodeInvalid()
+    {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new RLEParallelDecoder( 0 )
+        );
+        
+        String              text    = encoded.replace( "!", "99999999999o!" );
+        RLEParallelDecoder  decoder = new RLEParallelDecoder( 4 );
+        try
+        {
+            assertThrows(
+                GOLException.class,
+                () -> decoder.decode(
+                    new StringReader( text ), 0, 0, new GridMap( false )
+                )
+            );
+        }
+        finally
+        {
+            decoder.shutdown();
+        }
+    }
+    
+    /**
+     * Verify that RLEInput decodes the same pattern
+     * on multiple threads as on one.
+     */
+    @Test
+    void testRLEInput()
+    {
+        String  file        = "x = 7, y = 9, rule = B3/S23" + endl + encoded;
+        byte[]  bytes       = file.getBytes();
+        GridMap expected    = new GridMap( false );
+        GridMap actual      = new GridMap( false );
+        new RLEInput( new ByteArrayInputStream( bytes ), expected );
+        RLEInput    input   =
+            new RLEInput( new ByteArrayInputStream( bytes ), actual, 4 );
+        assertEquals( expected, actual );
+        assertEquals( 7, actual.getLiveRectangle().x );
+        assertEquals( expected, input.decodeGridMap( new GridMap( false ) ) );
+    }
+    
+    /**
+     * Decodes given text on a given number of threads,
+     * and verifies that the result is the same
+     * as that of RLERunDecoder.
+     * 
+     * @param text      the given text
+     * @param threads   the given number of threads
+     */
+    private static void compare( String text, int threads )
+    {
+        GridMap         expected    = new GridMap( false );
+        RLERunDecoder   runDecoder  = new RLERunDecoder( new StringReader( text ) );
+        long            expLive     =
+            runDecoder.decode( -3, 5, (xco, yco, len) -> {
+                for ( int inx = 0 ; inx < len ; ++inx )
+                    expected.put( xco + inx, yco, true );
+            });
+        
+        GridMap             actual  = new GridMap( false );
+        RLEParallelDecoder  decoder = new RLEParallelDecoder( threads );
+        try
+        {
+            long    live    =
+                decoder.decode( new StringReader( text ), -3, 5, actual );
+            assertEquals( expLive, live );
+            assertEquals( expected, actual );
+        }
+        finally
+        {
+            decoder.shutdown();
+        }
+    }
+    
+    /**
+     * Encodes a random pattern,
+     * with runs of empty rows.
+     * 
+     * @return  the encoded pattern
+     */
+    private static String getEncoded()
+    {
+        Random  randy   = new Random( 13 );
+        GridMap map     = new GridMap( false );
+        for ( int row = 0 ; row < 1200 ; ++row )
+            if ( row % 50 < 45 )
+                for ( int col = 0 ; col < 600 ; ++col )
+                    if ( randy.nextInt( 3 ) == 0 )
+                        map.put( col, row, true );
+        StringWriter    writer  = new StringWriter();
+        new RLERunEncoder( writer ).encode( map.getSnapshot() );
+        return writer.toString();
+    }
+}
@@ -0,0 +1,182 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RLERunDecoderTest
+{
+    private static final String[]   resources   =
+    {
+        "104p177.rle", "104p177_synth.rle", "10EngineCorderShip.rle",
+        "DoomedRasher.RLE", "GosperGlider.rle", "HerschelClimber.rle",
+        "SierpinskiGasket.rle", "SierpinskyBomber.rle", "TestMe_110p62.rle",
+        "glideremulator.rle", "pp8primecalculator.rle", "rats.rle",
+        "seal.rle", "test.rle",
+    };
+    
+    private final List<String>  runs    = new ArrayList<>();
+    
+    @Test
+    void testDecode()
+    {
+        long    live    = decode( "3ob2o$2$bo!", 10, 20 );
+        assertEquals( 6, live );
+        assertEquals( Arrays.asList( "10,20,3", "14,20,2", "11,23,1" ), runs );
+    }
+    
+    @Test
+    void testDecodeCommentsBlankLines()
+    {
+        String  buff    =
+            "#C first\r\n"
+            + "\r\n"
+            + "#N second\r\n"
+            + "1\r\n"
+            + "2o$o\r\n"
+            + "\r\n"
+            + "5o!";
+        long    live    = decode( buff, 0, 0 );
+        assertEquals( 13, live );
+        assertEquals( Arrays.asList( "0,0,12", "0,1,1" ), runs );
+    }
+    
+    @Test
+    void testDecodeTrailingComment()
+    {
+        String  buff    =
+            "2o b$\n"
+            + "#C trailing comment\n"
+            + "3o\n";
+        long    live    = decode( buff, -5, -5 );
+        assertEquals( 2, live );
+        assertEquals( Arrays.asList( "-5,-5,2" ), runs );
+    }
+    
+    @Test
+    void testDecodeEmpty()
+    {
+        assertEquals( 0, decode( "", 0, 0 ) );
+        assertEquals( 0, decode( "!", 0, 0 ) );
+        assertEquals( 0, decode( "5b$3b!o", 0, 0 ) );
+        assertTrue( runs.isEmpty() );
+    }
+    
+    @Test
+    void testDecodeCountTooLarge()
+    {
+        assertThrows( GOLException.class, () -> decode( "99999999999o", 0, 0 ) );
+    }
+    
+    /**
+     * Verify that decoding directly into a grid map
+     * produces the same pattern as expanding the encoded grid
+     * cell by cell with RLEGridDecoder.
+     */
+    @Test
+    void testDecodeResources()
+    {
+        ClassLoader loader  = RLEInput.class.getClassLoader();
+        for ( String name : resources )
+        {
+            InputStream legacyStream    = loader.getResourceAsStream( name );
+            InputStream runStream       = loader.getResourceAsStream( name );
+            assertNotNull( legacyStream, name );
+            assertNotNull( runStream, name );
+            
+            RLEInput    legacyInput = new RLEInput( legacyStream );
+            GridMap     expected    = expand( legacyInput );
+            GridMap     actual      = new GridMap( false );
+            RLEInput    runInput    = new RLEInput( runStream, actual );
+            assertEquals( expected, actual, name );
+            assertEquals( legacyInput.getUpperLeft(), runInput.getUpperLeft() );
+            
+            GridMap     copy        = runInput.decodeGridMap( new GridMap( false ) );
+            assertEquals( expected, copy, name );
+            copy = legacyInput.decodeGridMap( new GridMap( false ) );
+            assertEquals( expected, copy, name );
+        }
+    }
+    
+    /**
+     * Verify that a grid decoded directly from a URL
+     * into a grid map
+     * is read again from the URL,
+     * and decoded correctly,
+     * when it is decoded into a second grid map.
+     */
+    @Test
+    void testDecodeURLResources()
+    {
+        ClassLoader loader  = RLEInput.class.getClassLoader();
+        for ( String name : resources )
+        {
+            InputStream legacyStream    = loader.getResourceAsStream( name );
+            URL         url             = loader.getResource( name );
+            assertNotNull( legacyStream, name );
+            assertNotNull( url, name );
+            
+            GridMap     expected    = expand( new RLEInput( legacyStream ) );
+            GridMap     actual      = new GridMap( false );
+            RLEInput    urlInput    = new RLEInput( url, actual );
+            assertEquals( expected, actual, name );
+            
+            GridMap     copy        = urlInput.decodeGridMap( new GridMap( false ) );
+            assertEquals( expected, copy, name );
+            copy = urlInput.decodeGridMap( new GridMap( false ) );
+            assertEquals( expected, copy, name );
+        }
+    }
+    
+    private long decode( String buff, int originX, int originY )
+    {
+        RLERunDecoder   decoder = new RLERunDecoder( new StringReader( buff ) );
+        long            live    = decoder.decode( originX, originY,
+            (xco, yco, len) -> runs.add( xco + "," + yco + "," + len )
+        );
+        return live;
+    }
+    
+    /**
+     * Expands the encoded grid of given RLE input
+     * cell by cell.
+     * 
+     * @param input the given RLE input
+     * 
+     * @return  grid map containing the live cells of the encoded grid
+     */
+    private static GridMap expand( RLEInput input )
+    {
+        GridMap             map     = new GridMap( false );
+        Iterator<Character> iter    = input.getGridDecoder().iterator();
+        int                 xco     = input.getUpperLeft().x;
+        int                 yco     = input.getUpperLeft().y;
+        while ( iter.hasNext() )
+        {
+            char    next    = iter.next();
+            if ( next == '$' )
+            {
+                ++yco;
+                xco = input.getUpperLeft().x;
+            }
+            else
+            {
+                if ( next == 'o' )
+                    map.put( xco, yco, true );
+                ++xco;
+            }
+        }
+        return map;
+    }
+}
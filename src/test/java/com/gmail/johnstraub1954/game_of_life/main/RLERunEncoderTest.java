@@ -0,0 +1,123 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RLERunEncoderTest
+{
+    private static final String endl    = System.lineSeparator();
+    
+    private static final String[]   resources   =
+    {
+        "104p177.rle", "10EngineCorderShip.rle", "GosperGlider.rle",
+        "SierpinskiGasket.rle", "glideremulator.rle", "rats.rle", "seal.rle",
+    };
+    
+    @Test
+    void testEncode()
+    {
+        GridMap map = new GridMap( false );
+        map.put( 11, 20, true );
+        map.put( 12, 21, true );
+        map.put( 10, 22, true );
+        map.put( 11, 22, true );
+        map.put( 12, 22, true );
+        assertEquals( "bo$2bo$3o!" + endl, encode( map ) );
+    }
+    
+    @Test
+    void testEncodeEmpty()
+    {
+        assertEquals( "!" + endl, encode( new GridMap( false ) ) );
+    }
+    
+    @Test
+    void testEncodeSparse()
+    {
+        GridMap map = new GridMap( false );
+        map.put( -50000, -50000, true );
+        map.put( 50000, 50000, true );
+        String  expected    = "o100000$100000bo!" + endl;
+        assertEquals( expected, encode( map ) );
+    }
+    
+    /**
+     * Verify that encoding run by run produces the same lines
+     * as encoding cell by cell with RLEGridEncoder.
+     */
+    @Test
+    void testEncodeMatchesGridEncoder()
+    {
+        Random  randy   = new Random( 7 );
+        GridMap soup    = new GridMap( false );
+        for ( int row = 0 ; row < 100 ; ++row )
+            for ( int col = 0 ; col < 300 ; ++col )
+                if ( randy.nextInt( 3 ) != 0 )
+                    soup.put( col, row, true );
+        compare( soup, "soup" );
+        
+        ClassLoader loader  = RLEInput.class.getClassLoader();
+        for ( String name : resources )
+        {
+            InputStream inStream    = loader.getResourceAsStream( name );
+            assertNotNull( inStream, name );
+            GridMap     map         = new GridMap( false );
+            new RLEInput( inStream, map );
+            compare( map, name );
+        }
+    }
+    
+    /**
+     * Verify that a pattern written by RLEDescriptor.write
+     * can be read back.
+     */
+    @Test
+    void testWriteRoundTrip()
+    {
+        Random  randy   = new Random( 11 );
+        GridMap map     = new GridMap( false );
+        for ( int inx = 0 ; inx < 5000 ; ++inx )
+            map.put( randy.nextInt( 500 ) + 10, randy.nextInt( 200 ) + 5, true );
+        
+        RLEDescriptor   descrip = new RLEDescriptor();
+        descrip.setGridMap( map );
+        descrip.setName( "round trip" );
+        StringWriter    writer  = new StringWriter();
+        descrip.write( writer );
+        String          text    = writer.toString();
+        assertTrue( text.startsWith( "#N round trip" + endl ), text );
+        for ( String line : text.split( endl ) )
+            assertTrue( line.length() <= RLERunEncoder.MAX_LINE_LEN, line );
+        
+        GridMap result  = new GridMap( false );
+        new RLEInput( new ByteArrayInputStream( text.getBytes() ), result );
+        assertEquals( map.getPopulation(), result.getPopulation() );
+        map.forEachLive( (xco, yco) -> assertTrue( result.isAlive( xco, yco ) ) );
+    }
+    
+    private static String encode( GridMap map )
+    {
+        StringWriter    writer  = new StringWriter();
+        new RLERunEncoder( writer ).encode( map.getSnapshot() );
+        return writer.toString();
+    }
+    
+    private static void compare( GridMap map, String name )
+    {
+        RLEDescriptor   descrip = new RLEDescriptor();
+        descrip.setGridMap( map );
+        RLEGridEncoder  encoder = new RLEGridEncoder( descrip );
+        encoder.encode();
+        List<String>    expected    = encoder.getLines();
+        assertEquals( expected, descrip.getEncodedGrid(), name );
+    }
+}
@@ -0,0 +1,275 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getLiveSet;
+import static com.gmail.johnstraub1954.game_of_life.main.PropagationTestSupport.getSoup;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Point;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Verifies that TiledPropagator produces
+ * exactly the same generations as Utils.conwayPropagate.
+ * 
+ * @author Jack Straub
+ */
+class TiledPropagatorTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testGlider()
+    {
+        // glider straddling the corner of four tiles
+        int[][] coords  = { {0,-1}, {1,0}, {-1,1}, {0,1}, {1,1} };
+        compare( coords, 300 );
+    }
+    
+    @Test
+    void testRPentomino()
+    {
+        int[][] coords  = { {1,0}, {2,0}, {0,1}, {1,1}, {1,2} };
+        compare( coords, 500 );
+    }
+    
+    @Test
+    void testRandomSoup()
+    {
+        compare( getSoup( 150, 150, 1 ), 100 );
+    }
+    
+    @Test
+    void testManyTiles()
+    {
+        // more tiles than the tile table initially has room for
+        compare( getSoup( 500, 500, 3 ), 10 );
+    }
+    
+    @Test
+    void testHighlife()
+    {
+        params.setBirthStates( Arrays.asList( 3, 6 ) );
+        compare( getSoup( 100, 100, 2 ), 100 );
+    }
+    
+    @Test
+    void testPropagate()
+    {
+        GridMap         map     = new GridMap();
+        TiledPropagator tiled   = new TiledPropagator();
+        
+        // blinker
+        map.put( 10, 10, true );
+        map.put( 11, 10, true );
+        map.put( 12, 10, true );
+        tiled.nextGeneration( map, Rule.fromParameters() );
+        assertEquals( getLiveSet( map ), toSet( new int[][]
+            { {11,9}, {11,10}, {11,11} } ) );
+        
+        // modification by another client must be detected
+        map.put( 11, 9, false );
+        tiled.nextGeneration( map, Rule.fromParameters() );
+        assertEquals( getLiveSet( map ), new HashSet<Point>() );
+        assertEquals( 0, tiled.getTileCount() );
+    }
+    
+    @Test
+    void testBirthOnZero()
+    {
+        TiledPropagator tiled   = new TiledPropagator();
+        Rule            rule    = new Rule( 0x9, 0xC );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> tiled.nextGeneration( new GridMap(), rule )
+        );
+    }
+    
+    @Test
+    void testZeroAllocation()
+    {
+        ThreadMXBean    bean    = getThreadMXBean();
+        assumeTrue( bean != null );
+        
+        GridMap         map     = getOscillators( new GridMap() );
+        Rule            rule    = new Rule( 0x8, 0xC );
+        TiledPropagator tiled   = new TiledPropagator();
+        
+        // Let the engine size its tables and tile pool.
+        for ( int gen = 0 ; gen < 400 ; ++gen )
+            tiled.nextGeneration( map, rule );
+        
+        long    allocated   = getAllocatedBytes( bean, () -> {
+            for ( int gen = 0 ; gen < 1000 ; ++gen )
+                tiled.nextGeneration( map, rule );
+        });
+        assertEquals( 0, allocated, "bytes allocated" );
+        assertEquals( 14, map.getPopulation() );
+    }
+    
+    /**
+     * Verify that advancing a detached map
+     * via the engine's advance method,
+     * which applies each step as a batch,
+     * allocates nothing once the engine's tables are sized.
+     * (Advancing an attached map also allocates
+     * the notification fired at the end of each batch.)
+     */
+    @Test
+    void testZeroAllocationAdvance()
+    {
+        ThreadMXBean    bean    = getThreadMXBean();
+        assumeTrue( bean != null );
+        
+        GridMap             map     = getOscillators( new GridMap( false ) );
+        Rule                rule    = new Rule( 0x8, 0xC );
+        TiledPropagator     tiled   = new TiledPropagator();
+        PropagatorEngine    engine  = 
+            new PropagatorEngine(
+                "tiled",
+                (gridMap, rul) -> tiled.nextGeneration( gridMap, rul ),
+                EnumSet.of( GenerationEngine.Capability.LIFE_LIKE_RULES )
+            );
+        
+        // Let the engine size its tables and tile pool,
+        // and give the JIT time to finish compiling the batch path,
+        // which briefly allocates while tiers change.
+        for ( int gen = 0 ; gen < 5000 ; ++gen )
+            engine.advance( map, rule, 1 );
+        engine.advance( map, rule, 400 );
+        
+        long    allocated   = getAllocatedBytes( bean, () -> {
+            for ( int gen = 0 ; gen < 1000 ; ++gen )
+                engine.advance( map, rule, 1 );
+            engine.advance( map, rule, 1000 );
+        });
+        assertEquals( 0, allocated, "bytes allocated" );
+        assertEquals( 14, map.getPopulation() );
+    }
+    
+    /**
+     * Adds a glider, a blinker and a toad,
+     * in different tiles,
+     * to a given grid map.
+     * 
+     * @param map   the given grid map
+     * 
+     * @return  the given grid map
+     */
+    private static GridMap getOscillators( GridMap map )
+    {
+        int[][] coords  =
+        {
+            {1,0}, {2,1}, {0,2}, {1,2}, {2,2},
+            {100,-100}, {101,-100}, {102,-100},
+            {-50,70}, {-49,70}, {-48,70}, {-51,71}, {-50,71}, {-49,71},
+        };
+        for ( int[] coord : coords )
+            map.set( coord[0], coord[1], true );
+        return map;
+    }
+    
+    /**
+     * Gets the number of bytes allocated by the current thread
+     * while executing a given operation,
+     * excluding any allocated by the measurement itself.
+     * 
+     * @param bean      source of the allocation counts
+     * @param action    the given operation
+     * 
+     * @return  the number of bytes allocated
+     *          while executing the given operation
+     */
+    private static long getAllocatedBytes( ThreadMXBean bean, Runnable action )
+    {
+        long    threadID    = Thread.currentThread().getId();
+        long    start       = bean.getThreadAllocatedBytes( threadID );
+        long    overhead    = bean.getThreadAllocatedBytes( threadID ) - start;
+        start = bean.getThreadAllocatedBytes( threadID );
+        action.run();
+        long    allocated   = 
+            bean.getThreadAllocatedBytes( threadID ) - start - overhead;
+        return allocated;
+    }
+    
+    /**
+     * Runs the given pattern for a given number of generations,
+     * once using Utils.conwayPropagate
+     * and once using TiledPropagator,
+     * and verifies that the two are identical at every generation.
+     * 
+     * @param coords        coordinates of the live cells in the pattern
+     * @param generations   the given number of generations
+     */
+    private static void compare( int[][] coords, int generations )
+    {
+        TiledPropagator tiled   = new TiledPropagator();
+        PropagationTestSupport.compare( coords, generations, tiled::nextGeneration );
+    }
+    
+    /**
+     * Gets the platform ThreadMXBean,
+     * if it supports measuring per-thread allocation.
+     * 
+     * @return  the platform ThreadMXBean,
+     *          or null if it doesn't support measuring
+     *          per-thread allocation
+     */
+    private static ThreadMXBean getThreadMXBean()
+    {
+        ThreadMXBean            result  = null;
+        java.lang.management.ThreadMXBean   bean    = 
+            ManagementFactory.getThreadMXBean();
+        if ( bean instanceof ThreadMXBean )
+        {
+            result = (ThreadMXBean)bean;
+            if ( result.isThreadAllocatedMemorySupported() )
+                result.setThreadAllocatedMemoryEnabled( true );
+            else
+                result = null;
+        }
+        return result;
+    }
+    
+    private static Set<Point> toSet( int[][] coords )
+    {
+        Set<Point>  set = new HashSet<>();
+        for ( int[] coord : coords )
+            set.add( new Point( coord[0], coord[1] ) );
+        return set;
+    }
+}
@@ -0,0 +1,171 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that TurboRunner advances the grid map
+ * by exactly the number of generations it reports,
+ * and that it stops cleanly.
+ * 
+ * @author Jack Straub
+ */
+class TurboRunnerTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testGenerationCount()
+        throws InterruptedException
+    {
+        // R-pentomino
+        int[][]     coords  = { {1,0}, {2,0}, {0,1}, {1,1}, {1,2} };
+        GridMap     expMap  = new GridMap();
+        GridMap     actMap  = new GridMap();
+        for ( int[] coord : coords )
+        {
+            expMap.put( coord[0], coord[1], true );
+            actMap.put( coord[0], coord[1], true );
+        }
+        params.setGridMap( actMap );
+        
+        GOLProperties   props   = new GOLProperties();
+        props.setProperty( GOLConstants.PROP_PROC_PN, "tiled" );
+        try ( GenerationEngine engine = props.getGenerationEngine() )
+        {
+            TurboRunner runner  = new TurboRunner( engine, 60 );
+            runner.start();
+            assertTrue( runner.isRunning() );
+            while ( runner.getGenerationCount() < 100 )
+                Thread.sleep( 1 );
+            runner.stop();
+            assertFalse( runner.isRunning() );
+            assertNull( runner.getError() );
+            
+            // stopping twice is harmless
+            runner.stop();
+            
+            Rule    rule    = Rule.fromParameters();
+            long    gens    = runner.getGenerationCount();
+            for ( long gen = 0 ; gen < gens ; ++gen )
+                Utils.INSTANCE.conwayGeneration( expMap, rule );
+            assertEquals( expMap, actMap );
+            assertEquals( expMap.getPopulation(), engine.snapshot().getPopulation() );
+        }
+    }
+    
+    @Test
+    void testError()
+        throws InterruptedException
+    {
+        RuntimeException    exc     = new IllegalStateException( "test" );
+        GenerationEngine    engine  = new FailingEngine( exc );
+        TurboRunner         runner  = new TurboRunner( engine, 60 );
+        runner.start();
+        while ( runner.isRunning() )
+            Thread.sleep( 1 );
+        assertSame( exc, runner.getError() );
+        assertEquals( 0, runner.getGenerationCount() );
+        runner.stop();
+    }
+    
+    @Test
+    void testInvalidFrameRate()
+    {
+        GenerationEngine    engine  = new FailingEngine( null );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new TurboRunner( engine, 0 )
+        );
+    }
+    
+    /**
+     * Engine whose advance method throws a given exception.
+     */
+    private static class FailingEngine implements GenerationEngine
+    {
+        private final RuntimeException  exc;
+        
+        public FailingEngine( RuntimeException exc )
+        {
+            this.exc = exc;
+        }
+        
+        @Override
+        public String getName()
+        {
+            return "failing";
+        }
+        
+        @Override
+        public Set<Capability> getCapabilities()
+        {
+            return Collections.emptySet();
+        }
+        
+        @Override
+        public boolean supportsRule( Rule rule )
+        {
+            return true;
+        }
+        
+        @Override
+        public void advance( int count )
+        {
+            throw exc;
+        }
+        
+        @Override
+        public int population()
+        {
+            return 0;
+        }
+        
+        @Override
+        public GridSnapshot snapshot()
+        {
+            return null;
+        }
+        
+        @Override
+        public void close()
+        {
+            // nothing to release
+        }
+    }
+}
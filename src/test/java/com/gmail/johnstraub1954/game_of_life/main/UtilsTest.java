@@ -0,0 +1,134 @@
+package com.gmail.johnstraub1954.game_of_life.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UtilsTest
+{
+    private static final Parameters params  = Parameters.INSTANCE;
+    private static final Utils      utils   = Utils.INSTANCE;
+    
+    private GridMap         prevGridMap;
+    private List<Integer>   prevBirthStates;
+    private List<Integer>   prevSurvivalStates;
+    
+    @BeforeEach
+    public void beforeEach()
+    {
+        prevGridMap = params.getGridMap();
+        prevBirthStates = params.getBirthStates();
+        prevSurvivalStates = params.getSurvivalStates();
+        params.setBirthStates( Arrays.asList( 3 ) );
+        params.setSurvivalStates( Arrays.asList( 2, 3 ) );
+    }
+    
+    @AfterEach
+    public void afterEach()
+    {
+        params.setGridMap( prevGridMap );
+        params.setBirthStates( prevBirthStates );
+        params.setSurvivalStates( prevSurvivalStates );
+    }
+    
+    @Test
+    void testIncrementalPropagate()
+    {
+        GridMap         expMap  = getSoup( 60, 1 );
+        GridMap         actMap  = getSoup( 60, 1 );
+        Rule            rule    = Rule.fromParameters();
+        TiledPropagator tiled   = new TiledPropagator();
+        params.setGridMap( actMap );
+        for ( int gen = 0 ; gen < 200 ; ++gen )
+        {
+            tiled.nextGeneration( expMap, rule );
+            utils.incrementalPropagate( null );
+            assertEquals( getLiveSet( expMap ), getLiveSet( actMap ) );
+        }
+    }
+    
+    @Test
+    void testIncrementalExternalModification()
+    {
+        // block; still life
+        GridMap map     = new GridMap();
+        map.put( 0, 0, true );
+        map.put( 1, 0, true );
+        map.put( 0, 1, true );
+        map.put( 1, 1, true );
+        params.setGridMap( map );
+        utils.incrementalPropagate( null );
+        utils.incrementalPropagate( null );
+        assertEquals( 0, utils.getVisitedCount() );
+        
+        // blinker, added by another client, far from the block
+        map.put( 100, 100, true );
+        map.put( 101, 100, true );
+        map.put( 102, 100, true );
+        utils.incrementalPropagate( null );
+        assertTrue( map.get( 101, 99 ).isAlive() );
+        assertTrue( map.get( 101, 101 ).isAlive() );
+        assertFalse( map.get( 100, 100 ).isAlive() );
+        assertEquals( 7, map.getPopulation() );
+    }
+    
+    @Test
+    void testVisitedCount()
+    {
+        GridMap map     = new GridMap();
+        
+        // glider in the corner of a large rectangle;
+        // the rest of the rectangle is empty except for a block
+        int[][] coords  = { {1,0}, {2,1}, {0,2}, {1,2}, {2,2} };
+        for ( int[] coord : coords )
+            map.put( coord[0], coord[1], true );
+        map.put( 500, 500, true );
+        map.put( 501, 500, true );
+        map.put( 500, 501, true );
+        map.put( 501, 501, true );
+        params.setGridMap( map );
+        
+        utils.conwayPropagate( null );
+        assertTrue( utils.getVisitedCount() > 500 * 500 );
+        
+        utils.incrementalPropagate( null );
+        assertTrue( utils.getVisitedCount() > 500 * 500 );
+        for ( int gen = 0 ; gen < 8 ; ++gen )
+        {
+            utils.incrementalPropagate( null );
+            assertTrue( utils.getVisitedCount() <= 9 * 9 );
+        }
+    }
+    
+    private static GridMap getSoup( int side, long seed )
+    {
+        Random  randy   = new Random( seed );
+        GridMap map     = new GridMap();
+        for ( int row = 0 ; row < side ; ++row )
+            for ( int col = 0 ; col < side ; ++col )
+                if ( randy.nextBoolean() )
+                    map.put( col, row, true );
+        return map;
+    }
+    
+    private static Set<Point> getLiveSet( GridMap map )
+    {
+        Set<Point>      set     = new HashSet<>();
+        Iterator<Cell>  iter    = map.liveIiterator();
+        while ( iter.hasNext() )
+            set.add( iter.next().getPoint() );
+        return set;
+    }
+}
@@ -0,0 +1,226 @@
+package com.gmail.johnstraub1954.game_of_life.vector;
+
+import com.gmail.johnstraub1954.game_of_life.main.RowKernel;
+import com.gmail.johnstraub1954.game_of_life.main.SwarKernel;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Row kernel built on the JDK Vector API.
+ * <p>
+ * The kernel applies the same bit-sliced adders
+ * as the scalar kernel (SwarKernel),
+ * but to a vector of words at a time:
+ * 4 words (256 cells) per operation on hosts with AVX2,
+ * 8 words (512 cells) on hosts with AVX-512.
+ * The words at the end of each row that do not fill a whole vector
+ * are calculated by the scalar kernel,
+ * so that words beyond the rectangle being calculated
+ * are never modified.
+ * </p>
+ * <p>
+ * The kernel reports that it is supported only if
+ * the preferred vector size of the host
+ * is at least {@link #MIN_VECTOR_BITS} bits;
+ * on other hosts the scalar kernel is faster.
+ * </p>
+ * 
+ * @author Jack Straub
+ * 
+ * @see com.gmail.johnstraub1954.game_of_life.main.GOLProperties#getRowKernel()
+ */
+public class VectorRowKernel implements RowKernel
+{
+    /** The smallest vector size, in bits, for which the kernel is used */
+    public static final int     MIN_VECTOR_BITS = 256;
+    
+    /** Index of the most significant bit of a word */
+    private static final int    lastBit         = Long.SIZE - 1;
+    
+    /** The vector shape used by the kernel */
+    private final VectorSpecies<Long>   species;
+    
+    /**
+     * Default constructor.
+     * Uses the preferred vector shape of the host.
+     */
+    public VectorRowKernel()
+    {
+        this( LongVector.SPECIES_PREFERRED );
+    }
+    
+    /**
+     * Constructor.
+     * Uses a given vector shape.
+     * 
+     * @param species   the given vector shape
+     */
+    public VectorRowKernel( VectorSpecies<Long> species )
+    {
+        this.species = species;
+    }
+    
+    @Override
+    public String getName()
+    {
+        String  name    = "vector-" + species.vectorBitSize();
+        return name;
+    }
+    
+    @Override
+    public boolean isSupported()
+    {
+        boolean result  = species.vectorBitSize() >= MIN_VECTOR_BITS;
+        return result;
+    }
+    
+    @Override
+    public void nextRows(
+        long[]  curr,
+        long[]  next,
+        int     rowWords,
+        int     firstRow,
+        int     lastRow,
+        int     firstWord,
+        int     lastWord,
+        int     birthMask,
+        int     survMask
+    )
+    {
+        // For each neighbor count, all ones if a dead (live) cell
+        // with that count is alive in the next generation.
+        long[]  birthSel    = new long[9];
+        long[]  survSel     = new long[9];
+        for ( int count = 0 ; count < birthSel.length ; ++count )
+        {
+            birthSel[count] = (birthMask & (1 << count)) != 0 ? -1 : 0;
+            survSel[count] = (survMask & (1 << count)) != 0 ? -1 : 0;
+        }
+        
+        int     lanes       = species.length();
+        int     endWord     = lastWord + 1;
+        int     endFull     = firstWord + (endWord - firstWord) / lanes * lanes;
+        for ( int row = firstRow ; row <= lastRow ; ++row )
+        {
+            int above   = (row - 1) * rowWords;
+            int base    = row * rowWords;
+            int below   = (row + 1) * rowWords;
+            
+            // The vector operations are written out in full,
+            // rather than delegated to helper methods,
+            // so that the compiler can keep every vector in a register;
+            // a vector passed to a method that is not inlined
+            // is allocated on the heap.
+            for ( int word = firstWord ; word < endFull ; word += lanes )
+            {
+                LongVector  aboveW  = LongVector.fromArray( species, curr, above + word - 1 );
+                LongVector  aboveC  = LongVector.fromArray( species, curr, above + word );
+                LongVector  aboveE  = LongVector.fromArray( species, curr, above + word + 1 );
+                LongVector  currW   = LongVector.fromArray( species, curr, base + word - 1 );
+                LongVector  currC   = LongVector.fromArray( species, curr, base + word );
+                LongVector  currE   = LongVector.fromArray( species, curr, base + word + 1 );
+                LongVector  belowW  = LongVector.fromArray( species, curr, below + word - 1 );
+                LongVector  belowC  = LongVector.fromArray( species, curr, below + word );
+                LongVector  belowE  = LongVector.fromArray( species, curr, below + word + 1 );
+                
+                // Bit b of a "left" word is the cell in column b - 1;
+                // bit b of a "right" word is the cell in column b + 1.
+                LongVector  aboveL  =
+                    aboveC.lanewise( VectorOperators.LSHL, 1 )
+                    .or( aboveW.lanewise( VectorOperators.LSHR, lastBit ) );
+                LongVector  aboveR  =
+                    aboveC.lanewise( VectorOperators.LSHR, 1 )
+                    .or( aboveE.lanewise( VectorOperators.LSHL, lastBit ) );
+                LongVector  currL   =
+                    currC.lanewise( VectorOperators.LSHL, 1 )
+                    .or( currW.lanewise( VectorOperators.LSHR, lastBit ) );
+                LongVector  currR   =
+                    currC.lanewise( VectorOperators.LSHR, 1 )
+                    .or( currE.lanewise( VectorOperators.LSHL, lastBit ) );
+                LongVector  belowL  =
+                    belowC.lanewise( VectorOperators.LSHL, 1 )
+                    .or( belowW.lanewise( VectorOperators.LSHR, lastBit ) );
+                LongVector  belowR  =
+                    belowC.lanewise( VectorOperators.LSHR, 1 )
+                    .or( belowE.lanewise( VectorOperators.LSHL, lastBit ) );
+                
+                // Row above and row below: three cells each, 0 - 3;
+                // current row: two cells, 0 - 2.
+                LongVector  aboveXor    = aboveL.lanewise( VectorOperators.XOR, aboveC );
+                LongVector  aboveSum    = aboveXor.lanewise( VectorOperators.XOR, aboveR );
+                LongVector  aboveCarry  =
+                    aboveL.and( aboveC ).or( aboveXor.and( aboveR ) );
+                LongVector  belowXor    = belowL.lanewise( VectorOperators.XOR, belowC );
+                LongVector  belowSum    = belowXor.lanewise( VectorOperators.XOR, belowR );
+                LongVector  belowCarry  =
+                    belowL.and( belowC ).or( belowXor.and( belowR ) );
+                LongVector  currSum     = currL.lanewise( VectorOperators.XOR, currR );
+                LongVector  currCarry   = currL.and( currR );
+                
+                // Add the ones bits of the three partial sums.
+                LongVector  onesXor     = aboveSum.lanewise( VectorOperators.XOR, belowSum );
+                LongVector  s0          = onesXor.lanewise( VectorOperators.XOR, currSum );
+                LongVector  onesCarry   =
+                    aboveSum.and( belowSum ).or( onesXor.and( currSum ) );
+                
+                // Add the twos bits, plus the carry from the ones bits.
+                LongVector  twosXor     =
+                    aboveCarry.lanewise( VectorOperators.XOR, belowCarry );
+                LongVector  twosSum     = twosXor.lanewise( VectorOperators.XOR, currCarry );
+                LongVector  twosCarry   =
+                    aboveCarry.and( belowCarry ).or( twosXor.and( currCarry ) );
+                LongVector  s1          = twosSum.lanewise( VectorOperators.XOR, onesCarry );
+                LongVector  fours       = twosSum.and( onesCarry );
+                LongVector  s2          = twosCarry.lanewise( VectorOperators.XOR, fours );
+                LongVector  s3          = twosCarry.and( fours );
+                
+                // The two low-order and two high-order bits of each count,
+                // decoded; count n is low[n & 3] & high[n >> 2].
+                LongVector  notS0   = s0.not();
+                LongVector  notS1   = s1.not();
+                LongVector  notS2   = s2.not();
+                LongVector  notS3   = s3.not();
+                LongVector  low0    = notS0.and( notS1 );
+                LongVector  low1    = s0.and( notS1 );
+                LongVector  low2    = notS0.and( s1 );
+                LongVector  low3    = s0.and( s1 );
+                LongVector  high0   = notS2.and( notS3 );
+                LongVector  high1   = s2.and( notS3 );
+                LongVector  high2   = notS2.and( s3 );
+                
+                // For each count: the cells with that count
+                // that are alive in the next generation.
+                LongVector  dead    = currC.not();
+                LongVector  result  =
+                    low0.and( high0 ).and( dead.and( birthSel[0] ).or( currC.and( survSel[0] ) ) )
+                    .or( low1.and( high0 ).and( dead.and( birthSel[1] ).or( currC.and( survSel[1] ) ) ) )
+                    .or( low2.and( high0 ).and( dead.and( birthSel[2] ).or( currC.and( survSel[2] ) ) ) )
+                    .or( low3.and( high0 ).and( dead.and( birthSel[3] ).or( currC.and( survSel[3] ) ) ) )
+                    .or( low0.and( high1 ).and( dead.and( birthSel[4] ).or( currC.and( survSel[4] ) ) ) )
+                    .or( low1.and( high1 ).and( dead.and( birthSel[5] ).or( currC.and( survSel[5] ) ) ) )
+                    .or( low2.and( high1 ).and( dead.and( birthSel[6] ).or( currC.and( survSel[6] ) ) ) )
+                    .or( low3.and( high1 ).and( dead.and( birthSel[7] ).or( currC.and( survSel[7] ) ) ) )
+                    .or( low0.and( high2 ).and( dead.and( birthSel[8] ).or( currC.and( survSel[8] ) ) ) );
+                result.intoArray( next, base + word );
+            }
+            
+            // The words left over, fewer than a full vector.
+            for ( int word = endFull ; word < endWord ; ++word )
+                next[base + word] = SwarKernel.nextRow(
+                    curr[above + word - 1],
+                    curr[above + word],
+                    curr[above + word + 1],
+                    curr[base + word - 1],
+                    curr[base + word],
+                    curr[base + word + 1],
+                    curr[below + word - 1],
+                    curr[below + word],
+                    curr[below + word + 1],
+                    birthMask,
+                    survMask
+                );
+        }
+    }
+}
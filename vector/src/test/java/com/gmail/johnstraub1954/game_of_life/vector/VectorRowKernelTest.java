@@ -0,0 +1,126 @@
+package com.gmail.johnstraub1954.game_of_life.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.gmail.johnstraub1954.game_of_life.main.DensePropagator;
+import com.gmail.johnstraub1954.game_of_life.main.GridMap;
+import com.gmail.johnstraub1954.game_of_life.main.Rule;
+import com.gmail.johnstraub1954.game_of_life.main.RowKernel;
+import com.gmail.johnstraub1954.game_of_life.main.SwarKernel;
+import com.gmail.johnstraub1954.game_of_life.main.TiledPropagator;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Verifies that VectorRowKernel produces
+ * exactly the same results as the scalar kernel.
+ * 
+ * @author Jack Straub
+ */
+class VectorRowKernelTest
+{
+    private static final Rule[] rules   =
+    {
+        new Rule( 0x8, 0xC ),       // B3/S23
+        new Rule( 0x48, 0xC ),      // B36/S23
+        new Rule( 0x1C8, 0x1A4 ),   // B3678/S2578
+    };
+    
+    @Test
+    void testAllShapes()
+    {
+        Random  randy   = new Random( 1 );
+        testShape( LongVector.SPECIES_64, randy );
+        testShape( LongVector.SPECIES_128, randy );
+        testShape( LongVector.SPECIES_256, randy );
+        testShape( LongVector.SPECIES_512, randy );
+    }
+    
+    @Test
+    void testServiceLoader()
+    {
+        VectorRowKernel preferred   = new VectorRowKernel();
+        assumeTrue( preferred.isSupported() );
+        RowKernel       kernel      = RowKernel.getAccelerated();
+        assertTrue( kernel instanceof VectorRowKernel );
+        assertEquals( preferred.getName(), kernel.getName() );
+    }
+    
+    @Test
+    void testDensePropagator()
+    {
+        Random          randy   = new Random( 2 );
+        GridMap         expMap  = new GridMap();
+        GridMap         actMap  = new GridMap();
+        for ( int row = 0 ; row < 300 ; ++row )
+            for ( int col = 0 ; col < 300 ; ++col )
+                if ( randy.nextBoolean() )
+                {
+                    expMap.set( col, row, true );
+                    actMap.set( col, row, true );
+                }
+        
+        Rule            rule    = rules[0];
+        TiledPropagator tiled   = new TiledPropagator();
+        DensePropagator dense   = new DensePropagator( new VectorRowKernel() );
+        for ( int gen = 0 ; gen < 100 ; ++gen )
+        {
+            tiled.nextGeneration( expMap, rule );
+            dense.nextGeneration( actMap, rule );
+            assertEquals( expMap, actMap, "generation " + gen );
+        }
+    }
+    
+    /**
+     * Compares a vector kernel of a given shape with the scalar kernel,
+     * for every rule, on random rows and random rectangles.
+     * 
+     * @param species   the given shape
+     * @param randy     source of random rows and rectangles
+     */
+    private static void testShape( VectorSpecies<Long> species, Random randy )
+    {
+        VectorRowKernel kernel      = new VectorRowKernel( species );
+        int             rowWords    = 23;
+        int             rowCount    = 12;
+        for ( int test = 0 ; test < 200 ; ++test )
+        {
+            long[]  curr        = new long[rowWords * rowCount];
+            for ( int inx = 0 ; inx < curr.length ; ++inx )
+                curr[inx] = randy.nextLong() & randy.nextLong();
+            long[]  expected    = new long[curr.length];
+            for ( int inx = 0 ; inx < expected.length ; ++inx )
+                expected[inx] = randy.nextLong();
+            long[]  actual      = expected.clone();
+            
+            int     firstRow    = 1 + randy.nextInt( rowCount - 2 );
+            int     lastRow     =
+                firstRow + randy.nextInt( rowCount - 1 - firstRow );
+            int     firstWord   = 1 + randy.nextInt( rowWords - 2 );
+            int     lastWord    =
+                firstWord + randy.nextInt( rowWords - 1 - firstWord );
+            Rule    rule        = rules[test % rules.length];
+            int     birthMask   = rule.getBirthMask();
+            int     survMask    = rule.getSurvivalMask();
+            SwarKernel.INSTANCE.nextRows(
+                curr, expected, rowWords,
+                firstRow, lastRow, firstWord, lastWord,
+                birthMask, survMask
+            );
+            kernel.nextRows(
+                curr, actual, rowWords,
+                firstRow, lastRow, firstWord, lastWord,
+                birthMask, survMask
+            );
+            assertArrayEquals( expected, actual, kernel.getName() );
+        }
+    }
+}